@@ -0,0 +1,116 @@
+package co.develhope.team1studiomedico.agenda;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * La classe DailyCache mantiene in memoria un valore per ogni giornata (DailyKey), caricato al primo utilizzo.
+ * Il caricamento (tipicamente una query) viene eseguito fuori dai lock della mappa, una sola volta per giornata,
+ * sotto lock distribuiti su STRIPES stripe, così le giornate diverse non si contendono lo stesso lock
+ *
+ * @param <V> il tipo dei valori
+ */
+public final class DailyCache<V> {
+
+    private static final int STRIPES = 64;
+
+    private final Object[] stripes = new Object[STRIPES];
+
+    private final Map<DailyKey, V> values = new ConcurrentHashMap<>();
+
+    private final Function<DailyKey, V> loader;
+
+    /**
+     * Costruttore parametrico che istanzia una nuova DailyCache.
+     *
+     * @param loader la funzione che carica il valore di una giornata
+     */
+    public DailyCache(Function<DailyKey, V> loader) {
+        this.loader = loader;
+        for(int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Restituisce il valore della giornata, caricandolo al primo utilizzo
+     *
+     * @param key la giornata
+     * @return il valore della giornata
+     */
+    public V get(DailyKey key) {
+        V value = values.get(key);
+        if(value != null) {
+            return value;
+        }
+        synchronized(stripes[Math.floorMod(key.hashCode(), STRIPES)]) {
+            value = values.get(key);
+            if(value == null) {
+                value = loader.apply(key);
+                values.put(key, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Restituisce il valore della giornata se è in memoria, senza caricarlo
+     *
+     * @param key la giornata
+     * @return il valore della giornata, null se non è in memoria
+     */
+    public V getIfPresent(DailyKey key) {
+        return values.get(key);
+    }
+
+    /**
+     * Scarta il valore della giornata se è ancora quello indicato
+     *
+     * @param key   la giornata
+     * @param value il valore da scartare
+     * @return true se il valore è stato scartato
+     */
+    public boolean remove(DailyKey key, V value) {
+        return values.remove(key, value);
+    }
+
+    /**
+     * Scarta i valori delle giornate che soddisfano il predicato
+     *
+     * @param filter il predicato sulle giornate
+     */
+    public void removeIf(Predicate<DailyKey> filter) {
+        values.keySet().removeIf(filter);
+    }
+
+    /**
+     * Esegue l'azione per ogni giornata in memoria
+     *
+     * @param action l'azione
+     */
+    public void forEach(BiConsumer<DailyKey, V> action) {
+        values.forEach(action);
+    }
+
+    /**
+     * Restituisce il numero delle giornate in memoria
+     *
+     * @return il numero delle giornate
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Indica se non ci sono giornate in memoria
+     *
+     * @return true se non ci sono giornate in memoria
+     */
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+}
@@ -0,0 +1,11 @@
+package co.develhope.team1studiomedico.agenda;
+
+import java.time.LocalDate;
+
+/**
+ * Giornata di un medico
+ *
+ * @param medicoId         id del medico
+ * @param dataPrenotazione data prenotazione
+ */
+public record DailyKey(Long medicoId, LocalDate dataPrenotazione) { }
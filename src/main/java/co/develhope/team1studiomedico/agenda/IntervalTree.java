@@ -0,0 +1,220 @@
+package co.develhope.team1studiomedico.agenda;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * La classe IntervalTree realizza un interval tree aumentato: un albero AVL di intervalli semiaperti [start, end)
+ * ordinati per inizio (e per chiave a parità di inizio), in cui ogni nodo mantiene la fine massima del proprio sottoalbero.
+ * Inserimento, rimozione per chiave e ricerca di un intervallo sovrapposto costano O(log n); sono ammessi intervalli
+ * sovrapposti tra loro (es. prenotazioni registrate prima del controllo delle sovrapposizioni).
+ * Ogni intervallo è identificato da una chiave long (un solo intervallo per chiave); la classe non è thread-safe
+ */
+public class IntervalTree {
+
+    private static final class Node {
+
+        private final long key;
+        private final int start;
+        private final int end;
+        private int maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long key, int start, int end) {
+            this.key = key;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+    }
+
+    /**
+     * Intervallo memorizzato nell'albero
+     *
+     * @param key   chiave dell'intervallo
+     * @param start inizio (incluso)
+     * @param end   fine (esclusa)
+     */
+    public record Interval(long key, int start, int end) { }
+
+    private Node root;
+
+    private final Map<Long, Interval> intervals = new HashMap<>();
+
+    /**
+     * Inserisce l'intervallo con la chiave indicata, sostituendo l'eventuale intervallo con la stessa chiave
+     *
+     * @param key   chiave dell'intervallo
+     * @param start inizio (incluso)
+     * @param end   fine (esclusa), maggiore di start
+     */
+    public void insert(long key, int start, int end) {
+        if(end <= start) {
+            throw new IllegalArgumentException("intervallo vuoto: [" + start + ", " + end + ")");
+        }
+        remove(key);
+        intervals.put(key, new Interval(key, start, end));
+        root = insert(root, new Node(key, start, end));
+    }
+
+    /**
+     * Rimuove l'intervallo con la chiave indicata
+     *
+     * @param key chiave dell'intervallo
+     * @return l'intervallo rimosso, null se non presente
+     */
+    public Interval remove(long key) {
+        Interval interval = intervals.remove(key);
+        if(interval != null) {
+            root = remove(root, interval.start(), key);
+        }
+        return interval;
+    }
+
+    /**
+     * Restituisce un intervallo sovrapposto a [start, end), se esiste
+     *
+     * @param start inizio (incluso)
+     * @param end   fine (esclusa)
+     * @return un intervallo sovrapposto, null se [start, end) è libero
+     */
+    public Interval findOverlap(int start, int end) {
+        Node node = root;
+        while(node != null) {
+            if(node.start < end && start < node.end) {
+                return intervals.get(node.key);
+            }
+            // se il sottoalbero sinistro non contiene un intervallo che termina dopo start, nessun suo intervallo si sovrappone;
+            // altrimenti, se a sinistra non c'è sovrapposizione, non c'è neanche a destra (gli inizi a destra sono maggiori)
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Esegue l'azione per ogni intervallo, in ordine non specificato
+     *
+     * @param action l'azione
+     */
+    public void forEach(Consumer<Interval> action) {
+        intervals.values().forEach(action);
+    }
+
+    /**
+     * Restituisce il numero degli intervalli
+     *
+     * @return il numero degli intervalli
+     */
+    public int size() {
+        return intervals.size();
+    }
+
+    private static int compare(int start, long key, Node node) {
+        int byStart = Integer.compare(start, node.start);
+        return byStart != 0 ? byStart : Long.compare(key, node.key);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if(node == null) {
+            return inserted;
+        }
+        if(compare(inserted.start, inserted.key, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private static Node remove(Node node, int start, long key) {
+        if(node == null) {
+            return null;
+        }
+        int cmp = compare(start, key, node);
+        if(cmp < 0) {
+            node.left = remove(node.left, start, key);
+        } else if(cmp > 0) {
+            node.right = remove(node.right, start, key);
+        } else {
+            if(node.left == null) {
+                return node.right;
+            }
+            if(node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while(successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if(node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxEnd = node.end;
+        if(node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if(node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if(balance > 1) {
+            if(height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if(balance < -1) {
+            if(height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+}
@@ -0,0 +1,122 @@
+package co.develhope.team1studiomedico.agenda;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * La classe WorkingCalendar rappresenta il calendario compilato di un medico: per ogni giornata un bitset di MINUTES_PER_DAY bit,
+ * in cui il bit i è impostato se il medico riceve nel minuto [i, i + 1) della giornata.
+ * Alla costruzione le fasce dell'orario settimanale vengono compilate in un bitset per giorno della settimana
+ * (un medico senza fasce riceve in ogni orario) e le assenze in un bitset per ognuna delle giornate che toccano,
+ * così l'espansione di una giornata costa una copia di MINUTES_PER_DAY / 64 word, senza scorrere fasce e assenze.
+ * Le istanze sono immutabili e possono essere condivise tra thread
+ */
+public final class WorkingCalendar {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Fascia dell'orario di lavoro settimanale
+     *
+     * @param giornoSettimana giorno della settimana
+     * @param oraInizio       ora di inizio (inclusa)
+     * @param oraFine         ora di fine (esclusa), LocalTime.MIDNIGHT per la fine della giornata
+     */
+    public record WorkingHours(DayOfWeek giornoSettimana, LocalTime oraInizio, LocalTime oraFine) { }
+
+    /**
+     * Assenza
+     *
+     * @param inizio inizio (incluso)
+     * @param fine   fine (esclusa)
+     */
+    public record Absence(LocalDateTime inizio, LocalDateTime fine) { }
+
+    private final BitSet[] weekdays = new BitSet[7];
+
+    private final Map<LocalDate, BitSet> exceptions = new HashMap<>();
+
+    /**
+     * Costruttore parametrico che compila un nuovo WorkingCalendar
+     *
+     * @param hours    fasce dell'orario di lavoro settimanale, nessuna se il medico riceve in ogni orario
+     * @param absences assenze
+     */
+    public WorkingCalendar(Collection<WorkingHours> hours, Collection<Absence> absences) {
+        boolean restricted = !hours.isEmpty();
+        for(int i = 0; i < weekdays.length; i++) {
+            weekdays[i] = new BitSet(MINUTES_PER_DAY);
+            if(!restricted) {
+                weekdays[i].set(0, MINUTES_PER_DAY);
+            }
+        }
+        for(WorkingHours workingHours : hours) {
+            int start = minuteOf(workingHours.oraInizio());
+            int end = workingHours.oraFine().equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOf(workingHours.oraFine());
+            if(start < end) {
+                weekdays[workingHours.giornoSettimana().getValue() - 1].set(start, end);
+            }
+        }
+        for(Absence absence : absences) {
+            LocalDate date = absence.inizio().toLocalDate();
+            while(date.atStartOfDay().isBefore(absence.fine())) {
+                LocalDateTime dayStart = date.atStartOfDay();
+                LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+                int start = absence.inizio().isAfter(dayStart) ? minuteOf(absence.inizio().toLocalTime()) : 0;
+                // un minuto toccato dall'assenza non è disponibile
+                int end = absence.fine().isBefore(dayEnd) ? minuteCeilOf(absence.fine().toLocalTime()) : MINUTES_PER_DAY;
+                BitSet day = exceptions.computeIfAbsent(date, key -> (BitSet) weekdayOf(key).clone());
+                day.clear(start, end);
+                date = date.plusDays(1);
+            }
+        }
+    }
+
+    /**
+     * Espande la giornata indicata nel bitset dei minuti in cui il medico riceve
+     *
+     * @param date la data
+     * @return una copia modificabile del bitset della giornata
+     */
+    public BitSet expand(LocalDate date) {
+        return (BitSet) dayOf(date).clone();
+    }
+
+    /**
+     * Indica se il medico riceve in tutto l'intervallo [ora, ora + durata) della giornata indicata
+     *
+     * @param date         la data
+     * @param ora          l'ora di inizio
+     * @param durataMinuti la durata in minuti
+     * @return true se tutti i minuti dell'intervallo sono nell'orario di lavoro e fuori dalle assenze
+     */
+    public boolean isWorking(LocalDate date, LocalTime ora, int durataMinuti) {
+        int start = minuteOf(ora);
+        int end = start + durataMinuti;
+        return end <= MINUTES_PER_DAY && dayOf(date).nextClearBit(start) >= end;
+    }
+
+    private BitSet dayOf(LocalDate date) {
+        BitSet day = exceptions.get(date);
+        return day != null ? day : weekdayOf(date);
+    }
+
+    private BitSet weekdayOf(LocalDate date) {
+        return weekdays[date.getDayOfWeek().getValue() - 1];
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static int minuteCeilOf(LocalTime time) {
+        return (time.toSecondOfDay() + 59) / 60;
+    }
+
+}
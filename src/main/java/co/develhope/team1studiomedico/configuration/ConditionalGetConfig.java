@@ -0,0 +1,45 @@
+package co.develhope.team1studiomedico.configuration;
+
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.interceptors.ConditionalGetInterceptor;
+import co.develhope.team1studiomedico.services.ChangeVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static co.develhope.team1studiomedico.events.EntityScopeEnum.*;
+
+/**
+ * Classe di configurazione che registra il ConditionalGetInterceptor sugli endpoint di lettura dei controller,
+ * indicando per ciascuno le entità da cui dipendono le relative response: ad esempio le prenotazioni includono
+ * i DTO di paziente e medico e possono essere filtrate per segretario.
+ * Gli interceptor vengono eseguiti dopo il ReadYourWritesInterceptor, che stabilisce se la lettura dell'ETag
+ * (come quella della response) avviene sul primario
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // lo stream SSE dell'agenda è una response asincrona di lunga durata, non soggetta a conditional GET;
+        // le statistiche di scadenza e promemoria cambiano senza modifiche alle entità, la verifica fits dipende
+        // anche dal calendario dei medici (orari e assenze), le cui modifiche non generano eventi
+        addConditionalGet(registry, "/prenotazioni", PRENOTAZIONE, PAZIENTE, MEDICO, SEGRETARIO)
+                .excludePathPatterns("/prenotazioni/medico/*/data/*/stream",
+                        "/prenotazioni/expiry/stats", "/prenotazioni/reminders/stats", "/prenotazioni/fits/**");
+        addConditionalGet(registry, "/pazienti", PAZIENTE, SEGRETARIO, PRENOTAZIONE);
+        addConditionalGet(registry, "/medici", MEDICO, SEGRETARIO, PAZIENTE, PRENOTAZIONE);
+        addConditionalGet(registry, "/segretari", SEGRETARIO, MEDICO, PAZIENTE, PRENOTAZIONE);
+    }
+
+    private InterceptorRegistration addConditionalGet(InterceptorRegistry registry, String basePath, EntityScopeEnum... scopes) {
+        return registry.addInterceptor(new ConditionalGetInterceptor(changeVersionService, scopes))
+                .addPathPatterns(basePath, basePath + "/**");
+    }
+
+}
@@ -0,0 +1,120 @@
+package co.develhope.team1studiomedico.configuration;
+
+import co.develhope.team1studiomedico.datasource.DataSourceTypeEnum;
+import co.develhope.team1studiomedico.datasource.ReadWriteRoutingDataSource;
+import co.develhope.team1studiomedico.interceptors.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe di configurazione del routing read/write dei datasource: il pool primario è configurato da spring.datasource,
+ * il pool della replica (opzionale) da app.datasource.replica. Le transazioni read-only vengono servite dalla replica,
+ * tutte le altre dal primario; in assenza della replica tutte le connessioni vengono servite dal primario.
+ * Registra inoltre il ReadYourWritesInterceptor con la finestra di stickiness app.datasource.replica.sticky-window,
+ * sulle richieste e sulle response asincrone
+ */
+@Configuration
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    @Value("${app.datasource.replica.sticky-window:5s}")
+    private Duration stickyWindow;
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfig.class);
+
+    /**
+     * Pool di connessioni del datasource primario.
+     *
+     * @param properties le proprietà spring.datasource
+     * @return il pool del datasource primario
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Pool di connessioni della replica, creato solo se app.datasource.replica.url è configurato.
+     *
+     * @param environment l'environment da cui leggere le proprietà app.datasource.replica
+     * @return il pool della replica
+     */
+    @Bean
+    @ConditionalOnProperty("app.datasource.replica.url")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("app.datasource.replica", DataSourceProperties.class)
+                .get();
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Datasource dell'applicazione: instrada le connessioni tra primario e replica e ne ritarda l'acquisizione
+     * al primo statement della transazione.
+     *
+     * @param primaryDataSource il pool del datasource primario
+     * @param replicaDataSource il pool della replica, se configurato
+     * @return il datasource dell'applicazione
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceTypeEnum.PRIMARY, primaryDataSource);
+        replicaDataSource.ifAvailable(replica -> targetDataSources.put(DataSourceTypeEnum.REPLICA, replica));
+        logger.info("Routing datasource: replica {}", targetDataSources.containsKey(DataSourceTypeEnum.REPLICA) ? "abilitata" : "non configurata");
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // precede ConditionalGetInterceptor, che deve sapere se la lettura avviene sul primario
+        registry.addInterceptor(readYourWritesInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // le response asincrone leggono dal primario se la richiesta che le ha avviate lo richiede
+        configurer.registerCallableInterceptors(readYourWritesInterceptor());
+    }
+
+    /**
+     * Interceptor della lettura delle proprie scritture, registrato sia sulle richieste sia sulle response asincrone.
+     *
+     * @return l'interceptor
+     */
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor() {
+        return new ReadYourWritesInterceptor(stickyWindow);
+    }
+
+}
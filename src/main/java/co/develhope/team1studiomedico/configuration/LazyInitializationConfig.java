@@ -0,0 +1,46 @@
+package co.develhope.team1studiomedico.configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+
+/**
+ * Classe di configurazione dell'inizializzazione lazy dei bean (spring.main.lazy-initialization, profilo prod):
+ * datasource ed EntityManagerFactory restano inizializzati all'avvio, perché ogni richiesta ne ha bisogno
+ * e la loro creazione (pool di connessioni, migrazioni, metamodello Hibernate) non deve pesare sulla prima richiesta.
+ * Restano inizializzati all'avvio anche i bean con metodi @Scheduled (scadenza delle prenotazioni, riconciliazione
+ * di capienza e agenda), perché i task vengono registrati solo quando il bean viene creato
+ * e un bean lazy non richiesto da nessuna richiesta non verrebbe mai schedulato
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerScheduledExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        for(Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if(AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, Schedules.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
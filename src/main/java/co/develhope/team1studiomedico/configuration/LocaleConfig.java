@@ -1,10 +1,9 @@
 package co.develhope.team1studiomedico.configuration;
 
 
-import org.springframework.context.MessageSource;
+import co.develhope.team1studiomedico.i18n.PrecompiledMessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -16,18 +15,16 @@ import java.util.Locale;
  * Classe di configurazione che istanzia rispettivamente il bean dell'interfaccia MessageResource,
  * il bean della classe LocalValidatorFactoryBean e il bean dell'interfaccia LocaleResolver
  * per introdurre e abilitare l'internazionalizzazione (i18n) dei messaggi di conferma / errore
- * delle response a partire dall'header Accept-Language delle relative chiamate API
+ * delle response a partire dall'header Accept-Language delle relative chiamate API.
+ * I messaggi vengono caricati una sola volta in un catalogo precompilato (PrecompiledMessageSource)
+ * anziché essere risolti ad ogni chiamata sui file properties
  */
 @Configuration
 public class LocaleConfig implements WebMvcConfigurer {
 
     @Bean(name="messageSource")
-    public MessageSource messageSource() {
-        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
-        messageSource.setBasename("classpath:i18n/messages");
-        messageSource.setDefaultEncoding("UTF-8");
-        messageSource.setDefaultLocale(Locale.ITALIAN);
-        return messageSource;
+    public PrecompiledMessageSource messageSource() {
+        return new PrecompiledMessageSource("classpath:i18n/messages", Locale.ITALIAN);
     }
 
     @Bean
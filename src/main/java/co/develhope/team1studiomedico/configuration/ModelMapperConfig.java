@@ -1,5 +1,17 @@
 package co.develhope.team1studiomedico.configuration;
 
+import co.develhope.team1studiomedico.dto.medico.MedicoCreateDTO;
+import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteCreateDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneCreateDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.dto.segretario.SegretarioCreateDTO;
+import co.develhope.team1studiomedico.dto.segretario.SegretarioDTO;
+import co.develhope.team1studiomedico.entities.MedicoEntity;
+import co.develhope.team1studiomedico.entities.PazienteEntity;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+import co.develhope.team1studiomedico.entities.SegretarioEntity;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.modelmapper.config.Configuration.AccessLevel;
@@ -8,7 +20,9 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Classe di configurazione che istanzia il bean della classe ModelMapper
- * per realizzare nelle classi services le conversioni tra oggetti entità e DTO
+ * per realizzare nelle classi services le conversioni tra oggetti entità e DTO.
+ * Le type map di tutte le conversioni utilizzate vengono create all'avvio, in modo che l'introspezione
+ * delle classi non gravi sulle prime richieste
  */
 @Configuration
 public class ModelMapperConfig {
@@ -20,6 +34,19 @@ public class ModelMapperConfig {
                 .setFieldMatchingEnabled(true)
                 .setFieldAccessLevel(AccessLevel.PRIVATE)
                 .setMatchingStrategy(MatchingStrategies.STANDARD);
+
+        modelMapper.createTypeMap(MedicoEntity.class, MedicoDTO.class);
+        modelMapper.createTypeMap(MedicoCreateDTO.class, MedicoEntity.class);
+        modelMapper.createTypeMap(MedicoDTO.class, MedicoEntity.class);
+        modelMapper.createTypeMap(SegretarioEntity.class, SegretarioDTO.class);
+        modelMapper.createTypeMap(SegretarioCreateDTO.class, SegretarioEntity.class);
+        modelMapper.createTypeMap(SegretarioDTO.class, SegretarioEntity.class);
+        modelMapper.createTypeMap(PazienteEntity.class, PazienteDTO.class);
+        modelMapper.createTypeMap(PazienteCreateDTO.class, PazienteEntity.class);
+        modelMapper.createTypeMap(PazienteDTO.class, PazienteEntity.class);
+        modelMapper.createTypeMap(PrenotazioneEntity.class, PrenotazioneDTO.class);
+        modelMapper.createTypeMap(PrenotazioneCreateDTO.class, PrenotazioneEntity.class);
+        modelMapper.createTypeMap(PrenotazioneDTO.class, PrenotazioneEntity.class);
         return modelMapper;
     }
 
@@ -0,0 +1,48 @@
+package co.develhope.team1studiomedico.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe di configurazione della capacità giornaliera dei medici (app.prenotazioni.capacity):
+ * numero massimo di prenotazioni PENDING o CONFIRMED per medico e giorno, di default per tutti i medici
+ * e con eventuali valori specifici per id del medico; un valore minore o uguale a 0 indica capacità illimitata
+ */
+@Component
+@ConfigurationProperties("app.prenotazioni.capacity")
+public class PrenotazioneCapacityProperties {
+
+    private int defaultPerDay;
+
+    private Map<Long, Integer> medici = new HashMap<>();
+
+    /**
+     * Metodo che restituisce la capacità giornaliera del medico indicato.
+     *
+     * @param medicoId id del medico
+     * @return la capacità giornaliera, 0 o negativa se illimitata
+     */
+    public int capacityOf(Long medicoId) {
+        return medici.getOrDefault(medicoId, defaultPerDay);
+    }
+
+    public int getDefaultPerDay() {
+        return defaultPerDay;
+    }
+
+    public void setDefaultPerDay(int defaultPerDay) {
+        this.defaultPerDay = defaultPerDay;
+    }
+
+    public Map<Long, Integer> getMedici() {
+        return medici;
+    }
+
+    public void setMedici(Map<Long, Integer> medici) {
+        this.medici = medici;
+    }
+
+}
@@ -0,0 +1,14 @@
+package co.develhope.team1studiomedico.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe di configurazione che abilita l'esecuzione dei task schedulati (@Scheduled) dell'applicazione,
+ * eseguiti dal TaskScheduler configurato da Spring Boot (spring.task.scheduling)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -0,0 +1,27 @@
+package co.develhope.team1studiomedico.configuration;
+
+import co.develhope.team1studiomedico.interceptors.SparseFieldsetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Classe di configurazione che registra il SparseFieldsetInterceptor su tutti gli endpoint,
+ * così il parametro fields viene rifiutato dagli endpoint che non supportano lo sparse fieldset
+ */
+@Configuration
+public class SparseFieldsetConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // precede ConditionalGetInterceptor, che potrebbe altrimenti rispondere 304 a una richiesta non valida
+        registry.addInterceptor(new SparseFieldsetInterceptor(messageSource)).order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+
+}
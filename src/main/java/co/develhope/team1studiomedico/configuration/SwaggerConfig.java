@@ -5,15 +5,18 @@ import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Classe di configurazione che istanzia il bean della classe OpenAPI per introdurre
- * e abilitare l'utilizzo dello Swagger come tool di testing e documentazione API
+ * e abilitare l'utilizzo dello Swagger come tool di testing e documentazione API.
+ * Non viene caricata se springdoc.api-docs.enabled è false (profilo prod)
  */
 @OpenAPIDefinition
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Bean
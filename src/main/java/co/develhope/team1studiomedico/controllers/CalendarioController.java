@@ -0,0 +1,135 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.calendario.DisponibilitaDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaCreateDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoOrarioCreateDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoOrarioDTO;
+import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
+import co.develhope.team1studiomedico.services.MedicoCalendarioService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * CalendarioController rappresenta la web API controller del calendario dei medici,
+ * espone gli endpoint di gestione delle fasce dell'orario di lavoro settimanale e delle assenze
+ * e l'endpoint di ricerca delle disponibilità del medico
+ */
+@RestController
+@RequestMapping("/calendario")
+public class CalendarioController {
+
+    @Autowired
+    private MedicoCalendarioService medicoCalendarioService;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarioController.class);
+
+    /**
+     * Aggiunge una fascia all'orario di lavoro settimanale del medico, restituisce una response entity di status 201.
+     *
+     * @param medicoOrarioCreateDTO il DTO di creazione della fascia oraria
+     * @return il DTO della fascia oraria
+     */
+    @PostMapping("/orari/create")
+    public ResponseEntity createOrario(@Valid @RequestBody MedicoOrarioCreateDTO medicoOrarioCreateDTO) {
+        MedicoOrarioDTO medicoOrarioDTO = medicoCalendarioService.createOrario(medicoOrarioCreateDTO);
+        logger.info("Una nuova fascia oraria con id {} è stata registrata", medicoOrarioDTO.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("calendario.controller.orario.create",
+                null, LocaleContextHolder.getLocale()), medicoOrarioDTO));
+    }
+
+    /**
+     * Restituisce le fasce dell'orario di lavoro settimanale del medico.
+     *
+     * @param medicoId id del medico
+     * @return la lista delle fasce orarie
+     */
+    @GetMapping("/orari/medico/{medicoId}")
+    public List<MedicoOrarioDTO> getOrariByMedicoId(@PathVariable Long medicoId) {
+        return medicoCalendarioService.getOrariByMedicoId(medicoId);
+    }
+
+    /**
+     * Cancella la fascia oraria tramite id, restituisce una response entity di status 200.
+     *
+     * @param id id
+     * @return la response entity di status 200
+     */
+    @DeleteMapping("/orari/delete/{id}")
+    public ResponseEntity<String> deleteOrarioById(@PathVariable Long id) {
+        medicoCalendarioService.deleteOrarioById(id);
+        logger.info("Fascia oraria con id {} è stata cancellata", id);
+        return ResponseEntity.status(200).body(messageSource.getMessage("calendario.controller.orario.delete",
+                new Object[]{id}, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Registra un'assenza del medico, restituisce una response entity di status 201.
+     *
+     * @param medicoAssenzaCreateDTO il DTO di creazione dell'assenza
+     * @return il DTO dell'assenza
+     */
+    @PostMapping("/assenze/create")
+    public ResponseEntity createAssenza(@Valid @RequestBody MedicoAssenzaCreateDTO medicoAssenzaCreateDTO) {
+        MedicoAssenzaDTO medicoAssenzaDTO = medicoCalendarioService.createAssenza(medicoAssenzaCreateDTO);
+        logger.info("Una nuova assenza con id {} è stata registrata", medicoAssenzaDTO.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("calendario.controller.assenza.create",
+                null, LocaleContextHolder.getLocale()), medicoAssenzaDTO));
+    }
+
+    /**
+     * Restituisce le assenze del medico.
+     *
+     * @param medicoId id del medico
+     * @return la lista delle assenze
+     */
+    @GetMapping("/assenze/medico/{medicoId}")
+    public List<MedicoAssenzaDTO> getAssenzeByMedicoId(@PathVariable Long medicoId) {
+        return medicoCalendarioService.getAssenzeByMedicoId(medicoId);
+    }
+
+    /**
+     * Cancella l'assenza tramite id, restituisce una response entity di status 200.
+     *
+     * @param id id
+     * @return la response entity di status 200
+     */
+    @DeleteMapping("/assenze/delete/{id}")
+    public ResponseEntity<String> deleteAssenzaById(@PathVariable Long id) {
+        medicoCalendarioService.deleteAssenzaById(id);
+        logger.info("Assenza con id {} è stata cancellata", id);
+        return ResponseEntity.status(200).body(messageSource.getMessage("calendario.controller.assenza.delete",
+                new Object[]{id}, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Restituisce, per ogni data dell'intervallo, gli orari in cui può iniziare una prenotazione del medico della durata indicata
+     * (durata di default se assente).
+     *
+     * @param medicoId id del medico
+     * @param dataInizio prima data
+     * @param dataFine ultima data, uguale alla prima se assente
+     * @param durataMinuti durata in minuti
+     * @return la disponibilità del medico per ogni data dell'intervallo
+     */
+    @GetMapping("/disponibilita/medico/{medicoId}")
+    public List<DisponibilitaDTO> getDisponibilita(@PathVariable Long medicoId, @RequestParam LocalDate dataInizio,
+                                                   @RequestParam(required = false) LocalDate dataFine,
+                                                   @RequestParam(required = false) Integer durataMinuti) {
+        return medicoCalendarioService.getDisponibilita(medicoId, dataInizio, dataFine != null ? dataFine : dataInizio, durataMinuti);
+    }
+
+}
@@ -0,0 +1,37 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.outbox.ChangeFeedPageDTO;
+import co.develhope.team1studiomedico.services.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ChangeFeedController espone il change feed delle modifiche di medici, segretari, pazienti e prenotazioni,
+ * letto in modo incrementale dai consumer a partire dal numero di sequenza dell'ultima modifica elaborata
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * Restituisce le modifiche successive al numero di sequenza after, restituisce una response entity di status 200.
+     * Per proseguire la lettura passare come after il lastSeq della pagina ricevuta
+     *
+     * @param after numero di sequenza dell'ultima modifica già letta (0 per leggere dall'inizio)
+     * @param limit numero massimo di modifiche restituite
+     * @return la pagina del change feed
+     */
+    @GetMapping({"", "/"})
+    public ResponseEntity<ChangeFeedPageDTO> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.status(200).body(changeFeedService.getChanges(after, limit));
+    }
+
+}
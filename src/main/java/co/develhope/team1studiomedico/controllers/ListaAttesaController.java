@@ -0,0 +1,74 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaCreateDTO;
+import co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaDTO;
+import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
+import co.develhope.team1studiomedico.services.ListaAttesaService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * ListaAttesaController rappresenta la web API controller della lista di attesa,
+ * espone gli endpoint di inserimento, lettura e cancellazione delle richieste in attesa di uno slot libero
+ */
+@RestController
+@RequestMapping("/lista-attesa")
+public class ListaAttesaController {
+
+    @Autowired
+    private ListaAttesaService listaAttesaService;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    private static final Logger logger = LoggerFactory.getLogger(ListaAttesaController.class);
+
+    /**
+     * Inserisce in lista di attesa la richiesta del paziente, restituisce una response entity di status 201.
+     *
+     * @param listaAttesaCreateDTO il DTO di creazione della richiesta
+     * @return il DTO della richiesta
+     */
+    @PostMapping("/create")
+    public ResponseEntity createRichiesta(@Valid @RequestBody ListaAttesaCreateDTO listaAttesaCreateDTO) {
+        ListaAttesaDTO listaAttesaDTO = listaAttesaService.createRichiesta(listaAttesaCreateDTO);
+        logger.info("Una nuova richiesta in lista di attesa con id {} è stata registrata", listaAttesaDTO.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("listaAttesa.controller.create",
+                null, LocaleContextHolder.getLocale()), listaAttesaDTO));
+    }
+
+    /**
+     * Restituisce le richieste in attesa del medico, in ordine di priorità.
+     *
+     * @param medicoId id del medico
+     * @return la lista delle richieste in attesa
+     */
+    @GetMapping("/medico/{medicoId}")
+    public List<ListaAttesaDTO> getRichiesteInAttesaByMedicoId(@PathVariable Long medicoId) {
+        return listaAttesaService.getRichiesteInAttesaByMedicoId(medicoId);
+    }
+
+    /**
+     * Cancella la richiesta in attesa tramite id, restituisce una response entity di status 200.
+     *
+     * @param id id
+     * @return la response entity di status 200
+     */
+    @DeleteMapping("/delete/{id}")
+    public ResponseEntity<String> deleteRichiestaById(@PathVariable Long id) {
+        listaAttesaService.deleteRichiestaById(id);
+        logger.info("Richiesta in lista di attesa con id {} è stata cancellata", id);
+        return ResponseEntity.status(200).body(messageSource.getMessage("listaAttesa.controller.delete",
+                new Object[]{id}, LocaleContextHolder.getLocale()));
+    }
+
+}
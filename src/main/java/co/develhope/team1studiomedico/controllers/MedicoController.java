@@ -3,7 +3,10 @@ package co.develhope.team1studiomedico.controllers;
 import co.develhope.team1studiomedico.dto.medico.MedicoCreateDTO;
 import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
 import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.MedicoEntity;
 import co.develhope.team1studiomedico.services.MedicoService;
+import co.develhope.team1studiomedico.services.SparseFieldsetService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * MedicoController rappresenta la web API controller del Medico,
@@ -28,6 +32,9 @@ public class MedicoController {
     @Autowired
     private MedicoService medicoService;
 
+    @Autowired
+    private SparseFieldsetService sparseFieldsetService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -50,10 +57,14 @@ public class MedicoController {
     /**
      * Restituisce la lista dei medici con record status ACTIVE.
      *
+     * @param fields i campi da restituire (sparse fieldset), se assente viene restituito il DTO completo
      * @return la lista dei medici con record status ACTIVE
      */
     @GetMapping({"", "/"})
-    public List<MedicoDTO> getAllMedici() {
+    public List<?> getAllMedici(@RequestParam(required = false) Set<String> fields) {
+        if(fields != null) {
+            return sparseFieldsetService.findFieldsByRecordStatus(MedicoEntity.class, fields, EntityStatusEnum.ACTIVE, "id");
+        }
         return medicoService.getAllMedici();
     }
 
@@ -0,0 +1,42 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.success.ResponseSuccessDTO;
+import co.develhope.team1studiomedico.i18n.PrecompiledMessageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * MessageCatalogController espone l'endpoint di ricaricamento a caldo del catalogo dei messaggi i18n,
+ * registrato solo se app.i18n.reload-endpoint-enabled è true
+ */
+@RestController
+@RequestMapping("/i18n")
+@ConditionalOnProperty(name = "app.i18n.reload-endpoint-enabled", havingValue = "true")
+public class MessageCatalogController {
+
+    @Autowired
+    private PrecompiledMessageSource messageSource;
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageCatalogController.class);
+
+    /**
+     * Ricarica il catalogo dei messaggi dai file i18n/messages_*.properties, restituisce una response entity di status 200.
+     *
+     * @return la response entity di status 200
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ResponseSuccessDTO> reloadMessages() {
+        int languages = messageSource.reload();
+        logger.info("Catalogo messaggi ricaricato: {} lingue", languages);
+        return ResponseEntity.status(200).body(new ResponseSuccessDTO(messageSource.getMessage("i18n.controller.reload",
+                new Object[]{languages}, LocaleContextHolder.getLocale())));
+    }
+
+}
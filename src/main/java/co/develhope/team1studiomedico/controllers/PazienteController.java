@@ -2,8 +2,12 @@ package co.develhope.team1studiomedico.controllers;
 
 import co.develhope.team1studiomedico.dto.paziente.PazienteCreateDTO;
 import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+import co.develhope.team1studiomedico.dto.sync.DeltaSyncDTO;
 import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.PazienteEntity;
 import co.develhope.team1studiomedico.services.PazienteService;
+import co.develhope.team1studiomedico.services.SparseFieldsetService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * PazienteController rappresenta la web API controller del Paziente,
@@ -28,6 +33,9 @@ public class PazienteController {
     @Autowired
     private PazienteService pazienteService;
 
+    @Autowired
+    private SparseFieldsetService sparseFieldsetService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -50,13 +58,35 @@ public class PazienteController {
     /**
      * Restituisce la lista dei pazienti con record status ACTIVE.
      *
+     * @param fields i campi da restituire (sparse fieldset), se assente viene restituito il DTO completo
      * @return la lista dei pazienti con record status ACTIVE
      */
     @GetMapping({"", "/"})
-    public List<PazienteDTO> getAllPazienti() {
+    public List<?> getAllPazienti(@RequestParam(required = false) Set<String> fields) {
+        if(fields != null) {
+            return sparseFieldsetService.findFieldsByRecordStatus(PazienteEntity.class, fields, EntityStatusEnum.ACTIVE, "id");
+        }
         return pazienteService.getAllPazienti();
     }
 
+    /**
+     * Sincronizzazione incrementale (delta sync) dei pazienti per i client offline: restituisce i pazienti
+     * creati, modificati o ripristinati e gli id di quelli cancellati dopo il token della sincronizzazione precedente.
+     * Senza token restituisce tutti i pazienti (sincronizzazione completa); finché hasMore è true
+     * la richiesta va ripetuta con il nuovo token.
+     *
+     * @param medicoId id del medico dei pazienti da sincronizzare (facoltativo)
+     * @param token token restituito dalla sincronizzazione precedente (facoltativo)
+     * @param limit numero massimo di pazienti restituiti (facoltativo)
+     * @return il DTO del delta sync dei pazienti
+     */
+    @GetMapping("/sync")
+    public DeltaSyncDTO<PazienteDTO> syncPazienti(@RequestParam(required = false) Long medicoId,
+                                                  @RequestParam(required = false) String token,
+                                                  @RequestParam(required = false) Integer limit) {
+        return pazienteService.getPazientiDelta(medicoId, token, limit);
+    }
+
     /**
      * Restituisce la lista dei pazienti cancellati logicamente con record status DELETED.
      *
@@ -1,531 +1,762 @@
-package co.develhope.team1studiomedico.controllers;
-
-import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneCreateDTO;
-import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
-import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
-import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
-import co.develhope.team1studiomedico.services.PrenotazioneService;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.List;
-import java.util.Map;
-
-import static java.util.Map.entry;
-
-/**
- * PrenotazioneController rappresenta la web API controller delle Prenotazioni,
- * espone degli endpoint circa le operazioni CRUD di PrenotazioneEntity,
- * elabora le response sulla base delle relative request del client
- */
-@RestController
-@RequestMapping("/prenotazioni")
-public class PrenotazioneController {
-
-    @Autowired
-    private PrenotazioneService prenotazioneService;
-
-    @Autowired
-    private MessageSource messageSource;
-
-    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneController.class);
-
-    /**
-     * Crea un prenotazione, restituisce una response entity di status 201.
-     *
-     * @param prenotazioneCreateDTO il DTO di creazione della prenotazione
-     * @return il DTO della prenotazione
-     */
-    @PostMapping("/create")
-    public ResponseEntity createPrenotazione(@Valid @RequestBody PrenotazioneCreateDTO prenotazioneCreateDTO) {
-        PrenotazioneDTO prenotazioneDTO = prenotazioneService.createPrenotazione(prenotazioneCreateDTO);
-        logger.info("Una nuova prenotazione con id {} è stata registrata", prenotazioneDTO.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("prenotazione.controller.create",
-                null, LocaleContextHolder.getLocale()), prenotazioneDTO));
-    }
-
-    /**
-     * Restituisce la lista delle prenotazioni con record status ACTIVE.
-     *
-     * @return la lista delle prenotazioni con record status ACTIVE.
-     */
-    @GetMapping({"", "/"})
-    public List<PrenotazioneDTO> getAllPrenotazioni() {
-        return prenotazioneService.getAllPrenotazioni();
-    }
-
-    /**
-     * Restituisce la lista delle prenotazioni cancellate logicamente con record status DELETED.
-     *
-     * @return la lista delle prenotazioni cancellate logicamente con record status DELETED.
-     */
-    @GetMapping("/deleted")
-    public List<PrenotazioneDTO> getAllDeletedPrenotazioni() {
-        return prenotazioneService.getAllDeletedPrenotazioni();
-    }
-
-    /**
-     * Restituisce la prenotazione tramite id
-     *
-     * @param id  id
-     * @return il DTO della prenotazione tramite id
-     */
-    @GetMapping("/{id}")
-    public PrenotazioneDTO getPrenotazioneById(@PathVariable Long id) {
-        return prenotazioneService.getPrenotazioneById(id);
-    }
-
-    /**
-     * Update della prenotazione tramite id, restituisce una response entity di status 200.
-     *
-     * @param prenotazioneEdit la prenotazione edit
-     * @param id id
-     * @return la response entity di status 200.
-     */
-    @PutMapping("/edit/{id}")
-    public ResponseEntity updatePrenotazioneById(@Valid @RequestBody PrenotazioneDTO prenotazioneEdit, @PathVariable Long id) {
-        PrenotazioneDTO prenotazioneDTO = prenotazioneService.updatePrenotazioneById(prenotazioneEdit, id);
-        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("prenotazione.controller.update",
-                new Object[]{id}, LocaleContextHolder.getLocale()), prenotazioneDTO));
-    }
-
-    /**
-     * Cancella le prenotazioni, restituisce una response entity di status 200 (soft delete).
-     *
-     * @return la response entity di status 200.
-     */
-    @DeleteMapping("/delete/all")
-    public ResponseEntity<String> deleteAllPrenotazioni() {
-        prenotazioneService.deleteAllPrenotazioni();
-        logger.warn("Tutte le prenotazioni sono state cancellate");
-        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.deleteAllPrenotazioni",
-                null, LocaleContextHolder.getLocale()));
-    }
-
-    /**
-     * Cancella la prenotazione tramite id, restituisce una response entity di status 200 (soft delete).
-     *
-     * @param id  id
-     * @return la response entity di status 200
-     */
-    @DeleteMapping("/delete/{id}")
-    public ResponseEntity<String> deletePrenotazioneById(@PathVariable Long id) {
-        prenotazioneService.deletePrenotazioneById(id);
-        logger.info("Prenotazione con id {} è stata cancellata", id);
-        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.delete",
-                new Object[]{id}, LocaleContextHolder.getLocale()));
-    }
-
-    /**
-     * Ripristina la prenotazione tramite id e restituisce una response entity di status 200.
-     *
-     * @param id  id
-     * @return la response entity di status 200.
-     */
-    @PutMapping("/restore/{id}")
-    public ResponseEntity<String> restorePrenotazioneById(@PathVariable Long id){
-        prenotazioneService.restorePrenotazioneById(id);
-        logger.info("Prenotazione con id {} è stata ripristinata", id);
-        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.restore",
-                new Object[]{id}, LocaleContextHolder.getLocale()));
-    }
-
-    /**
-     * Ripristina tutte le prenotazioni e restituisce una response entity di status 200.
-     *
-     * @return la response entity di status 200.
-     */
-    @PutMapping("/restore/all")
-    public ResponseEntity<String> restoreAllPrenotazioni() {
-        prenotazioneService.restoreAllPrenotazioni();
-        logger.warn("Tutte le prenotazioni sono state ripristinate");
-        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.restoreAllPrenotazioni",
-                null, LocaleContextHolder.getLocale()));
-    }
-
-    /**
-     * Restituisce il numero delle prenotazioni della data considerata
-     * @param dataPrenotazione data di prenotazione
-     * @return il numero delle prenotazioni della data considerata
-     */
-    @GetMapping("/count/data/{dataPrenotazione}")
-    public Map<String, Integer> countPrenotazioniByDataPrenotazione(@PathVariable LocalDate dataPrenotazione) {
-        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazione(dataPrenotazione)));
-    }
-
-    /**
-     * Restituisce il numero delle prenotazioni della data considerata collegate all'id del medico
-     * @param dataPrenotazione data di prenotazione
-     * @param medicoId id del medico
-     * @return il numero delle prenotazioni della data considerata collegate all'id del medico
-     */
-    @GetMapping("/count/data/{dataPrenotazione}/medico/{medicoId}")
-    public Map<String, Integer> countPrenotazioniByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
-        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId)));
-    }
-
-    /**
-     * Restituisce il numero delle prenotazioni della data considerata collegate all'id del segretario
-     * @param dataPrenotazione data di prenotazione
-     * @param segretarioId id del segretario
-     * @return il numero delle prenotazioni della data considerata collegate all'id del segretario
-     */
-    @GetMapping("/count/data/{dataPrenotazione}/segretario/{segretarioId}")
-    public Map<String, Integer> countPrenotazioniByDataPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long segretarioId) {
-        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId)));
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dall'id del medico (foreign key medicoId in prenotazione)
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per id medico
-     */
-    @GetMapping("/medico/{medicoId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByMedicoId(@PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByMedicoId(medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dall'id del paziente (foreign key pazienteId in prenotazione)
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate per id paziente
-     */
-    @GetMapping("/paziente/{pazienteId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByPazienteId(@PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniByPazienteId(pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dall'id del segretario,
-     * le due tabelle hanno in comune l'id del medico (foreign key)
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per id segretario
-     */
-    @GetMapping("/segretario/{segretarioId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBySegretarioId(@PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniBySegretarioId(segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione
-     * @param dataPrenotazione data di prenotazione
-     * @return lista delle prenotazioni filtrate per data di prenotazione
-     */
-    @GetMapping("/data/{dataPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazione(@PathVariable LocalDate dataPrenotazione) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazione(dataPrenotazione);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data e dall'ora della prenotazione
-     * @param dataPrenotazione data di prenotazione
-     * @param oraPrenotazione ora della prenotazione
-     * @return lista delle prenotazioni filtrate per data e ora della prenotazione
-     */
-    @GetMapping("/data/{dataPrenotazione}/ora/{oraPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazione(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazione(dataPrenotazione, oraPrenotazione);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate
-     * @param startDate data inizio
-     * @param endDate data fine
-     * @return lista delle prenotazioni nell'intervallo di due date considerate
-     */
-    @GetMapping("/data/{startDate}/{endDate}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazione(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate) {
-        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazione(startDate, endDate);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per stato prenotazione
-     * @param statoPrenotazione stato della prenotazione
-     * @return lista delle prenotazioni filtrate per stato prenotazione
-     */
-    @GetMapping("/stato/{statoPrenotazione}")
-    public List<PrenotazioneDTO> findPrenotazioniByStatoPrenotazione(@PathVariable PrenotazioneStatusEnum statoPrenotazione) {
-        return prenotazioneService.getAllPrenotazioniByStatoPrenotazione(statoPrenotazione);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del medico
-     * @param dataPrenotazione data di prenotazione
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per data di prenotazione e id del medico
-     */
-    @GetMapping("/medico/{medicoId}/data/{dataPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del segretario
-     * @param dataPrenotazione data di prenotazione
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per data di prenotazione e id del segretario
-     */
-    @GetMapping("/segretario/{segretarioId}/data/{dataPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del paziente
-     * @param dataPrenotazione data di prenotazione
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate per data di prenotazione e id del paziente
-     */
-    @GetMapping("/paziente/{pazienteId}/data/{dataPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndPazienteId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndPazienteId(dataPrenotazione, pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data, dall'ora della prenotazione e dall'id del medico
-     * @param dataPrenotazione data di prenotazione
-     * @param oraPrenotazione ora della prenotazione
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del medico
-     */
-    @GetMapping("/medico/{medicoId}/data/{dataPrenotazione}/ora/{oraPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(dataPrenotazione, oraPrenotazione, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni a partire dalla data, dall'ora della prenotazione e dall'id del segretario
-     * @param dataPrenotazione data di prenotazione
-     * @param oraPrenotazione ora della prenotazione
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del segretario
-     */
-    @GetMapping("/segretario/{segretarioId}/data/{dataPrenotazione}/ora/{oraPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(dataPrenotazione, oraPrenotazione, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del medico
-     * @param startDate data inizio
-     * @param endDate data fine
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del medico
-     */
-    @GetMapping("/medico/{medicoId}/data/{startDate}/{endDate}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndMedicoId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndMedicoId(startDate, endDate, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del segretario
-     * @param startDate data inizio
-     * @param endDate data fine
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del segretario
-     */
-    @GetMapping("/segretario/{segretarioId}/data/{startDate}/{endDate}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndSegretarioId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndSegretarioId(startDate, endDate, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del paziente
-     * @param startDate data inizio
-     * @param endDate data fine
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del paziente
-     */
-    @GetMapping("/paziente/{pazienteId}/data/{startDate}/{endDate}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndPazienteId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndPazienteId(startDate, endDate, pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del medico
-     * @param statoPrenotazione stato della prenotazione
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per stato prenotazione e id del medico
-     */
-    @GetMapping("/medico/{medicoId}/stato/{statoPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndMedicoId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndMedicoId(statoPrenotazione, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del segretario
-     * @param statoPrenotazione stato della prenotazione
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per stato prenotazione e id del segretario
-     */
-    @GetMapping("/segretario/{segretarioId}/stato/{statoPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndSegretarioId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndSegretarioId(statoPrenotazione, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del paziente
-     * @param statoPrenotazione stato della prenotazione
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate per stato prenotazione e id del paziente
-     */
-    @GetMapping("/paziente/{pazienteId}/stato/{statoPrenotazione}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndPazienteId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndPazienteId(statoPrenotazione, pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per anno (year)
-     * @param year anno (year) di ricerca
-     * @return lista delle prenotazioni filtrate per anno (year)
-     */
-    @GetMapping("/year/{year}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByYear(@PathVariable Integer year) {
-        return prenotazioneService.getAllPrenotazioniByYear(year);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per anno (year) e id del medico
-     * @param year anno (year) di ricerca
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per anno (year) e id del medico
-     */
-    @GetMapping("/year/{year}/medico/{medicoId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndMedicoId(@PathVariable Integer year, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByYearAndMedicoId(year, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per anno (year) e id del segretario
-     * @param year anno (year) di ricerca
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per anno (year) e id del segretario
-     */
-    @GetMapping("/year/{year}/segretario/{segretarioId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndSegretarioId(@PathVariable Integer year, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniByYearAndSegretarioId(year, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per anno (year) e id del paziente
-     * @param year anno (year) di ricerca
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate per anno (year) e id del paziente
-     */
-    @GetMapping("/year/{year}/paziente/{pazienteId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndPazienteId(@PathVariable Integer year, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniByYearAndPazienteId(year, pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year)
-     * @param month mese (month) di ricerca
-     * @param year anno (year) di ricerca
-     * @return lista delle prenotazioni filtrate per mese (month) e anno (year)
-     */
-    @GetMapping("/month/{month}/year/{year}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYear(@PathVariable Integer month, @PathVariable Integer year) {
-        return prenotazioneService.getAllPrenotazioniByMonthAndYear(month, year);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del medico
-     * @param month mese (month) di ricerca
-     * @param year anno (year) di ricerca
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del medico
-     */
-    @GetMapping("/month/{month}/year/{year}/medico/{medicoId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndMedicoId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndMedicoId(month, year, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del segretario
-     * @param month mese (month) di ricerca
-     * @param year anno (year) di ricerca
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del segretario
-     */
-    @GetMapping("/month/{month}/year/{year}/segretario/{segretarioId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndSegretarioId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndSegretarioId(month, year, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del paziente
-     * @param month mese (month) di ricerca
-     * @param year anno (year) di ricerca
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del paziente
-     */
-    @GetMapping("/month/{month}/year/{year}/paziente/{pazienteId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndPazienteId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndPazienteId(month, year, pazienteId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati
-     * @param fromMonth mese (month) inizio
-     * @param toMonth mese (month) fine
-     * @param fromYear anno (year) inizio
-     * @param toYear anno (year) fine
-     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati
-     */
-    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYears(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear) {
-        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYears(fromMonth, toMonth, fromYear, toYear);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del medico
-     * @param fromMonth mese (month) inizio
-     * @param toMonth mese (month) fine
-     * @param fromYear anno (year) inizio
-     * @param toYear anno (year) fine
-     * @param medicoId id del medico
-     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del medico
-     */
-    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/medico/{medicoId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndMedicoId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long medicoId) {
-        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndMedicoId(fromMonth, toMonth, fromYear, toYear, medicoId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del segretario
-     * @param fromMonth mese (month) inizio
-     * @param toMonth mese (month) fine
-     * @param fromYear anno (year) inizio
-     * @param toYear anno (year) fine
-     * @param segretarioId id del segretario
-     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del segretario
-     */
-    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/segretario/{segretarioId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndSegretarioId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long segretarioId) {
-        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndSegretarioId(fromMonth, toMonth, fromYear, toYear, segretarioId);
-    }
-
-    /**
-     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del paziente
-     * @param fromMonth mese (month) inizio
-     * @param toMonth mese (month) fine
-     * @param fromYear anno (year) inizio
-     * @param toYear anno (year) fine
-     * @param pazienteId id del paziente
-     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del paziente
-     */
-    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/paziente/{pazienteId}")
-    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndPazienteId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long pazienteId) {
-        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndPazienteId(fromMonth, toMonth, fromYear, toYear, pazienteId);
-    }
-
-}
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneCreateDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneExpiryStatsDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFilterDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneReminderStatsDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneStatusTransitionDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneStatusTransitionResultDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioniPageDTO;
+import co.develhope.team1studiomedico.dto.sync.DeltaSyncDTO;
+import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import co.develhope.team1studiomedico.services.AgendaStreamService;
+import co.develhope.team1studiomedico.services.PrenotazioneCapacityService;
+import co.develhope.team1studiomedico.services.PrenotazioneExpiryService;
+import co.develhope.team1studiomedico.services.PrenotazioneExportService;
+import co.develhope.team1studiomedico.services.PrenotazioneExportService.FormatoExport;
+import co.develhope.team1studiomedico.services.PrenotazioneReminderService;
+import co.develhope.team1studiomedico.services.PrenotazioneService;
+import co.develhope.team1studiomedico.services.SparseFieldsetService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+
+/**
+ * PrenotazioneController rappresenta la web API controller delle Prenotazioni,
+ * espone degli endpoint circa le operazioni CRUD di PrenotazioneEntity,
+ * elabora le response sulla base delle relative request del client
+ */
+@RestController
+@RequestMapping("/prenotazioni")
+public class PrenotazioneController {
+
+    @Autowired
+    private PrenotazioneService prenotazioneService;
+
+    @Autowired
+    private PrenotazioneExportService prenotazioneExportService;
+
+    @Autowired
+    private SparseFieldsetService sparseFieldsetService;
+
+    @Autowired
+    private AgendaStreamService agendaStreamService;
+
+    @Autowired
+    private PrenotazioneExpiryService prenotazioneExpiryService;
+
+    @Autowired
+    private PrenotazioneReminderService prenotazioneReminderService;
+
+    @Autowired
+    private PrenotazioneCapacityService prenotazioneCapacityService;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneController.class);
+
+    /**
+     * Crea un prenotazione, restituisce una response entity di status 201.
+     *
+     * @param prenotazioneCreateDTO il DTO di creazione della prenotazione
+     * @return il DTO della prenotazione
+     */
+    @PostMapping("/create")
+    public ResponseEntity createPrenotazione(@Valid @RequestBody PrenotazioneCreateDTO prenotazioneCreateDTO) {
+        PrenotazioneDTO prenotazioneDTO = prenotazioneService.createPrenotazione(prenotazioneCreateDTO);
+        logger.info("Una nuova prenotazione con id {} è stata registrata", prenotazioneDTO.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("prenotazione.controller.create",
+                null, LocaleContextHolder.getLocale()), prenotazioneDTO));
+    }
+
+    /**
+     * Restituisce la lista delle prenotazioni con record status ACTIVE.
+     *
+     * @param fields i campi da restituire (sparse fieldset), se assente viene restituito il DTO completo
+     * @return la lista delle prenotazioni con record status ACTIVE.
+     */
+    @GetMapping({"", "/"})
+    public List<?> getAllPrenotazioni(@RequestParam(required = false) Set<String> fields) {
+        if(fields != null) {
+            return sparseFieldsetService.findFieldsByRecordStatus(PrenotazioneEntity.class, fields, EntityStatusEnum.ACTIVE, "dataPrenotazione", "oraPrenotazione");
+        }
+        return prenotazioneService.getAllPrenotazioni();
+    }
+
+    /**
+     * Ricerca componibile delle prenotazioni con record status ACTIVE: accetta qualsiasi combinazione dei criteri
+     * (medicoId, segretarioId, pazienteId, dataPrenotazione, startDate, endDate, oraPrenotazione, startOra, endOra,
+     * statoPrenotazione, year, month) come query parameter, con ordinamento (direction) e paginazione keyset (limit, cursor).
+     *
+     * @param filter i criteri di ricerca, ordinamento e paginazione
+     * @return la pagina delle prenotazioni con il cursore della pagina successiva
+     */
+    @GetMapping("/filter")
+    public PrenotazioniPageDTO filterPrenotazioni(PrenotazioneFilterDTO filter) {
+        return prenotazioneService.searchPrenotazioni(filter);
+    }
+
+    /**
+     * Sincronizzazione incrementale (delta sync) delle prenotazioni per i client offline: restituisce le prenotazioni
+     * create, modificate o ripristinate e gli id di quelle cancellate dopo il token della sincronizzazione precedente.
+     * Senza token restituisce tutte le prenotazioni (sincronizzazione completa); finché hasMore è true
+     * la richiesta va ripetuta con il nuovo token.
+     *
+     * @param medicoId id del medico dell'agenda da sincronizzare (facoltativo)
+     * @param token token restituito dalla sincronizzazione precedente (facoltativo)
+     * @param limit numero massimo di prenotazioni restituite (facoltativo)
+     * @return il DTO del delta sync delle prenotazioni
+     */
+    @GetMapping("/sync")
+    public DeltaSyncDTO<PrenotazioneDTO> syncPrenotazioni(@RequestParam(required = false) Long medicoId,
+                                                          @RequestParam(required = false) String token,
+                                                          @RequestParam(required = false) Integer limit) {
+        return prenotazioneService.getPrenotazioniDelta(medicoId, token, limit);
+    }
+
+    /**
+     * Restituisce in streaming le prenotazioni con record status ACTIVE in formato NDJSON (un oggetto JSON per riga),
+     * le righe vengono lette, convertite e scritte una alla volta per gli export di grandi dimensioni.
+     *
+     * @return la response entity con il body in streaming
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPrenotazioni() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> prenotazioneService.streamAllPrenotazioni(outputStream));
+    }
+
+    /**
+     * Restituisce in streaming le prenotazioni dell'anno (year) considerato in formato NDJSON.
+     *
+     * @param year anno (year) di ricerca
+     * @return la response entity con il body in streaming
+     */
+    @GetMapping(value = "/stream/year/{year}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPrenotazioniByYear(@PathVariable Integer year) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> prenotazioneService.streamPrenotazioniByYear(year, outputStream));
+    }
+
+    /**
+     * Restituisce in streaming le prenotazioni nell'intervallo di due date considerate in formato NDJSON.
+     *
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @return la response entity con il body in streaming
+     */
+    @GetMapping(value = "/stream/data/{startDate}/{endDate}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPrenotazioniBetweenDatePrenotazione(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> prenotazioneService.streamPrenotazioniBetweenDatePrenotazione(startDate, endDate, outputStream));
+    }
+
+    /**
+     * Esporta le prenotazioni del medico nell'intervallo di due date considerate come allegato compresso gzip,
+     * in formato CSV piatto (default) oppure binario compatto (format=BINARY).
+     *
+     * @param medicoId id del medico
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param format formato di export
+     * @return la response entity con il body in streaming
+     */
+    @GetMapping("/export/medico/{medicoId}/data/{startDate}/{endDate}")
+    public ResponseEntity<StreamingResponseBody> exportPrenotazioniBetweenDatePrenotazioneAndMedicoId(@PathVariable Long medicoId,
+                                                                                                     @PathVariable LocalDate startDate,
+                                                                                                     @PathVariable LocalDate endDate,
+                                                                                                     @RequestParam(defaultValue = "CSV") FormatoExport format) {
+        String filename = "prenotazioni-medico-" + medicoId + "-" + startDate + "-" + endDate
+                + (format == FormatoExport.CSV ? ".csv.gz" : ".bin.gz");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(outputStream -> prenotazioneExportService
+                        .exportPrenotazioniByMedicoId(medicoId, startDate, endDate, format, outputStream));
+    }
+
+    /**
+     * Esporta le prenotazioni del medico dell'anno (year) considerato come allegato compresso gzip.
+     *
+     * @param year anno (year) di ricerca
+     * @param medicoId id del medico
+     * @param format formato di export
+     * @return la response entity con il body in streaming
+     */
+    @GetMapping("/export/year/{year}/medico/{medicoId}")
+    public ResponseEntity<StreamingResponseBody> exportPrenotazioniByYearAndMedicoId(@PathVariable Integer year,
+                                                                                    @PathVariable Long medicoId,
+                                                                                    @RequestParam(defaultValue = "CSV") FormatoExport format) {
+        return exportPrenotazioniBetweenDatePrenotazioneAndMedicoId(medicoId, LocalDate.of(year, 1, 1),
+                LocalDate.of(year, 12, 31), format);
+    }
+
+    /**
+     * Restituisce la lista delle prenotazioni cancellate logicamente con record status DELETED.
+     *
+     * @return la lista delle prenotazioni cancellate logicamente con record status DELETED.
+     */
+    @GetMapping("/deleted")
+    public List<PrenotazioneDTO> getAllDeletedPrenotazioni() {
+        return prenotazioneService.getAllDeletedPrenotazioni();
+    }
+
+    /**
+     * Restituisce la prenotazione tramite id
+     *
+     * @param id  id
+     * @return il DTO della prenotazione tramite id
+     */
+    @GetMapping("/{id}")
+    public PrenotazioneDTO getPrenotazioneById(@PathVariable Long id) {
+        return prenotazioneService.getPrenotazioneById(id);
+    }
+
+    /**
+     * Update della prenotazione tramite id, restituisce una response entity di status 200.
+     *
+     * @param prenotazioneEdit la prenotazione edit
+     * @param id id
+     * @return la response entity di status 200.
+     */
+    @PutMapping("/edit/{id}")
+    public ResponseEntity updatePrenotazioneById(@Valid @RequestBody PrenotazioneDTO prenotazioneEdit, @PathVariable Long id) {
+        PrenotazioneDTO prenotazioneDTO = prenotazioneService.updatePrenotazioneById(prenotazioneEdit, id);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("prenotazione.controller.update",
+                new Object[]{id}, LocaleContextHolder.getLocale()), prenotazioneDTO));
+    }
+
+    /**
+     * Cancella le prenotazioni, restituisce una response entity di status 200 (soft delete).
+     *
+     * @return la response entity di status 200.
+     */
+    @DeleteMapping("/delete/all")
+    public ResponseEntity<String> deleteAllPrenotazioni() {
+        prenotazioneService.deleteAllPrenotazioni();
+        logger.warn("Tutte le prenotazioni sono state cancellate");
+        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.deleteAllPrenotazioni",
+                null, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Cancella la prenotazione tramite id, restituisce una response entity di status 200 (soft delete).
+     *
+     * @param id  id
+     * @return la response entity di status 200
+     */
+    @DeleteMapping("/delete/{id}")
+    public ResponseEntity<String> deletePrenotazioneById(@PathVariable Long id) {
+        prenotazioneService.deletePrenotazioneById(id);
+        logger.info("Prenotazione con id {} è stata cancellata", id);
+        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.delete",
+                new Object[]{id}, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Ripristina la prenotazione tramite id e restituisce una response entity di status 200.
+     *
+     * @param id  id
+     * @return la response entity di status 200.
+     */
+    @PutMapping("/restore/{id}")
+    public ResponseEntity<String> restorePrenotazioneById(@PathVariable Long id){
+        prenotazioneService.restorePrenotazioneById(id);
+        logger.info("Prenotazione con id {} è stata ripristinata", id);
+        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.restore",
+                new Object[]{id}, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Ripristina tutte le prenotazioni e restituisce una response entity di status 200.
+     *
+     * @return la response entity di status 200.
+     */
+    @PutMapping("/restore/all")
+    public ResponseEntity<String> restoreAllPrenotazioni() {
+        prenotazioneService.restoreAllPrenotazioni();
+        logger.warn("Tutte le prenotazioni sono state ripristinate");
+        return ResponseEntity.status(200).body(messageSource.getMessage("prenotazione.controller.restoreAllPrenotazioni",
+                null, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Esegue la transizione di stato massiva delle prenotazioni (es. conferma di tutte le prenotazioni PENDING del medico nel giorno),
+     * indicate tramite la lista degli id oppure tramite medicoId, dataPrenotazione e fromStato, con un'unica UPDATE.
+     * Restituisce una response entity di status 200 con l'esito per ogni prenotazione considerata
+     * @param transition la richiesta di transizione di stato
+     * @return il numero di prenotazioni aggiornate e l'esito per ogni prenotazione
+     */
+    @PutMapping("/stato")
+    public ResponseEntity<ResponseDataSuccessDTO<PrenotazioneStatusTransitionResultDTO>> transitionStatoPrenotazioni(
+            @Valid @RequestBody PrenotazioneStatusTransitionDTO transition) {
+        PrenotazioneStatusTransitionResultDTO result = prenotazioneService.transitionStatoPrenotazioni(transition);
+        logger.info("{} prenotazioni portate nello stato {}", result.getUpdated(), result.getToStato());
+        return ResponseEntity.status(200).body(new ResponseDataSuccessDTO<>(messageSource.getMessage("prenotazione.controller.transition",
+                new Object[]{result.getUpdated(), result.getToStato()}, LocaleContextHolder.getLocale()), result));
+    }
+
+    /**
+     * Restituisce le metriche della scadenza automatica delle prenotazioni PENDING (conteggi e tempi), restituisce una response entity di status 200
+     * @return le metriche della scadenza automatica
+     */
+    @GetMapping("/expiry/stats")
+    public ResponseEntity<PrenotazioneExpiryStatsDTO> getExpiryStats() {
+        return ResponseEntity.status(200).body(prenotazioneExpiryService.getStats());
+    }
+
+    /**
+     * Restituisce le metriche dei promemoria delle prenotazioni (promemoria in attesa, inviati, scartati e non riusciti), restituisce una response entity di status 200
+     * @return le metriche dei promemoria
+     */
+    @GetMapping("/reminders/stats")
+    public ResponseEntity<PrenotazioneReminderStatsDTO> getReminderStats() {
+        return ResponseEntity.status(200).body(prenotazioneReminderService.getStats());
+    }
+
+    /**
+     * Restituisce il numero delle prenotazioni della data considerata
+     * @param dataPrenotazione data di prenotazione
+     * @return il numero delle prenotazioni della data considerata
+     */
+    @GetMapping("/count/data/{dataPrenotazione}")
+    public Map<String, Integer> countPrenotazioniByDataPrenotazione(@PathVariable LocalDate dataPrenotazione) {
+        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazione(dataPrenotazione)));
+    }
+
+    /**
+     * Restituisce il numero delle prenotazioni della data considerata collegate all'id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param medicoId id del medico
+     * @return il numero delle prenotazioni della data considerata collegate all'id del medico
+     */
+    @GetMapping("/count/data/{dataPrenotazione}/medico/{medicoId}")
+    public Map<String, Integer> countPrenotazioniByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
+        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId)));
+    }
+
+    /**
+     * Restituisce la capacità giornaliera del medico (0 se illimitata) e il numero delle prenotazioni PENDING o CONFIRMED
+     * della data considerata
+     * @param dataPrenotazione data di prenotazione
+     * @param medicoId id del medico
+     * @return la capacità giornaliera e il numero delle prenotazioni della giornata del medico
+     */
+    @GetMapping("/capacity/data/{dataPrenotazione}/medico/{medicoId}")
+    public Map<String, Integer> getCapacityByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
+        return Map.ofEntries(entry("capacity", prenotazioneCapacityService.getCapacity(medicoId)),
+                entry("booked", prenotazioneCapacityService.getBooked(medicoId, dataPrenotazione)));
+    }
+
+    /**
+     * Verifica se una prenotazione del medico alla data e ora considerate, della durata indicata (durata di default se assente),
+     * rientra nell'orario di lavoro del medico, fuori dalle sue assenze, e non si sovrappone alle prenotazioni PENDING o CONFIRMED della giornata
+     * @param medicoId id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param oraPrenotazione ora di prenotazione
+     * @param durataMinuti durata in minuti
+     * @return l'esito della verifica e, se l'intervallo non è libero, se il medico riceve nell'intervallo e l'id dell'eventuale prenotazione sovrapposta
+     */
+    @GetMapping("/fits/medico/{medicoId}/data/{dataPrenotazione}/ora/{oraPrenotazione}")
+    public Map<String, Object> fitsPrenotazione(@PathVariable Long medicoId, @PathVariable LocalDate dataPrenotazione,
+                                                @PathVariable LocalTime oraPrenotazione, @RequestParam(required = false) Integer durataMinuti) {
+        return prenotazioneService.fitsPrenotazione(medicoId, dataPrenotazione, oraPrenotazione, durataMinuti);
+    }
+
+    /**
+     * Restituisce il numero delle prenotazioni della data considerata collegate all'id del segretario
+     * @param dataPrenotazione data di prenotazione
+     * @param segretarioId id del segretario
+     * @return il numero delle prenotazioni della data considerata collegate all'id del segretario
+     */
+    @GetMapping("/count/data/{dataPrenotazione}/segretario/{segretarioId}")
+    public Map<String, Integer> countPrenotazioniByDataPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long segretarioId) {
+        return Map.ofEntries(entry("count", prenotazioneService.countPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId)));
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dall'id del medico (foreign key medicoId in prenotazione)
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per id medico
+     */
+    @GetMapping("/medico/{medicoId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByMedicoId(@PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByMedicoId(medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dall'id del paziente (foreign key pazienteId in prenotazione)
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate per id paziente
+     */
+    @GetMapping("/paziente/{pazienteId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByPazienteId(@PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniByPazienteId(pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dall'id del segretario,
+     * le due tabelle hanno in comune l'id del medico (foreign key)
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per id segretario
+     */
+    @GetMapping("/segretario/{segretarioId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBySegretarioId(@PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniBySegretarioId(segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione
+     * @param dataPrenotazione data di prenotazione
+     * @return lista delle prenotazioni filtrate per data di prenotazione
+     */
+    @GetMapping("/data/{dataPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazione(@PathVariable LocalDate dataPrenotazione) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazione(dataPrenotazione);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data e dall'ora della prenotazione
+     * @param dataPrenotazione data di prenotazione
+     * @param oraPrenotazione ora della prenotazione
+     * @return lista delle prenotazioni filtrate per data e ora della prenotazione
+     */
+    @GetMapping("/data/{dataPrenotazione}/ora/{oraPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazione(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazione(dataPrenotazione, oraPrenotazione);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @return lista delle prenotazioni nell'intervallo di due date considerate
+     */
+    @GetMapping("/data/{startDate}/{endDate}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazione(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate) {
+        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazione(startDate, endDate);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per stato prenotazione
+     * @param statoPrenotazione stato della prenotazione
+     * @return lista delle prenotazioni filtrate per stato prenotazione
+     */
+    @GetMapping("/stato/{statoPrenotazione}")
+    public List<PrenotazioneDTO> findPrenotazioniByStatoPrenotazione(@PathVariable PrenotazioneStatusEnum statoPrenotazione) {
+        return prenotazioneService.getAllPrenotazioniByStatoPrenotazione(statoPrenotazione);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per data di prenotazione e id del medico
+     */
+    @GetMapping("/medico/{medicoId}/data/{dataPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId);
+    }
+
+    /**
+     * Apre lo stream SSE (text/event-stream) dell'agenda del medico nel giorno indicato: dopo l'evento connected
+     * vengono inviati gli eventi create, update, delete e restore delle prenotazioni (payload AgendaEventDTO),
+     * e l'evento resync quando l'agenda deve essere ricaricata (operazioni massive, scadenza automatica delle prenotazioni PENDING
+     * o eventi scartati per client lenti)
+     * @param medicoId id del medico
+     * @param dataPrenotazione giorno dell'agenda
+     * @return l'emitter SSE dello stream
+     */
+    @GetMapping(path = "/medico/{medicoId}/data/{dataPrenotazione}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAgendaByDataPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long medicoId) {
+        return agendaStreamService.subscribe(medicoId, dataPrenotazione);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del segretario
+     * @param dataPrenotazione data di prenotazione
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per data di prenotazione e id del segretario
+     */
+    @GetMapping("/segretario/{segretarioId}/data/{dataPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data di prenotazione e dall'id del paziente
+     * @param dataPrenotazione data di prenotazione
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate per data di prenotazione e id del paziente
+     */
+    @GetMapping("/paziente/{pazienteId}/data/{dataPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndPazienteId(@PathVariable LocalDate dataPrenotazione, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndPazienteId(dataPrenotazione, pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data, dall'ora della prenotazione e dall'id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param oraPrenotazione ora della prenotazione
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del medico
+     */
+    @GetMapping("/medico/{medicoId}/data/{dataPrenotazione}/ora/{oraPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(dataPrenotazione, oraPrenotazione, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni a partire dalla data, dall'ora della prenotazione e dall'id del segretario
+     * @param dataPrenotazione data di prenotazione
+     * @param oraPrenotazione ora della prenotazione
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del segretario
+     */
+    @GetMapping("/segretario/{segretarioId}/data/{dataPrenotazione}/ora/{oraPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(@PathVariable LocalDate dataPrenotazione, @PathVariable LocalTime oraPrenotazione, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(dataPrenotazione, oraPrenotazione, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del medico
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del medico
+     */
+    @GetMapping("/medico/{medicoId}/data/{startDate}/{endDate}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndMedicoId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndMedicoId(startDate, endDate, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del segretario
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del segretario
+     */
+    @GetMapping("/segretario/{segretarioId}/data/{startDate}/{endDate}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndSegretarioId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndSegretarioId(startDate, endDate, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni nell'intervallo di due date considerate e id del paziente
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni nell'intervallo di due date considerate e id del paziente
+     */
+    @GetMapping("/paziente/{pazienteId}/data/{startDate}/{endDate}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndPazienteId(@PathVariable LocalDate startDate, @PathVariable LocalDate endDate, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniBetweenDatePrenotazioneAndPazienteId(startDate, endDate, pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del medico
+     * @param statoPrenotazione stato della prenotazione
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per stato prenotazione e id del medico
+     */
+    @GetMapping("/medico/{medicoId}/stato/{statoPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndMedicoId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndMedicoId(statoPrenotazione, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del segretario
+     * @param statoPrenotazione stato della prenotazione
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per stato prenotazione e id del segretario
+     */
+    @GetMapping("/segretario/{segretarioId}/stato/{statoPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndSegretarioId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndSegretarioId(statoPrenotazione, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per stato prenotazione e id del paziente
+     * @param statoPrenotazione stato della prenotazione
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate per stato prenotazione e id del paziente
+     */
+    @GetMapping("/paziente/{pazienteId}/stato/{statoPrenotazione}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndPazienteId(@PathVariable PrenotazioneStatusEnum statoPrenotazione, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniByStatoPrenotazioneAndPazienteId(statoPrenotazione, pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per anno (year)
+     * @param year anno (year) di ricerca
+     * @return lista delle prenotazioni filtrate per anno (year)
+     */
+    @GetMapping("/year/{year}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByYear(@PathVariable Integer year) {
+        return prenotazioneService.getAllPrenotazioniByYear(year);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per anno (year) e id del medico
+     * @param year anno (year) di ricerca
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per anno (year) e id del medico
+     */
+    @GetMapping("/year/{year}/medico/{medicoId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndMedicoId(@PathVariable Integer year, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByYearAndMedicoId(year, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per anno (year) e id del segretario
+     * @param year anno (year) di ricerca
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per anno (year) e id del segretario
+     */
+    @GetMapping("/year/{year}/segretario/{segretarioId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndSegretarioId(@PathVariable Integer year, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniByYearAndSegretarioId(year, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per anno (year) e id del paziente
+     * @param year anno (year) di ricerca
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate per anno (year) e id del paziente
+     */
+    @GetMapping("/year/{year}/paziente/{pazienteId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByYearAndPazienteId(@PathVariable Integer year, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniByYearAndPazienteId(year, pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year)
+     * @param month mese (month) di ricerca
+     * @param year anno (year) di ricerca
+     * @return lista delle prenotazioni filtrate per mese (month) e anno (year)
+     */
+    @GetMapping("/month/{month}/year/{year}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYear(@PathVariable Integer month, @PathVariable Integer year) {
+        return prenotazioneService.getAllPrenotazioniByMonthAndYear(month, year);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del medico
+     * @param month mese (month) di ricerca
+     * @param year anno (year) di ricerca
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del medico
+     */
+    @GetMapping("/month/{month}/year/{year}/medico/{medicoId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndMedicoId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndMedicoId(month, year, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del segretario
+     * @param month mese (month) di ricerca
+     * @param year anno (year) di ricerca
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del segretario
+     */
+    @GetMapping("/month/{month}/year/{year}/segretario/{segretarioId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndSegretarioId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndSegretarioId(month, year, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month), anno (year) e id del paziente
+     * @param month mese (month) di ricerca
+     * @param year anno (year) di ricerca
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del paziente
+     */
+    @GetMapping("/month/{month}/year/{year}/paziente/{pazienteId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndPazienteId(@PathVariable Integer month, @PathVariable Integer year, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniByMonthAndYearAndPazienteId(month, year, pazienteId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati
+     * @param fromMonth mese (month) inizio
+     * @param toMonth mese (month) fine
+     * @param fromYear anno (year) inizio
+     * @param toYear anno (year) fine
+     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati
+     */
+    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYears(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear) {
+        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYears(fromMonth, toMonth, fromYear, toYear);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del medico
+     * @param fromMonth mese (month) inizio
+     * @param toMonth mese (month) fine
+     * @param fromYear anno (year) inizio
+     * @param toYear anno (year) fine
+     * @param medicoId id del medico
+     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del medico
+     */
+    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/medico/{medicoId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndMedicoId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long medicoId) {
+        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndMedicoId(fromMonth, toMonth, fromYear, toYear, medicoId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del segretario
+     * @param fromMonth mese (month) inizio
+     * @param toMonth mese (month) fine
+     * @param fromYear anno (year) inizio
+     * @param toYear anno (year) fine
+     * @param segretarioId id del segretario
+     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del segretario
+     */
+    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/segretario/{segretarioId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndSegretarioId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long segretarioId) {
+        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndSegretarioId(fromMonth, toMonth, fromYear, toYear, segretarioId);
+    }
+
+    /**
+     * Ricerca e restituisce le prenotazioni per mese (month) e anno (year) nell'intervallo di due mesi e due anni considerati, e id del paziente
+     * @param fromMonth mese (month) inizio
+     * @param toMonth mese (month) fine
+     * @param fromYear anno (year) inizio
+     * @param toYear anno (year) fine
+     * @param pazienteId id del paziente
+     * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del paziente
+     */
+    @GetMapping("/month/{fromMonth}/{toMonth}/year/{fromYear}/{toYear}/paziente/{pazienteId}")
+    public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndPazienteId(@PathVariable Integer fromMonth, @PathVariable Integer toMonth, @PathVariable Integer fromYear, @PathVariable Integer toYear, @PathVariable Long pazienteId) {
+        return prenotazioneService.getAllPrenotazioniBetweenMonthsAndYearsAndPazienteId(fromMonth, toMonth, fromYear, toYear, pazienteId);
+    }
+
+}
@@ -0,0 +1,77 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioniNormalizedDTO;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PrenotazioniNormalizedResponseAdvice converte le liste di PrenotazioneDTO restituite da PrenotazioneController
+ * nella forma normalizzata PrenotazioniNormalizedDTO quando il client la richiede con il parametro view=normalized
+ * oppure con il media type {@value PrenotazioniNormalizedDTO#MEDIA_TYPE} nell'header Accept
+ */
+@ControllerAdvice(assignableTypes = PrenotazioneController.class)
+public class PrenotazioniNormalizedResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String VIEW_PARAM = "view";
+    private static final String VIEW_NORMALIZED = "normalized";
+    private static final MediaType NORMALIZED_MEDIA_TYPE = MediaType.parseMediaType(PrenotazioniNormalizedDTO.MEDIA_TYPE);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return List.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if(!(body instanceof List<?> list) || !isNormalizedRequested(request, selectedContentType)) {
+            return body;
+        }
+        PrenotazioniNormalizedDTO normalized = new PrenotazioniNormalizedDTO();
+        List<PrenotazioneFlatDTO> prenotazioni = new ArrayList<>(list.size());
+        for(Object element : list) {
+            if(!(element instanceof PrenotazioneDTO prenotazione)) {
+                return body;
+            }
+            PazienteDTO paziente = prenotazione.getPaziente();
+            MedicoDTO medico = prenotazione.getMedico();
+            Long medicoId = medico == null || medico.getId() == null ? null : Long.valueOf(medico.getId());
+            if(paziente != null) {
+                normalized.getPazienti().putIfAbsent(paziente.getId(), paziente);
+            }
+            if(medicoId != null) {
+                normalized.getMedici().putIfAbsent(medicoId, medico);
+            }
+            prenotazioni.add(new PrenotazioneFlatDTO(prenotazione.getId(), prenotazione.getBookedAt(),
+                    prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti(),
+                    prenotazione.getStatoPrenotazione(), paziente == null ? null : paziente.getId(), medicoId));
+        }
+        normalized.setPrenotazioni(prenotazioni);
+        return normalized;
+    }
+
+    private boolean isNormalizedRequested(ServerHttpRequest request, MediaType selectedContentType) {
+        if(NORMALIZED_MEDIA_TYPE.isCompatibleWith(selectedContentType)) {
+            return true;
+        }
+        return request instanceof ServletServerHttpRequest servletRequest
+                && VIEW_NORMALIZED.equalsIgnoreCase(servletRequest.getServletRequest().getParameter(VIEW_PARAM));
+    }
+
+}
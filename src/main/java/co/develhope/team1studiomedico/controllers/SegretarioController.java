@@ -3,7 +3,10 @@ package co.develhope.team1studiomedico.controllers;
 import co.develhope.team1studiomedico.dto.success.ResponseDataSuccessDTO;
 import co.develhope.team1studiomedico.dto.segretario.SegretarioCreateDTO;
 import co.develhope.team1studiomedico.dto.segretario.SegretarioDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.SegretarioEntity;
 import co.develhope.team1studiomedico.services.SegretarioService;
+import co.develhope.team1studiomedico.services.SparseFieldsetService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * SegretarioController rappresenta la web API controller del Segretario,
@@ -28,6 +32,9 @@ public class SegretarioController {
     @Autowired
     private SegretarioService segretarioService;
 
+    @Autowired
+    private SparseFieldsetService sparseFieldsetService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -50,10 +57,14 @@ public class SegretarioController {
     /**
      * Restituisce la lista dei segretari con record status ACTIVE.
      *
+     * @param fields i campi da restituire (sparse fieldset), se assente viene restituito il DTO completo
      * @return la lista dei segretari con record status ACTIVE
      */
     @GetMapping({"", "/"})
-    public List<SegretarioDTO> getAllSegretari() {
+    public List<?> getAllSegretari(@RequestParam(required = false) Set<String> fields) {
+        if(fields != null) {
+            return sparseFieldsetService.findFieldsByRecordStatus(SegretarioEntity.class, fields, EntityStatusEnum.ACTIVE, "id");
+        }
         return segretarioService.getAllSegretari();
     }
 
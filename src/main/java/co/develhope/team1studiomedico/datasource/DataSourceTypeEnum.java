@@ -0,0 +1,17 @@
+package co.develhope.team1studiomedico.datasource;
+
+/**
+ * L'enumerato DataSourceTypeEnum presenta i datasource tra cui ReadWriteRoutingDataSource instrada le connessioni
+ */
+public enum DataSourceTypeEnum {
+
+    /**
+     * Datasource primario, riceve le scritture e le letture che devono vedere le ultime modifiche.
+     */
+    PRIMARY,
+    /**
+     * Datasource replica in sola lettura, riceve le transazioni read-only.
+     */
+    REPLICA
+
+}
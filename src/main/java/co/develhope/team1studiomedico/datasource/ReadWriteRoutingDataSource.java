@@ -0,0 +1,23 @@
+package co.develhope.team1studiomedico.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * La classe ReadWriteRoutingDataSource instrada le connessioni delle transazioni @Transactional(readOnly = true)
+ * verso la replica e tutte le altre (scritture e accessi fuori transazione) verso il datasource primario.
+ * Le letture della richiesta corrente restano sul primario se ReadYourWritesContextHolder lo richiede.
+ * Deve essere avvolto da un LazyConnectionDataSourceProxy, in modo che la connessione reale venga ottenuta
+ * solo al primo statement, quando il flag read-only della transazione è già stato impostato
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if(TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWritesContextHolder.isPrimaryRequired()) {
+            return DataSourceTypeEnum.REPLICA;
+        }
+        return DataSourceTypeEnum.PRIMARY;
+    }
+
+}
@@ -0,0 +1,37 @@
+package co.develhope.team1studiomedico.datasource;
+
+/**
+ * La classe ReadYourWritesContextHolder associa al thread della richiesta corrente l'obbligo di leggere dal datasource
+ * primario anche nelle transazioni read-only, per garantire al client la lettura delle proprie scritture
+ * finché la replica potrebbe non averle ancora ricevute
+ */
+public final class ReadYourWritesContextHolder {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWritesContextHolder() { }
+
+    /**
+     * Impone la lettura dal datasource primario per la richiesta corrente.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Metodo che indica se la richiesta corrente deve leggere dal datasource primario.
+     *
+     * @return true se la richiesta corrente deve leggere dal datasource primario
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Rimuove l'obbligo dal thread corrente al termine della richiesta.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+}
@@ -0,0 +1,54 @@
+package co.develhope.team1studiomedico.dto.calendario;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * La classe DisponibilitaDTO rappresenta la disponibilità del medico in una data: gli orari in cui può iniziare
+ * una prenotazione della durata richiesta, dentro l'orario di lavoro, fuori dalle assenze e senza sovrapporsi ad altre prenotazioni
+ */
+public class DisponibilitaDTO {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate dataPrenotazione;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private List<LocalTime> orariLiberi;
+
+    /**
+     * Costruttore di default che istanzia un nuovo DisponibilitaDTO.
+     */
+    public DisponibilitaDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo DisponibilitaDTO.
+     *
+     * @param dataPrenotazione data prenotazione
+     * @param orariLiberi      orari di inizio disponibili, in ordine crescente
+     */
+    public DisponibilitaDTO(LocalDate dataPrenotazione, List<LocalTime> orariLiberi) {
+        this.dataPrenotazione = dataPrenotazione;
+        this.orariLiberi = orariLiberi;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce gli orari di inizio disponibili.
+     *
+     * @return gli orari di inizio disponibili
+     */
+    public List<LocalTime> getOrariLiberi() {
+        return orariLiberi;
+    }
+
+}
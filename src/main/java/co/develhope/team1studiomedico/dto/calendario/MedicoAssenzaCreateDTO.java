@@ -0,0 +1,74 @@
+package co.develhope.team1studiomedico.dto.calendario;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe MedicoAssenzaCreateDTO rappresenta il DTO (Data Transfer Object) di creazione di MedicoAssenzaEntity,
+ * consente di registrare un'assenza del medico (ferie, festività, permessi)
+ */
+public class MedicoAssenzaCreateDTO {
+
+    @NotNull(message = "{input.validation.medicoId.notNull}")
+    private final Long medicoId;
+    @NotNull(message = "{input.validation.inizio.notNull}")
+    private final LocalDateTime inizio;
+    @NotNull(message = "{input.validation.fine.notNull}")
+    private final LocalDateTime fine;
+    @Size(max = 255, message = "{input.validation.motivo.size}")
+    private final String motivo;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo MedicoAssenzaCreateDTO
+     *
+     * @param medicoId id del medico
+     * @param inizio   inizio dell'assenza (incluso)
+     * @param fine     fine dell'assenza (esclusa)
+     * @param motivo   motivo dell'assenza, facoltativo
+     */
+    public MedicoAssenzaCreateDTO(Long medicoId, LocalDateTime inizio, LocalDateTime fine, String motivo) {
+        this.medicoId = medicoId;
+        this.inizio = inizio;
+        this.fine = fine;
+        this.motivo = motivo;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce l'inizio dell'assenza.
+     *
+     * @return l'inizio dell'assenza
+     */
+    public LocalDateTime getInizio() {
+        return inizio;
+    }
+
+    /**
+     * Metodo che restituisce la fine dell'assenza.
+     *
+     * @return la fine dell'assenza
+     */
+    public LocalDateTime getFine() {
+        return fine;
+    }
+
+    /**
+     * Metodo che restituisce il motivo dell'assenza.
+     *
+     * @return il motivo dell'assenza
+     */
+    public String getMotivo() {
+        return motivo;
+    }
+
+}
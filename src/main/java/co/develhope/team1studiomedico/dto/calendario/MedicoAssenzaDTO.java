@@ -0,0 +1,88 @@
+package co.develhope.team1studiomedico.dto.calendario;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe MedicoAssenzaDTO rappresenta il DTO (Data Transfer Object) di lettura di MedicoAssenzaEntity,
+ * in cui il medico è referenziato esclusivamente tramite id
+ */
+public class MedicoAssenzaDTO {
+
+    private Long id;
+    private Long medicoId;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime inizio;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime fine;
+    private String motivo;
+
+    /**
+     * Costruttore di default che istanzia un nuovo MedicoAssenzaDTO.
+     */
+    public MedicoAssenzaDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo MedicoAssenzaDTO.
+     *
+     * @param id       id dell'assenza
+     * @param medicoId id del medico
+     * @param inizio   inizio dell'assenza (incluso)
+     * @param fine     fine dell'assenza (esclusa)
+     * @param motivo   motivo dell'assenza
+     */
+    public MedicoAssenzaDTO(Long id, Long medicoId, LocalDateTime inizio, LocalDateTime fine, String motivo) {
+        this.id = id;
+        this.medicoId = medicoId;
+        this.inizio = inizio;
+        this.fine = fine;
+        this.motivo = motivo;
+    }
+
+    /**
+     * Metodo che restituisce l'id dell'assenza.
+     *
+     * @return l'id dell'assenza
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce l'inizio dell'assenza.
+     *
+     * @return l'inizio dell'assenza
+     */
+    public LocalDateTime getInizio() {
+        return inizio;
+    }
+
+    /**
+     * Metodo che restituisce la fine dell'assenza.
+     *
+     * @return la fine dell'assenza
+     */
+    public LocalDateTime getFine() {
+        return fine;
+    }
+
+    /**
+     * Metodo che restituisce il motivo dell'assenza.
+     *
+     * @return il motivo dell'assenza
+     */
+    public String getMotivo() {
+        return motivo;
+    }
+
+}
@@ -0,0 +1,77 @@
+package co.develhope.team1studiomedico.dto.calendario;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * La classe MedicoOrarioCreateDTO rappresenta il DTO (Data Transfer Object) di creazione di MedicoOrarioEntity,
+ * consente di aggiungere una fascia all'orario di lavoro settimanale del medico
+ */
+public class MedicoOrarioCreateDTO {
+
+    @NotNull(message = "{input.validation.medicoId.notNull}")
+    private final Long medicoId;
+    @NotNull(message = "{input.validation.giornoSettimana.notNull}")
+    private final DayOfWeek giornoSettimana;
+    @NotNull(message = "{input.validation.oraInizio.notNull}")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private final LocalTime oraInizio;
+    @NotNull(message = "{input.validation.oraFine.notNull}")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private final LocalTime oraFine;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo MedicoOrarioCreateDTO
+     *
+     * @param medicoId        id del medico
+     * @param giornoSettimana giorno della settimana (MONDAY ... SUNDAY)
+     * @param oraInizio       ora di inizio della fascia (inclusa)
+     * @param oraFine         ora di fine della fascia (esclusa), 00:00 per la mezzanotte
+     */
+    public MedicoOrarioCreateDTO(Long medicoId, DayOfWeek giornoSettimana, LocalTime oraInizio, LocalTime oraFine) {
+        this.medicoId = medicoId;
+        this.giornoSettimana = giornoSettimana;
+        this.oraInizio = oraInizio;
+        this.oraFine = oraFine;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce il giorno della settimana.
+     *
+     * @return il giorno della settimana
+     */
+    public DayOfWeek getGiornoSettimana() {
+        return giornoSettimana;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di inizio della fascia.
+     *
+     * @return l'ora di inizio
+     */
+    public LocalTime getOraInizio() {
+        return oraInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di fine della fascia.
+     *
+     * @return l'ora di fine
+     */
+    public LocalTime getOraFine() {
+        return oraFine;
+    }
+
+}
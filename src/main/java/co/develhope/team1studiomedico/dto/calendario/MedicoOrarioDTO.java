@@ -0,0 +1,89 @@
+package co.develhope.team1studiomedico.dto.calendario;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * La classe MedicoOrarioDTO rappresenta il DTO (Data Transfer Object) di lettura di MedicoOrarioEntity,
+ * in cui il medico è referenziato esclusivamente tramite id
+ */
+public class MedicoOrarioDTO {
+
+    private Long id;
+    private Long medicoId;
+    private DayOfWeek giornoSettimana;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime oraInizio;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime oraFine;
+
+    /**
+     * Costruttore di default che istanzia un nuovo MedicoOrarioDTO.
+     */
+    public MedicoOrarioDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo MedicoOrarioDTO.
+     *
+     * @param id              id della fascia oraria
+     * @param medicoId        id del medico
+     * @param giornoSettimana giorno della settimana
+     * @param oraInizio       ora di inizio della fascia (inclusa)
+     * @param oraFine         ora di fine della fascia (esclusa)
+     */
+    public MedicoOrarioDTO(Long id, Long medicoId, DayOfWeek giornoSettimana, LocalTime oraInizio, LocalTime oraFine) {
+        this.id = id;
+        this.medicoId = medicoId;
+        this.giornoSettimana = giornoSettimana;
+        this.oraInizio = oraInizio;
+        this.oraFine = oraFine;
+    }
+
+    /**
+     * Metodo che restituisce l'id della fascia oraria.
+     *
+     * @return l'id della fascia oraria
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce il giorno della settimana.
+     *
+     * @return il giorno della settimana
+     */
+    public DayOfWeek getGiornoSettimana() {
+        return giornoSettimana;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di inizio della fascia.
+     *
+     * @return l'ora di inizio
+     */
+    public LocalTime getOraInizio() {
+        return oraInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di fine della fascia.
+     *
+     * @return l'ora di fine
+     */
+    public LocalTime getOraFine() {
+        return oraFine;
+    }
+
+}
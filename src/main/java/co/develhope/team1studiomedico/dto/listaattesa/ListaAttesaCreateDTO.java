@@ -0,0 +1,88 @@
+package co.develhope.team1studiomedico.dto.listaattesa;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * La classe ListaAttesaCreateDTO rappresenta il DTO (Data Transfer Object) di creazione di ListaAttesaEntity,
+ * consente di inserire in lista di attesa la richiesta di prenotazione di un paziente con il medico
+ * in un giorno compreso nell'intervallo di date preferite
+ */
+public class ListaAttesaCreateDTO {
+
+    @NotNull(message = "{input.validation.pazienteId.notNull}")
+    private final Long pazienteId;
+    @NotNull(message = "{input.validation.medicoId.notNull}")
+    private final Long medicoId;
+    @NotNull(message = "{input.validation.dataInizio.notNull}")
+    private final LocalDate dataInizio;
+    @NotNull(message = "{input.validation.dataFine.notNull}")
+    @FutureOrPresent(message = "{input.validation.dataFine.futureOrPresent}")
+    private final LocalDate dataFine;
+    private final Integer priorita;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ListaAttesaCreateDTO
+     *
+     * @param pazienteId id del paziente
+     * @param medicoId   id del medico
+     * @param dataInizio prima data preferita
+     * @param dataFine   ultima data preferita
+     * @param priorita   priorità della richiesta (maggiore è il valore, prima viene servita), 0 se non indicata
+     */
+    public ListaAttesaCreateDTO(Long pazienteId, Long medicoId, LocalDate dataInizio, LocalDate dataFine, Integer priorita) {
+        this.pazienteId = pazienteId;
+        this.medicoId = medicoId;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+        this.priorita = priorita;
+    }
+
+    /**
+     * Metodo che restituisce l'id del paziente.
+     *
+     * @return l'id del paziente
+     */
+    public Long getPazienteId() {
+        return pazienteId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la prima data preferita.
+     *
+     * @return la prima data preferita
+     */
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ultima data preferita.
+     *
+     * @return l'ultima data preferita
+     */
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    /**
+     * Metodo che restituisce la priorità della richiesta.
+     *
+     * @return la priorità, null se non indicata
+     */
+    public Integer getPriorita() {
+        return priorita;
+    }
+
+}
@@ -0,0 +1,140 @@
+package co.develhope.team1studiomedico.dto.listaattesa;
+
+import co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * La classe ListaAttesaDTO rappresenta il DTO (Data Transfer Object) di lettura di ListaAttesaEntity,
+ * in cui paziente e medico sono referenziati esclusivamente tramite id
+ */
+public class ListaAttesaDTO {
+
+    private Long id;
+    private Long pazienteId;
+    private Long medicoId;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate dataInizio;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate dataFine;
+    private int priorita;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime requestedAt;
+    private ListaAttesaStatusEnum stato;
+    private Long prenotazioneId;
+
+    /**
+     * Costruttore di default che istanzia un nuovo ListaAttesaDTO.
+     */
+    public ListaAttesaDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ListaAttesaDTO.
+     *
+     * @param id             id della richiesta
+     * @param pazienteId     id del paziente
+     * @param medicoId       id del medico
+     * @param dataInizio     prima data preferita
+     * @param dataFine       ultima data preferita
+     * @param priorita       priorità della richiesta
+     * @param requestedAt    istante di inserimento della richiesta
+     * @param stato          stato della richiesta
+     * @param prenotazioneId id della prenotazione creata per la richiesta, null se non ancora soddisfatta
+     */
+    public ListaAttesaDTO(Long id, Long pazienteId, Long medicoId, LocalDate dataInizio, LocalDate dataFine, int priorita,
+                          LocalDateTime requestedAt, ListaAttesaStatusEnum stato, Long prenotazioneId) {
+        this.id = id;
+        this.pazienteId = pazienteId;
+        this.medicoId = medicoId;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+        this.priorita = priorita;
+        this.requestedAt = requestedAt;
+        this.stato = stato;
+        this.prenotazioneId = prenotazioneId;
+    }
+
+    /**
+     * Metodo che restituisce l'id della richiesta.
+     *
+     * @return l'id della richiesta
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce l'id del paziente.
+     *
+     * @return l'id del paziente
+     */
+    public Long getPazienteId() {
+        return pazienteId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la prima data preferita.
+     *
+     * @return la prima data preferita
+     */
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ultima data preferita.
+     *
+     * @return l'ultima data preferita
+     */
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    /**
+     * Metodo che restituisce la priorità della richiesta.
+     *
+     * @return la priorità
+     */
+    public int getPriorita() {
+        return priorita;
+    }
+
+    /**
+     * Metodo che restituisce l'istante di inserimento della richiesta.
+     *
+     * @return l'istante di inserimento
+     */
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    /**
+     * Metodo che restituisce lo stato della richiesta.
+     *
+     * @return lo stato della richiesta
+     */
+    public ListaAttesaStatusEnum getStato() {
+        return stato;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione creata per la richiesta.
+     *
+     * @return l'id della prenotazione, null se la richiesta non è ancora stata soddisfatta
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+}
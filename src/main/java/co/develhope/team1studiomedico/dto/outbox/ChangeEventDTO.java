@@ -0,0 +1,131 @@
+package co.develhope.team1studiomedico.dto.outbox;
+
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe ChangeEventDTO rappresenta il DTO (Data Transfer Object) di una modifica del change feed
+ */
+public class ChangeEventDTO {
+
+    private Long seq;
+    private EntityScopeEnum scope;
+    private ChangeTypeEnum changeType;
+    private Long entityId;
+    private LocalDateTime createdAt;
+
+    /**
+     * Costruttore di default che istanzia un nuovo ChangeEventDTO.
+     */
+    public ChangeEventDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ChangeEventDTO.
+     *
+     * @param seq        il numero di sequenza
+     * @param scope      la tipologia di entità modificata
+     * @param changeType la tipologia di modifica
+     * @param entityId   l'id del record modificato, null per le operazioni massive
+     * @param createdAt  la data di registrazione della modifica
+     */
+    public ChangeEventDTO(Long seq, EntityScopeEnum scope, ChangeTypeEnum changeType, Long entityId, LocalDateTime createdAt) {
+        this.seq = seq;
+        this.scope = scope;
+        this.changeType = changeType;
+        this.entityId = entityId;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Metodo che restituisce il numero di sequenza.
+     *
+     * @return il numero di sequenza
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Metodo che setta il numero di sequenza.
+     *
+     * @param seq il numero di sequenza
+     */
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di entità modificata.
+     *
+     * @return la tipologia di entità
+     */
+    public EntityScopeEnum getScope() {
+        return scope;
+    }
+
+    /**
+     * Metodo che setta la tipologia di entità modificata.
+     *
+     * @param scope la tipologia di entità
+     */
+    public void setScope(EntityScopeEnum scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di modifica.
+     *
+     * @return la tipologia di modifica
+     */
+    public ChangeTypeEnum getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Metodo che setta la tipologia di modifica.
+     *
+     * @param changeType la tipologia di modifica
+     */
+    public void setChangeType(ChangeTypeEnum changeType) {
+        this.changeType = changeType;
+    }
+
+    /**
+     * Metodo che restituisce l'id del record modificato.
+     *
+     * @return l'id del record, null per le operazioni massive
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Metodo che setta l'id del record modificato.
+     *
+     * @param entityId l'id del record
+     */
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    /**
+     * Metodo che restituisce la data di registrazione della modifica.
+     *
+     * @return la data di registrazione
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Metodo che setta la data di registrazione della modifica.
+     *
+     * @param createdAt la data di registrazione
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
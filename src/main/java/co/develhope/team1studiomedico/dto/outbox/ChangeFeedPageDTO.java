@@ -0,0 +1,88 @@
+package co.develhope.team1studiomedico.dto.outbox;
+
+import java.util.List;
+
+/**
+ * La classe ChangeFeedPageDTO rappresenta una pagina del change feed: le modifiche successive al numero di sequenza
+ * richiesto e il numero di sequenza da passare alla richiesta successiva (after) per proseguire la lettura
+ */
+public class ChangeFeedPageDTO {
+
+    private List<ChangeEventDTO> changes;
+    private long lastSeq;
+    private boolean hasMore;
+
+    /**
+     * Costruttore di default che istanzia un nuovo ChangeFeedPageDTO.
+     */
+    public ChangeFeedPageDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ChangeFeedPageDTO.
+     *
+     * @param changes le modifiche della pagina
+     * @param lastSeq il numero di sequenza dell'ultima modifica della pagina
+     * @param hasMore true se sono disponibili altre modifiche oltre la pagina
+     */
+    public ChangeFeedPageDTO(List<ChangeEventDTO> changes, long lastSeq, boolean hasMore) {
+        this.changes = changes;
+        this.lastSeq = lastSeq;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Metodo che restituisce le modifiche della pagina.
+     *
+     * @return le modifiche della pagina
+     */
+    public List<ChangeEventDTO> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Metodo che setta le modifiche della pagina.
+     *
+     * @param changes le modifiche della pagina
+     */
+    public void setChanges(List<ChangeEventDTO> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Metodo che restituisce il numero di sequenza dell'ultima modifica della pagina
+     * (il valore richiesto se la pagina è vuota).
+     *
+     * @return il numero di sequenza da passare come after alla richiesta successiva
+     */
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Metodo che setta il numero di sequenza dell'ultima modifica della pagina.
+     *
+     * @param lastSeq il numero di sequenza
+     */
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+
+    /**
+     * Metodo che indica se sono disponibili altre modifiche oltre la pagina.
+     *
+     * @return true se sono disponibili altre modifiche
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Metodo che setta se sono disponibili altre modifiche oltre la pagina.
+     *
+     * @param hasMore true se sono disponibili altre modifiche
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+}
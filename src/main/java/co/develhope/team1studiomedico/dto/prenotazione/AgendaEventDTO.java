@@ -0,0 +1,64 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+/**
+ * La classe AgendaEventDTO rappresenta il payload degli eventi dello stream SSE dell'agenda giornaliera del medico:
+ * l'id della prenotazione modificata e, tranne che per le cancellazioni, il relativo DTO
+ */
+public class AgendaEventDTO {
+
+    private Long prenotazioneId;
+    private PrenotazioneDTO prenotazione;
+
+    /**
+     * Costruttore di default che istanzia un nuovo AgendaEventDTO.
+     */
+    public AgendaEventDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo AgendaEventDTO.
+     *
+     * @param prenotazioneId l'id della prenotazione
+     * @param prenotazione   il DTO della prenotazione, null per le cancellazioni
+     */
+    public AgendaEventDTO(Long prenotazioneId, PrenotazioneDTO prenotazione) {
+        this.prenotazioneId = prenotazioneId;
+        this.prenotazione = prenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+    /**
+     * Metodo che setta l'id della prenotazione.
+     *
+     * @param prenotazioneId l'id della prenotazione
+     */
+    public void setPrenotazioneId(Long prenotazioneId) {
+        this.prenotazioneId = prenotazioneId;
+    }
+
+    /**
+     * Metodo che restituisce il DTO della prenotazione.
+     *
+     * @return il DTO della prenotazione, null per le cancellazioni
+     */
+    public PrenotazioneDTO getPrenotazione() {
+        return prenotazione;
+    }
+
+    /**
+     * Metodo che setta il DTO della prenotazione.
+     *
+     * @param prenotazione il DTO della prenotazione
+     */
+    public void setPrenotazione(PrenotazioneDTO prenotazione) {
+        this.prenotazione = prenotazione;
+    }
+
+}
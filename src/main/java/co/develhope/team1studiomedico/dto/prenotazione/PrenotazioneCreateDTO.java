@@ -1,6 +1,8 @@
 package co.develhope.team1studiomedico.dto.prenotazione;
 
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
@@ -19,6 +21,9 @@ public class PrenotazioneCreateDTO {
     private final LocalDate dataPrenotazione;
     @NotNull(message = "{input.validation.oraPrenotazione.notNull}")
     private final LocalTime oraPrenotazione;
+    @Min(value = 5, message = "{input.validation.durataMinuti.range}")
+    @Max(value = 480, message = "{input.validation.durataMinuti.range}")
+    private final Integer durataMinuti;
     @NotNull(message = "{input.validation.medicoId.notNull}")
     private final Long medicoId;
     @NotNull(message = "{input.validation.pazienteId.notNull}")
@@ -30,13 +35,16 @@ public class PrenotazioneCreateDTO {
      * @param id               id prenotazione
      * @param dataPrenotazione data prenotazione
      * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti, se assente viene applicata la durata di default
      * @param pazienteId       id del paziente
      * @param medicoId         id del medico
      */
-    public PrenotazioneCreateDTO(Long id, LocalDate dataPrenotazione, LocalTime oraPrenotazione, Long medicoId, Long pazienteId) {
+    public PrenotazioneCreateDTO(Long id, LocalDate dataPrenotazione, LocalTime oraPrenotazione, Integer durataMinuti,
+                                 Long medicoId, Long pazienteId) {
         this.id = id;
         this.dataPrenotazione = dataPrenotazione;
         this.oraPrenotazione = oraPrenotazione;
+        this.durataMinuti = durataMinuti;
         this.medicoId = medicoId;
         this.pazienteId = pazienteId;
     }
@@ -68,6 +76,15 @@ public class PrenotazioneCreateDTO {
         return oraPrenotazione;
     }
 
+    /**
+     * Metodo che restituisce la durata prenotazione in minuti.
+     *
+     * @return la durata in minuti, null se non indicata
+     */
+    public Integer getDurataMinuti() {
+        return durataMinuti;
+    }
+
     /**
      * Metodo che restituisce l'id del medico.
      *
@@ -5,6 +5,8 @@ import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
 import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,6 +27,9 @@ public class PrenotazioneDTO {
     private LocalDate dataPrenotazione;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
     private LocalTime oraPrenotazione;
+    @Min(value = 5, message = "{input.validation.durataMinuti.range}")
+    @Max(value = 480, message = "{input.validation.durataMinuti.range}")
+    private Integer durataMinuti;
     private PrenotazioneStatusEnum statoPrenotazione;
     private PazienteDTO paziente;
     private MedicoDTO medico;
@@ -41,15 +46,17 @@ public class PrenotazioneDTO {
      * @param bookedAt         timestamp prenotazione
      * @param dataPrenotazione data prenotazione
      * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
      * @param paziente         paziente
      * @param medico           medico
      */
-    public PrenotazioneDTO(Long id, LocalDateTime bookedAt, LocalDate dataPrenotazione, LocalTime oraPrenotazione,
+    public PrenotazioneDTO(Long id, LocalDateTime bookedAt, LocalDate dataPrenotazione, LocalTime oraPrenotazione, Integer durataMinuti,
                            PrenotazioneStatusEnum statoPrenotazione, PazienteDTO paziente, MedicoDTO medico) {
         this.id = id;
         this.bookedAt = bookedAt;
         this.dataPrenotazione = dataPrenotazione;
         this.oraPrenotazione = oraPrenotazione;
+        this.durataMinuti = durataMinuti;
         this.statoPrenotazione = statoPrenotazione;
         this.paziente = paziente;
         this.medico = medico;
@@ -127,6 +134,24 @@ public class PrenotazioneDTO {
         this.oraPrenotazione = oraPrenotazione;
     }
 
+    /**
+     * Metodo che restituisce la durata prenotazione in minuti.
+     *
+     * @return la durata in minuti
+     */
+    public Integer getDurataMinuti() {
+        return durataMinuti;
+    }
+
+    /**
+     * Metodo che setta la durata prenotazione in minuti.
+     *
+     * @param durataMinuti la durata in minuti
+     */
+    public void setDurataMinuti(Integer durataMinuti) {
+        this.durataMinuti = durataMinuti;
+    }
+
     /**
      * Metodo che restituisce lo stato prenotazione.
      *
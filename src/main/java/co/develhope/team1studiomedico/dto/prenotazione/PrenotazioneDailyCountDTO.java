@@ -0,0 +1,60 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import java.time.LocalDate;
+
+/**
+ * La classe PrenotazioneDailyCountDTO rappresenta il numero delle prenotazioni di un medico in un giorno,
+ * istanziata direttamente nella select list delle query JPQL di aggregazione
+ */
+public class PrenotazioneDailyCountDTO {
+
+    private Long medicoId;
+    private LocalDate dataPrenotazione;
+    private long count;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneDailyCountDTO.
+     */
+    public PrenotazioneDailyCountDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneDailyCountDTO.
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param count            numero delle prenotazioni
+     */
+    public PrenotazioneDailyCountDTO(Long medicoId, LocalDate dataPrenotazione, long count) {
+        this.medicoId = medicoId;
+        this.dataPrenotazione = dataPrenotazione;
+        this.count = count;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce il numero delle prenotazioni.
+     *
+     * @return il numero delle prenotazioni
+     */
+    public long getCount() {
+        return count;
+    }
+
+}
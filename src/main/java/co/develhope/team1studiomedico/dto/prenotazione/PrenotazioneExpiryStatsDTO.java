@@ -0,0 +1,124 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe PrenotazioneExpiryStatsDTO rappresenta le metriche della scadenza automatica delle prenotazioni PENDING:
+ * i contatori cumulativi dall'avvio dell'applicazione e i tempi dell'ultima esecuzione
+ */
+public class PrenotazioneExpiryStatsDTO {
+
+    private long runs;
+    private long failedRuns;
+    private long expiredTotal;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunDurationMs;
+    private long lastRunExpired;
+    private int lastRunChunks;
+    private long lastRunMaxChunkMs;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneExpiryStatsDTO.
+     */
+    public PrenotazioneExpiryStatsDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneExpiryStatsDTO.
+     *
+     * @param runs              numero di esecuzioni
+     * @param failedRuns        numero di esecuzioni terminate con errore
+     * @param expiredTotal      numero totale di prenotazioni scadute
+     * @param lastRunStartedAt  istante di inizio dell'ultima esecuzione
+     * @param lastRunDurationMs durata in millisecondi dell'ultima esecuzione
+     * @param lastRunExpired    numero di prenotazioni scadute nell'ultima esecuzione
+     * @param lastRunChunks     numero di blocchi elaborati nell'ultima esecuzione
+     * @param lastRunMaxChunkMs durata in millisecondi del blocco più lento dell'ultima esecuzione
+     */
+    public PrenotazioneExpiryStatsDTO(long runs, long failedRuns, long expiredTotal, LocalDateTime lastRunStartedAt,
+                                      long lastRunDurationMs, long lastRunExpired, int lastRunChunks, long lastRunMaxChunkMs) {
+        this.runs = runs;
+        this.failedRuns = failedRuns;
+        this.expiredTotal = expiredTotal;
+        this.lastRunStartedAt = lastRunStartedAt;
+        this.lastRunDurationMs = lastRunDurationMs;
+        this.lastRunExpired = lastRunExpired;
+        this.lastRunChunks = lastRunChunks;
+        this.lastRunMaxChunkMs = lastRunMaxChunkMs;
+    }
+
+    /**
+     * Metodo che restituisce il numero di esecuzioni.
+     *
+     * @return il numero di esecuzioni
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * Metodo che restituisce il numero di esecuzioni terminate con errore.
+     *
+     * @return il numero di esecuzioni terminate con errore
+     */
+    public long getFailedRuns() {
+        return failedRuns;
+    }
+
+    /**
+     * Metodo che restituisce il numero totale di prenotazioni scadute.
+     *
+     * @return il numero totale di prenotazioni scadute
+     */
+    public long getExpiredTotal() {
+        return expiredTotal;
+    }
+
+    /**
+     * Metodo che restituisce l'istante di inizio dell'ultima esecuzione.
+     *
+     * @return l'istante di inizio dell'ultima esecuzione, null se non ancora eseguita
+     */
+    public LocalDateTime getLastRunStartedAt() {
+        return lastRunStartedAt;
+    }
+
+    /**
+     * Metodo che restituisce la durata in millisecondi dell'ultima esecuzione.
+     *
+     * @return la durata dell'ultima esecuzione
+     */
+    public long getLastRunDurationMs() {
+        return lastRunDurationMs;
+    }
+
+    /**
+     * Metodo che restituisce il numero di prenotazioni scadute nell'ultima esecuzione.
+     *
+     * @return il numero di prenotazioni scadute nell'ultima esecuzione
+     */
+    public long getLastRunExpired() {
+        return lastRunExpired;
+    }
+
+    /**
+     * Metodo che restituisce il numero di blocchi elaborati nell'ultima esecuzione.
+     *
+     * @return il numero di blocchi elaborati
+     */
+    public int getLastRunChunks() {
+        return lastRunChunks;
+    }
+
+    /**
+     * Metodo che restituisce la durata in millisecondi del blocco più lento dell'ultima esecuzione.
+     *
+     * @return la durata del blocco più lento
+     */
+    public long getLastRunMaxChunkMs() {
+        return lastRunMaxChunkMs;
+    }
+
+}
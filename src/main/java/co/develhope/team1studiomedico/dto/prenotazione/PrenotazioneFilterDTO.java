@@ -0,0 +1,314 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * La classe PrenotazioneFilterDTO rappresenta i criteri di ricerca componibili delle prenotazioni:
+ * ogni criterio valorizzato viene messo in AND con gli altri, i criteri non valorizzati vengono ignorati.
+ * Oltre ai predicati contiene i parametri di ordinamento e di paginazione keyset (cursore e dimensione della pagina)
+ */
+public class PrenotazioneFilterDTO {
+
+    private Long medicoId;
+    private Long segretarioId;
+    private Long pazienteId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataPrenotazione;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime oraPrenotazione;
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime startOra;
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime endOra;
+    private PrenotazioneStatusEnum statoPrenotazione;
+    private Integer year;
+    private Integer month;
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private Integer limit;
+    private String cursor;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneFilterDTO.
+     */
+    public PrenotazioneFilterDTO() { }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che setta l'id del medico.
+     *
+     * @param medicoId l'id del medico
+     */
+    public void setMedicoId(Long medicoId) {
+        this.medicoId = medicoId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del segretario.
+     *
+     * @return l'id del segretario
+     */
+    public Long getSegretarioId() {
+        return segretarioId;
+    }
+
+    /**
+     * Metodo che setta l'id del segretario.
+     *
+     * @param segretarioId l'id del segretario
+     */
+    public void setSegretarioId(Long segretarioId) {
+        this.segretarioId = segretarioId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del paziente.
+     *
+     * @return l'id del paziente
+     */
+    public Long getPazienteId() {
+        return pazienteId;
+    }
+
+    /**
+     * Metodo che setta l'id del paziente.
+     *
+     * @param pazienteId l'id del paziente
+     */
+    public void setPazienteId(Long pazienteId) {
+        this.pazienteId = pazienteId;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che setta la data prenotazione.
+     *
+     * @param dataPrenotazione la data prenotazione
+     */
+    public void setDataPrenotazione(LocalDate dataPrenotazione) {
+        this.dataPrenotazione = dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce la data inizio dell'intervallo.
+     *
+     * @return la data inizio
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Metodo che setta la data inizio dell'intervallo.
+     *
+     * @param startDate la data inizio
+     */
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    /**
+     * Metodo che restituisce la data fine dell'intervallo.
+     *
+     * @return la data fine
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Metodo che setta la data fine dell'intervallo.
+     *
+     * @param endDate la data fine
+     */
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    /**
+     * Metodo che restituisce l'ora prenotazione.
+     *
+     * @return l'ora prenotazione
+     */
+    public LocalTime getOraPrenotazione() {
+        return oraPrenotazione;
+    }
+
+    /**
+     * Metodo che setta l'ora prenotazione.
+     *
+     * @param oraPrenotazione l'ora prenotazione
+     */
+    public void setOraPrenotazione(LocalTime oraPrenotazione) {
+        this.oraPrenotazione = oraPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'ora inizio dell'intervallo.
+     *
+     * @return l'ora inizio
+     */
+    public LocalTime getStartOra() {
+        return startOra;
+    }
+
+    /**
+     * Metodo che setta l'ora inizio dell'intervallo.
+     *
+     * @param startOra l'ora inizio
+     */
+    public void setStartOra(LocalTime startOra) {
+        this.startOra = startOra;
+    }
+
+    /**
+     * Metodo che restituisce l'ora fine dell'intervallo.
+     *
+     * @return l'ora fine
+     */
+    public LocalTime getEndOra() {
+        return endOra;
+    }
+
+    /**
+     * Metodo che setta l'ora fine dell'intervallo.
+     *
+     * @param endOra l'ora fine
+     */
+    public void setEndOra(LocalTime endOra) {
+        this.endOra = endOra;
+    }
+
+    /**
+     * Metodo che restituisce lo stato della prenotazione.
+     *
+     * @return lo stato della prenotazione
+     */
+    public PrenotazioneStatusEnum getStatoPrenotazione() {
+        return statoPrenotazione;
+    }
+
+    /**
+     * Metodo che setta lo stato della prenotazione.
+     *
+     * @param statoPrenotazione lo stato della prenotazione
+     */
+    public void setStatoPrenotazione(PrenotazioneStatusEnum statoPrenotazione) {
+        this.statoPrenotazione = statoPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'anno (year).
+     *
+     * @return l'anno (year)
+     */
+    public Integer getYear() {
+        return year;
+    }
+
+    /**
+     * Metodo che setta l'anno (year).
+     *
+     * @param year l'anno (year)
+     */
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    /**
+     * Metodo che restituisce il mese (month).
+     *
+     * @return il mese (month)
+     */
+    public Integer getMonth() {
+        return month;
+    }
+
+    /**
+     * Metodo che setta il mese (month), da utilizzare insieme all'anno (year).
+     *
+     * @param month il mese (month)
+     */
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    /**
+     * Metodo che restituisce la direzione di ordinamento per data, ora e id.
+     *
+     * @return la direzione di ordinamento
+     */
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Metodo che setta la direzione di ordinamento per data, ora e id.
+     *
+     * @param direction la direzione di ordinamento
+     */
+    public void setDirection(Sort.Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Metodo che restituisce la dimensione della pagina.
+     *
+     * @return la dimensione della pagina
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Metodo che setta la dimensione della pagina.
+     *
+     * @param limit la dimensione della pagina
+     */
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Metodo che restituisce il cursore della pagina (nextCursor della pagina precedente).
+     *
+     * @return il cursore della pagina
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Metodo che setta il cursore della pagina (nextCursor della pagina precedente).
+     *
+     * @param cursor il cursore della pagina
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+}
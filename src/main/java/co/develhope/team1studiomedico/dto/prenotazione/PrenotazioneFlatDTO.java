@@ -0,0 +1,202 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * La classe PrenotazioneFlatDTO rappresenta il DTO (Data Transfer Object) "piatto" di lettura di PrenotazioneEntity,
+ * in cui paziente e medico sono referenziati esclusivamente tramite id (foreign key) invece che con i relativi DTO annidati.
+ * Viene istanziato direttamente nella select list delle query JPQL, senza caricare le entità associate
+ */
+public class PrenotazioneFlatDTO {
+
+    private Long id;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime bookedAt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate dataPrenotazione;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime oraPrenotazione;
+    private Integer durataMinuti;
+    private PrenotazioneStatusEnum statoPrenotazione;
+    private Long pazienteId;
+    private Long medicoId;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneFlatDTO.
+     */
+    public PrenotazioneFlatDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneFlatDTO.
+     *
+     * @param id                id prenotazione
+     * @param bookedAt          timestamp prenotazione
+     * @param dataPrenotazione  data prenotazione
+     * @param oraPrenotazione   ora prenotazione
+     * @param durataMinuti      durata prenotazione in minuti
+     * @param statoPrenotazione stato prenotazione
+     * @param pazienteId        id del paziente
+     * @param medicoId          id del medico
+     */
+    public PrenotazioneFlatDTO(Long id, LocalDateTime bookedAt, LocalDate dataPrenotazione, LocalTime oraPrenotazione,
+                               Integer durataMinuti, PrenotazioneStatusEnum statoPrenotazione, Long pazienteId, Long medicoId) {
+        this.id = id;
+        this.bookedAt = bookedAt;
+        this.dataPrenotazione = dataPrenotazione;
+        this.oraPrenotazione = oraPrenotazione;
+        this.durataMinuti = durataMinuti;
+        this.statoPrenotazione = statoPrenotazione;
+        this.pazienteId = pazienteId;
+        this.medicoId = medicoId;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che setta l'id della prenotazione.
+     *
+     * @param id l'id della prenotazione
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Metodo che restituisce il booked at.
+     *
+     * @return il booked at
+     */
+    public LocalDateTime getBookedAt() {
+        return bookedAt;
+    }
+
+    /**
+     * Metodo che setta il booked at.
+     *
+     * @param bookedAt il booked at
+     */
+    public void setBookedAt(LocalDateTime bookedAt) {
+        this.bookedAt = bookedAt;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che setta la data prenotazione.
+     *
+     * @param dataPrenotazione la data prenotazione
+     */
+    public void setDataPrenotazione(LocalDate dataPrenotazione) {
+        this.dataPrenotazione = dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'ora prenotazione.
+     *
+     * @return l'ora prenotazione
+     */
+    public LocalTime getOraPrenotazione() {
+        return oraPrenotazione;
+    }
+
+    /**
+     * Metodo che setta l'ora prenotazione.
+     *
+     * @param oraPrenotazione l'ora prenotazione
+     */
+    public void setOraPrenotazione(LocalTime oraPrenotazione) {
+        this.oraPrenotazione = oraPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce la durata prenotazione in minuti.
+     *
+     * @return la durata in minuti
+     */
+    public Integer getDurataMinuti() {
+        return durataMinuti;
+    }
+
+    /**
+     * Metodo che setta la durata prenotazione in minuti.
+     *
+     * @param durataMinuti la durata in minuti
+     */
+    public void setDurataMinuti(Integer durataMinuti) {
+        this.durataMinuti = durataMinuti;
+    }
+
+    /**
+     * Metodo che restituisce lo stato della prenotazione.
+     *
+     * @return lo stato della prenotazione
+     */
+    public PrenotazioneStatusEnum getStatoPrenotazione() {
+        return statoPrenotazione;
+    }
+
+    /**
+     * Metodo che setta lo stato della prenotazione.
+     *
+     * @param statoPrenotazione lo stato della prenotazione
+     */
+    public void setStatoPrenotazione(PrenotazioneStatusEnum statoPrenotazione) {
+        this.statoPrenotazione = statoPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'id del paziente.
+     *
+     * @return l'id del paziente
+     */
+    public Long getPazienteId() {
+        return pazienteId;
+    }
+
+    /**
+     * Metodo che setta l'id del paziente.
+     *
+     * @param pazienteId l'id del paziente
+     */
+    public void setPazienteId(Long pazienteId) {
+        this.pazienteId = pazienteId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che setta l'id del medico.
+     *
+     * @param medicoId l'id del medico
+     */
+    public void setMedicoId(Long medicoId) {
+        this.medicoId = medicoId;
+    }
+
+}
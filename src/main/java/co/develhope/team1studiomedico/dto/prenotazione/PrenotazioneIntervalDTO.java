@@ -0,0 +1,60 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import java.time.LocalTime;
+
+/**
+ * La classe PrenotazioneIntervalDTO rappresenta l'intervallo occupato da una prenotazione nella giornata del medico
+ * (ora di inizio e durata), istanziata direttamente nella select list delle query JPQL
+ */
+public class PrenotazioneIntervalDTO {
+
+    private Long id;
+    private LocalTime oraPrenotazione;
+    private Integer durataMinuti;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneIntervalDTO.
+     */
+    public PrenotazioneIntervalDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneIntervalDTO.
+     *
+     * @param id              id prenotazione
+     * @param oraPrenotazione ora prenotazione
+     * @param durataMinuti    durata prenotazione in minuti
+     */
+    public PrenotazioneIntervalDTO(Long id, LocalTime oraPrenotazione, Integer durataMinuti) {
+        this.id = id;
+        this.oraPrenotazione = oraPrenotazione;
+        this.durataMinuti = durataMinuti;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce l'ora prenotazione.
+     *
+     * @return l'ora prenotazione
+     */
+    public LocalTime getOraPrenotazione() {
+        return oraPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce la durata prenotazione in minuti.
+     *
+     * @return la durata in minuti
+     */
+    public Integer getDurataMinuti() {
+        return durataMinuti;
+    }
+
+}
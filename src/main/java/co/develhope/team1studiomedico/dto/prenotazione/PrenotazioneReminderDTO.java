@@ -0,0 +1,104 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * La classe PrenotazioneReminderDTO rappresenta il promemoria di una prenotazione CONFIRMED consegnato al ReminderSender:
+ * paziente e medico sono referenziati tramite id, il sender ne recupera i recapiti
+ */
+public class PrenotazioneReminderDTO {
+
+    private Long prenotazioneId;
+    private Long pazienteId;
+    private Long medicoId;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate dataPrenotazione;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime oraPrenotazione;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime dueAt;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneReminderDTO.
+     */
+    public PrenotazioneReminderDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneReminderDTO.
+     *
+     * @param prenotazioneId   id della prenotazione
+     * @param pazienteId       id del paziente
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param dueAt            istante previsto per l'invio del promemoria
+     */
+    public PrenotazioneReminderDTO(Long prenotazioneId, Long pazienteId, Long medicoId, LocalDate dataPrenotazione,
+                                   LocalTime oraPrenotazione, LocalDateTime dueAt) {
+        this.prenotazioneId = prenotazioneId;
+        this.pazienteId = pazienteId;
+        this.medicoId = medicoId;
+        this.dataPrenotazione = dataPrenotazione;
+        this.oraPrenotazione = oraPrenotazione;
+        this.dueAt = dueAt;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del paziente.
+     *
+     * @return l'id del paziente
+     */
+    public Long getPazienteId() {
+        return pazienteId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'ora prenotazione.
+     *
+     * @return l'ora prenotazione
+     */
+    public LocalTime getOraPrenotazione() {
+        return oraPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'istante previsto per l'invio del promemoria.
+     *
+     * @return l'istante previsto per l'invio
+     */
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+}
@@ -0,0 +1,87 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe PrenotazioneReminderStatsDTO rappresenta le metriche dei promemoria delle prenotazioni:
+ * i promemoria in attesa nel timing wheel, la fine della finestra caricata e i contatori cumulativi dall'avvio dell'applicazione
+ */
+public class PrenotazioneReminderStatsDTO {
+
+    private int scheduled;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime loadedUntil;
+    private long sent;
+    private long skipped;
+    private long failed;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneReminderStatsDTO.
+     */
+    public PrenotazioneReminderStatsDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneReminderStatsDTO.
+     *
+     * @param scheduled   numero di promemoria in attesa
+     * @param loadedUntil istante di invio fino al quale i promemoria sono stati caricati
+     * @param sent        numero di promemoria inviati
+     * @param skipped     numero di promemoria scartati perché la prenotazione non è più CONFIRMED o è stata spostata
+     * @param failed      numero di promemoria il cui invio è terminato con errore
+     */
+    public PrenotazioneReminderStatsDTO(int scheduled, LocalDateTime loadedUntil, long sent, long skipped, long failed) {
+        this.scheduled = scheduled;
+        this.loadedUntil = loadedUntil;
+        this.sent = sent;
+        this.skipped = skipped;
+        this.failed = failed;
+    }
+
+    /**
+     * Metodo che restituisce il numero di promemoria in attesa.
+     *
+     * @return il numero di promemoria in attesa
+     */
+    public int getScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * Metodo che restituisce l'istante di invio fino al quale i promemoria sono stati caricati.
+     *
+     * @return la fine della finestra caricata
+     */
+    public LocalDateTime getLoadedUntil() {
+        return loadedUntil;
+    }
+
+    /**
+     * Metodo che restituisce il numero di promemoria inviati.
+     *
+     * @return il numero di promemoria inviati
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * Metodo che restituisce il numero di promemoria scartati.
+     *
+     * @return il numero di promemoria scartati
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Metodo che restituisce il numero di promemoria il cui invio è terminato con errore.
+     *
+     * @return il numero di promemoria non inviati per errore
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+}
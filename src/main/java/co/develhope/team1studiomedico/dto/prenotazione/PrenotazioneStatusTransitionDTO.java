@@ -0,0 +1,88 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * La classe PrenotazioneStatusTransitionDTO rappresenta la richiesta di transizione di stato massiva delle prenotazioni:
+ * le prenotazioni da modificare sono indicate tramite la lista degli id, oppure tramite il filtro medico, data
+ * e stato corrente (es. tutte le prenotazioni PENDING del medico nel giorno indicato)
+ */
+public class PrenotazioneStatusTransitionDTO {
+
+    @Size(max = 1000, message = "{input.validation.ids.size}")
+    private final List<Long> ids;
+    private final Long medicoId;
+    private final LocalDate dataPrenotazione;
+    private final PrenotazioneStatusEnum fromStato;
+    @NotNull(message = "{input.validation.toStato.notNull}")
+    private final PrenotazioneStatusEnum toStato;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneStatusTransitionDTO
+     *
+     * @param ids              id delle prenotazioni, in alternativa al filtro
+     * @param medicoId         id del medico del filtro
+     * @param dataPrenotazione data prenotazione del filtro
+     * @param fromStato        stato corrente del filtro
+     * @param toStato          stato di destinazione
+     */
+    public PrenotazioneStatusTransitionDTO(List<Long> ids, Long medicoId, LocalDate dataPrenotazione,
+                                           PrenotazioneStatusEnum fromStato, PrenotazioneStatusEnum toStato) {
+        this.ids = ids;
+        this.medicoId = medicoId;
+        this.dataPrenotazione = dataPrenotazione;
+        this.fromStato = fromStato;
+        this.toStato = toStato;
+    }
+
+    /**
+     * Metodo che restituisce gli id delle prenotazioni.
+     *
+     * @return gli id delle prenotazioni, null se la richiesta utilizza il filtro
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico del filtro.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la data prenotazione del filtro.
+     *
+     * @return la data prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce lo stato corrente del filtro.
+     *
+     * @return lo stato corrente
+     */
+    public PrenotazioneStatusEnum getFromStato() {
+        return fromStato;
+    }
+
+    /**
+     * Metodo che restituisce lo stato di destinazione.
+     *
+     * @return lo stato di destinazione
+     */
+    public PrenotazioneStatusEnum getToStato() {
+        return toStato;
+    }
+
+}
@@ -0,0 +1,63 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+
+import java.util.List;
+
+/**
+ * La classe PrenotazioneStatusTransitionResultDTO rappresenta il risultato della transizione di stato massiva:
+ * lo stato di destinazione, il numero di prenotazioni aggiornate e l'esito per ogni prenotazione considerata
+ */
+public class PrenotazioneStatusTransitionResultDTO {
+
+    private PrenotazioneStatusEnum toStato;
+    private int updated;
+    private List<PrenotazioneTransitionOutcomeDTO> outcomes;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneStatusTransitionResultDTO.
+     */
+    public PrenotazioneStatusTransitionResultDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneStatusTransitionResultDTO.
+     *
+     * @param toStato  stato di destinazione
+     * @param updated  numero di prenotazioni aggiornate
+     * @param outcomes esito per ogni prenotazione considerata
+     */
+    public PrenotazioneStatusTransitionResultDTO(PrenotazioneStatusEnum toStato, int updated,
+                                                 List<PrenotazioneTransitionOutcomeDTO> outcomes) {
+        this.toStato = toStato;
+        this.updated = updated;
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * Metodo che restituisce lo stato di destinazione.
+     *
+     * @return lo stato di destinazione
+     */
+    public PrenotazioneStatusEnum getToStato() {
+        return toStato;
+    }
+
+    /**
+     * Metodo che restituisce il numero di prenotazioni aggiornate.
+     *
+     * @return il numero di prenotazioni aggiornate
+     */
+    public int getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Metodo che restituisce l'esito per ogni prenotazione considerata.
+     *
+     * @return la lista degli esiti
+     */
+    public List<PrenotazioneTransitionOutcomeDTO> getOutcomes() {
+        return outcomes;
+    }
+
+}
@@ -0,0 +1,60 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+
+/**
+ * La classe PrenotazioneTransitionOutcomeDTO rappresenta l'esito della transizione di stato massiva
+ * per una singola prenotazione, insieme allo stato della prenotazione prima della transizione
+ */
+public class PrenotazioneTransitionOutcomeDTO {
+
+    private Long id;
+    private PrenotazioneStatusEnum previousStato;
+    private TransitionOutcomeEnum outcome;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioneTransitionOutcomeDTO.
+     */
+    public PrenotazioneTransitionOutcomeDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneTransitionOutcomeDTO.
+     *
+     * @param id            id prenotazione
+     * @param previousStato stato della prenotazione prima della transizione, null se la prenotazione non è stata trovata
+     * @param outcome       esito della transizione
+     */
+    public PrenotazioneTransitionOutcomeDTO(Long id, PrenotazioneStatusEnum previousStato, TransitionOutcomeEnum outcome) {
+        this.id = id;
+        this.previousStato = previousStato;
+        this.outcome = outcome;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce lo stato della prenotazione prima della transizione.
+     *
+     * @return lo stato precedente, null se la prenotazione non è stata trovata
+     */
+    public PrenotazioneStatusEnum getPreviousStato() {
+        return previousStato;
+    }
+
+    /**
+     * Metodo che restituisce l'esito della transizione.
+     *
+     * @return l'esito della transizione
+     */
+    public TransitionOutcomeEnum getOutcome() {
+        return outcome;
+    }
+
+}
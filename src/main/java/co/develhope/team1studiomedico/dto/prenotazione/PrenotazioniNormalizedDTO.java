@@ -0,0 +1,101 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * La classe PrenotazioniNormalizedDTO rappresenta la forma "normalizzata" delle liste di prenotazioni:
+ * ogni prenotazione referenzia paziente e medico tramite id, mentre i DTO dei pazienti e dei medici
+ * referenziati sono riportati una sola volta nelle relative tabelle laterali indicizzate per id
+ */
+public class PrenotazioniNormalizedDTO {
+
+    /**
+     * Media type con cui il client può richiedere la forma normalizzata (in alternativa al parametro view=normalized)
+     */
+    public static final String MEDIA_TYPE = "application/vnd.studiomedico.normalized+json";
+
+    private List<PrenotazioneFlatDTO> prenotazioni;
+    private Map<Long, PazienteDTO> pazienti;
+    private Map<Long, MedicoDTO> medici;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioniNormalizedDTO.
+     */
+    public PrenotazioniNormalizedDTO() {
+        this.pazienti = new LinkedHashMap<>();
+        this.medici = new LinkedHashMap<>();
+    }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioniNormalizedDTO.
+     *
+     * @param prenotazioni le prenotazioni
+     * @param pazienti     i pazienti referenziati, indicizzati per id
+     * @param medici       i medici referenziati, indicizzati per id
+     */
+    public PrenotazioniNormalizedDTO(List<PrenotazioneFlatDTO> prenotazioni, Map<Long, PazienteDTO> pazienti, Map<Long, MedicoDTO> medici) {
+        this.prenotazioni = prenotazioni;
+        this.pazienti = pazienti;
+        this.medici = medici;
+    }
+
+    /**
+     * Metodo che restituisce le prenotazioni.
+     *
+     * @return le prenotazioni
+     */
+    public List<PrenotazioneFlatDTO> getPrenotazioni() {
+        return prenotazioni;
+    }
+
+    /**
+     * Metodo che setta le prenotazioni.
+     *
+     * @param prenotazioni le prenotazioni
+     */
+    public void setPrenotazioni(List<PrenotazioneFlatDTO> prenotazioni) {
+        this.prenotazioni = prenotazioni;
+    }
+
+    /**
+     * Metodo che restituisce i pazienti referenziati.
+     *
+     * @return i pazienti indicizzati per id
+     */
+    public Map<Long, PazienteDTO> getPazienti() {
+        return pazienti;
+    }
+
+    /**
+     * Metodo che setta i pazienti referenziati.
+     *
+     * @param pazienti i pazienti indicizzati per id
+     */
+    public void setPazienti(Map<Long, PazienteDTO> pazienti) {
+        this.pazienti = pazienti;
+    }
+
+    /**
+     * Metodo che restituisce i medici referenziati.
+     *
+     * @return i medici indicizzati per id
+     */
+    public Map<Long, MedicoDTO> getMedici() {
+        return medici;
+    }
+
+    /**
+     * Metodo che setta i medici referenziati.
+     *
+     * @param medici i medici indicizzati per id
+     */
+    public void setMedici(Map<Long, MedicoDTO> medici) {
+        this.medici = medici;
+    }
+
+}
@@ -0,0 +1,66 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+import java.util.List;
+
+/**
+ * La classe PrenotazioniPageDTO rappresenta una pagina di prenotazioni della ricerca componibile,
+ * con il cursore opaco da passare alla richiesta successiva per ottenere la pagina seguente (null se è l'ultima)
+ */
+public class PrenotazioniPageDTO {
+
+    private List<PrenotazioneDTO> prenotazioni;
+    private String nextCursor;
+
+    /**
+     * Costruttore di default che istanzia un nuovo PrenotazioniPageDTO.
+     */
+    public PrenotazioniPageDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioniPageDTO.
+     *
+     * @param prenotazioni le prenotazioni della pagina
+     * @param nextCursor   il cursore della pagina successiva
+     */
+    public PrenotazioniPageDTO(List<PrenotazioneDTO> prenotazioni, String nextCursor) {
+        this.prenotazioni = prenotazioni;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Metodo che restituisce le prenotazioni della pagina.
+     *
+     * @return le prenotazioni della pagina
+     */
+    public List<PrenotazioneDTO> getPrenotazioni() {
+        return prenotazioni;
+    }
+
+    /**
+     * Metodo che setta le prenotazioni della pagina.
+     *
+     * @param prenotazioni le prenotazioni della pagina
+     */
+    public void setPrenotazioni(List<PrenotazioneDTO> prenotazioni) {
+        this.prenotazioni = prenotazioni;
+    }
+
+    /**
+     * Metodo che restituisce il cursore della pagina successiva.
+     *
+     * @return il cursore della pagina successiva, null se non ci sono altre pagine
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Metodo che setta il cursore della pagina successiva.
+     *
+     * @param nextCursor il cursore della pagina successiva
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+}
@@ -0,0 +1,25 @@
+package co.develhope.team1studiomedico.dto.prenotazione;
+
+/**
+ * L'enumerato TransitionOutcomeEnum presenta gli esiti della transizione di stato massiva per ogni prenotazione richiesta
+ */
+public enum TransitionOutcomeEnum {
+
+    /**
+     * La prenotazione è stata portata nello stato di destinazione.
+     */
+    UPDATED,
+    /**
+     * La prenotazione non esiste o è stata cancellata logicamente.
+     */
+    NOT_FOUND,
+    /**
+     * La transizione dallo stato corrente della prenotazione allo stato di destinazione non è consentita.
+     */
+    INVALID_TRANSITION,
+    /**
+     * La prenotazione è stata modificata da un'altra richiesta durante la transizione e non è stata aggiornata.
+     */
+    CONFLICT
+
+}
@@ -0,0 +1,111 @@
+package co.develhope.team1studiomedico.dto.sync;
+
+import java.util.List;
+
+/**
+ * La classe DeltaSyncDTO rappresenta il risultato della sincronizzazione incrementale (delta sync):
+ * i record creati, modificati o ripristinati e gli id dei record cancellati logicamente dopo il token della richiesta,
+ * insieme al token da passare alla richiesta successiva
+ *
+ * @param <T> tipo del DTO dei record
+ */
+public class DeltaSyncDTO<T> {
+
+    private List<T> changed;
+    private List<Long> deletedIds;
+    private String token;
+    private boolean hasMore;
+
+    /**
+     * Costruttore di default che istanzia un nuovo DeltaSyncDTO.
+     */
+    public DeltaSyncDTO() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo DeltaSyncDTO.
+     *
+     * @param changed    i record ACTIVE creati, modificati o ripristinati
+     * @param deletedIds gli id dei record cancellati logicamente
+     * @param token      il token da passare alla richiesta successiva
+     * @param hasMore    true se sono disponibili altre modifiche oltre la pagina
+     */
+    public DeltaSyncDTO(List<T> changed, List<Long> deletedIds, String token, boolean hasMore) {
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Metodo che restituisce i record creati, modificati o ripristinati.
+     *
+     * @return i record ACTIVE modificati
+     */
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Metodo che setta i record creati, modificati o ripristinati.
+     *
+     * @param changed i record ACTIVE modificati
+     */
+    public void setChanged(List<T> changed) {
+        this.changed = changed;
+    }
+
+    /**
+     * Metodo che restituisce gli id dei record cancellati logicamente.
+     *
+     * @return gli id dei record cancellati
+     */
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * Metodo che setta gli id dei record cancellati logicamente.
+     *
+     * @param deletedIds gli id dei record cancellati
+     */
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    /**
+     * Metodo che restituisce il token da passare alla richiesta successiva.
+     *
+     * @return il token
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Metodo che setta il token da passare alla richiesta successiva.
+     *
+     * @param token il token
+     */
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Metodo che indica se sono disponibili altre modifiche oltre la pagina.
+     *
+     * @return true se sono disponibili altre modifiche
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Metodo che setta se sono disponibili altre modifiche oltre la pagina.
+     *
+     * @param hasMore true se sono disponibili altre modifiche
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+}
@@ -0,0 +1,147 @@
+package co.develhope.team1studiomedico.entities;
+
+import co.develhope.team1studiomedico.entities.auditing.Auditable;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * La classe ListaAttesaEntity rappresenta il modello dei dati della richiesta in lista di attesa: un paziente chiede
+ * una prenotazione con il medico in un giorno compreso nell'intervallo di date preferite. Le richieste con priorità
+ * maggiore, e a parità di priorità quelle meno recenti, ricevono per prime gli slot liberati
+ */
+@Entity(name = "lista_attesa")
+@Table(name = "lista_attesa")
+public class ListaAttesaEntity extends Auditable<String> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false, name = "id")
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "paziente_id")
+    private PazienteEntity paziente;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "medico_id")
+    private MedicoEntity medico;
+    @Column(nullable = false, name = "data_inizio")
+    private LocalDate dataInizio;
+    @Column(nullable = false, name = "data_fine")
+    private LocalDate dataFine;
+    @Column(nullable = false, name = "priorita")
+    private int priorita;
+    @Column(nullable = false, name = "requested_at")
+    private LocalDateTime requestedAt;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "stato", length = 20)
+    private ListaAttesaStatusEnum stato;
+    @Column(name = "prenotazione_id")
+    private Long prenotazioneId;
+
+    /**
+     * Costruttore di default che istanzia una nuova ListaAttesaEntity.
+     */
+    public ListaAttesaEntity() { }
+
+    /**
+     * Costruttore parametrico che istanzia una nuova richiesta in lista di attesa, nello stato WAITING.
+     *
+     * @param paziente   il paziente
+     * @param medico     il medico
+     * @param dataInizio la prima data preferita
+     * @param dataFine   l'ultima data preferita
+     * @param priorita   la priorità della richiesta
+     */
+    public ListaAttesaEntity(PazienteEntity paziente, MedicoEntity medico, LocalDate dataInizio, LocalDate dataFine, int priorita) {
+        this.paziente = paziente;
+        this.medico = medico;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+        this.priorita = priorita;
+        this.requestedAt = LocalDateTime.now();
+        this.stato = ListaAttesaStatusEnum.WAITING;
+    }
+
+    /**
+     * Metodo che restituisce l'id.
+     *
+     * @return l'id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce il paziente.
+     *
+     * @return il paziente
+     */
+    public PazienteEntity getPaziente() {
+        return paziente;
+    }
+
+    /**
+     * Metodo che restituisce il medico.
+     *
+     * @return il medico
+     */
+    public MedicoEntity getMedico() {
+        return medico;
+    }
+
+    /**
+     * Metodo che restituisce la prima data preferita.
+     *
+     * @return la prima data preferita
+     */
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ultima data preferita.
+     *
+     * @return l'ultima data preferita
+     */
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    /**
+     * Metodo che restituisce la priorità della richiesta.
+     *
+     * @return la priorità
+     */
+    public int getPriorita() {
+        return priorita;
+    }
+
+    /**
+     * Metodo che restituisce l'istante di inserimento della richiesta.
+     *
+     * @return l'istante di inserimento
+     */
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    /**
+     * Metodo che restituisce lo stato della richiesta.
+     *
+     * @return lo stato della richiesta
+     */
+    public ListaAttesaStatusEnum getStato() {
+        return stato;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione creata per la richiesta.
+     *
+     * @return l'id della prenotazione, null se la richiesta non è ancora stata soddisfatta
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+}
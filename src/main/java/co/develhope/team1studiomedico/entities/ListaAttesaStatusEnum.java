@@ -0,0 +1,22 @@
+package co.develhope.team1studiomedico.entities;
+
+/**
+ * L'enumerato ListaAttesaStatusEnum presenta gli stati che una richiesta in lista di attesa può assumere:
+ * dall'inserimento in attesa fino all'assegnazione di uno slot liberato oppure alla cancellazione della richiesta
+ */
+public enum ListaAttesaStatusEnum {
+
+    /**
+     * Stato WAITING: la richiesta è in attesa di uno slot libero.
+     */
+    WAITING,
+    /**
+     * Stato FULFILLED: alla richiesta è stato assegnato uno slot liberato, con la creazione di una prenotazione PENDING.
+     */
+    FULFILLED,
+    /**
+     * Stato CANCELLED: la richiesta è stata cancellata.
+     */
+    CANCELLED
+
+}
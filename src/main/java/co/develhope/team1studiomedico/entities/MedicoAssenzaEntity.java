@@ -0,0 +1,95 @@
+package co.develhope.team1studiomedico.entities;
+
+import co.develhope.team1studiomedico.entities.auditing.Auditable;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe MedicoAssenzaEntity rappresenta il modello dei dati di un'assenza del medico (ferie, festività, permessi):
+ * il medico non riceve dall'istante di inizio (incluso) all'istante di fine (escluso), anche negli orari di lavoro
+ */
+@Entity(name = "medico_assenza")
+@Table(name = "medico_assenza")
+public class MedicoAssenzaEntity extends Auditable<String> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false, name = "id")
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "medico_id")
+    private MedicoEntity medico;
+    @Column(nullable = false, name = "inizio")
+    private LocalDateTime inizio;
+    @Column(nullable = false, name = "fine")
+    private LocalDateTime fine;
+    @Column(name = "motivo")
+    private String motivo;
+
+    /**
+     * Costruttore di default che istanzia una nuova MedicoAssenzaEntity.
+     */
+    public MedicoAssenzaEntity() { }
+
+    /**
+     * Costruttore parametrico che istanzia una nuova MedicoAssenzaEntity.
+     *
+     * @param medico il medico
+     * @param inizio l'inizio dell'assenza
+     * @param fine   la fine dell'assenza
+     * @param motivo il motivo dell'assenza
+     */
+    public MedicoAssenzaEntity(MedicoEntity medico, LocalDateTime inizio, LocalDateTime fine, String motivo) {
+        this.medico = medico;
+        this.inizio = inizio;
+        this.fine = fine;
+        this.motivo = motivo;
+    }
+
+    /**
+     * Metodo che restituisce l'id.
+     *
+     * @return l'id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce il medico.
+     *
+     * @return il medico
+     */
+    public MedicoEntity getMedico() {
+        return medico;
+    }
+
+    /**
+     * Metodo che restituisce l'inizio dell'assenza.
+     *
+     * @return l'inizio dell'assenza
+     */
+    public LocalDateTime getInizio() {
+        return inizio;
+    }
+
+    /**
+     * Metodo che restituisce la fine dell'assenza.
+     *
+     * @return la fine dell'assenza
+     */
+    public LocalDateTime getFine() {
+        return fine;
+    }
+
+    /**
+     * Metodo che restituisce il motivo dell'assenza.
+     *
+     * @return il motivo dell'assenza
+     */
+    public String getMotivo() {
+        return motivo;
+    }
+
+}
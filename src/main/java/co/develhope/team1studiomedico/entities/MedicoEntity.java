@@ -2,13 +2,18 @@ package co.develhope.team1studiomedico.entities;
 
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 /**
- * La classe MedicoEntity rappresenta il modello dei dati del Medico
+ * La classe MedicoEntity rappresenta il modello dei dati del Medico,
+ * mantenuto nella cache di secondo livello (region medico) in quanto letto a ogni mapping di prenotazioni e pazienti
  */
 @Entity(name = "medico")
 @Table(name = "medico")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medico")
 @JsonPropertyOrder({"id", "nome", "cognome", "telefono",
         "email", "status"})
 @JsonIgnoreProperties({"prenotazioni", "pazienti", "hibernateLazyInitializer"})
@@ -0,0 +1,98 @@
+package co.develhope.team1studiomedico.entities;
+
+import co.develhope.team1studiomedico.entities.auditing.Auditable;
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * La classe MedicoOrarioEntity rappresenta il modello dei dati di una fascia dell'orario di lavoro settimanale del medico:
+ * il medico riceve nel giorno della settimana indicato dall'ora di inizio (inclusa) all'ora di fine (esclusa).
+ * Un medico può avere più fasce nello stesso giorno (es. mattina e pomeriggio); un medico senza fasce riceve in ogni orario
+ */
+@Entity(name = "medico_orario")
+@Table(name = "medico_orario")
+public class MedicoOrarioEntity extends Auditable<String> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false, name = "id")
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "medico_id")
+    private MedicoEntity medico;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "giorno_settimana", length = 9)
+    private DayOfWeek giornoSettimana;
+    @Column(nullable = false, name = "ora_inizio")
+    private LocalTime oraInizio;
+    @Column(nullable = false, name = "ora_fine")
+    private LocalTime oraFine;
+
+    /**
+     * Costruttore di default che istanzia una nuova MedicoOrarioEntity.
+     */
+    public MedicoOrarioEntity() { }
+
+    /**
+     * Costruttore parametrico che istanzia una nuova MedicoOrarioEntity.
+     *
+     * @param medico          il medico
+     * @param giornoSettimana il giorno della settimana
+     * @param oraInizio       l'ora di inizio
+     * @param oraFine         l'ora di fine
+     */
+    public MedicoOrarioEntity(MedicoEntity medico, DayOfWeek giornoSettimana, LocalTime oraInizio, LocalTime oraFine) {
+        this.medico = medico;
+        this.giornoSettimana = giornoSettimana;
+        this.oraInizio = oraInizio;
+        this.oraFine = oraFine;
+    }
+
+    /**
+     * Metodo che restituisce l'id.
+     *
+     * @return l'id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che restituisce il medico.
+     *
+     * @return il medico
+     */
+    public MedicoEntity getMedico() {
+        return medico;
+    }
+
+    /**
+     * Metodo che restituisce il giorno della settimana.
+     *
+     * @return il giorno della settimana
+     */
+    public DayOfWeek getGiornoSettimana() {
+        return giornoSettimana;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di inizio.
+     *
+     * @return l'ora di inizio
+     */
+    public LocalTime getOraInizio() {
+        return oraInizio;
+    }
+
+    /**
+     * Metodo che restituisce l'ora di fine.
+     *
+     * @return l'ora di fine
+     */
+    public LocalTime getOraFine() {
+        return oraFine;
+    }
+
+}
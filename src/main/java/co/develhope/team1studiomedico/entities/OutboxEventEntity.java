@@ -0,0 +1,112 @@
+package co.develhope.team1studiomedico.entities;
+
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * La classe OutboxEventEntity rappresenta il record della tabella outbox: per ogni modifica di un record entità
+ * viene registrata, nella stessa transazione della modifica, la tipologia di entità, la tipologia di modifica
+ * e l'id del record (null per le operazioni massive). Il numero di sequenza è assegnato in ordine di commit
+ * e consente ai consumer del change feed di leggere le modifiche in modo incrementale.
+ * I record outbox vengono esclusivamente inseriti: isNew restituisce sempre true, così il save del repository esegue
+ * direttamente la INSERT invece del merge (con SELECT preventiva) riservato alle entità con id assegnato
+ */
+@Entity(name = "outbox_event")
+@Table(name = "outbox_event")
+public class OutboxEventEntity implements Persistable<Long> {
+
+    @Id
+    @Column(nullable = false, name = "seq")
+    private Long seq;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "scope", length = 20)
+    private EntityScopeEnum scope;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "change_type", length = 10)
+    private ChangeTypeEnum changeType;
+    @Column(name = "entity_id")
+    private Long entityId;
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Costruttore di default che istanzia un nuovo OutboxEventEntity.
+     */
+    public OutboxEventEntity() { }
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo OutboxEventEntity.
+     *
+     * @param seq        il numero di sequenza
+     * @param scope      la tipologia di entità modificata
+     * @param changeType la tipologia di modifica
+     * @param entityId   l'id del record modificato, null per le operazioni massive
+     */
+    public OutboxEventEntity(Long seq, EntityScopeEnum scope, ChangeTypeEnum changeType, Long entityId) {
+        this.seq = seq;
+        this.scope = scope;
+        this.changeType = changeType;
+        this.entityId = entityId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Metodo che restituisce il numero di sequenza.
+     *
+     * @return il numero di sequenza
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di entità modificata.
+     *
+     * @return la tipologia di entità
+     */
+    public EntityScopeEnum getScope() {
+        return scope;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di modifica.
+     *
+     * @return la tipologia di modifica
+     */
+    public ChangeTypeEnum getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Metodo che restituisce l'id del record modificato.
+     *
+     * @return l'id del record, null per le operazioni massive
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Metodo che restituisce la data di registrazione della modifica.
+     *
+     * @return la data di registrazione
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Long getId() {
+        return seq;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+}
@@ -2,6 +2,7 @@ package co.develhope.team1studiomedico.entities;
 
 import co.develhope.team1studiomedico.entities.auditing.Auditable;
 import co.develhope.team1studiomedico.entities.utils.EntityStatusEnumConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.persistence.*;
 
@@ -14,7 +15,7 @@ import java.time.LocalTime;
  */
 @Entity(name = "prenotazione")
 @Table(name = "prenotazione")
-@JsonPropertyOrder({"id", "bookedAt", "dataPrenotazione", "oraPrenotazione",
+@JsonPropertyOrder({"id", "bookedAt", "dataPrenotazione", "oraPrenotazione", "durataMinuti",
         "paziente", "medico", "statoPrenotazione", "recordStatus"})
 public class PrenotazioneEntity extends Auditable<String> {
 
@@ -28,6 +29,8 @@ public class PrenotazioneEntity extends Auditable<String> {
     private LocalDate dataPrenotazione;
     @Column(nullable = false, name = "ora_prenotazione")
     private LocalTime oraPrenotazione;
+    @Column(nullable = false, name = "durata_minuti")
+    private Integer durataMinuti;
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paziente_id")
     private PazienteEntity paziente;
@@ -40,6 +43,10 @@ public class PrenotazioneEntity extends Auditable<String> {
     @Convert(converter = EntityStatusEnumConverter.class)
     @Column(nullable = false, name = "record_status")
     private EntityStatusEnum recordStatus; //Character
+    // valorizzato solo dalla UPDATE condizionale dei promemoria (PrenotazioneRepository.claimReminder)
+    @JsonIgnore
+    @Column(name = "reminder_due_at", insertable = false, updatable = false)
+    private LocalDateTime reminderDueAt;
 
     /**
      * Costruttore di default che istanzia una nuova PrenotazioneEntity.
@@ -131,6 +138,24 @@ public class PrenotazioneEntity extends Auditable<String> {
         this.oraPrenotazione = oraPrenotazione;
     }
 
+    /**
+     * Metodo che restituisce la durata della prenotazione in minuti.
+     *
+     * @return la durata in minuti
+     */
+    public Integer getDurataMinuti() {
+        return durataMinuti;
+    }
+
+    /**
+     * Metodo che setta la durata della prenotazione in minuti.
+     *
+     * @param durataMinuti la durata in minuti
+     */
+    public void setDurataMinuti(Integer durataMinuti) {
+        this.durataMinuti = durataMinuti;
+    }
+
     /**
      * Metodo che restituisce il paziente.
      *
@@ -203,4 +228,13 @@ public class PrenotazioneEntity extends Auditable<String> {
         this.recordStatus = recordStatus;
     }
 
+    /**
+     * Metodo che restituisce l'istante di invio dell'ultimo promemoria inviato.
+     *
+     * @return l'istante di invio dell'ultimo promemoria, null se non è stato inviato
+     */
+    public LocalDateTime getReminderDueAt() {
+        return reminderDueAt;
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package co.develhope.team1studiomedico.entities;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * L'enumerato PrenotazioneStatusEnum presenta gli stati che una prenotazione può assumere
  * e cambiare dalla creazione alla conferma piuttosto cancellazione da parte del segretario
@@ -42,4 +45,46 @@ public enum PrenotazioneStatusEnum {
         return statoPrenotazione;
     }
 
+    /**
+     * Metodo che indica se una prenotazione può passare dallo stato corrente allo stato indicato:
+     * una prenotazione PENDING può essere confermata, rifiutata o cancellata, una prenotazione CONFIRMED può essere
+     * cancellata, CANCELLED e REJECTED sono stati finali.
+     *
+     * @param target lo stato di destinazione
+     * @return true se la transizione è consentita
+     */
+    public boolean canTransitionTo(PrenotazioneStatusEnum target) {
+        return switch(this) {
+            case PENDING -> target == CONFIRMED || target == REJECTED || target == CANCELLED;
+            case CONFIRMED -> target == CANCELLED;
+            case CANCELLED, REJECTED -> false;
+        };
+    }
+
+    /**
+     * Metodo che indica se una prenotazione nello stato corrente occupa il proprio slot (medico, data e ora):
+     * le prenotazioni CANCELLED e REJECTED lo lasciano libero.
+     *
+     * @return true se la prenotazione occupa lo slot
+     */
+    public boolean occupiesSlot() {
+        return this == PENDING || this == CONFIRMED;
+    }
+
+    /**
+     * Metodo che restituisce gli stati a partire dai quali una prenotazione può passare allo stato indicato.
+     *
+     * @param target lo stato di destinazione
+     * @return gli stati di partenza consentiti
+     */
+    public static Set<PrenotazioneStatusEnum> sourcesOf(PrenotazioneStatusEnum target) {
+        Set<PrenotazioneStatusEnum> sources = EnumSet.noneOf(PrenotazioneStatusEnum.class);
+        for(PrenotazioneStatusEnum stato : values()) {
+            if(stato.canTransitionTo(target)) {
+                sources.add(stato);
+            }
+        }
+        return sources;
+    }
+
 }
@@ -2,12 +2,17 @@ package co.develhope.team1studiomedico.entities;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
- * La classe SegretarioEntity rappresenta il modello dei dati del Segretario
+ * La classe SegretarioEntity rappresenta il modello dei dati del Segretario,
+ * mantenuto nella cache di secondo livello (region segretario) insieme alla foreign key del medico associato
  */
 @Entity(name = "segretario")
 @Table(name = "segretario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "segretario")
 @JsonPropertyOrder({"id", "nome", "cognome", "telefono",
         "email", "medico", "status"})
 public class SegretarioEntity extends PersonaEntity {
@@ -0,0 +1,25 @@
+package co.develhope.team1studiomedico.events;
+
+/**
+ * L'enumerato ChangeTypeEnum presenta le tipologie di modifica che un record entità può subire
+ */
+public enum ChangeTypeEnum {
+
+    /**
+     * Creazione del record.
+     */
+    CREATE,
+    /**
+     * Modifica del record.
+     */
+    UPDATE,
+    /**
+     * Cancellazione logica del record.
+     */
+    DELETE,
+    /**
+     * Ripristino del record.
+     */
+    RESTORE
+
+}
@@ -0,0 +1,56 @@
+package co.develhope.team1studiomedico.events;
+
+import java.util.List;
+
+/**
+ * La classe EntityBatchChangedEvent rappresenta l'evento applicativo pubblicato dalle elaborazioni a blocchi
+ * che modificano con un'unica UPDATE un insieme di record entità noti per id (es. scadenza automatica delle prenotazioni).
+ * Equivale a un EntityChangedEvent per ogni id, ma consente di registrare le modifiche con un'unica scrittura per blocco
+ */
+public class EntityBatchChangedEvent {
+
+    private final EntityScopeEnum scope;
+    private final ChangeTypeEnum type;
+    private final List<Long> ids;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo EntityBatchChangedEvent.
+     *
+     * @param scope la tipologia di entità modificata
+     * @param type  la tipologia di modifica
+     * @param ids   gli id dei record modificati
+     */
+    public EntityBatchChangedEvent(EntityScopeEnum scope, ChangeTypeEnum type, List<Long> ids) {
+        this.scope = scope;
+        this.type = type;
+        this.ids = List.copyOf(ids);
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di entità modificata.
+     *
+     * @return la tipologia di entità
+     */
+    public EntityScopeEnum getScope() {
+        return scope;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di modifica.
+     *
+     * @return la tipologia di modifica
+     */
+    public ChangeTypeEnum getType() {
+        return type;
+    }
+
+    /**
+     * Metodo che restituisce gli id dei record modificati.
+     *
+     * @return gli id dei record modificati
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+}
@@ -0,0 +1,63 @@
+package co.develhope.team1studiomedico.events;
+
+/**
+ * La classe EntityChangedEvent rappresenta l'evento applicativo pubblicato dai services ad ogni modifica
+ * (creazione, modifica, cancellazione logica, ripristino) di un record entità del sistema.
+ * Un id nullo indica un'operazione massiva che coinvolge tutti i record dell'entità
+ */
+public class EntityChangedEvent {
+
+    private final EntityScopeEnum scope;
+    private final ChangeTypeEnum type;
+    private final Long id;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo EntityChangedEvent.
+     *
+     * @param scope la tipologia di entità modificata
+     * @param type  la tipologia di modifica
+     * @param id    l'id del record modificato, null per le operazioni massive
+     */
+    public EntityChangedEvent(EntityScopeEnum scope, ChangeTypeEnum type, Long id) {
+        this.scope = scope;
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di entità modificata.
+     *
+     * @return la tipologia di entità
+     */
+    public EntityScopeEnum getScope() {
+        return scope;
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di modifica.
+     *
+     * @return la tipologia di modifica
+     */
+    public ChangeTypeEnum getType() {
+        return type;
+    }
+
+    /**
+     * Metodo che restituisce l'id del record modificato.
+     *
+     * @return l'id del record, null per le operazioni massive
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Metodo che indica se l'evento si riferisce a un'operazione massiva.
+     *
+     * @return true se l'operazione coinvolge tutti i record dell'entità
+     */
+    public boolean isBulk() {
+        return id == null;
+    }
+
+}
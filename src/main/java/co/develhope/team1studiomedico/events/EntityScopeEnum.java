@@ -0,0 +1,26 @@
+package co.develhope.team1studiomedico.events;
+
+/**
+ * L'enumerato EntityScopeEnum presenta le tipologie di entità del sistema
+ * le cui modifiche vengono notificate mediante EntityChangedEvent
+ */
+public enum EntityScopeEnum {
+
+    /**
+     * Entità Medico.
+     */
+    MEDICO,
+    /**
+     * Entità Segretario.
+     */
+    SEGRETARIO,
+    /**
+     * Entità Paziente.
+     */
+    PAZIENTE,
+    /**
+     * Entità Prenotazione.
+     */
+    PRENOTAZIONE
+
+}
@@ -0,0 +1,116 @@
+package co.develhope.team1studiomedico.events;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+
+import java.time.LocalDate;
+
+/**
+ * La classe PrenotazioneAgendaEvent rappresenta l'evento applicativo pubblicato da PrenotazioneService ad ogni modifica
+ * di una prenotazione, con i dati necessari ad aggiornare in tempo reale l'agenda giornaliera del medico:
+ * medico e data della prenotazione (e la data precedente, se la modifica ha spostato la prenotazione in un altro giorno)
+ * e il DTO della prenotazione. Un id prenotazione nullo indica un'operazione massiva che coinvolge tutte le agende
+ */
+public class PrenotazioneAgendaEvent {
+
+    private final ChangeTypeEnum type;
+    private final Long prenotazioneId;
+    private final Long medicoId;
+    private final LocalDate dataPrenotazione;
+    private final LocalDate previousDataPrenotazione;
+    private final PrenotazioneDTO prenotazione;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneAgendaEvent.
+     *
+     * @param type                     la tipologia di modifica
+     * @param prenotazioneId           l'id della prenotazione, null per le operazioni massive
+     * @param medicoId                 l'id del medico della prenotazione
+     * @param dataPrenotazione         la data della prenotazione
+     * @param previousDataPrenotazione la data della prenotazione prima della modifica, null se invariata
+     * @param prenotazione             il DTO della prenotazione, null per le cancellazioni e per le modifiche
+     *                                 eseguite senza caricare la prenotazione (es. scadenza automatica)
+     */
+    public PrenotazioneAgendaEvent(ChangeTypeEnum type, Long prenotazioneId, Long medicoId, LocalDate dataPrenotazione,
+                                   LocalDate previousDataPrenotazione, PrenotazioneDTO prenotazione) {
+        this.type = type;
+        this.prenotazioneId = prenotazioneId;
+        this.medicoId = medicoId;
+        this.dataPrenotazione = dataPrenotazione;
+        this.previousDataPrenotazione = previousDataPrenotazione;
+        this.prenotazione = prenotazione;
+    }
+
+    /**
+     * Istanzia l'evento di un'operazione massiva su tutte le prenotazioni
+     *
+     * @param type la tipologia di modifica
+     * @return l'evento
+     */
+    public static PrenotazioneAgendaEvent bulk(ChangeTypeEnum type) {
+        return new PrenotazioneAgendaEvent(type, null, null, null, null, null);
+    }
+
+    /**
+     * Metodo che restituisce la tipologia di modifica.
+     *
+     * @return la tipologia di modifica
+     */
+    public ChangeTypeEnum getType() {
+        return type;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione.
+     *
+     * @return l'id della prenotazione, null per le operazioni massive
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico della prenotazione.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la data della prenotazione.
+     *
+     * @return la data della prenotazione
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce la data della prenotazione prima della modifica.
+     *
+     * @return la data precedente, null se invariata
+     */
+    public LocalDate getPreviousDataPrenotazione() {
+        return previousDataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce il DTO della prenotazione.
+     *
+     * @return il DTO della prenotazione, null per le cancellazioni e per le modifiche eseguite senza caricare la prenotazione
+     */
+    public PrenotazioneDTO getPrenotazione() {
+        return prenotazione;
+    }
+
+    /**
+     * Metodo che indica se l'evento si riferisce a un'operazione massiva.
+     *
+     * @return true se l'operazione coinvolge tutte le prenotazioni
+     */
+    public boolean isBulk() {
+        return prenotazioneId == null;
+    }
+
+}
@@ -0,0 +1,69 @@
+package co.develhope.team1studiomedico.events;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * La classe PrenotazioneSlotFreedEvent rappresenta l'evento applicativo pubblicato quando una prenotazione libera
+ * lo slot (medico, data e ora) che occupava: cancellazione logica, passaggio allo stato CANCELLED o REJECTED,
+ * spostamento in un'altra data o ora
+ */
+public class PrenotazioneSlotFreedEvent {
+
+    private final Long prenotazioneId;
+    private final Long medicoId;
+    private final LocalDate dataPrenotazione;
+    private final LocalTime oraPrenotazione;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrenotazioneSlotFreedEvent.
+     *
+     * @param prenotazioneId   l'id della prenotazione che ha liberato lo slot
+     * @param medicoId         l'id del medico dello slot
+     * @param dataPrenotazione la data dello slot
+     * @param oraPrenotazione  l'ora dello slot
+     */
+    public PrenotazioneSlotFreedEvent(Long prenotazioneId, Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione) {
+        this.prenotazioneId = prenotazioneId;
+        this.medicoId = medicoId;
+        this.dataPrenotazione = dataPrenotazione;
+        this.oraPrenotazione = oraPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'id della prenotazione che ha liberato lo slot.
+     *
+     * @return l'id della prenotazione
+     */
+    public Long getPrenotazioneId() {
+        return prenotazioneId;
+    }
+
+    /**
+     * Metodo che restituisce l'id del medico dello slot.
+     *
+     * @return l'id del medico
+     */
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    /**
+     * Metodo che restituisce la data dello slot.
+     *
+     * @return la data dello slot
+     */
+    public LocalDate getDataPrenotazione() {
+        return dataPrenotazione;
+    }
+
+    /**
+     * Metodo che restituisce l'ora dello slot.
+     *
+     * @return l'ora dello slot
+     */
+    public LocalTime getOraPrenotazione() {
+        return oraPrenotazione;
+    }
+
+}
@@ -3,7 +3,8 @@ package co.develhope.team1studiomedico.exceptions;
 /**
  * La classe EntityStatusException rappresenta un unchecked exception poichè sottoclasse di RuntimeException,
  * tale eccezione custom si verifica nel caso in cui nelle operazioni di cancellazione logica e ripristino
- * una data risorsa risulta essere già cancellata logicamente piuttosto con status ACTIVE
+ * una data risorsa risulta essere già cancellata logicamente piuttosto con status ACTIVE.
+ * Essendo un errore di dominio restituito al client come 400, non cattura lo stack trace
  */
 public class EntityStatusException extends RuntimeException {
 
@@ -15,4 +16,9 @@ public class EntityStatusException extends RuntimeException {
         super(message);
     }
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
 }
@@ -5,6 +5,8 @@ import co.develhope.team1studiomedico.dto.error.ResponseValidationErrorDTO;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
@@ -30,6 +32,8 @@ import java.util.*;
  * GlobalExceptionHandler è uno speciale controller che consente di gestire le eccezioni
  * nell'intera applicazione in un unico componente di gestione globale mediante relativi metodi @ExceptionHandler.
  * Può essere visto come un interceptor di eccezioni lanciate da metodi annotati con @RequestMapping e simili.
+ * Gli errori del client (404 e 400) sono esiti previsti e ad alta frequenza: vengono registrati a livello DEBUG
+ * senza stack trace, mentre gli errori 500 vengono registrati a livello ERROR con lo stack trace completo.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -37,6 +41,8 @@ public class GlobalExceptionHandler {
     @Autowired
     private MessageSource messageSource;
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     /**
      * Metodo che gestisce le eccezioni EntityNotFoundException
      * @param e oggetto eccezione di tipo EntityNotFoundException
@@ -44,7 +50,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity handleEntityNotFoundException(EntityNotFoundException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        logger.debug("status=404 path={} message={}", request.getRequestURI(), e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(),
                         HttpStatus.NOT_FOUND.getReasonPhrase(), e.getMessage(), request.getRequestURI()));
@@ -58,7 +64,9 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class,
             HttpMessageNotReadableException.class, DateTimeException.class, EntityStatusException.class})
     public ResponseEntity handleBadRequestRuntimeException(RuntimeException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        if(logger.isDebugEnabled()) {
+            logger.debug("status=400 path={} exception={} message={}", request.getRequestURI(), e.getClass().getSimpleName(), e.getMessage());
+        }
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
                         HttpStatus.BAD_REQUEST.getReasonPhrase(), e.getMessage(), request.getRequestURI()));
@@ -71,7 +79,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MissingPathVariableException.class)
     public ResponseEntity handleServletException(ServletException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        logger.error("status=500 path={} message={}", request.getRequestURI(), e.getMessage(), e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
                         HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(), e.getMessage(), request.getRequestURI()));
@@ -84,7 +92,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NullPointerException.class)
     public ResponseEntity handleNullPointerException(NullPointerException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        logger.error("status=500 path={} message={}", request.getRequestURI(), e.getMessage(), e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
                         HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
@@ -99,7 +107,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({InvalidDataAccessApiUsageException.class, DataIntegrityViolationException.class})
     public ResponseEntity handleDataAccessException(DataAccessException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        logger.error("status=500 path={} message={}", request.getRequestURI(), e.getMessage(), e);
         if(e instanceof DataIntegrityViolationException) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -142,7 +150,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NoSuchMessageException.class)
     public ResponseEntity handleNoSuchMessageException(NoSuchMessageException e, HttpServletRequest request) {
-        System.out.println(e.getMessage());
+        logger.error("status=500 path={} message={}", request.getRequestURI(), e.getMessage(), e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
                         HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(), e.getMessage(), request.getRequestURI()));
@@ -0,0 +1,26 @@
+package co.develhope.team1studiomedico.exceptions;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * La classe StacklessEntityNotFoundException rappresenta l'EntityNotFoundException lanciata dai service
+ * quando una risorsa ACTIVE non viene trovata nel database. Trattandosi di un esito previsto del dominio
+ * (es. client in polling su id inesistenti), l'eccezione non cattura lo stack trace, che costituisce la parte più
+ * costosa della sua creazione e non viene mai utilizzato dalla risposta 404 di GlobalExceptionHandler
+ */
+public class StacklessEntityNotFoundException extends EntityNotFoundException {
+
+    /**
+     * Costruttore parametrico che istanzia un'eccezione StacklessEntityNotFoundException
+     * @param message messaggio di errore
+     */
+    public StacklessEntityNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
@@ -0,0 +1,144 @@
+package co.develhope.team1studiomedico.i18n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * La classe PrecompiledMessageSource è il MessageSource dell'applicazione: i file i18n/messages_*.properties vengono letti
+ * una sola volta e compilati in un catalogo immutabile, indicizzato per lingua, in cui ogni lingua contiene già anche
+ * i messaggi della lingua di default che non traduce. Le lookup sono semplici letture su mappe immutabili, senza accesso
+ * al filesystem; i messaggi senza argomenti vengono restituiti così come sono, senza lock (fast path).
+ * Per i messaggi con argomenti AbstractMessageSource formatta sincronizzandosi sull'istanza di MessageFormat restituita,
+ * per cui il catalogo ne restituisce un clone del MessageFormat già compilato: la sincronizzazione avviene su un'istanza
+ * privata della singola chiamata e le lookup concorrenti dello stesso messaggio non si contendono il lock.
+ * Il catalogo può essere ricaricato a caldo tramite il metodo reload, che lo sostituisce atomicamente
+ */
+public class PrecompiledMessageSource extends AbstractMessageSource {
+
+    /**
+     * Catalogo immutabile dei messaggi
+     *
+     * @param messages testo dei messaggi indicizzato per lingua e codice
+     * @param formats  MessageFormat già compilati, usati (clonati) per i messaggi con argomenti, indicizzati per lingua e codice
+     */
+    private record Catalog(Map<String, Map<String, String>> messages, Map<String, Map<String, MessageFormat>> formats) { }
+
+    private final String basename;
+    private final Locale defaultLocale;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    private volatile Catalog catalog;
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecompiledMessageSource.class);
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo PrecompiledMessageSource e carica il catalogo dei messaggi.
+     *
+     * @param basename      basename dei file dei messaggi (es. classpath:i18n/messages)
+     * @param defaultLocale locale dei messaggi restituiti quando la lingua richiesta non è disponibile
+     */
+    public PrecompiledMessageSource(String basename, Locale defaultLocale) {
+        this.basename = basename;
+        this.defaultLocale = defaultLocale;
+        this.catalog = load();
+    }
+
+    /**
+     * Ricarica i file dei messaggi e sostituisce atomicamente il catalogo corrente,
+     * le lookup in corso continuano a leggere il catalogo precedente
+     *
+     * @return il numero di lingue caricate
+     */
+    public int reload() {
+        Catalog reloaded = load();
+        this.catalog = reloaded;
+        return reloaded.messages().size();
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Catalog current = catalog;
+        return messagesOf(current.messages(), locale).get(code);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Catalog current = catalog;
+        MessageFormat messageFormat = messagesOf(current.formats(), locale).get(code);
+        return messageFormat != null ? (MessageFormat) messageFormat.clone() : null;
+    }
+
+    /**
+     * Restituisce i messaggi della lingua del locale, o della lingua di default se non disponibile
+     */
+    private <T> Map<String, T> messagesOf(Map<String, Map<String, T>> byLanguage, Locale locale) {
+        Map<String, T> messages = byLanguage.get(locale.getLanguage());
+        return messages != null ? messages : byLanguage.get(defaultLocale.getLanguage());
+    }
+
+    /**
+     * Legge i file dei messaggi e compila il catalogo: il file senza suffisso fa da base comune, i messaggi della lingua
+     * di default completano quelli delle altre lingue, che infine sovrascrivono con le proprie traduzioni
+     */
+    private Catalog load() {
+        Map<String, Properties> files = new HashMap<>();
+        try {
+            for(Resource resource : resourceResolver.getResources(basename + "*.properties")) {
+                String filename = resource.getFilename();
+                String basenameFilename = basename.substring(basename.lastIndexOf('/') + 1);
+                if(filename == null || !filename.startsWith(basenameFilename)) continue;
+                String suffix = filename.substring(basenameFilename.length(), filename.length() - ".properties".length());
+                if(!suffix.isEmpty() && !suffix.startsWith("_")) continue;
+                Properties properties = new Properties();
+                try(Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                files.put(suffix.isEmpty() ? "" : suffix.substring(1), properties);
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException("Impossibile caricare i messaggi da " + basename, e);
+        }
+
+        String defaultLanguage = defaultLocale.getLanguage();
+        files.putIfAbsent(defaultLanguage, new Properties());
+        Map<String, Map<String, String>> messages = new HashMap<>();
+        Map<String, Map<String, MessageFormat>> formats = new HashMap<>();
+        for(String language : files.keySet()) {
+            if(language.isEmpty()) continue;
+            Map<String, String> languageMessages = new HashMap<>();
+            putAll(languageMessages, files.get(""));
+            putAll(languageMessages, files.get(defaultLanguage));
+            putAll(languageMessages, files.get(language));
+            Locale locale = new Locale(language);
+            Map<String, MessageFormat> languageFormats = new HashMap<>();
+            languageMessages.forEach((code, message) -> languageFormats.put(code, createMessageFormat(message, locale)));
+            messages.put(language, Map.copyOf(languageMessages));
+            formats.put(language, Map.copyOf(languageFormats));
+        }
+        logger.info("Catalogo messaggi {} caricato: {} lingue, {} messaggi per lingua", basename, messages.size(),
+                messages.get(defaultLanguage).size());
+        return new Catalog(Map.copyOf(messages), Map.copyOf(formats));
+    }
+
+    private static void putAll(Map<String, String> messages, Properties properties) {
+        if(properties != null) {
+            properties.forEach((code, message) -> messages.put((String) code, (String) message));
+        }
+    }
+
+}
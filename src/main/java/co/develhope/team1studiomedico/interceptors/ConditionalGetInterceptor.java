@@ -0,0 +1,44 @@
+package co.develhope.team1studiomedico.interceptors;
+
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.services.ChangeVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * La classe ConditionalGetInterceptor gestisce le conditional GET (If-None-Match)
+ * degli endpoint di lettura: l'ETag viene calcolato da ChangeVersionService a partire dall'ultima modifica
+ * delle entità da cui dipende la response (e dall'header Accept, che può selezionare rappresentazioni diverse) e, se la rappresentazione del client è ancora valida,
+ * la richiesta termina con 304 Not Modified prima di raggiungere il controller, con la sola lettura del numero di sequenza
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ChangeVersionService changeVersionService;
+    private final EntityScopeEnum[] scopes;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ConditionalGetInterceptor.
+     *
+     * @param changeVersionService il service di calcolo degli ETag
+     * @param scopes               le entità da cui dipendono le response degli endpoint intercettati
+     */
+    public ConditionalGetInterceptor(ChangeVersionService changeVersionService, EntityScopeEnum... scopes) {
+        this.changeVersionService = changeVersionService;
+        this.scopes = scopes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        String etag = changeVersionService.getETag(request.getHeader(HttpHeaders.ACCEPT), scopes);
+        return !webRequest.checkNotModified(etag);
+    }
+
+}
@@ -0,0 +1,119 @@
+package co.develhope.team1studiomedico.interceptors;
+
+import co.develhope.team1studiomedico.datasource.ReadYourWritesContextHolder;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * La classe ReadYourWritesInterceptor garantisce la lettura delle proprie scritture in presenza della replica:
+ * ogni richiesta di modifica imposta al client un cookie con la scadenza della finestra di stickiness, e finché
+ * la finestra non è scaduta le letture di quel client vengono eseguite sul datasource primario.
+ * La stickiness è per client: le letture degli altri client restano sulla replica, e ConditionalGetInterceptor
+ * legge dalla replica anche l'ETag di quelle letture.
+ * L'obbligo viene registrato anche come attributo della richiesta: registrato come CallableProcessingInterceptor,
+ * l'interceptor lo ripristina sul thread che esegue le response asincrone (StreamingResponseBody),
+ * che altrimenti leggerebbero dalla replica anche entro la finestra
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    /**
+     * Nome del cookie con la scadenza (epoch millis) della finestra di stickiness del client
+     */
+    public static final String COOKIE_NAME = "primary-until";
+
+    private static final String PRIMARY_REQUIRED_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".PRIMARY_REQUIRED";
+
+    private final Duration window;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo ReadYourWritesInterceptor.
+     *
+     * @param window la finestra di stickiness successiva a una modifica
+     */
+    public ReadYourWritesInterceptor(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if(!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, String.valueOf(now + window.toMillis()))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+            requirePrimary(request);
+        } else if(primaryUntil(request) > now) {
+            requirePrimary(request);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesContextHolder.clear();
+    }
+
+    /**
+     * Per le response asincrone (stream SSE, StreamingResponseBody) afterCompletion viene invocato solo al termine
+     * della response e su un altro thread: il contesto viene quindi rimosso dal thread della richiesta
+     * non appena la gestione asincrona è avviata
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContextHolder.clear();
+    }
+
+    /**
+     * Ripristina l'obbligo di lettura dal primario sul thread che esegue la response asincrona
+     */
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if(request.getAttribute(PRIMARY_REQUIRED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            ReadYourWritesContextHolder.requirePrimary();
+        }
+    }
+
+    /**
+     * Rimuove l'obbligo dal thread che ha eseguito la response asincrona
+     */
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        ReadYourWritesContextHolder.clear();
+    }
+
+    private static void requirePrimary(HttpServletRequest request) {
+        request.setAttribute(PRIMARY_REQUIRED_ATTRIBUTE, Boolean.TRUE);
+        ReadYourWritesContextHolder.requirePrimary();
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if(request.getCookies() != null) {
+            for(Cookie cookie : request.getCookies()) {
+                if(COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch(NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,59 @@
+package co.develhope.team1studiomedico.interceptors;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * La classe SparseFieldsetInterceptor rifiuta con 400 le richieste con il parametro fields (sparse fieldset)
+ * indirizzate agli endpoint che non lo supportano, che altrimenti lo ignorerebbero restituendo il DTO completo.
+ * Un endpoint supporta il parametro se il metodo del controller dichiara un @RequestParam fields
+ */
+public class SparseFieldsetInterceptor implements HandlerInterceptor {
+
+    /**
+     * Nome del parametro dello sparse fieldset
+     */
+    public static final String FIELDS_PARAM = "fields";
+
+    private final MessageSource messageSource;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo SparseFieldsetInterceptor.
+     *
+     * @param messageSource il message source dei messaggi di errore
+     */
+    public SparseFieldsetInterceptor(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(request.getParameter(FIELDS_PARAM) != null && handler instanceof HandlerMethod handlerMethod
+                && !supportsFields(handlerMethod)) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.fields.unsupported.exception",
+                    null, LocaleContextHolder.getLocale()));
+        }
+        return true;
+    }
+
+    private static boolean supportsFields(HandlerMethod handlerMethod) {
+        for(MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if(requestParam == null) {
+                continue;
+            }
+            String name = requestParam.name().isEmpty() ? parameter.getParameterName() : requestParam.name();
+            if(FIELDS_PARAM.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,209 @@
+package co.develhope.team1studiomedico.reminders;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * La classe HierarchicalTimingWheel realizza un timing wheel gerarchico: i timer sono distribuiti su LEVELS ruote
+ * di SLOTS slot ciascuna, dove uno slot della ruota di livello L copre SLOTS^L tick.
+ * Un timer viene inserito nella ruota più bassa che ne contiene la scadenza e, quando la ruota inferiore completa un giro,
+ * gli slot della ruota superiore vengono ridistribuiti (cascade) verso le ruote inferiori, fino alla scadenza nella ruota 0.
+ * Inserimento e cancellazione costano O(1) (liste doppiamente concatenate per slot e mappa per chiave),
+ * l'avanzamento costa O(1) per tick più i timer scaduti o ridistribuiti.
+ * Con 5 livelli da 64 slot l'orizzonte è di 2^30 tick: le scadenze oltre l'orizzonte vengono ridistribuite fino alla scadenza effettiva.
+ * Ogni timer è identificato da una chiave long (un solo timer per chiave); la classe non è thread-safe
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * Callback invocata per ogni timer scaduto durante l'avanzamento del wheel
+     */
+    @FunctionalInterface
+    public interface ExpiredTimerHandler {
+
+        /**
+         * @param key            chiave del timer
+         * @param deadlineMillis scadenza del timer in millisecondi (epoch), arrotondata al tick
+         */
+        void onExpired(long key, long deadlineMillis);
+
+    }
+
+    private static final class Timer {
+
+        private final long key;
+        private final long deadlineTick;
+        private Timer prev;
+        private Timer next;
+        private int level;
+        private int slot;
+
+        private Timer(long key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+    }
+
+    private final long tickMillis;
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private final Map<Long, Timer> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Costruttore parametrico che istanzia un nuovo HierarchicalTimingWheel
+     *
+     * @param tickMillis durata del tick in millisecondi
+     * @param nowMillis  istante corrente in millisecondi (epoch)
+     */
+    public HierarchicalTimingWheel(long tickMillis, long nowMillis) {
+        if(tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis deve essere positivo: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Inserisce il timer con la chiave e la scadenza indicate, sostituendo l'eventuale timer con la stessa chiave;
+     * un timer già scaduto scade al tick successivo
+     *
+     * @param key            chiave del timer
+     * @param deadlineMillis scadenza in millisecondi (epoch), arrotondata per eccesso al tick
+     */
+    public void schedule(long key, long deadlineMillis) {
+        cancel(key);
+        Timer timer = new Timer(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        timers.put(key, timer);
+        // lo slot del tick corrente è già stato elaborato
+        place(timer, currentTick + 1);
+    }
+
+    /**
+     * Cancella il timer con la chiave indicata
+     *
+     * @param key chiave del timer
+     * @return true se il timer era presente
+     */
+    public boolean cancel(long key) {
+        Timer timer = timers.remove(key);
+        if(timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    /**
+     * Verifica la presenza del timer con la chiave indicata
+     *
+     * @param key chiave del timer
+     * @return true se il timer è presente
+     */
+    public boolean contains(long key) {
+        return timers.containsKey(key);
+    }
+
+    /**
+     * Restituisce il numero dei timer presenti
+     *
+     * @return il numero dei timer presenti
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Rimuove tutti i timer
+     */
+    public void clear() {
+        timers.clear();
+        for(Timer[] level : slots) {
+            Arrays.fill(level, null);
+        }
+    }
+
+    /**
+     * Avanza il wheel fino all'istante indicato, invocando la callback per ogni timer scaduto in ordine di tick
+     *
+     * @param nowMillis istante corrente in millisecondi (epoch)
+     * @param handler   callback dei timer scaduti
+     */
+    public void advance(long nowMillis, ExpiredTimerHandler handler) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while(currentTick < targetTick) {
+            if(timers.isEmpty()) {
+                currentTick = targetTick;
+                return;
+            }
+            long tick = ++currentTick;
+            // prima le ruote superiori, così i timer ridistribuiti nello slot corrente della ruota 0 scadono in questo tick
+            for(int level = LEVELS - 1; level >= 1; level--) {
+                if((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+                }
+            }
+            Timer timer = detach(0, (int) (tick & SLOT_MASK));
+            while(timer != null) {
+                Timer next = timer.next;
+                timers.remove(timer.key);
+                timer.prev = timer.next = null;
+                handler.onExpired(timer.key, timer.deadlineTick * tickMillis);
+                timer = next;
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = detach(level, slot);
+        while(timer != null) {
+            Timer next = timer.next;
+            timer.prev = timer.next = null;
+            place(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    private void place(Timer timer, long minTick) {
+        long delta = Math.min(Math.max(timer.deadlineTick, minTick) - currentTick, MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while(level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        timer.level = level;
+        timer.slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Timer head = slots[level][timer.slot];
+        timer.next = head;
+        if(head != null) {
+            head.prev = timer;
+        }
+        slots[level][timer.slot] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        if(timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if(timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = timer.next = null;
+    }
+
+    private Timer detach(int level, int slot) {
+        Timer head = slots[level][slot];
+        slots[level][slot] = null;
+        return head;
+    }
+
+}
@@ -0,0 +1,47 @@
+package co.develhope.team1studiomedico.reminders;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneReminderDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * La classe LogReminderSender è l'implementazione locale di ReminderSender, pensata per sviluppo e test:
+ * ogni promemoria viene scritto nel log applicativo e, se la property app.reminders.file è configurata,
+ * accodato come riga nel file indicato
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.sender", havingValue = "log", matchIfMissing = true)
+public class LogReminderSender implements ReminderSender {
+
+    @Value("${app.reminders.file:}")
+    private String file;
+
+    private static final Logger logger = LoggerFactory.getLogger(LogReminderSender.class);
+
+    @Override
+    public void send(PrenotazioneReminderDTO reminder) {
+        String line = String.format("promemoria prenotazione %d: paziente %d, medico %d, %s %s (previsto alle %s)",
+                reminder.getPrenotazioneId(), reminder.getPazienteId(), reminder.getMedicoId(), reminder.getDataPrenotazione(),
+                reminder.getOraPrenotazione(), reminder.getDueAt());
+        logger.info(line);
+        if(!file.isBlank()) {
+            try {
+                Files.writeString(Path.of(file), line + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package co.develhope.team1studiomedico.reminders;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneReminderDTO;
+
+/**
+ * L'interfaccia ReminderSender rappresenta il canale di invio dei promemoria delle prenotazioni (email, SMS, notifiche push...).
+ * Il bean viene selezionato tramite la property app.reminders.sender; l'implementazione di default è LogReminderSender.
+ * Il metodo send viene invocato dal thread del timing wheel dei promemoria: un'implementazione lenta deve delegare l'invio
+ * a un proprio executor, altrimenti ritarda i promemoria successivi
+ */
+public interface ReminderSender {
+
+    /**
+     * Invia il promemoria della prenotazione
+     *
+     * @param reminder il promemoria da inviare
+     */
+    void send(PrenotazioneReminderDTO reminder);
+
+}
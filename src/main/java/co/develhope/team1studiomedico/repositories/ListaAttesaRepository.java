@@ -0,0 +1,70 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaDTO;
+import co.develhope.team1studiomedico.entities.ListaAttesaEntity;
+import co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * L'interfaccia ListaAttesaRepository è il repository delle richieste in lista di attesa.
+ * Le transizioni di stato sono UPDATE condizionate allo stato WAITING, così una richiesta non può essere
+ * soddisfatta e cancellata contemporaneamente
+ */
+@Repository
+public interface ListaAttesaRepository extends JpaRepository<ListaAttesaEntity, Long> {
+
+    /**
+     * Restituisce le richieste con lo stato indicato, proiettate direttamente nel DTO (senza caricare paziente e medico)
+     *
+     * @param stato lo stato delle richieste
+     * @return la lista dei DTO delle richieste
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaDTO(
+                l.id, l.paziente.id, l.medico.id, l.dataInizio, l.dataFine, l.priorita, l.requestedAt, l.stato, l.prenotazioneId)
+            FROM lista_attesa l
+            WHERE l.stato = :stato""")
+    List<ListaAttesaDTO> findDTOByStato(@Param("stato") ListaAttesaStatusEnum stato);
+
+    /**
+     * Restituisce l'id più alto delle richieste inserite
+     *
+     * @return l'id più alto, null se non ci sono richieste
+     */
+    @Query("SELECT MAX(l.id) FROM lista_attesa l")
+    Long findMaxId();
+
+    /**
+     * Segna come soddisfatta la richiesta ancora in attesa, registrando la prenotazione creata
+     *
+     * @param id l'id della richiesta
+     * @param prenotazioneId l'id della prenotazione creata
+     * @return il numero di richieste modificate (0 se la richiesta non è più in attesa)
+     */
+    @Modifying
+    @Query(value = "UPDATE lista_attesa l SET l.stato = co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum.FULFILLED, " +
+            "l.prenotazioneId = :prenotazioneId, l.lastModifiedDate = :#{new java.util.Date()} " +
+            "WHERE l.id = :id AND l.stato = co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum.WAITING")
+    int markFulfilled(@Param("id") Long id, @Param("prenotazioneId") Long prenotazioneId);
+
+    /**
+     * Cancella la richiesta ancora in attesa
+     *
+     * @param id l'id della richiesta
+     * @return il numero di richieste modificate (0 se la richiesta non esiste o non è più in attesa)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE lista_attesa l SET l.stato = co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum.CANCELLED, " +
+            "l.lastModifiedDate = :#{new java.util.Date()} " +
+            "WHERE l.id = :id AND l.stato = co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum.WAITING")
+    int cancelWaiting(@Param("id") Long id);
+
+}
@@ -0,0 +1,31 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaDTO;
+import co.develhope.team1studiomedico.entities.MedicoAssenzaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * L'interfaccia MedicoAssenzaRepository è il repository delle assenze dei medici
+ */
+@Repository
+public interface MedicoAssenzaRepository extends JpaRepository<MedicoAssenzaEntity, Long> {
+
+    /**
+     * Restituisce le assenze del medico, proiettate direttamente nel DTO (senza caricare il medico)
+     *
+     * @param medicoId id del medico
+     * @return la lista dei DTO delle assenze, ordinate per inizio
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaDTO(a.id, a.medico.id, a.inizio, a.fine, a.motivo)
+            FROM medico_assenza a
+            WHERE a.medico.id = :medicoId
+            ORDER BY a.inizio""")
+    List<MedicoAssenzaDTO> findDTOByMedicoId(@Param("medicoId") Long medicoId);
+
+}
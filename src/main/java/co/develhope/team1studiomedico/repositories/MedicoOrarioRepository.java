@@ -0,0 +1,31 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.dto.calendario.MedicoOrarioDTO;
+import co.develhope.team1studiomedico.entities.MedicoOrarioEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * L'interfaccia MedicoOrarioRepository è il repository delle fasce dell'orario di lavoro settimanale dei medici
+ */
+@Repository
+public interface MedicoOrarioRepository extends JpaRepository<MedicoOrarioEntity, Long> {
+
+    /**
+     * Restituisce le fasce orarie del medico, proiettate direttamente nel DTO (senza caricare il medico)
+     *
+     * @param medicoId id del medico
+     * @return la lista dei DTO delle fasce orarie, ordinate per ora di inizio
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.calendario.MedicoOrarioDTO(o.id, o.medico.id, o.giornoSettimana, o.oraInizio, o.oraFine)
+            FROM medico_orario o
+            WHERE o.medico.id = :medicoId
+            ORDER BY o.oraInizio""")
+    List<MedicoOrarioDTO> findDTOByMedicoId(@Param("medicoId") Long medicoId);
+
+}
@@ -0,0 +1,59 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.entities.OutboxEventEntity;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * L'interfaccia OutboxEventRepository è il repository della tabella outbox e del contatore
+ * dei numeri di sequenza (tabella outbox_sequence, composta da una sola riga)
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Restituisce i record outbox con numero di sequenza maggiore di quello indicato, in ordine di sequenza
+     *
+     * @param seq numero di sequenza dell'ultimo record già letto
+     * @param pageable numero massimo di record restituiti
+     * @return la lista dei record outbox
+     */
+    List<OutboxEventEntity> findBySeqGreaterThanOrderBySeqAsc(Long seq, Pageable pageable);
+
+    /**
+     * Incrementa il contatore dei numeri di sequenza del numero indicato, riservando un intervallo di numeri di sequenza
+     * consecutivi alle modifiche di una transazione. Il lock sulla riga viene mantenuto fino al termine della transazione,
+     * le transazioni che registrano modifiche ottengono quindi i numeri di sequenza nello stesso ordine in cui effettuano il commit
+     *
+     * @param count il numero di sequenza da riservare
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_sequence SET last_seq = last_seq + :count WHERE id = 1", nativeQuery = true)
+    void incrementSequenceBy(@Param("count") int count);
+
+    /**
+     * Restituisce il valore corrente del contatore dei numeri di sequenza
+     *
+     * @return l'ultimo numero di sequenza assegnato
+     */
+    @Query(value = "SELECT last_seq FROM outbox_sequence WHERE id = 1", nativeQuery = true)
+    long getCurrentSequence();
+
+    /**
+     * Restituisce il numero di sequenza dell'ultima modifica registrata per le tipologie di entità indicate
+     *
+     * @param scopes le tipologie di entità
+     * @return il massimo numero di sequenza, null se non sono registrate modifiche
+     */
+    @Query("SELECT MAX(o.seq) FROM outbox_event o WHERE o.scope IN :scopes")
+    Long findMaxSeqByScopeIn(@Param("scopes") Collection<EntityScopeEnum> scopes);
+
+}
@@ -1,10 +1,12 @@
 package co.develhope.team1studiomedico.repositories;
 
 import co.develhope.team1studiomedico.entities.PazienteEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -82,4 +84,39 @@ public interface PazienteRepository extends PersonaRepository<PazienteEntity> {
      */
     Optional<PazienteEntity> findPazienteByCodiceFiscale(String codiceFiscale);
 
+    /**
+     * Restituisce i pazienti (ACTIVE e DELETED) modificati dopo la chiave (lastModifiedDate, id) indicata,
+     * ordinati per data di ultima modifica e id; utilizzata dalla sincronizzazione incrementale (delta sync)
+     *
+     * @param since data di ultima modifica della chiave
+     * @param sinceId id della chiave
+     * @param pageable numero massimo di pazienti restituiti
+     * @return la lista dei pazienti modificati
+     */
+    @Query("""
+            SELECT p FROM paziente p
+            WHERE p.lastModifiedDate >= :since
+            AND (p.lastModifiedDate > :since OR p.id > :sinceId)
+            ORDER BY p.lastModifiedDate, p.id""")
+    List<PazienteEntity> findPazientiModifiedAfter(@Param("since") Date since, @Param("sinceId") Long sinceId, Pageable pageable);
+
+    /**
+     * Restituisce i pazienti (ACTIVE e DELETED) del medico modificati dopo la chiave (lastModifiedDate, id) indicata,
+     * ordinati per data di ultima modifica e id; utilizzata dalla sincronizzazione incrementale (delta sync)
+     *
+     * @param medicoId id del medico
+     * @param since data di ultima modifica della chiave
+     * @param sinceId id della chiave
+     * @param pageable numero massimo di pazienti restituiti
+     * @return la lista dei pazienti modificati
+     */
+    @Query("""
+            SELECT p FROM paziente p
+            WHERE p.medico.id = :medicoId
+            AND p.lastModifiedDate >= :since
+            AND (p.lastModifiedDate > :since OR p.id > :sinceId)
+            ORDER BY p.lastModifiedDate, p.id""")
+    List<PazienteEntity> findPazientiByMedicoIdModifiedAfter(@Param("medicoId") Long medicoId, @Param("since") Date since,
+                                                             @Param("sinceId") Long sinceId, Pageable pageable);
+
 }
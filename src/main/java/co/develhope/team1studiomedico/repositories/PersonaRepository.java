@@ -16,6 +16,8 @@ import java.util.Optional;
 /**
  * La superInterface PersonaRepository è un repository che fornisce un insieme di metodi e custom query per la
  * gestione dei dati nel database utilizzando la JPA (Java Persistence API) per definire query ad alto livello.
+ * Le query di modifica aggiornano anche lastModifiedDate, che l'auditing JPA non valorizza nelle UPDATE massive,
+ * affinché la sincronizzazione incrementale rilevi cancellazioni e ripristini.
  */
 @NoRepositoryBean
 public interface PersonaRepository<T extends PersonaEntity> extends JpaRepository<T, Long> {
@@ -35,7 +37,7 @@ public interface PersonaRepository<T extends PersonaEntity> extends JpaRepositor
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED WHERE e.id = :id")
+    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED, e.lastModifiedDate = :#{new java.util.Date()} WHERE e.id = :id")
     void softDeleteById(@Param("id") Long id);
 
     /**
@@ -43,7 +45,7 @@ public interface PersonaRepository<T extends PersonaEntity> extends JpaRepositor
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED " +
+    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED, e.lastModifiedDate = :#{new java.util.Date()} " +
             "WHERE e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE")
     void softDelete();
 
@@ -54,7 +56,7 @@ public interface PersonaRepository<T extends PersonaEntity> extends JpaRepositor
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE WHERE e.id = :id")
+    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE, e.lastModifiedDate = :#{new java.util.Date()} WHERE e.id = :id")
     void restoreById(@Param("id") Long id);
 
     /**
@@ -62,7 +64,7 @@ public interface PersonaRepository<T extends PersonaEntity> extends JpaRepositor
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE " +
+    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE, e.lastModifiedDate = :#{new java.util.Date()} " +
             "WHERE e.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED")
     void restore();
 
@@ -74,7 +76,7 @@ public interface PersonaRepository<T extends PersonaEntity> extends JpaRepositor
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = :recordStatus WHERE e.id = :id")
+    @Query(value = "UPDATE #{#entityName} e SET e.recordStatus = :recordStatus, e.lastModifiedDate = :#{new java.util.Date()} WHERE e.id = :id")
     void changeStatusById(@Param("recordStatus") EntityStatusEnum recordStatus, @Param("id") Long id);
 
     /**
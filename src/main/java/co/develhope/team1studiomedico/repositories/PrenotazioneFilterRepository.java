@@ -0,0 +1,39 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFilterDTO;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * L'interfaccia PrenotazioneFilterRepository è il fragment custom di PrenotazioneRepository che realizza
+ * la ricerca componibile delle prenotazioni: qualsiasi combinazione di criteri viene tradotta in un'unica query,
+ * con il filtro sui record ACTIVE, l'ordinamento e la paginazione keyset eseguiti dal database
+ */
+public interface PrenotazioneFilterRepository {
+
+    /**
+     * Chiave di ordinamento (data, ora, id) dell'ultima prenotazione della pagina precedente
+     *
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param id               id prenotazione
+     */
+    record Keyset(LocalDate dataPrenotazione, LocalTime oraPrenotazione, Long id) { }
+
+    /**
+     * Ricerca le prenotazioni ACTIVE che soddisfano tutti i criteri valorizzati del filtro, ordinate per data, ora e id
+     * nella direzione del filtro, a partire dalla prenotazione successiva alla chiave indicata
+     * @param filter criteri di ricerca (le date vengono lette da fromDate e toDate)
+     * @param fromDate data inizio (inclusa), null se assente
+     * @param toDate data fine (inclusa), null se assente
+     * @param after chiave dell'ultima prenotazione della pagina precedente, null per la prima pagina
+     * @param limit numero massimo di prenotazioni restituite
+     * @return lista delle prenotazioni filtrate
+     */
+    List<PrenotazioneEntity> findPrenotazioniByFilter(PrenotazioneFilterDTO filter, LocalDate fromDate, LocalDate toDate,
+                                                      Keyset after, int limit);
+
+}
@@ -0,0 +1,121 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFilterDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementazione del fragment PrenotazioneFilterRepository.
+ * Il testo JPQL dipende esclusivamente dalla "forma" del filtro (quali criteri sono valorizzati e la direzione di ordinamento),
+ * mai dai valori, che sono sempre passati come parametri: il testo di ogni forma viene costruito una sola volta e memorizzato
+ * nella plan cache, così la stessa forma produce sempre la stessa query e riutilizza il piano già compilato
+ * da Hibernate e lo statement già preparato dal database
+ */
+public class PrenotazioneFilterRepositoryImpl implements PrenotazioneFilterRepository {
+
+    private static final int MEDICO = 1;
+    private static final int SEGRETARIO = 1 << 1;
+    private static final int PAZIENTE = 1 << 2;
+    private static final int FROM_DATE = 1 << 3;
+    private static final int TO_DATE = 1 << 4;
+    private static final int ORA = 1 << 5;
+    private static final int START_ORA = 1 << 6;
+    private static final int END_ORA = 1 << 7;
+    private static final int STATO = 1 << 8;
+    private static final int AFTER = 1 << 9;
+    private static final int DESC = 1 << 10;
+
+    /**
+     * Plan cache: testo JPQL indicizzato per forma del filtro
+     */
+    private final Map<Integer, String> planCache = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneFilterRepositoryImpl.class);
+
+    @Override
+    public List<PrenotazioneEntity> findPrenotazioniByFilter(PrenotazioneFilterDTO filter, LocalDate fromDate, LocalDate toDate,
+                                                             Keyset after, int limit) {
+        int shape = (filter.getMedicoId() != null ? MEDICO : 0)
+                | (filter.getSegretarioId() != null ? SEGRETARIO : 0)
+                | (filter.getPazienteId() != null ? PAZIENTE : 0)
+                | (fromDate != null ? FROM_DATE : 0)
+                | (toDate != null ? TO_DATE : 0)
+                | (filter.getOraPrenotazione() != null ? ORA : 0)
+                | (filter.getStartOra() != null ? START_ORA : 0)
+                | (filter.getEndOra() != null ? END_ORA : 0)
+                | (filter.getStatoPrenotazione() != null ? STATO : 0)
+                | (after != null ? AFTER : 0)
+                | (filter.getDirection() == Sort.Direction.DESC ? DESC : 0);
+
+        TypedQuery<PrenotazioneEntity> query = entityManager
+                .createQuery(planCache.computeIfAbsent(shape, PrenotazioneFilterRepositoryImpl::buildJpql), PrenotazioneEntity.class)
+                .setParameter("recordStatus", EntityStatusEnum.ACTIVE)
+                .setMaxResults(limit);
+        if((shape & MEDICO) != 0) query.setParameter("medicoId", filter.getMedicoId());
+        if((shape & SEGRETARIO) != 0) query.setParameter("segretarioId", filter.getSegretarioId());
+        if((shape & PAZIENTE) != 0) query.setParameter("pazienteId", filter.getPazienteId());
+        if((shape & FROM_DATE) != 0) query.setParameter("fromDate", fromDate);
+        if((shape & TO_DATE) != 0) query.setParameter("toDate", toDate);
+        if((shape & ORA) != 0) query.setParameter("oraPrenotazione", filter.getOraPrenotazione());
+        if((shape & START_ORA) != 0) query.setParameter("startOra", filter.getStartOra());
+        if((shape & END_ORA) != 0) query.setParameter("endOra", filter.getEndOra());
+        if((shape & STATO) != 0) query.setParameter("statoPrenotazione", filter.getStatoPrenotazione());
+        if((shape & AFTER) != 0) {
+            query.setParameter("afterData", after.dataPrenotazione())
+                    .setParameter("afterOra", after.oraPrenotazione())
+                    .setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Costruisce il testo JPQL della forma di filtro considerata. Tutti i predicati sono confronti diretti sulle colonne
+     * (anche anno e mese vengono tradotti a monte in un intervallo di date), così da poter essere risolti tramite indice
+     */
+    private static String buildJpql(int shape) {
+        boolean desc = (shape & DESC) != 0;
+        String gt = desc ? " < " : " > ";
+        String direction = desc ? " DESC" : " ASC";
+        StringBuilder jpql = new StringBuilder("""
+                SELECT pr FROM prenotazione pr
+                LEFT JOIN FETCH pr.paziente
+                LEFT JOIN FETCH pr.medico
+                WHERE pr.recordStatus = :recordStatus""");
+        if((shape & MEDICO) != 0) jpql.append("\nAND pr.medico.id = :medicoId");
+        if((shape & SEGRETARIO) != 0) jpql.append("\nAND pr.medico.id = (SELECT s.medico.id FROM segretario s WHERE s.id = :segretarioId)");
+        if((shape & PAZIENTE) != 0) jpql.append("\nAND pr.paziente.id = :pazienteId");
+        if((shape & FROM_DATE) != 0) jpql.append("\nAND pr.dataPrenotazione >= :fromDate");
+        if((shape & TO_DATE) != 0) jpql.append("\nAND pr.dataPrenotazione <= :toDate");
+        if((shape & ORA) != 0) jpql.append("\nAND pr.oraPrenotazione = :oraPrenotazione");
+        if((shape & START_ORA) != 0) jpql.append("\nAND pr.oraPrenotazione >= :startOra");
+        if((shape & END_ORA) != 0) jpql.append("\nAND pr.oraPrenotazione <= :endOra");
+        if((shape & STATO) != 0) jpql.append("\nAND pr.statoPrenotazione = :statoPrenotazione");
+        if((shape & AFTER) != 0) {
+            // il primo predicato (range sulla sola data) consente al database di posizionarsi sull'indice
+            jpql.append("\nAND pr.dataPrenotazione").append(desc ? " <= " : " >= ").append(":afterData")
+                    .append("\nAND (pr.dataPrenotazione").append(gt).append(":afterData")
+                    .append(" OR (pr.dataPrenotazione = :afterData AND (pr.oraPrenotazione").append(gt).append(":afterOra")
+                    .append(" OR (pr.oraPrenotazione = :afterOra AND pr.id").append(gt).append(":afterId))))");
+        }
+        jpql.append("\nORDER BY pr.dataPrenotazione").append(direction)
+                .append(", pr.oraPrenotazione").append(direction)
+                .append(", pr.id").append(direction);
+        logger.debug("Plan cache prenotazioni: nuova forma {} -> {}", Integer.toBinaryString(shape), jpql);
+        return jpql.toString();
+    }
+
+}
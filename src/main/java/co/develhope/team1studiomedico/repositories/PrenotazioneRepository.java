@@ -1,26 +1,46 @@
 package co.develhope.team1studiomedico.repositories;
 
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDailyCountDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneIntervalDTO;
 import co.develhope.team1studiomedico.entities.EntityStatusEnum;
 import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
 import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * L'interfaccia PrenotazioneRepository è un repository che fornisce un insieme di metodi e custom query per la
  * gestione dei dati nel database utilizzando la JPA (Java Persistence API) per definire query ad alto livello.
+ * Le query di modifica aggiornano anche lastModifiedDate, che l'auditing JPA non valorizza nelle UPDATE massive,
+ * affinché la sincronizzazione incrementale rilevi cancellazioni e ripristini.
  */
 @Repository
-public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity, Long> {
+public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity, Long>, PrenotazioneFilterRepository {
+
+    /**
+     * Numero di righe lette dal driver JDBC per ogni round trip nelle query in streaming
+     */
+    int STREAM_FETCH_SIZE = 500;
 
     /**
      * Restituisce la lista delle prenotazioni filtrate per record status
@@ -38,7 +58,7 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED WHERE p.id = :id")
+    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED, p.lastModifiedDate = :#{new java.util.Date()} WHERE p.id = :id")
     void softDeleteById(@Param("id") Long id);
 
     /**
@@ -46,7 +66,7 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED " +
+    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED, p.lastModifiedDate = :#{new java.util.Date()} " +
             "WHERE p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE")
     void softDelete();
 
@@ -57,7 +77,7 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE WHERE p.id = :id")
+    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE, p.lastModifiedDate = :#{new java.util.Date()} WHERE p.id = :id")
     void restoreById(@Param("id") Long id);
 
     /**
@@ -65,7 +85,7 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE " +
+    @Query(value = "UPDATE prenotazione p SET p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE, p.lastModifiedDate = :#{new java.util.Date()} " +
             "WHERE p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.DELETED")
     void restore();
 
@@ -77,9 +97,225 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE prenotazione p SET p.recordStatus = :recordStatus WHERE p.id = :id")
+    @Query(value = "UPDATE prenotazione p SET p.recordStatus = :recordStatus, p.lastModifiedDate = :#{new java.util.Date()} WHERE p.id = :id")
     void changeStatusById(@Param("recordStatus") EntityStatusEnum recordStatus, @Param("id") Long id);
 
+    /**
+     * Restituisce le prenotazioni ACTIVE ancora PENDING scadute, cioè prenotate prima dell'istante indicato
+     * oppure con data di prenotazione già trascorsa, con id successivo a quello indicato e ordinate per id.
+     * Le prenotazioni sono proiettate direttamente nel DTO piatto; utilizzata dalla scadenza automatica a blocchi
+     *
+     * @param afterId id dell'ultima prenotazione del blocco precedente (0 per il primo blocco)
+     * @param bookedBefore istante di prenotazione oltre il quale una prenotazione PENDING è scaduta
+     * @param today data odierna
+     * @param pageable dimensione del blocco
+     * @return la lista dei DTO piatti delle prenotazioni scadute
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.statoPrenotazione = co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.PENDING
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            AND pr.id > :afterId
+            AND (pr.bookedAt < :bookedBefore OR pr.dataPrenotazione < :today)
+            ORDER BY pr.id""")
+    List<PrenotazioneFlatDTO> findExpiredPendingPrenotazioni(@Param("afterId") Long afterId,
+                                                             @Param("bookedBefore") LocalDateTime bookedBefore,
+                                                             @Param("today") LocalDate today,
+                                                             Pageable pageable);
+
+    /**
+     * Restituisce, a blocchi ordinati per id (keyset), le prenotazioni ACTIVE e CONFIRMED con data e ora di prenotazione
+     * comprese tra gli estremi indicati (estremo superiore escluso), proiettate direttamente nel DTO piatto
+     *
+     * @param afterId id dell'ultima prenotazione del blocco precedente (0 per il primo blocco)
+     * @param fromDate data dell'estremo inferiore
+     * @param fromOra ora dell'estremo inferiore
+     * @param toDate data dell'estremo superiore
+     * @param toOra ora dell'estremo superiore
+     * @param pageable dimensione del blocco
+     * @return la lista dei DTO piatti delle prenotazioni
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.statoPrenotazione = co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.CONFIRMED
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            AND pr.id > :afterId
+            AND pr.dataPrenotazione BETWEEN :fromDate AND :toDate
+            AND (pr.dataPrenotazione > :fromDate OR pr.oraPrenotazione >= :fromOra)
+            AND (pr.dataPrenotazione < :toDate OR pr.oraPrenotazione < :toOra)
+            ORDER BY pr.id""")
+    List<PrenotazioneFlatDTO> findConfirmedPrenotazioniBetween(@Param("afterId") Long afterId,
+                                                               @Param("fromDate") LocalDate fromDate,
+                                                               @Param("fromOra") LocalTime fromOra,
+                                                               @Param("toDate") LocalDate toDate,
+                                                               @Param("toOra") LocalTime toOra,
+                                                               Pageable pageable);
+
+    /**
+     * Aggiudica all'istanza corrente l'invio del promemoria della prenotazione, se è ancora ACTIVE e CONFIRMED alla data e ora
+     * indicate e il promemoria con l'istante di invio indicato non è già stato inviato (anche da un'altra istanza).
+     * Non aggiorna lastModifiedDate: l'invio del promemoria non è una modifica della prenotazione per la sincronizzazione
+     *
+     * @param id id della prenotazione
+     * @param dataPrenotazione data di prenotazione attesa
+     * @param oraPrenotazione ora di prenotazione attesa
+     * @param dueAt istante di invio del promemoria
+     * @return 1 se l'invio è stato aggiudicato, 0 altrimenti
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE prenotazione p SET p.reminderDueAt = :dueAt " +
+            "WHERE p.id = :id AND p.dataPrenotazione = :dataPrenotazione AND p.oraPrenotazione = :oraPrenotazione " +
+            "AND p.statoPrenotazione = co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.CONFIRMED " +
+            "AND p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE " +
+            "AND (p.reminderDueAt IS NULL OR p.reminderDueAt <> :dueAt)")
+    int claimReminder(@Param("id") Long id, @Param("dataPrenotazione") LocalDate dataPrenotazione,
+                      @Param("oraPrenotazione") LocalTime oraPrenotazione, @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * Porta nello stato indicato le prenotazioni con gli id considerati, solo se ancora ACTIVE e PENDING
+     * (una prenotazione confermata nel frattempo non viene modificata)
+     *
+     * @param statoPrenotazione lo stato di destinazione
+     * @param ids gli id delle prenotazioni
+     * @return il numero di prenotazioni modificate
+     */
+    @Modifying
+    @Query(value = "UPDATE prenotazione p SET p.statoPrenotazione = :statoPrenotazione, p.lastModifiedDate = :#{new java.util.Date()} " +
+            "WHERE p.id IN :ids AND p.statoPrenotazione = co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.PENDING " +
+            "AND p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE")
+    int expirePendingByIds(@Param("statoPrenotazione") PrenotazioneStatusEnum statoPrenotazione, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Restituisce le prenotazioni ACTIVE con gli id considerati, proiettate direttamente nel DTO piatto
+     *
+     * @param ids gli id delle prenotazioni
+     * @return la lista dei DTO piatti delle prenotazioni
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.id IN :ids
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE""")
+    List<PrenotazioneFlatDTO> findFlatPrenotazioniByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Restituisce le prenotazioni ACTIVE del medico nella data considerata con lo stato indicato,
+     * proiettate direttamente nel DTO piatto e ordinate per ora di prenotazione
+     *
+     * @param medicoId id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param statoPrenotazione stato della prenotazione
+     * @return la lista dei DTO piatti delle prenotazioni
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.medico.id = :medicoId
+            AND pr.dataPrenotazione = :dataPrenotazione
+            AND pr.statoPrenotazione = :statoPrenotazione
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            ORDER BY pr.oraPrenotazione, pr.id""")
+    List<PrenotazioneFlatDTO> findFlatPrenotazioniByMedicoIdAndDataPrenotazioneAndStato(@Param("medicoId") Long medicoId,
+                                                                                        @Param("dataPrenotazione") LocalDate dataPrenotazione,
+                                                                                        @Param("statoPrenotazione") PrenotazioneStatusEnum statoPrenotazione);
+
+    /**
+     * Blocca (SELECT ... FOR UPDATE) fino al termine della transazione le prenotazioni ACTIVE con gli id considerati
+     * il cui stato corrente è uno degli stati di partenza consentiti, in ordine di id, e le restituisce proiettate nel DTO piatto
+     *
+     * @param ids gli id delle prenotazioni
+     * @param fromStati gli stati di partenza consentiti
+     * @return la lista dei DTO piatti delle prenotazioni bloccate
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.id IN :ids
+            AND pr.statoPrenotazione IN :fromStati
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            ORDER BY pr.id""")
+    List<PrenotazioneFlatDTO> lockFlatPrenotazioniByIdsAndStati(@Param("ids") Collection<Long> ids,
+                                                               @Param("fromStati") Collection<PrenotazioneStatusEnum> fromStati);
+
+    /**
+     * Porta nello stato di destinazione le prenotazioni ACTIVE con gli id considerati, solo se il loro stato corrente
+     * è ancora uno degli stati di partenza consentiti
+     *
+     * @param toStato lo stato di destinazione
+     * @param ids gli id delle prenotazioni
+     * @param fromStati gli stati di partenza consentiti
+     * @return il numero di prenotazioni modificate
+     */
+    @Modifying
+    @Query(value = "UPDATE prenotazione p SET p.statoPrenotazione = :toStato, p.lastModifiedDate = :#{new java.util.Date()} " +
+            "WHERE p.id IN :ids AND p.statoPrenotazione IN :fromStati " +
+            "AND p.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE")
+    int transitionStatoByIds(@Param("toStato") PrenotazioneStatusEnum toStato, @Param("ids") Collection<Long> ids,
+                             @Param("fromStati") Collection<PrenotazioneStatusEnum> fromStati);
+
+    /**
+     * Restituisce gli intervalli (ora di inizio e durata) delle prenotazioni ACTIVE PENDING o CONFIRMED
+     * del medico nella data considerata
+     *
+     * @param medicoId id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @return la lista degli intervalli occupati nella giornata del medico
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneIntervalDTO(pr.id, pr.oraPrenotazione, pr.durataMinuti)
+            FROM prenotazione pr
+            WHERE pr.medico.id = :medicoId
+            AND pr.dataPrenotazione = :dataPrenotazione
+            AND pr.statoPrenotazione IN (co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.PENDING,
+                                         co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.CONFIRMED)
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE""")
+    List<PrenotazioneIntervalDTO> findOccupyingIntervalsByMedicoIdAndDataPrenotazione(@Param("medicoId") Long medicoId,
+                                                                                     @Param("dataPrenotazione") LocalDate dataPrenotazione);
+
+    /**
+     * Restituisce il numero delle prenotazioni ACTIVE PENDING o CONFIRMED del medico nella data considerata
+     *
+     * @param medicoId id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @return il numero delle prenotazioni che occupano la giornata del medico
+     */
+    @Query("""
+            SELECT COUNT(pr)
+            FROM prenotazione pr
+            WHERE pr.medico.id = :medicoId
+            AND pr.dataPrenotazione = :dataPrenotazione
+            AND pr.statoPrenotazione IN (co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.PENDING,
+                                         co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.CONFIRMED)
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE""")
+    long countOccupyingByMedicoIdAndDataPrenotazione(@Param("medicoId") Long medicoId,
+                                                     @Param("dataPrenotazione") LocalDate dataPrenotazione);
+
+    /**
+     * Restituisce, per medico e giorno a partire dalla data considerata, il numero delle prenotazioni ACTIVE PENDING o CONFIRMED
+     *
+     * @param fromDate data di prenotazione minima
+     * @return la lista dei conteggi per medico e giorno
+     */
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDailyCountDTO(
+                pr.medico.id, pr.dataPrenotazione, COUNT(pr))
+            FROM prenotazione pr
+            WHERE pr.dataPrenotazione >= :fromDate
+            AND pr.statoPrenotazione IN (co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.PENDING,
+                                         co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum.CONFIRMED)
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            GROUP BY pr.medico.id, pr.dataPrenotazione""")
+    List<PrenotazioneDailyCountDTO> countOccupyingGroupByMedicoIdAndDataPrenotazione(@Param("fromDate") LocalDate fromDate);
+
     /**
      * Restituisce il numero delle prenotazioni della data considerata
      * @param dataPrenotazione data di prenotazione
@@ -508,4 +744,106 @@ public interface PrenotazioneRepository extends JpaRepository<PrenotazioneEntity
                                                                               @Param("toYear") Integer toYear,
                                                                               @Param("pazienteId") Long pazienteId);
 
+    /**
+     * Restituisce in streaming le prenotazioni filtrate per record status, ordinate per data e ora.
+     * Il cursore JDBC legge le righe a blocchi di {@link #STREAM_FETCH_SIZE}, paziente e medico
+     * vengono caricati nella stessa query; lo stream va consumato all'interno di una transazione e chiuso
+     *
+     * @param recordStatus lo stato di attività del record
+     * @return lo stream delle prenotazioni filtrate per record status
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT pr FROM prenotazione pr
+            LEFT JOIN FETCH pr.paziente
+            LEFT JOIN FETCH pr.medico
+            WHERE pr.recordStatus = :recordStatus
+            ORDER BY pr.dataPrenotazione, pr.oraPrenotazione""")
+    Stream<PrenotazioneEntity> streamByRecordStatus(@Param("recordStatus") EntityStatusEnum recordStatus);
+
+    /**
+     * Restituisce in streaming le prenotazioni nell'intervallo di due date considerate filtrate per record status,
+     * ordinate per data e ora; lo stream va consumato all'interno di una transazione e chiuso
+     *
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param recordStatus lo stato di attività del record
+     * @return lo stream delle prenotazioni nell'intervallo di due date considerate
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT pr FROM prenotazione pr
+            LEFT JOIN FETCH pr.paziente
+            LEFT JOIN FETCH pr.medico
+            WHERE pr.dataPrenotazione BETWEEN :startDate AND :endDate
+            AND pr.recordStatus = :recordStatus
+            ORDER BY pr.dataPrenotazione, pr.oraPrenotazione""")
+    Stream<PrenotazioneEntity> streamPrenotazioniBetweenDatePrenotazione(@Param("startDate") LocalDate startDate,
+                                                                         @Param("endDate") LocalDate endDate,
+                                                                         @Param("recordStatus") EntityStatusEnum recordStatus);
+
+    /**
+     * Restituisce in streaming le prenotazioni ACTIVE del medico nell'intervallo di due date considerate,
+     * proiettate direttamente nel DTO piatto (senza caricare paziente e medico); utilizzata per gli export massivi
+     *
+     * @param medicoId id del medico
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @return lo stream dei DTO piatti delle prenotazioni
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT new co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO(
+                pr.id, pr.bookedAt, pr.dataPrenotazione, pr.oraPrenotazione, pr.durataMinuti, pr.statoPrenotazione, pr.paziente.id, pr.medico.id)
+            FROM prenotazione pr
+            WHERE pr.medico.id = :medicoId
+            AND pr.dataPrenotazione BETWEEN :startDate AND :endDate
+            AND pr.recordStatus = co.develhope.team1studiomedico.entities.EntityStatusEnum.ACTIVE
+            ORDER BY pr.dataPrenotazione, pr.oraPrenotazione""")
+    Stream<PrenotazioneFlatDTO> streamFlatPrenotazioniBetweenDatePrenotazioneAndMedicoId(@Param("medicoId") Long medicoId,
+                                                                                         @Param("startDate") LocalDate startDate,
+                                                                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Restituisce le prenotazioni (ACTIVE e DELETED) modificate dopo la chiave (lastModifiedDate, id) indicata,
+     * ordinate per data di ultima modifica e id; utilizzata dalla sincronizzazione incrementale (delta sync)
+     *
+     * @param since data di ultima modifica della chiave
+     * @param sinceId id della chiave
+     * @param pageable numero massimo di prenotazioni restituite
+     * @return la lista delle prenotazioni modificate
+     */
+    @Query("""
+            SELECT pr FROM prenotazione pr
+            LEFT JOIN FETCH pr.paziente
+            LEFT JOIN FETCH pr.medico
+            WHERE pr.lastModifiedDate >= :since
+            AND (pr.lastModifiedDate > :since OR pr.id > :sinceId)
+            ORDER BY pr.lastModifiedDate, pr.id""")
+    List<PrenotazioneEntity> findPrenotazioniModifiedAfter(@Param("since") Date since, @Param("sinceId") Long sinceId,
+                                                           Pageable pageable);
+
+    /**
+     * Restituisce le prenotazioni (ACTIVE e DELETED) del medico modificate dopo la chiave (lastModifiedDate, id) indicata,
+     * ordinate per data di ultima modifica e id; utilizzata dalla sincronizzazione incrementale (delta sync)
+     *
+     * @param medicoId id del medico
+     * @param since data di ultima modifica della chiave
+     * @param sinceId id della chiave
+     * @param pageable numero massimo di prenotazioni restituite
+     * @return la lista delle prenotazioni modificate
+     */
+    @Query("""
+            SELECT pr FROM prenotazione pr
+            LEFT JOIN FETCH pr.paziente
+            LEFT JOIN FETCH pr.medico
+            WHERE pr.medico.id = :medicoId
+            AND pr.lastModifiedDate >= :since
+            AND (pr.lastModifiedDate > :since OR pr.id > :sinceId)
+            ORDER BY pr.lastModifiedDate, pr.id""")
+    List<PrenotazioneEntity> findPrenotazioniByMedicoIdModifiedAfter(@Param("medicoId") Long medicoId, @Param("since") Date since,
+                                                                     @Param("sinceId") Long sinceId, Pageable pageable);
+
 }
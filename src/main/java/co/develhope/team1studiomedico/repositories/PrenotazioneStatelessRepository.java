@@ -0,0 +1,85 @@
+package co.develhope.team1studiomedico.repositories;
+
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * La classe PrenotazioneStatelessRepository realizza le letture massive delle liste di prenotazioni tramite una
+ * StatelessSession di Hibernate: le entità restituite non vengono associate al persistence context, per cui
+ * non ne viene mantenuto lo snapshot per il dirty checking né la copia nella cache di primo livello.
+ * Paziente e medico vengono caricati in fetch join, in quanto una StatelessSession non può inizializzare i proxy lazy.
+ * La StatelessSession utilizza la connessione della transazione corrente, i metodi vanno quindi richiamati
+ * all'interno di una transazione (read-only)
+ */
+@Repository
+public class PrenotazioneStatelessRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Restituisce le prenotazioni filtrate per record status, ordinate per data e ora
+     *
+     * @param recordStatus lo stato di attività del record
+     * @return la lista delle prenotazioni filtrate per record status
+     */
+    public List<PrenotazioneEntity> findByRecordStatus(EntityStatusEnum recordStatus) {
+        return withStatelessSession(session -> session.createQuery("""
+                        SELECT pr FROM prenotazione pr
+                        LEFT JOIN FETCH pr.paziente
+                        LEFT JOIN FETCH pr.medico
+                        WHERE pr.recordStatus = :recordStatus
+                        ORDER BY pr.dataPrenotazione, pr.oraPrenotazione""", PrenotazioneEntity.class)
+                .setParameter("recordStatus", recordStatus)
+                .getResultList());
+    }
+
+    /**
+     * Restituisce le prenotazioni con il record status considerato nell'intervallo di due date, ordinate per data e ora
+     *
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param recordStatus lo stato di attività del record
+     * @return lista delle prenotazioni nell'intervallo di due date considerate
+     */
+    public List<PrenotazioneEntity> findPrenotazioniBetweenDatePrenotazione(LocalDate startDate, LocalDate endDate,
+                                                                           EntityStatusEnum recordStatus) {
+        return withStatelessSession(session -> session.createQuery("""
+                        SELECT pr FROM prenotazione pr
+                        LEFT JOIN FETCH pr.paziente
+                        LEFT JOIN FETCH pr.medico
+                        WHERE pr.dataPrenotazione BETWEEN :startDate AND :endDate
+                        AND pr.recordStatus = :recordStatus
+                        ORDER BY pr.dataPrenotazione, pr.oraPrenotazione""", PrenotazioneEntity.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setParameter("recordStatus", recordStatus)
+                .getResultList());
+    }
+
+    /**
+     * Esegue la lettura in una StatelessSession aperta sulla connessione JDBC della transazione corrente,
+     * che resta gestita (e chiusa) dalla transazione
+     */
+    private <R> R withStatelessSession(Function<StatelessSession, R> work) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            try(StatelessSession statelessSession = session.getSessionFactory()
+                    .withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                return work.apply(statelessSession);
+            }
+        });
+    }
+
+}
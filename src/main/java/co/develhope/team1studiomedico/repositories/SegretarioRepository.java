@@ -2,7 +2,10 @@ package co.develhope.team1studiomedico.repositories;
 
 import co.develhope.team1studiomedico.entities.MedicoEntity;
 import co.develhope.team1studiomedico.entities.SegretarioEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,10 +21,12 @@ import java.util.Optional;
 public interface SegretarioRepository extends PersonaRepository<SegretarioEntity> {
 
     /**
-     * Ricerca il segretario a partire dall'id del medico (foreign key in segretario)
+     * Ricerca il segretario a partire dall'id del medico (foreign key in segretario),
+     * il risultato viene mantenuto nella query cache e invalidato da qualsiasi modifica alla tabella segretario
      * @param medicoId id del medico
      * @return il segretario
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SegretarioEntity> findSegretarioByMedicoId(Long medicoId);
 
     /**
@@ -0,0 +1,292 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.AgendaEventDTO;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.PrenotazioneAgendaEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * La classe AgendaStreamService realizza lo stream SSE (Server-Sent Events) dell'agenda giornaliera dei medici.
+ * Le modifiche delle prenotazioni (PrenotazioneAgendaEvent) vengono distribuite dopo il commit ai soli client iscritti
+ * all'agenda del medico e del giorno della prenotazione. Ogni client dispone di un buffer limitato (app.agenda-stream.buffer-size):
+ * il thread che ha eseguito la modifica si limita ad accodare l'evento, l'invio avviene su un pool dedicato, e se un client
+ * lento riempie il buffer gli eventi più vecchi vengono scartati e al client viene inviato un evento resync,
+ * che indica di ricaricare l'agenda. Le connessioni inattive non occupano thread (richieste asincrone),
+ * vengono mantenute attive da un heartbeat periodico e chiuse dopo app.agenda-stream.timeout (il client si riconnette)
+ */
+@Service
+public class AgendaStreamService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.agenda-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.agenda-stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.agenda-stream.heartbeat:25s}")
+    private Duration heartbeat;
+
+    @Value("${app.agenda-stream.send-threads:4}")
+    private int sendThreads;
+
+    private record AgendaKey(Long medicoId, LocalDate dataPrenotazione) { }
+
+    /**
+     * Evento accodato nel buffer di un client: nome dell'evento SSE e payload JSON già serializzato (null per l'heartbeat)
+     */
+    private record QueuedEvent(String name, String json) { }
+
+    private static final QueuedEvent HEARTBEAT = new QueuedEvent(null, null);
+    private static final QueuedEvent RESYNC = new QueuedEvent("resync", "{}");
+
+    private final Map<AgendaKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ScheduledExecutorService executor;
+
+    private static final Logger logger = LoggerFactory.getLogger(AgendaStreamService.class);
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "agenda-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::sendHeartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Iscrive un nuovo client allo stream dell'agenda del medico nel giorno indicato.
+     * Il primo evento inviato è connected: da quel momento il client riceve tutte le modifiche successive
+     * e può caricare l'agenda corrente tramite l'endpoint di lettura, applicando poi gli eventi in modo idempotente
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione giorno dell'agenda
+     * @return l'emitter SSE del client
+     */
+    public SseEmitter subscribe(Long medicoId, LocalDate dataPrenotazione) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(new AgendaKey(medicoId, dataPrenotazione), emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.compute(subscriber.key, (key, set) -> {
+            Set<Subscriber> keySubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            keySubscribers.add(subscriber);
+            return keySubscribers;
+        });
+        subscriberCount.incrementAndGet();
+        subscriber.offer(new QueuedEvent("connected", "{}"));
+        logger.debug("Nuovo client dello stream agenda medico {} giorno {} ({} client connessi)",
+                medicoId, dataPrenotazione, subscriberCount.get());
+        return emitter;
+    }
+
+    /**
+     * Distribuisce la modifica della prenotazione ai client iscritti all'agenda interessata dopo il commit della transazione.
+     * Se la prenotazione è stata spostata in un altro giorno, all'agenda del giorno precedente viene inviato un evento delete;
+     * le operazioni massive vengono notificate a tutti i client con un evento resync, le modifiche senza DTO della prenotazione
+     * con un evento resync ai soli client dell'agenda interessata
+     *
+     * @param event l'evento di modifica della prenotazione
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(PrenotazioneAgendaEvent event) {
+        if(subscribers.isEmpty()) {
+            return;
+        }
+        if(event.isBulk()) {
+            subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(RESYNC)));
+            return;
+        }
+        if(event.getPreviousDataPrenotazione() != null && !event.getPreviousDataPrenotazione().equals(event.getDataPrenotazione())) {
+            publish(new AgendaKey(event.getMedicoId(), event.getPreviousDataPrenotazione()),
+                    "delete", new AgendaEventDTO(event.getPrenotazioneId(), null));
+        }
+        AgendaKey key = new AgendaKey(event.getMedicoId(), event.getDataPrenotazione());
+        if(event.getPrenotazione() == null && event.getType() != ChangeTypeEnum.DELETE) {
+            // modifica senza DTO (es. scadenza automatica a blocchi): il client ricarica l'agenda del giorno
+            Set<Subscriber> keySubscribers = subscribers.get(key);
+            if(keySubscribers != null) {
+                keySubscribers.forEach(subscriber -> subscriber.offer(RESYNC));
+            }
+            return;
+        }
+        publish(key, event.getType().name().toLowerCase(), new AgendaEventDTO(event.getPrenotazioneId(), event.getPrenotazione()));
+    }
+
+    /**
+     * Restituisce il numero di client connessi agli stream delle agende
+     *
+     * @return il numero di client connessi
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publish(AgendaKey key, String name, AgendaEventDTO payload) {
+        Set<Subscriber> keySubscribers = subscribers.get(key);
+        if(keySubscribers == null || keySubscribers.isEmpty()) {
+            return;
+        }
+        try {
+            // serializzato una sola volta per tutti i client dell'agenda
+            QueuedEvent event = new QueuedEvent(name, objectMapper.writeValueAsString(payload));
+            keySubscribers.forEach(subscriber -> subscriber.offer(event));
+        } catch(JsonProcessingException e) {
+            logger.error("Impossibile serializzare l'evento {} della prenotazione {}", name, payload.getPrenotazioneId(), e);
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::offerHeartbeat));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        synchronized(subscriber) {
+            if(subscriber.closed) {
+                return;
+            }
+            subscriber.closed = true;
+        }
+        subscribers.computeIfPresent(subscriber.key, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    /**
+     * Client iscritto allo stream di un'agenda, con il relativo buffer limitato di eventi da inviare.
+     * Buffer e flag sono protetti dal monitor del subscriber; un solo task di invio per client è attivo alla volta
+     */
+    private final class Subscriber {
+
+        private final AgendaKey key;
+        private final SseEmitter emitter;
+        private final ArrayDeque<QueuedEvent> buffer = new ArrayDeque<>();
+        private boolean overflowed;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(AgendaKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private void offer(QueuedEvent event) {
+            synchronized(this) {
+                if(closed || (event == RESYNC && (overflowed || buffer.peekLast() == RESYNC))) {
+                    // un resync già in coda rende superflui quelli successivi
+                    return;
+                }
+                if(buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    overflowed = true;
+                }
+                buffer.addLast(event);
+                if(draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void offerHeartbeat() {
+            synchronized(this) {
+                // eventuali eventi in coda mantengono già attiva la connessione
+                if(closed || draining || !buffer.isEmpty()) {
+                    return;
+                }
+                buffer.addLast(HEARTBEAT);
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch(RejectedExecutionException e) {
+                unsubscribe(this);
+            }
+        }
+
+        private void drain() {
+            while(true) {
+                QueuedEvent event;
+                boolean resync;
+                synchronized(this) {
+                    event = buffer.pollFirst();
+                    resync = overflowed;
+                    overflowed = false;
+                    if(event == null && !resync) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if(resync) {
+                        send(RESYNC);
+                    }
+                    if(event != null) {
+                        send(event);
+                    }
+                } catch(IOException | IllegalStateException e) {
+                    // connessione chiusa dal client: il task di invio resta marcato come attivo, il client non riceve altri eventi
+                    synchronized(this) {
+                        buffer.clear();
+                    }
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private void send(QueuedEvent event) throws IOException {
+            if(event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.outbox.ChangeEventDTO;
+import co.develhope.team1studiomedico.dto.outbox.ChangeFeedPageDTO;
+import co.develhope.team1studiomedico.entities.OutboxEventEntity;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityBatchChangedEvent;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * La classe ChangeFeedService realizza il transactional outbox delle modifiche e il change feed letto dai consumer.
+ * Ogni EntityChangedEvent pubblicato dai services viene registrato nella tabella outbox in modo sincrono,
+ * all'interno della stessa transazione della modifica: se la transazione viene annullata, anche il record outbox
+ * viene annullato. I consumer leggono le modifiche in modo incrementale a partire dall'ultimo numero di sequenza letto,
+ * anziché rileggere e confrontare le liste delle risorse.
+ * I numeri di sequenza sono assegnati incrementando il contatore della tabella outbox_sequence, composta da una sola riga:
+ * il lock sulla riga è mantenuto fino al commit, per cui i numeri di sequenza seguono l'ordine di commit e un consumer
+ * che legge dopo l'ultimo numero letto non salta modifiche confermate in ritardo (cosa che una sequence del database,
+ * assegnata all'inserimento, non garantisce). Il prezzo è che le transazioni di scrittura si serializzano sul contatore:
+ * per ridurre la durata del lock le modifiche di una transazione vengono accumulate e registrate tutte insieme
+ * in beforeCommit, con un'unica UPDATE del contatore, per cui il lock copre solo il flush e il commit
+ * e non l'intera elaborazione della transazione
+ */
+@Service
+public class ChangeFeedService {
+
+    /**
+     * Modifica in attesa di essere registrata nella tabella outbox
+     *
+     * @param scope    la tipologia di entità modificata
+     * @param type     la tipologia di modifica
+     * @param entityId l'id del record modificato, null per le operazioni massive
+     */
+    private record PendingChange(EntityScopeEnum scope, ChangeTypeEnum type, Long entityId) { }
+
+    /**
+     * Modifiche in attesa della transazione corrente
+     */
+    private static class PendingChanges {
+        private final List<PendingChange> changes = new ArrayList<>();
+        private boolean written;
+    }
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private static final int FEED_DEFAULT_LIMIT = 100;
+    private static final int FEED_MAX_LIMIT = 1000;
+
+    /**
+     * Registra la modifica nella tabella outbox, nella transazione in cui l'evento è stato pubblicato.
+     * Le operazioni massive (id null) vengono registrate con un unico record compatto
+     *
+     * @param event l'evento di modifica
+     */
+    @EventListener
+    @Transactional
+    public void onEntityChanged(EntityChangedEvent event) {
+        record(List.of(new PendingChange(event.getScope(), event.getType(), event.getId())));
+    }
+
+    /**
+     * Registra le modifiche di un'elaborazione a blocchi nella tabella outbox, nella transazione in cui l'evento è stato
+     * pubblicato: l'intervallo di numeri di sequenza viene riservato con un'unica UPDATE e i record vengono inseriti insieme
+     *
+     * @param event l'evento di modifica a blocchi
+     */
+    @EventListener
+    @Transactional
+    public void onEntityBatchChanged(EntityBatchChangedEvent event) {
+        record(event.getIds().stream().map(id -> new PendingChange(event.getScope(), event.getType(), id)).toList());
+    }
+
+    /**
+     * Accoda le modifiche a quelle della transazione corrente, registrate in beforeCommit.
+     * Se le modifiche della transazione sono già state registrate (evento pubblicato durante il beforeCommit)
+     * o non c'è sincronizzazione attiva, le modifiche vengono registrate subito
+     */
+    private void record(List<PendingChange> changes) {
+        PendingChanges pending = pendingChanges();
+        if(pending == null || pending.written) {
+            write(changes);
+            return;
+        }
+        pending.changes.addAll(changes);
+    }
+
+    /**
+     * Restituisce le modifiche in attesa della transazione corrente, registrando alla prima modifica la sincronizzazione
+     * che le scrive in beforeCommit; null se non c'è sincronizzazione attiva
+     */
+    private PendingChanges pendingChanges() {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if(pending != null) {
+            return pending;
+        }
+        PendingChanges created = new PendingChanges();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                created.written = true;
+                write(created.changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeedService.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Riserva con un'unica UPDATE l'intervallo di numeri di sequenza delle modifiche e inserisce i record outbox
+     */
+    private void write(List<PendingChange> changes) {
+        int count = changes.size();
+        if(count == 0) {
+            return;
+        }
+        outboxEventRepository.incrementSequenceBy(count);
+        long seq = outboxEventRepository.getCurrentSequence() - count;
+        List<OutboxEventEntity> outboxEvents = new ArrayList<>(count);
+        for(PendingChange change : changes) {
+            outboxEvents.add(new OutboxEventEntity(++seq, change.scope(), change.type(), change.entityId()));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    /**
+     * Metodo che restituisce le modifiche successive al numero di sequenza indicato, in ordine di sequenza.
+     *
+     * @param after numero di sequenza dell'ultima modifica già letta (0 per leggere dall'inizio)
+     * @param limit numero massimo di modifiche restituite, null per il valore di default
+     * @return la pagina del change feed
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPageDTO getChanges(long after, Integer limit) {
+        int pageSize = limit == null ? FEED_DEFAULT_LIMIT : Math.max(1, Math.min(limit, FEED_MAX_LIMIT));
+        List<OutboxEventEntity> events = outboxEventRepository.findBySeqGreaterThanOrderBySeqAsc(after, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = events.size() > pageSize;
+        if(hasMore) {
+            events = events.subList(0, pageSize);
+        }
+        long lastSeq = events.isEmpty() ? after : events.get(events.size() - 1).getSeq();
+        return new ChangeFeedPageDTO(events.stream()
+                .map(e -> new ChangeEventDTO(e.getSeq(), e.getScope(), e.getChangeType(), e.getEntityId(), e.getCreatedAt()))
+                .collect(Collectors.toList()), lastSeq, hasMore);
+    }
+
+}
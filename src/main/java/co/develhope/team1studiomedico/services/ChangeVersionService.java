@@ -0,0 +1,44 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+/**
+ * La classe ChangeVersionService calcola l'ETag delle response di lettura a partire dal numero di sequenza
+ * dell'ultima modifica registrata nella tabella outbox per le entità da cui dipende la response.
+ * I numeri di sequenza sono assegnati in ordine di commit e persistiti nel database, per cui l'ETag è lo stesso
+ * su tutte le istanze dell'applicazione e non cambia dopo un riavvio.
+ * La lettura avviene in una transazione read-only, instradata come quella della response: le letture servite
+ * dalla replica ricevono l'ETag della replica, che non può essere più recente della rappresentazione restituita.
+ * Non viene calcolato un Last-Modified: If-Modified-Since ha la precisione del secondo e una modifica nello stesso
+ * secondo produrrebbe 304 non aggiornati
+ */
+@Service
+public class ChangeVersionService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Restituisce l'ETag (weak) calcolato a partire dall'ultima modifica delle entità considerate
+     *
+     * @param variant identificativo della rappresentazione richiesta (es. header Accept), null se non rilevante
+     * @param scopes le entità da cui dipende la response
+     * @return l'ETag
+     */
+    @Transactional(readOnly = true)
+    public String getETag(String variant, EntityScopeEnum... scopes) {
+        Long seq = outboxEventRepository.findMaxSeqByScopeIn(Arrays.asList(scopes));
+        StringBuilder etag = new StringBuilder("W/\"").append(seq == null ? 0L : seq);
+        if(variant != null) {
+            etag.append('-').append(Integer.toHexString(variant.hashCode()));
+        }
+        return etag.append('"').toString();
+    }
+
+}
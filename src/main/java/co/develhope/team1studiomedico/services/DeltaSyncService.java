@@ -0,0 +1,146 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.sync.DeltaSyncDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.auditing.Auditable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * La classe DeltaSyncService realizza la logica comune della sincronizzazione incrementale (delta sync) di prenotazioni
+ * e pazienti a partire dalla data di ultima modifica (lastModifiedDate di Auditable).
+ * Il token restituito al client codifica la chiave (lastModifiedDate, id) da cui riprendere la lettura: a fine
+ * sincronizzazione, e tra una pagina e la successiva, il token non supera mai l'istante di lettura arretrato della finestra
+ * di sicurezza (app.sync.safety-window), così le modifiche di transazioni ancora in corso al momento della lettura
+ * vengono restituite alla richiesta successiva. Se un'intera pagina cade nella finestra di sicurezza la sincronizzazione
+ * si interrompe (hasMore false) e riprende alla richiesta successiva.
+ * Le letture del delta sync avvengono in transazioni di lettura e scrittura, quindi sul datasource primario:
+ * la finestra di sicurezza copre le transazioni in corso, non il ritardo di replica, e una lettura dalla replica
+ * in ritardo di più della finestra farebbe avanzare il token oltre modifiche non ancora ricevute, che andrebbero perse.
+ * Il client deve quindi applicare le modifiche in modo idempotente, potendo ricevere più volte lo stesso record
+ */
+@Service
+public class DeltaSyncService {
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Value("${app.sync.safety-window:5s}")
+    private Duration safetyWindow;
+
+    private static final int SYNC_DEFAULT_LIMIT = 500;
+    private static final int SYNC_MAX_LIMIT = 5000;
+
+    /**
+     * Chiave (lastModifiedDate, id) da cui riprendere la sincronizzazione
+     *
+     * @param lastModifiedDate data di ultima modifica
+     * @param id               id del record
+     */
+    public record Watermark(Date lastModifiedDate, long id) {
+
+        private boolean isAfter(Watermark other) {
+            int compare = lastModifiedDate.compareTo(other.lastModifiedDate);
+            return compare > 0 || (compare == 0 && id > other.id);
+        }
+
+    }
+
+    /**
+     * Decodifica il token della richiesta, in assenza di token la sincronizzazione parte dall'inizio (sincronizzazione completa)
+     *
+     * @param token il token restituito dalla sincronizzazione precedente, null per la prima sincronizzazione
+     * @return la chiave da cui riprendere la lettura
+     */
+    public Watermark decodeToken(String token) {
+        if(token == null || token.isBlank()) {
+            return new Watermark(new Date(0), 0);
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            return new Watermark(new Date(Long.parseLong(key[0])), Long.parseLong(key[1]));
+        } catch(RuntimeException e) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.sync.token.invalid.exception",
+                    null, LocaleContextHolder.getLocale()));
+        }
+    }
+
+    /**
+     * Restituisce la pagina da leggere: la dimensione richiesta (limitata al massimo consentito) più un record,
+     * utilizzato per sapere se sono disponibili altre modifiche
+     *
+     * @param limit dimensione della pagina richiesta, null per il valore di default
+     * @return la pagina da leggere
+     */
+    public Pageable page(Integer limit) {
+        int pageSize = limit == null ? SYNC_DEFAULT_LIMIT : Math.max(1, Math.min(limit, SYNC_MAX_LIMIT));
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Costruisce il risultato della sincronizzazione a partire dai record letti con page(limit)
+     *
+     * @param rows      i record modificati dopo la chiave since, ordinati per data di ultima modifica e id
+     * @param page      la pagina utilizzata per la lettura
+     * @param since     la chiave della richiesta
+     * @param startedAt istante (epoch millis) precedente alla lettura dei record
+     * @param id        funzione che restituisce l'id del record
+     * @param status    funzione che restituisce il record status del record
+     * @param converter funzione di conversione del record nel DTO
+     * @return il risultato della sincronizzazione
+     */
+    public <E extends Auditable<?>, D> DeltaSyncDTO<D> toDelta(List<E> rows, Pageable page, Watermark since, long startedAt,
+                                                              Function<E, Long> id, Function<E, EntityStatusEnum> status,
+                                                              Function<E, D> converter) {
+        int pageSize = page.getPageSize() - 1;
+        boolean hasMore = rows.size() > pageSize;
+        if(hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<D> changed = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for(E row : rows) {
+            if(status.apply(row) == EntityStatusEnum.DELETED) {
+                deletedIds.add(id.apply(row));
+            } else {
+                changed.add(converter.apply(row));
+            }
+        }
+
+        // le modifiche più recenti della finestra di sicurezza non sono consolidate: il token non le supera mai,
+        // né a fine sincronizzazione né tra una pagina e la successiva
+        Watermark settled = new Watermark(new Date(startedAt - safetyWindow.toMillis()), 0);
+        Watermark next = settled.isAfter(since) ? settled : since;
+        if(hasMore) {
+            E last = rows.get(rows.size() - 1);
+            Watermark lastRow = new Watermark(last.getLastModifiedDate(), id.apply(last));
+            if(!lastRow.isAfter(settled)) {
+                next = lastRow;
+            } else if(next == since) {
+                // pagina interamente nella finestra di sicurezza: le modifiche restanti vengono restituite alla prossima sincronizzazione
+                hasMore = false;
+            }
+        }
+        return new DeltaSyncDTO<>(changed, deletedIds, encodeToken(next), hasMore);
+    }
+
+    private static String encodeToken(Watermark watermark) {
+        String key = watermark.lastModifiedDate().getTime() + "|" + watermark.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
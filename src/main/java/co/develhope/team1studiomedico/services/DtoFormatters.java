@@ -0,0 +1,17 @@
+package co.develhope.team1studiomedico.services;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * La classe DtoFormatters raccoglie i formati di data e ora dei DTO (gli stessi pattern delle annotazioni @JsonFormat),
+ * usati dai service che serializzano le prenotazioni senza passare dai DTO (export e sparse fieldset)
+ */
+final class DtoFormatters {
+
+    static final DateTimeFormatter BOOKED_AT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    static final DateTimeFormatter ORA_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private DtoFormatters() {
+    }
+
+}
@@ -0,0 +1,363 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaCreateDTO;
+import co.develhope.team1studiomedico.dto.listaattesa.ListaAttesaDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneCreateDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.ListaAttesaEntity;
+import co.develhope.team1studiomedico.entities.ListaAttesaStatusEnum;
+import co.develhope.team1studiomedico.entities.MedicoEntity;
+import co.develhope.team1studiomedico.entities.PazienteEntity;
+import co.develhope.team1studiomedico.events.PrenotazioneSlotFreedEvent;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
+import co.develhope.team1studiomedico.repositories.ListaAttesaRepository;
+import co.develhope.team1studiomedico.repositories.MedicoRepository;
+import co.develhope.team1studiomedico.repositories.PazienteRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.inReadWriteTransaction;
+
+/**
+ * La classe ListaAttesaService realizza la lista di attesa dei pazienti per medico e l'assegnazione automatica degli slot liberati.
+ * Le richieste in attesa sono persistite nella tabella lista_attesa e mantenute in memoria in una coda di priorità per medico
+ * (priorità maggiore, poi richiesta meno recente), caricata all'avvio dell'applicazione e ricaricata periodicamente
+ * (app.lista-attesa.refresh-interval), così ogni istanza recepisce le richieste inserite, soddisfatte o cancellate dalle altre.
+ * Quando una prenotazione libera il proprio slot (PrenotazioneSlotFreedEvent), dopo il commit la coda del medico viene
+ * scorsa in ordine di priorità fino alla prima richiesta il cui intervallo di date preferite comprende la data dello slot,
+ * senza accessi al database. La richiesta scelta viene rimossa dalla coda sotto il monitor della coda, rilasciato subito dopo,
+ * e la prenotazione PENDING viene creata in una nuova transazione da un thread dedicato, senza rallentare la richiesta
+ * che ha liberato lo slot: due slot liberati contemporaneamente non vengono mai assegnati alla stessa richiesta, e lo stesso
+ * slot non viene assegnato due volte (lo slot viene ricontrollato prima di creare la prenotazione, che ne verifica la sovrapposizione).
+ * Se lo slot non è più libero o l'assegnazione non riesce la richiesta torna in coda
+ */
+@Service
+public class ListaAttesaService {
+
+    @Autowired
+    private ListaAttesaRepository listaAttesaRepository;
+
+    @Autowired
+    private PazienteRepository pazienteRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PrenotazioneService prenotazioneService;
+
+    @Autowired
+    private PrenotazioneOverlapService prenotazioneOverlapService;
+
+    @Autowired
+    private MedicoCalendarioService medicoCalendarioService;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNewTransaction;
+
+    /**
+     * Thread che assegna gli slot liberati alle richieste in attesa, fuori dalle richieste che liberano gli slot
+     */
+    private ExecutorService fillExecutor;
+
+    /**
+     * Ordine di priorità delle richieste: priorità maggiore, poi richiesta meno recente
+     */
+    private static final Comparator<ListaAttesaDTO> PRIORITY = Comparator
+            .comparingInt(ListaAttesaDTO::getPriorita).reversed()
+            .thenComparing(ListaAttesaDTO::getRequestedAt)
+            .thenComparing(ListaAttesaDTO::getId);
+
+    /**
+     * Code di priorità delle richieste in attesa indicizzate per id del medico; ogni coda è protetta dal proprio monitor
+     */
+    private final Map<Long, TreeSet<ListaAttesaDTO>> queues = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(ListaAttesaService.class);
+
+    @PostConstruct
+    void init() {
+        requiresNewTransaction = new TransactionTemplate(transactionManager);
+        requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        fillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lista-attesa-fill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        // le richieste delle assegnazioni non eseguite restano in attesa nel database e vengono ricaricate dalle altre istanze
+        fillExecutor.shutdownNow();
+    }
+
+    /**
+     * All'avvio dell'applicazione e ogni refresh-interval carica dal database le richieste in attesa e sostituisce
+     * con queste le code in memoria. Le richieste inserite da questa istanza dopo la lettura (id maggiore dell'ultimo
+     * letto) restano in coda; una richiesta in corso di assegnazione può tornare in coda, ma viene soddisfatta
+     * al più una volta perché markFulfilled è condizionato allo stato WAITING
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.lista-attesa.refresh-interval:PT1M}",
+            fixedDelayString = "${app.lista-attesa.refresh-interval:PT1M}")
+    public void loadWaiting() {
+        WaitingSnapshot snapshot = inReadWriteTransaction(transactionManager, () -> new WaitingSnapshot(
+                listaAttesaRepository.findMaxId(), listaAttesaRepository.findDTOByStato(ListaAttesaStatusEnum.WAITING)));
+        long maxId = snapshot.maxId() != null ? snapshot.maxId() : 0L;
+        Map<Long, List<ListaAttesaDTO>> waitingByMedico = snapshot.waiting().stream()
+                .collect(Collectors.groupingBy(ListaAttesaDTO::getMedicoId));
+        Set<Long> waitingIds = snapshot.waiting().stream().map(ListaAttesaDTO::getId).collect(Collectors.toSet());
+        waitingByMedico.keySet().forEach(medicoId -> queues.computeIfAbsent(medicoId, id -> new TreeSet<>(PRIORITY)));
+        queues.forEach((medicoId, queue) -> {
+            synchronized(queue) {
+                queue.removeIf(richiesta -> richiesta.getId() <= maxId || waitingIds.contains(richiesta.getId()));
+                queue.addAll(waitingByMedico.getOrDefault(medicoId, List.of()));
+            }
+        });
+        logger.debug("Lista di attesa caricata: {} richieste in attesa per {} medici", snapshot.waiting().size(),
+                waitingByMedico.size());
+    }
+
+    private record WaitingSnapshot(Long maxId, List<ListaAttesaDTO> waiting) { }
+
+    /**
+     * Metodo che inserisce in lista di attesa la richiesta del paziente.
+     *
+     * @param listaAttesaCreateDTO il DTO di creazione della richiesta
+     * @return il DTO della richiesta
+     */
+    public ListaAttesaDTO createRichiesta(@NotNull ListaAttesaCreateDTO listaAttesaCreateDTO) {
+        try {
+            logger.info("Inizio processo createRichiesta in ListaAttesaService");
+            if(listaAttesaCreateDTO.getDataInizio().isAfter(listaAttesaCreateDTO.getDataFine())) {
+                throw new IllegalArgumentException(messageSource.getMessage("error.listaAttesa.date.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+            PazienteEntity paziente = pazienteRepository.findById(listaAttesaCreateDTO.getPazienteId())
+                    .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                            null, LocaleContextHolder.getLocale())));
+            MedicoEntity medico = medicoRepository.findById(listaAttesaCreateDTO.getMedicoId())
+                    .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                            null, LocaleContextHolder.getLocale())));
+            int priorita = listaAttesaCreateDTO.getPriorita() != null ? listaAttesaCreateDTO.getPriorita() : 0;
+            ListaAttesaEntity richiesta = listaAttesaRepository.save(new ListaAttesaEntity(paziente, medico,
+                    listaAttesaCreateDTO.getDataInizio(), listaAttesaCreateDTO.getDataFine(), priorita));
+            // la richiesta entra in coda solo dopo il commit dell'inserimento
+            ListaAttesaDTO listaAttesaDTO = convertToDTO(richiesta, paziente.getId(), medico.getId());
+            enqueue(listaAttesaDTO);
+            return listaAttesaDTO;
+        } finally {
+            logger.info("Fine processo createRichiesta in ListaAttesaService");
+        }
+    }
+
+    /**
+     * Metodo che restituisce le richieste in attesa del medico, in ordine di priorità.
+     *
+     * @param medicoId l'id del medico
+     * @return la lista delle richieste in attesa
+     */
+    public List<ListaAttesaDTO> getRichiesteInAttesaByMedicoId(Long medicoId) {
+        TreeSet<ListaAttesaDTO> queue = queues.get(medicoId);
+        if(queue == null) {
+            return List.of();
+        }
+        synchronized(queue) {
+            return List.copyOf(queue);
+        }
+    }
+
+    /**
+     * Metodo che cancella la richiesta in attesa tramite id.
+     *
+     * @param id l'id della richiesta
+     */
+    public void deleteRichiestaById(Long id) {
+        try {
+            logger.info("Inizio processo deleteRichiestaById in ListaAttesaService");
+            ListaAttesaEntity richiesta = listaAttesaRepository.findById(id)
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.listaAttesa.notFound.exception",
+                            null, LocaleContextHolder.getLocale())));
+            if(listaAttesaRepository.cancelWaiting(id) == 0) {
+                throw new StacklessEntityNotFoundException(messageSource.getMessage("error.listaAttesa.notFound.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+            TreeSet<ListaAttesaDTO> queue = queues.get(richiesta.getMedico().getId());
+            if(queue != null) {
+                synchronized(queue) {
+                    queue.removeIf(candidate -> candidate.getId().equals(id));
+                }
+            }
+        } finally {
+            logger.info("Fine processo deleteRichiestaById in ListaAttesaService");
+        }
+    }
+
+    /**
+     * Assegna lo slot liberato, dopo il commit della transazione che lo ha liberato, alla richiesta in attesa
+     * con priorità maggiore il cui intervallo di date preferite comprende la data dello slot: la richiesta viene rimossa
+     * dalla coda e la prenotazione viene creata dal thread di assegnazione, senza trattenere il thread che ha liberato lo slot
+     *
+     * @param event l'evento di slot liberato
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotFreed(PrenotazioneSlotFreedEvent event) {
+        LocalDate today = LocalDate.now();
+        if(event.getMedicoId() == null || event.getDataPrenotazione().isBefore(today)
+                || (event.getDataPrenotazione().equals(today) && event.getOraPrenotazione().isBefore(LocalTime.now()))) {
+            return;
+        }
+        ListaAttesaDTO candidate = pollBestCandidate(event);
+        if(candidate == null) {
+            return;
+        }
+        try {
+            fillExecutor.execute(() -> assign(candidate, event));
+        } catch(RejectedExecutionException e) {
+            enqueue(candidate);
+        }
+    }
+
+    /**
+     * Assegna lo slot alla richiesta indicata in una nuova transazione; se la richiesta non è più in attesa lo slot passa
+     * alla richiesta successiva, se lo slot non è più libero o l'assegnazione non riesce la richiesta torna in coda
+     */
+    private void assign(ListaAttesaDTO candidate, PrenotazioneSlotFreedEvent event) {
+        ListaAttesaDTO richiesta = candidate;
+        while(richiesta != null) {
+            ListaAttesaDTO current = richiesta;
+            FillOutcome outcome;
+            try {
+                outcome = requiresNewTransaction.execute(status -> fill(current, event, status));
+            } catch(RuntimeException e) {
+                enqueue(current);
+                logger.error("Impossibile assegnare lo slot liberato dalla prenotazione {} alla richiesta {}",
+                        event.getPrenotazioneId(), current.getId(), e);
+                return;
+            }
+            if(outcome == FillOutcome.SLOT_OCCUPIED) {
+                enqueue(current);
+                return;
+            }
+            if(outcome == FillOutcome.FILLED) {
+                return;
+            }
+            // richiesta cancellata nel frattempo: lo slot passa alla richiesta successiva
+            richiesta = pollBestCandidate(event);
+        }
+    }
+
+    private enum FillOutcome { FILLED, SLOT_OCCUPIED, NOT_WAITING }
+
+    private FillOutcome fill(ListaAttesaDTO candidate, PrenotazioneSlotFreedEvent event, TransactionStatus status) {
+        // lo slot liberato viene assegnato con la durata di default, se rientra nell'orario del medico e non si sovrappone ad altre prenotazioni
+        int durataMinuti = prenotazioneOverlapService.getDefaultDurataMinuti();
+        if(!medicoCalendarioService.isDisponibile(event.getMedicoId(), event.getDataPrenotazione(), event.getOraPrenotazione(), durataMinuti)
+                || prenotazioneOverlapService.findOverlappingPrenotazioneId(event.getMedicoId(), event.getDataPrenotazione(),
+                event.getOraPrenotazione(), durataMinuti) != null) {
+            return FillOutcome.SLOT_OCCUPIED;
+        }
+        PrenotazioneDTO prenotazione = prenotazioneService.createPrenotazione(new PrenotazioneCreateDTO(null,
+                event.getDataPrenotazione(), event.getOraPrenotazione(), null, event.getMedicoId(), candidate.getPazienteId()));
+        if(listaAttesaRepository.markFulfilled(candidate.getId(), prenotazione.getId()) == 0) {
+            // richiesta non più in attesa: la prenotazione appena creata viene annullata
+            status.setRollbackOnly();
+            return FillOutcome.NOT_WAITING;
+        }
+        logger.info("Slot medico {} {} {} liberato dalla prenotazione {} assegnato alla richiesta in lista di attesa {}: prenotazione {}",
+                event.getMedicoId(), event.getDataPrenotazione(), event.getOraPrenotazione(), event.getPrenotazioneId(),
+                candidate.getId(), prenotazione.getId());
+        return FillOutcome.FILLED;
+    }
+
+    /**
+     * Rimuove dalla coda del medico, sotto il monitor della coda, e restituisce la prima richiesta che accetta la data dello slot
+     */
+    private ListaAttesaDTO pollBestCandidate(PrenotazioneSlotFreedEvent event) {
+        TreeSet<ListaAttesaDTO> queue = queues.get(event.getMedicoId());
+        if(queue == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        ListaAttesaDTO candidate;
+        synchronized(queue) {
+            candidate = pollBestCandidate(queue, event.getDataPrenotazione(), LocalDate.now());
+        }
+        if(candidate != null) {
+            logger.debug("Slot medico {} {} {}: richiesta {} selezionata in {} µs", event.getMedicoId(), event.getDataPrenotazione(),
+                    event.getOraPrenotazione(), candidate.getId(), (System.nanoTime() - start) / 1_000);
+        }
+        return candidate;
+    }
+
+    /**
+     * Rimuove dalla coda e restituisce la prima richiesta, in ordine di priorità, che accetta la data indicata;
+     * le richieste con intervallo di date ormai trascorso vengono rimosse dalla coda durante la scansione
+     */
+    private static ListaAttesaDTO pollBestCandidate(TreeSet<ListaAttesaDTO> queue, LocalDate dataPrenotazione, LocalDate today) {
+        Iterator<ListaAttesaDTO> iterator = queue.iterator();
+        while(iterator.hasNext()) {
+            ListaAttesaDTO candidate = iterator.next();
+            if(candidate.getDataFine().isBefore(today)) {
+                iterator.remove();
+                continue;
+            }
+            if(!candidate.getDataInizio().isAfter(dataPrenotazione) && !candidate.getDataFine().isBefore(dataPrenotazione)) {
+                iterator.remove();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void enqueue(ListaAttesaDTO richiesta) {
+        TreeSet<ListaAttesaDTO> queue = queues.computeIfAbsent(richiesta.getMedicoId(), medicoId -> new TreeSet<>(PRIORITY));
+        synchronized(queue) {
+            queue.add(richiesta);
+        }
+    }
+
+    private static ListaAttesaDTO convertToDTO(ListaAttesaEntity richiesta, Long pazienteId, Long medicoId) {
+        return new ListaAttesaDTO(richiesta.getId(), pazienteId, medicoId, richiesta.getDataInizio(), richiesta.getDataFine(),
+                richiesta.getPriorita(), richiesta.getRequestedAt(), richiesta.getStato(), richiesta.getPrenotazioneId());
+    }
+
+}
@@ -0,0 +1,364 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.agenda.WorkingCalendar;
+import co.develhope.team1studiomedico.dto.calendario.DisponibilitaDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaCreateDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoAssenzaDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoOrarioCreateDTO;
+import co.develhope.team1studiomedico.dto.calendario.MedicoOrarioDTO;
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.MedicoAssenzaEntity;
+import co.develhope.team1studiomedico.entities.MedicoEntity;
+import co.develhope.team1studiomedico.entities.MedicoOrarioEntity;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
+import co.develhope.team1studiomedico.repositories.MedicoAssenzaRepository;
+import co.develhope.team1studiomedico.repositories.MedicoOrarioRepository;
+import co.develhope.team1studiomedico.repositories.MedicoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.inReadWriteTransaction;
+
+/**
+ * La classe MedicoCalendarioService gestisce il calendario dei medici: le fasce dell'orario di lavoro settimanale (MedicoOrarioEntity)
+ * e le assenze (MedicoAssenzaEntity). Per ogni medico le fasce e le assenze vengono compilate, al primo utilizzo, in un WorkingCalendar
+ * (un bitset dei minuti di lavoro per giorno della settimana e per ogni giornata toccata da un'assenza) mantenuto in cache
+ * e invalidato a ogni modifica del calendario del medico, così l'espansione di un intervallo di date in bitset
+ * non interroga il database. Il calendario viene caricato dal database primario e i calendari in cache vengono scartati
+ * periodicamente (app.calendario.refresh-interval), recependo anche le modifiche eseguite da altre istanze dell'applicazione. Il calendario viene usato per validare le prenotazioni (un medico senza fasce orarie riceve in ogni orario)
+ * e per la ricerca delle disponibilità, che interseca l'orario di lavoro con i minuti occupati dalle prenotazioni della giornata
+ */
+@Service
+public class MedicoCalendarioService {
+
+    @Autowired
+    private MedicoOrarioRepository medicoOrarioRepository;
+
+    @Autowired
+    private MedicoAssenzaRepository medicoAssenzaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PrenotazioneOverlapService prenotazioneOverlapService;
+
+    @Autowired
+    private PrenotazioneCapacityService prenotazioneCapacityService;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.calendario.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${app.calendario.max-range-days:366}")
+    private int maxRangeDays;
+
+    private static final int STRIPES = 64;
+
+    private final Object[] stripes = new Object[STRIPES];
+
+    private final Map<Long, WorkingCalendar> calendars = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicoCalendarioService.class);
+
+    public MedicoCalendarioService() {
+        for(int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if(slotMinutes <= 0) {
+            throw new IllegalStateException("app.calendario.slot-minutes deve essere positivo: " + slotMinutes);
+        }
+    }
+
+    /**
+     * Metodo che aggiunge una fascia all'orario di lavoro settimanale del medico.
+     *
+     * @param medicoOrarioCreateDTO il DTO di creazione della fascia oraria
+     * @return il DTO della fascia oraria
+     */
+    public MedicoOrarioDTO createOrario(@NotNull MedicoOrarioCreateDTO medicoOrarioCreateDTO) {
+        try {
+            logger.info("Inizio processo createOrario in MedicoCalendarioService");
+            LocalTime oraFine = medicoOrarioCreateDTO.getOraFine();
+            if(!oraFine.equals(LocalTime.MIDNIGHT) && !medicoOrarioCreateDTO.getOraInizio().isBefore(oraFine)) {
+                throw new IllegalArgumentException(messageSource.getMessage("error.calendario.orario.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+            MedicoEntity medico = findMedico(medicoOrarioCreateDTO.getMedicoId());
+            MedicoOrarioEntity orario = medicoOrarioRepository.save(new MedicoOrarioEntity(medico,
+                    medicoOrarioCreateDTO.getGiornoSettimana(), medicoOrarioCreateDTO.getOraInizio(), oraFine));
+            invalidate(medico.getId());
+            return new MedicoOrarioDTO(orario.getId(), medico.getId(), orario.getGiornoSettimana(), orario.getOraInizio(), orario.getOraFine());
+        } finally {
+            logger.info("Fine processo createOrario in MedicoCalendarioService");
+        }
+    }
+
+    /**
+     * Metodo che restituisce le fasce dell'orario di lavoro settimanale del medico, ordinate per giorno e ora di inizio.
+     *
+     * @param medicoId l'id del medico
+     * @return la lista delle fasce orarie
+     */
+    public List<MedicoOrarioDTO> getOrariByMedicoId(Long medicoId) {
+        return medicoOrarioRepository.findDTOByMedicoId(medicoId).stream()
+                .sorted(Comparator.comparing(MedicoOrarioDTO::getGiornoSettimana).thenComparing(MedicoOrarioDTO::getOraInizio))
+                .toList();
+    }
+
+    /**
+     * Metodo che cancella la fascia oraria tramite id.
+     *
+     * @param id l'id della fascia oraria
+     */
+    public void deleteOrarioById(Long id) {
+        try {
+            logger.info("Inizio processo deleteOrarioById in MedicoCalendarioService");
+            MedicoOrarioEntity orario = medicoOrarioRepository.findById(id)
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.calendario.orario.notFound.exception",
+                            null, LocaleContextHolder.getLocale())));
+            medicoOrarioRepository.delete(orario);
+            invalidate(orario.getMedico().getId());
+        } finally {
+            logger.info("Fine processo deleteOrarioById in MedicoCalendarioService");
+        }
+    }
+
+    /**
+     * Metodo che registra un'assenza del medico.
+     *
+     * @param medicoAssenzaCreateDTO il DTO di creazione dell'assenza
+     * @return il DTO dell'assenza
+     */
+    public MedicoAssenzaDTO createAssenza(@NotNull MedicoAssenzaCreateDTO medicoAssenzaCreateDTO) {
+        try {
+            logger.info("Inizio processo createAssenza in MedicoCalendarioService");
+            LocalDateTime inizio = medicoAssenzaCreateDTO.getInizio();
+            LocalDateTime fine = medicoAssenzaCreateDTO.getFine();
+            if(!inizio.isBefore(fine)) {
+                throw new IllegalArgumentException(messageSource.getMessage("error.calendario.assenza.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+            checkRange(inizio.toLocalDate(), fine.toLocalDate());
+            MedicoEntity medico = findMedico(medicoAssenzaCreateDTO.getMedicoId());
+            MedicoAssenzaEntity assenza = medicoAssenzaRepository.save(new MedicoAssenzaEntity(medico, inizio, fine,
+                    medicoAssenzaCreateDTO.getMotivo()));
+            invalidate(medico.getId());
+            return new MedicoAssenzaDTO(assenza.getId(), medico.getId(), assenza.getInizio(), assenza.getFine(), assenza.getMotivo());
+        } finally {
+            logger.info("Fine processo createAssenza in MedicoCalendarioService");
+        }
+    }
+
+    /**
+     * Metodo che restituisce le assenze del medico, ordinate per inizio.
+     *
+     * @param medicoId l'id del medico
+     * @return la lista delle assenze
+     */
+    public List<MedicoAssenzaDTO> getAssenzeByMedicoId(Long medicoId) {
+        return medicoAssenzaRepository.findDTOByMedicoId(medicoId);
+    }
+
+    /**
+     * Metodo che cancella l'assenza tramite id.
+     *
+     * @param id l'id dell'assenza
+     */
+    public void deleteAssenzaById(Long id) {
+        try {
+            logger.info("Inizio processo deleteAssenzaById in MedicoCalendarioService");
+            MedicoAssenzaEntity assenza = medicoAssenzaRepository.findById(id)
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.calendario.assenza.notFound.exception",
+                            null, LocaleContextHolder.getLocale())));
+            medicoAssenzaRepository.delete(assenza);
+            invalidate(assenza.getMedico().getId());
+        } finally {
+            logger.info("Fine processo deleteAssenzaById in MedicoCalendarioService");
+        }
+    }
+
+    /**
+     * Indica se il medico riceve in tutto l'intervallo [ora, ora + durata) della data indicata
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
+     * @return true se l'intervallo è nell'orario di lavoro del medico e fuori dalle sue assenze
+     */
+    public boolean isDisponibile(Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, int durataMinuti) {
+        return calendar(medicoId).isWorking(dataPrenotazione, oraPrenotazione, durataMinuti);
+    }
+
+    /**
+     * Verifica che il medico riceva in tutto l'intervallo della prenotazione
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
+     * @throws IllegalArgumentException se l'intervallo è fuori dall'orario di lavoro del medico o in una sua assenza
+     */
+    public void checkDisponibile(Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, int durataMinuti) {
+        if(!isDisponibile(medicoId, dataPrenotazione, oraPrenotazione, durataMinuti)) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.calendario.exception",
+                    new Object[]{dataPrenotazione, oraPrenotazione, oraPrenotazione.plusMinutes(durataMinuti)}, LocaleContextHolder.getLocale()));
+        }
+    }
+
+    /**
+     * Metodo che restituisce, per ogni data dell'intervallo, gli orari (multipli di app.calendario.slot-minutes) in cui può iniziare
+     * una prenotazione del medico della durata indicata: dentro l'orario di lavoro, fuori dalle assenze, senza sovrapporsi
+     * ad altre prenotazioni e nelle giornate in cui la capacità giornaliera del medico non è raggiunta.
+     * Le date già trascorse vengono escluse, così come gli orari già trascorsi della data odierna.
+     *
+     * @param medicoId     l'id del medico
+     * @param dataInizio   la prima data (inclusa)
+     * @param dataFine     l'ultima data (inclusa)
+     * @param durataMinuti la durata in minuti, durata di default se assente
+     * @return la disponibilità del medico per ogni data dell'intervallo
+     * @throws IllegalArgumentException se l'intervallo di date non è valido o supera app.calendario.max-range-days giorni
+     */
+    public List<DisponibilitaDTO> getDisponibilita(Long medicoId, LocalDate dataInizio, LocalDate dataFine, Integer durataMinuti) {
+        if(dataInizio.isAfter(dataFine)) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.calendario.date.exception",
+                    null, LocaleContextHolder.getLocale()));
+        }
+        checkRange(dataInizio, dataFine);
+        int durata = durataMinuti != null ? durataMinuti : prenotazioneOverlapService.getDefaultDurataMinuti();
+        if(durata < 5 || durata > 480) {
+            throw new IllegalArgumentException(messageSource.getMessage("input.validation.durataMinuti.range",
+                    null, LocaleContextHolder.getLocale()));
+        }
+        findMedico(medicoId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int capacity = prenotazioneCapacityService.getCapacity(medicoId);
+        WorkingCalendar calendar = calendar(medicoId);
+
+        List<DisponibilitaDTO> disponibilita = new ArrayList<>();
+        for(LocalDate date = dataInizio.isBefore(today) ? today : dataInizio; !date.isAfter(dataFine); date = date.plusDays(1)) {
+            BitSet free = calendar.expand(date);
+            if(free.isEmpty() || (capacity > 0 && prenotazioneCapacityService.getBooked(medicoId, date) >= capacity)) {
+                disponibilita.add(new DisponibilitaDTO(date, List.of()));
+                continue;
+            }
+            free.andNot(prenotazioneOverlapService.getOccupiedMinutes(medicoId, date));
+            int first = date.equals(today) ? now.getHour() * 60 + now.getMinute() + 1 : 0;
+            disponibilita.add(new DisponibilitaDTO(date, freeStarts(free, first, durata)));
+        }
+        return disponibilita;
+    }
+
+    /**
+     * Restituisce gli orari multipli di slotMinutes, a partire dal minuto indicato, da cui iniziano durata minuti liberi consecutivi
+     */
+    private List<LocalTime> freeStarts(BitSet free, int fromMinute, int durata) {
+        List<LocalTime> starts = new ArrayList<>();
+        int start = free.nextSetBit(fromMinute);
+        while(start >= 0 && start + durata <= WorkingCalendar.MINUTES_PER_DAY) {
+            // allineamento al passo degli orari proposti
+            start = (start + slotMinutes - 1) / slotMinutes * slotMinutes;
+            int end = free.nextClearBit(start);
+            if(end - start >= durata) {
+                starts.add(LocalTime.ofSecondOfDay(start * 60L));
+                start += slotMinutes;
+            } else {
+                // l'intervallo libero corrente è troppo breve: si passa al successivo
+                start = free.nextSetBit(end);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Invalida il calendario compilato del medico, che verrà ricompilato al primo utilizzo
+     *
+     * @param medicoId id del medico
+     */
+    public void invalidate(Long medicoId) {
+        // sotto lo stesso lock del caricamento: un calendario compilato prima della modifica non sopravvive all'invalidazione
+        synchronized(stripes[Math.floorMod(medicoId.hashCode(), STRIPES)]) {
+            calendars.remove(medicoId);
+        }
+    }
+
+    /**
+     * Task schedulato che scarta i calendari compilati, che verranno ricompilati al primo utilizzo
+     */
+    @Scheduled(initialDelayString = "${app.calendario.refresh-interval:PT5M}",
+            fixedDelayString = "${app.calendario.refresh-interval:PT5M}")
+    public void refresh() {
+        int size = calendars.size();
+        calendars.keySet().forEach(this::invalidate);
+        logger.debug("Calendario medici: {} calendari compilati scartati", size);
+    }
+
+    private WorkingCalendar calendar(Long medicoId) {
+        WorkingCalendar calendar = calendars.get(medicoId);
+        if(calendar != null) {
+            return calendar;
+        }
+        synchronized(stripes[Math.floorMod(medicoId.hashCode(), STRIPES)]) {
+            calendar = calendars.get(medicoId);
+            if(calendar == null) {
+                long start = System.nanoTime();
+                calendar = inReadWriteTransaction(transactionManager, () -> new WorkingCalendar(
+                        medicoOrarioRepository.findDTOByMedicoId(medicoId).stream()
+                                .map(orario -> new WorkingCalendar.WorkingHours(orario.getGiornoSettimana(), orario.getOraInizio(), orario.getOraFine()))
+                                .toList(),
+                        medicoAssenzaRepository.findDTOByMedicoId(medicoId).stream()
+                                .map(assenza -> new WorkingCalendar.Absence(assenza.getInizio(), assenza.getFine()))
+                                .toList()));
+                calendars.put(medicoId, calendar);
+                logger.debug("Calendario del medico {} compilato in {} µs", medicoId, (System.nanoTime() - start) / 1_000);
+            }
+            return calendar;
+        }
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if(ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.calendario.range.exception",
+                    new Object[]{maxRangeDays}, LocaleContextHolder.getLocale()));
+        }
+    }
+
+    private MedicoEntity findMedico(Long medicoId) {
+        return medicoRepository.findById(medicoId)
+                .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                        null, LocaleContextHolder.getLocale())));
+    }
+
+}
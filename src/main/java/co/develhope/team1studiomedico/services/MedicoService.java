@@ -4,7 +4,11 @@ import co.develhope.team1studiomedico.dto.medico.MedicoCreateDTO;
 import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
 import co.develhope.team1studiomedico.entities.EntityStatusEnum;
 import co.develhope.team1studiomedico.entities.MedicoEntity;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
 import co.develhope.team1studiomedico.exceptions.EntityStatusException;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
 import co.develhope.team1studiomedico.repositories.MedicoRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -12,8 +16,8 @@ import jakarta.validation.constraints.NotNull;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
@@ -42,6 +46,9 @@ public class MedicoService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     private static final Logger logger = LoggerFactory.getLogger(MedicoService.class);
 
     /**
@@ -59,6 +66,7 @@ public class MedicoService {
             medico.setRecordStatus(EntityStatusEnum.ACTIVE);
             medico = medicoRepository.saveAndFlush(medico);
             entityManager.refresh(medico);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.CREATE, medico.getId()));
             return convertToDTO(medico);
         } finally {
             logger.info("Fine processo createMedico in MedicoService");
@@ -70,6 +78,7 @@ public class MedicoService {
      *
      * @return i medici con record status ACTIVE
      */
+    @Transactional(readOnly = true)
     public List<MedicoDTO> getAllMedici() {
         return medicoRepository.findByRecordStatus(EntityStatusEnum.ACTIVE)
                 .stream()
@@ -82,6 +91,7 @@ public class MedicoService {
      *
      * @return i medici cancellati logicamente con record status DELETED.
      */
+    @Transactional(readOnly = true)
     public List<MedicoDTO> getAllDeletedMedici() {
         return medicoRepository.findByRecordStatus(EntityStatusEnum.DELETED)
                 .stream()
@@ -95,10 +105,11 @@ public class MedicoService {
      * @param id l' id
      * @return il DTO del medico tramite id
      */
+    @Transactional(readOnly = true)
     public MedicoDTO getMedicoById(Long id) {
          MedicoEntity medico = medicoRepository.findById(id)
                  .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                 .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                 .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                          null, LocaleContextHolder.getLocale())));
          return convertToDTO(medico);
     }
@@ -110,10 +121,11 @@ public class MedicoService {
      * @param id         l'id
      * @return il DTO del medico
      */
+    @Transactional
     public MedicoDTO updateMedicoById(@NotNull MedicoDTO medicoEdit, Long id) {
         MedicoEntity medico = medicoRepository.findById(id)
                 .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
 
         if(medicoEdit.getNome() != null) {
@@ -129,7 +141,9 @@ public class MedicoService {
             medico.setEmail(medicoEdit.getEmail());
         }
 
-        return convertToDTO(medicoRepository.saveAndFlush(medico));
+        medico = medicoRepository.saveAndFlush(medico);
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.UPDATE, medico.getId()));
+        return convertToDTO(medico);
     }
 
     /**
@@ -137,11 +151,12 @@ public class MedicoService {
      *
      * @param id l'id
      */
+    @Transactional
     public void deleteMedicoById(Long id) {
         try {
             logger.info("Inizio processo deleteMedicoById in MedicoService");
             MedicoEntity medico = medicoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(medico.getRecordStatus().equals(EntityStatusEnum.DELETED)) {
@@ -149,6 +164,7 @@ public class MedicoService {
                         null, LocaleContextHolder.getLocale()));
             }
             medicoRepository.softDeleteById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.DELETE, id));
         } finally {
             logger.info("Fine processo deleteMedicoById in MedicoService");
         }
@@ -157,10 +173,12 @@ public class MedicoService {
     /**
      * Metodo che cancella tutti i medici (soft delete)
      */
+    @Transactional
     public void deleteAllMedici() {
         try {
             logger.info("Inizio processo deleteAllMedici in MedicoService");
             medicoRepository.softDelete();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.DELETE, null));
         } finally {
             logger.info("Fine processo deleteAllMedici in MedicoService");
         }
@@ -171,11 +189,12 @@ public class MedicoService {
      *
      * @param id l'id
      */
+    @Transactional
     public void restoreMedicoById(Long id) {
         try {
             logger.info("Inizio processo restoreMedicoById in MedicoService");
             MedicoEntity medico = medicoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(medico.getRecordStatus().equals(EntityStatusEnum.ACTIVE)) {
@@ -183,6 +202,7 @@ public class MedicoService {
                         null, LocaleContextHolder.getLocale()));
             }
             medicoRepository.restoreById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.RESTORE, id));
         } finally {
             logger.info("Fine processo restoreMedicoById in MedicoService");
         }
@@ -191,10 +211,12 @@ public class MedicoService {
     /**
      * Metodo che ripristina tutti i medici.
      */
+    @Transactional
     public void restoreAllMedici() {
         try {
             logger.info("Inizio processo restoreAllMedici in MedicoService");
             medicoRepository.restore();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.MEDICO, ChangeTypeEnum.RESTORE, null));
         } finally {
             logger.info("Fine processo restoreAllMedici in MedicoService");
         }
@@ -233,10 +255,11 @@ public class MedicoService {
      * @param segretarioId id del segretario
      * @return il DTO del medico
      */
+    @Transactional(readOnly = true)
     public MedicoDTO getMedicoBySegretarioId(Long segretarioId) {
         MedicoEntity medico = medicoRepository.findMedicoBySegretarioId(segretarioId)
                 .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(medico);
     }
@@ -246,10 +269,11 @@ public class MedicoService {
      * @param pazienteId id del paziente
      * @return il DTO del medico
      */
+    @Transactional(readOnly = true)
     public MedicoDTO getMedicoByPazienteId(Long pazienteId) {
         MedicoEntity medico = medicoRepository.findMedicoByPazienteId(pazienteId)
                 .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(medico);
     }
@@ -260,10 +284,11 @@ public class MedicoService {
      * @param prenotazioneId id della prenotazione
      * @return il DTO del medico
      */
+    @Transactional(readOnly = true)
     public MedicoDTO getMedicoByPrenotazioneId(Long prenotazioneId) {
         MedicoEntity medico = medicoRepository.findMedicoByPrenotazioneId(prenotazioneId)
                 .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(medico);
     }
@@ -273,10 +298,11 @@ public class MedicoService {
      * @param email email di ricerca
      * @return il DTO del medico
      */
+    @Transactional(readOnly = true)
     public MedicoDTO getMedicoByEmail(String email) {
         MedicoEntity medico = medicoRepository.findByEmail(email)
                 .filter(medicoEntity -> medicoEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.medico.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(medico);
     }
@@ -287,6 +313,7 @@ public class MedicoService {
      * @param cognome cognome utente
      * @return lista dei medici filtrati per nome e cognome
      */
+    @Transactional(readOnly = true)
     public List<MedicoDTO> getMediciByNomeAndCognome(String nome, String cognome) {
         return medicoRepository.searchByNomeAndCognome(nome, cognome)
                 .stream()
@@ -2,9 +2,14 @@ package co.develhope.team1studiomedico.services;
 
 import co.develhope.team1studiomedico.dto.paziente.PazienteCreateDTO;
 import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+import co.develhope.team1studiomedico.dto.sync.DeltaSyncDTO;
 import co.develhope.team1studiomedico.entities.EntityStatusEnum;
 import co.develhope.team1studiomedico.entities.PazienteEntity;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
 import co.develhope.team1studiomedico.exceptions.EntityStatusException;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
 import co.develhope.team1studiomedico.repositories.PazienteRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -12,10 +17,11 @@ import jakarta.validation.constraints.NotNull;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +48,12 @@ public class PazienteService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
     private static final Logger logger = LoggerFactory.getLogger(PazienteService.class);
 
     /**
@@ -59,6 +71,7 @@ public class PazienteService {
             paziente.setRecordStatus(EntityStatusEnum.ACTIVE);
             paziente = pazienteRepository.saveAndFlush(paziente);
             entityManager.refresh(paziente);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.CREATE, paziente.getId()));
             return convertToDTO(paziente);
         } finally {
             logger.info("Fine processo createPaziente in PazienteService");
@@ -70,6 +83,7 @@ public class PazienteService {
      *
      * @return i pazienti con record status ACTIVE
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getAllPazienti() {
         return pazienteRepository.findByRecordStatus(EntityStatusEnum.ACTIVE)
                 .stream()
@@ -82,6 +96,7 @@ public class PazienteService {
      *
      * @return i pazienti cancellati logicamente con record status DELETED.
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getAllDeletedPazienti() {
         return pazienteRepository.findByRecordStatus(EntityStatusEnum.DELETED)
                 .stream()
@@ -89,16 +104,39 @@ public class PazienteService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Sincronizzazione incrementale (delta sync) dei pazienti: restituisce i pazienti creati, modificati,
+     * cancellati logicamente o ripristinati dopo il token della sincronizzazione precedente (tutti, se il token è assente).
+     * La lettura avviene in una transazione di lettura e scrittura, quindi sul datasource primario (vedi DeltaSyncService)
+     *
+     * @param medicoId id del medico dei pazienti da sincronizzare, null per tutti i pazienti
+     * @param token token restituito dalla sincronizzazione precedente
+     * @param limit numero massimo di pazienti restituiti
+     * @return il DTO del delta sync dei pazienti
+     */
+    @Transactional
+    public DeltaSyncDTO<PazienteDTO> getPazientiDelta(Long medicoId, String token, Integer limit) {
+        long startedAt = System.currentTimeMillis();
+        DeltaSyncService.Watermark since = deltaSyncService.decodeToken(token);
+        Pageable page = deltaSyncService.page(limit);
+        List<PazienteEntity> pazienti = medicoId == null
+                ? pazienteRepository.findPazientiModifiedAfter(since.lastModifiedDate(), since.id(), page)
+                : pazienteRepository.findPazientiByMedicoIdModifiedAfter(medicoId, since.lastModifiedDate(), since.id(), page);
+        return deltaSyncService.toDelta(pazienti, page, since, startedAt,
+                PazienteEntity::getId, PazienteEntity::getRecordStatus, this::convertToDTO);
+    }
+
     /**
      * Metodo che restituisce il paziente tramite id.
      *
      * @param id l' id
      * @return il DTO del paziente tramite id
      */
+    @Transactional(readOnly = true)
     public PazienteDTO getPazienteById(Long id) {
         PazienteEntity paziente = pazienteRepository.findById(id)
                 .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(paziente);
     }
@@ -110,10 +148,11 @@ public class PazienteService {
      * @param id           the id
      * @return il DTO del paziente
      */
+    @Transactional
     public PazienteDTO updatePazienteById(@NotNull PazienteDTO pazienteEdit, Long id) {
         PazienteEntity paziente = pazienteRepository.findById(id)
                 .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
 
         if(pazienteEdit.getNome() != null) {
@@ -135,7 +174,9 @@ public class PazienteService {
             paziente.setCodiceFiscale(pazienteEdit.getCodiceFiscale());
         }
 
-        return convertToDTO(pazienteRepository.saveAndFlush(paziente));
+        paziente = pazienteRepository.saveAndFlush(paziente);
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.UPDATE, paziente.getId()));
+        return convertToDTO(paziente);
     }
 
     /**
@@ -143,11 +184,12 @@ public class PazienteService {
      *
      * @param id l'id
      */
+    @Transactional
     public void deletePazienteById(Long id) {
         try {
             logger.info("Inizio processo deletePazienteById in PazienteService");
             PazienteEntity paziente = pazienteRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(paziente.getRecordStatus().equals(EntityStatusEnum.DELETED)) {
@@ -155,6 +197,7 @@ public class PazienteService {
                         null, LocaleContextHolder.getLocale()));
             }
             pazienteRepository.softDeleteById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.DELETE, id));
         } finally {
             logger.info("Fine processo deletePazienteById in PazienteService");
         }
@@ -163,10 +206,12 @@ public class PazienteService {
     /**
      * Metodo che cancella i pazienti (soft delete).
      */
+    @Transactional
     public void deleteAllPazienti() {
         try {
             logger.info("Inizio processo deleteAllPazienti in PazienteService");
             pazienteRepository.softDelete();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.DELETE, null));
         } finally {
             logger.info("Fine processo deleteAllPazienti in PazienteService");
         }
@@ -177,11 +222,12 @@ public class PazienteService {
      *
      * @param id l'id
      */
+    @Transactional
     public void restorePazienteById(Long id) {
         try {
             logger.info("Inizio processo restorePazienteById in PazienteService");
             PazienteEntity paziente = pazienteRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(paziente.getRecordStatus().equals(EntityStatusEnum.ACTIVE)) {
@@ -189,6 +235,7 @@ public class PazienteService {
                         null, LocaleContextHolder.getLocale()));
             }
             pazienteRepository.restoreById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.RESTORE, id));
         } finally {
             logger.info("Fine processo restorePazienteById in PazienteService");
         }
@@ -197,10 +244,12 @@ public class PazienteService {
     /**
      * Metodo che ripristina i pazienti.
      */
+    @Transactional
     public void restoreAllPazienti() {
         try {
             logger.info("Inizio processo restoreAllPazienti in PazienteService");
             pazienteRepository.restore();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PAZIENTE, ChangeTypeEnum.RESTORE, null));
         } finally {
             logger.info("Fine processo restoreAllPazienti in PazienteService");
         }
@@ -238,6 +287,7 @@ public class PazienteService {
      * @param medicoId id del medico
      * @return lista di pazienti filtrati per id medico
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getAllPazientiByMedicoId(Long medicoId) {
         return pazienteRepository.findPazientiByMedicoId(medicoId)
                 .stream()
@@ -252,6 +302,7 @@ public class PazienteService {
      * @param segretarioId id del segretario
      * @return lista di pazienti filtrati per id segretario
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getAllPazientiBySegretarioId(Long segretarioId) {
         return pazienteRepository.findPazientiBySegretarioId(segretarioId)
                 .stream()
@@ -266,10 +317,11 @@ public class PazienteService {
      * @param prenotazioneId id della prenotazione
      * @return il DTO del paziente
      */
+    @Transactional(readOnly = true)
     public PazienteDTO getPazienteByPrenotazioneId(Long prenotazioneId) {
         PazienteEntity paziente = pazienteRepository.findPazienteByPrenotazioneId(prenotazioneId)
                 .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(paziente);
     }
@@ -279,10 +331,11 @@ public class PazienteService {
      * @param email email di ricerca
      * @return il DTO del paziente
      */
+    @Transactional(readOnly = true)
     public PazienteDTO getPazienteByEmail(String email) {
         PazienteEntity paziente = pazienteRepository.findByEmail(email)
                 .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(paziente);
     }
@@ -292,10 +345,11 @@ public class PazienteService {
      * @param codiceFiscale codice fiscale di ricerca
      * @return il DTO del paziente
      */
+    @Transactional(readOnly = true)
     public PazienteDTO getPazienteByCodiceFiscale(String codiceFiscale) {
         PazienteEntity paziente = pazienteRepository.findPazienteByCodiceFiscale(codiceFiscale)
                 .filter(pazienteEntity -> pazienteEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.paziente.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(paziente);
     }
@@ -306,6 +360,7 @@ public class PazienteService {
      * @param cognome cognome utente
      * @return lista dei pazienti filtrati per nome e cognome
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getPazientiByNomeAndCognome(String nome, String cognome) {
         return pazienteRepository.searchByNomeAndCognome(nome, cognome)
                 .stream()
@@ -321,6 +376,7 @@ public class PazienteService {
      * @param medicoId id del medico
      * @return lista di pazienti filtrati per nome, cognome, id del medico
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getPazientiByNomeAndCognomeAndMedicoId(String nome, String cognome, Long medicoId) {
         return pazienteRepository.searchPazientiByNomeAndCognomeAndMedicoId(nome, cognome, medicoId)
                 .stream()
@@ -337,6 +393,7 @@ public class PazienteService {
      * @param segretarioId id del segretario
      * @return lista di pazienti filtrati per nome, cognome, id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PazienteDTO> getPazientiByNomeAndCognomeAndSegretarioId(String nome, String cognome, Long segretarioId) {
         return pazienteRepository.searchPazientiByNomeAndCognomeAndSegretarioId(nome, cognome, segretarioId)
                 .stream()
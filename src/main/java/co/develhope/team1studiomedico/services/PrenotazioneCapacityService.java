@@ -0,0 +1,232 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.agenda.DailyCache;
+import co.develhope.team1studiomedico.agenda.DailyKey;
+import co.develhope.team1studiomedico.configuration.PrenotazioneCapacityProperties;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDailyCountDTO;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.afterCommit;
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.afterCompletion;
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.inReadWriteTransaction;
+
+/**
+ * La classe PrenotazioneCapacityService applica la capacità giornaliera dei medici (PrenotazioneCapacityProperties):
+ * ogni giornata (medico e data) ha un contatore in memoria delle prenotazioni PENDING o CONFIRMED, caricato dal database
+ * (primario) al primo utilizzo e poi aggiornato in modo incrementale, così il controllo della capacità non esegue una COUNT a ogni prenotazione.
+ * La prenotazione di un posto (reserve) incrementa il contatore con compare-and-set solo se la capacità non è raggiunta,
+ * quindi due richieste concorrenti non possono superarla; il posto viene restituito se la transazione non va a buon fine.
+ * I posti liberati (release) vengono restituiti dopo il commit. I contatori sono indicizzati per giornata (DailyCache).
+ * Periodicamente (app.prenotazioni.capacity.reconcile-interval) e dopo le operazioni massive i contatori vengono riallineati
+ * al database, tenendo conto delle prenotazioni di transazioni ancora in corso. Un contatore viene riallineato solo se
+ * non è stato modificato (prenotazione, rilascio, commit o rollback) tra la lettura precedente la COUNT e il suo aggiornamento,
+ * altrimenti il valore letto potrebbe non comprendere una prenotazione confermata nel frattempo: viene riallineato
+ * alla riconciliazione successiva.
+ * La capacità è garantita per singola istanza, non globalmente: con più istanze dell'applicazione ognuna controlla
+ * le prenotazioni che riceve e recepisce quelle delle altre solo alla riconciliazione successiva, per cui nel frattempo
+ * la stessa giornata può superare la capacità configurata
+ */
+@Service
+public class PrenotazioneCapacityService {
+
+    @Autowired
+    private PrenotazioneRepository prenotazioneRepository;
+
+    @Autowired
+    private PrenotazioneCapacityProperties capacityProperties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DailyCache<DailyCounter> counters = new DailyCache<>(this::load);
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneCapacityService.class);
+
+    /**
+     * Contatore di una giornata: state contiene nei 32 bit alti la versione, incrementata da ogni modifica del contatore,
+     * e nei 32 bit bassi il numero delle prenotazioni, che comprende quelle delle transazioni in corso, conteggiate anche in inflight
+     */
+    private static final class DailyCounter {
+
+        private final AtomicLong state;
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        private DailyCounter(int count) {
+            this.state = new AtomicLong(count);
+        }
+
+        private int count() {
+            return count(state.get());
+        }
+
+        private static int count(long state) {
+            return (int) state;
+        }
+
+        /**
+         * Restituisce lo stato con il numero di prenotazioni indicato e la versione successiva
+         */
+        private static long next(long state, int count) {
+            return ((state >>> 32) + 1) << 32 | (count & 0xFFFFFFFFL);
+        }
+
+    }
+
+    /**
+     * Occupa un posto nella giornata del medico, se la capacità giornaliera non è raggiunta;
+     * il posto viene restituito se la transazione corrente non va a buon fine
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @throws IllegalArgumentException se la capacità giornaliera del medico è raggiunta
+     */
+    public void reserve(Long medicoId, LocalDate dataPrenotazione) {
+        int capacity = capacityProperties.capacityOf(medicoId);
+        if(capacity <= 0) {
+            return;
+        }
+        DailyCounter counter = counters.get(new DailyKey(medicoId, dataPrenotazione));
+        counter.inflight.incrementAndGet();
+        long current;
+        do {
+            current = counter.state.get();
+            if(DailyCounter.count(current) >= capacity) {
+                counter.inflight.decrementAndGet();
+                throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.capacity.exception",
+                        new Object[]{dataPrenotazione, capacity}, LocaleContextHolder.getLocale()));
+            }
+        } while(!counter.state.compareAndSet(current, DailyCounter.next(current, DailyCounter.count(current) + 1)));
+        afterCompletion(committed -> {
+            // la versione cambia prima che la prenotazione esca da inflight, così la riconciliazione in corso non la perde
+            add(counter, committed ? 0 : -1);
+            counter.inflight.decrementAndGet();
+        });
+    }
+
+    /**
+     * Restituisce, dopo il commit della transazione corrente, un posto nella giornata del medico
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     */
+    public void release(Long medicoId, LocalDate dataPrenotazione) {
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        afterCommit(() -> {
+            DailyCounter counter = counters.getIfPresent(key);
+            if(counter != null) {
+                add(counter, -1);
+            }
+        });
+    }
+
+    /**
+     * Conteggia, dopo il commit della transazione corrente, un posto nella giornata del medico senza controllarne la capacità
+     * (ripristino di una prenotazione cancellata)
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     */
+    public void acquire(Long medicoId, LocalDate dataPrenotazione) {
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        afterCommit(() -> {
+            DailyCounter counter = counters.getIfPresent(key);
+            if(counter != null) {
+                add(counter, 1);
+            }
+        });
+    }
+
+    /**
+     * Riallinea i contatori al database dopo il commit della transazione corrente (operazioni massive)
+     */
+    public void reconcileAfterCommit() {
+        afterCommit(this::reconcile);
+    }
+
+    /**
+     * Metodo che restituisce la capacità giornaliera del medico.
+     *
+     * @param medicoId id del medico
+     * @return la capacità giornaliera, 0 se illimitata
+     */
+    public int getCapacity(Long medicoId) {
+        return Math.max(capacityProperties.capacityOf(medicoId), 0);
+    }
+
+    /**
+     * Metodo che restituisce il numero delle prenotazioni PENDING o CONFIRMED della giornata del medico,
+     * dal contatore in memoria se il medico ha una capacità giornaliera
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @return il numero delle prenotazioni della giornata
+     */
+    public int getBooked(Long medicoId, LocalDate dataPrenotazione) {
+        if(getCapacity(medicoId) > 0) {
+            return counters.get(new DailyKey(medicoId, dataPrenotazione)).count();
+        }
+        return (int) prenotazioneRepository.countOccupyingByMedicoIdAndDataPrenotazione(medicoId, dataPrenotazione);
+    }
+
+    /**
+     * Task schedulato che elimina i contatori delle giornate trascorse e riallinea gli altri al database
+     */
+    @Scheduled(initialDelayString = "${app.prenotazioni.capacity.reconcile-interval:PT5M}",
+            fixedDelayString = "${app.prenotazioni.capacity.reconcile-interval:PT5M}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        counters.removeIf(key -> key.dataPrenotazione().isBefore(today));
+        if(counters.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        // stato dei contatori prima della COUNT: un contatore modificato nel frattempo non viene riallineato
+        Map<DailyKey, Long> states = new HashMap<>();
+        counters.forEach((key, counter) -> states.put(key, counter.state.get()));
+        Map<DailyKey, Long> counts = inReadWriteTransaction(transactionManager,
+                () -> prenotazioneRepository.countOccupyingGroupByMedicoIdAndDataPrenotazione(today)).stream()
+                .collect(Collectors.toMap(count -> new DailyKey(count.getMedicoId(), count.getDataPrenotazione()),
+                        PrenotazioneDailyCountDTO::getCount));
+        AtomicInteger drifted = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        counters.forEach((key, counter) -> {
+            Long state = states.get(key);
+            int reconciled = counts.getOrDefault(key, 0L).intValue() + counter.inflight.get();
+            if(state == null || !counter.state.compareAndSet(state, DailyCounter.next(state, reconciled))) {
+                skipped.incrementAndGet();
+            } else if(DailyCounter.count(state) != reconciled) {
+                drifted.incrementAndGet();
+            }
+        });
+        logger.debug("Capacità giornaliera: riallineati {} contatori, {} diversi dal database, {} modificati durante la riconciliazione ({} ms)",
+                counters.size() - skipped.get(), drifted, skipped, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private DailyCounter load(DailyKey key) {
+        return new DailyCounter(inReadWriteTransaction(transactionManager,
+                () -> (int) prenotazioneRepository.countOccupyingByMedicoIdAndDataPrenotazione(key.medicoId(), key.dataPrenotazione())));
+    }
+
+    private static void add(DailyCounter counter, int delta) {
+        counter.state.updateAndGet(state -> DailyCounter.next(state, Math.max(DailyCounter.count(state) + delta, 0)));
+    }
+
+}
@@ -0,0 +1,205 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneExpiryStatsDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityBatchChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.events.PrenotazioneAgendaEvent;
+import co.develhope.team1studiomedico.events.PrenotazioneSlotFreedEvent;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * La classe PrenotazioneExpiryService realizza la scadenza automatica delle prenotazioni PENDING mai confermate:
+ * un task schedulato porta nello stato app.prenotazioni.expiry.target-status le prenotazioni PENDING prenotate da più di
+ * app.prenotazioni.expiry.max-age o con data di prenotazione già trascorsa.
+ * Le prenotazioni vengono elaborate a blocchi di app.prenotazioni.expiry.chunk-size, ognuno in una propria transazione
+ * breve: il blocco viene letto come proiezione (senza caricare le entità), le prenotazioni ancora PENDING e scadute
+ * vengono bloccate fino al commit (SELECT ... FOR UPDATE, come nelle transizioni di stato) e aggiornate con un'unica
+ * UPDATE per id, che aggiorna anche lastModifiedDate; le prenotazioni confermate nel frattempo non vengono modificate.
+ * Per le sole prenotazioni aggiornate vengono pubblicati l'evento di modifica a blocchi (outbox, un record per prenotazione)
+ * e un evento per ogni agenda coinvolta; ogni prenotazione scaduta libera il proprio slot (lista di attesa)
+ * e il proprio posto nella capacità giornaliera del medico.
+ * Conteggi e tempi delle esecuzioni sono disponibili tramite getStats
+ */
+@Service
+public class PrenotazioneExpiryService {
+
+    @Autowired
+    private PrenotazioneRepository prenotazioneRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private PrenotazioneCapacityService prenotazioneCapacityService;
+
+    @Autowired
+    private PrenotazioneOverlapService prenotazioneOverlapService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.prenotazioni.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.prenotazioni.expiry.max-age:48h}")
+    private Duration maxAge;
+
+    @Value("${app.prenotazioni.expiry.target-status:CANCELLED}")
+    private PrenotazioneStatusEnum targetStatus;
+
+    @Value("${app.prenotazioni.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile PrenotazioneExpiryStatsDTO stats = new PrenotazioneExpiryStatsDTO(0, 0, 0, null, 0, 0, 0, 0);
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneExpiryService.class);
+
+    @PostConstruct
+    void init() {
+        if(targetStatus != PrenotazioneStatusEnum.CANCELLED && targetStatus != PrenotazioneStatusEnum.REJECTED) {
+            throw new IllegalStateException("app.prenotazioni.expiry.target-status deve essere CANCELLED o REJECTED: " + targetStatus);
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Task schedulato della scadenza automatica, eseguito ogni app.prenotazioni.expiry.interval
+     * (il task non si sovrappone mai a sé stesso: l'intervallo decorre dal termine dell'esecuzione precedente)
+     */
+    @Scheduled(initialDelayString = "${app.prenotazioni.expiry.initial-delay:PT1M}",
+            fixedDelayString = "${app.prenotazioni.expiry.interval:PT5M}")
+    public void scheduledExpirePendingPrenotazioni() {
+        if(enabled) {
+            expirePendingPrenotazioni();
+        }
+    }
+
+    /**
+     * Porta nello stato di destinazione le prenotazioni PENDING scadute, a blocchi
+     *
+     * @return il numero di prenotazioni scadute
+     */
+    public synchronized long expirePendingPrenotazioni() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime bookedBefore = startedAt.minus(maxAge);
+        LocalDate today = startedAt.toLocalDate();
+        long start = System.nanoTime();
+        long expired = 0;
+        int chunks = 0;
+        long maxChunkMs = 0;
+        long afterId = 0;
+        PrenotazioneExpiryStatsDTO previous = stats;
+        try {
+            while(true) {
+                long chunkStart = System.nanoTime();
+                long lastId = afterId;
+                ExpiredChunk chunk = transactionTemplate.execute(status -> expireChunk(lastId, bookedBefore, today));
+                if(chunk == null || chunk.candidates() == 0) {
+                    break;
+                }
+                chunks++;
+                expired += chunk.expired();
+                maxChunkMs = Math.max(maxChunkMs, (System.nanoTime() - chunkStart) / 1_000_000);
+                afterId = chunk.lastId();
+                if(chunk.candidates() < chunkSize) {
+                    break;
+                }
+            }
+        } catch(RuntimeException e) {
+            // i blocchi già elaborati restano confermati, l'esecuzione successiva riprende dalle prenotazioni rimaste
+            stats = new PrenotazioneExpiryStatsDTO(previous.getRuns() + 1, previous.getFailedRuns() + 1,
+                    previous.getExpiredTotal() + expired, startedAt, (System.nanoTime() - start) / 1_000_000,
+                    expired, chunks, maxChunkMs);
+            logger.error("Scadenza automatica delle prenotazioni PENDING interrotta dopo {} blocchi", chunks, e);
+            return expired;
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        stats = new PrenotazioneExpiryStatsDTO(previous.getRuns() + 1, previous.getFailedRuns(),
+                previous.getExpiredTotal() + expired, startedAt, durationMs, expired, chunks, maxChunkMs);
+        if(expired > 0) {
+            logger.info("Scadenza automatica: {} prenotazioni PENDING portate in {} ({} blocchi, {} ms, blocco più lento {} ms)",
+                    expired, targetStatus, chunks, durationMs, maxChunkMs);
+        } else {
+            logger.debug("Scadenza automatica: nessuna prenotazione PENDING scaduta ({} ms)", durationMs);
+        }
+        return expired;
+    }
+
+    /**
+     * Metodo che restituisce le metriche della scadenza automatica.
+     *
+     * @return le metriche della scadenza automatica
+     */
+    public PrenotazioneExpiryStatsDTO getStats() {
+        return stats;
+    }
+
+    /**
+     * Esito dell'elaborazione di un blocco
+     *
+     * @param candidates numero di prenotazioni scadute lette
+     * @param expired    numero di prenotazioni effettivamente modificate
+     * @param lastId     id dell'ultima prenotazione del blocco
+     */
+    private record ExpiredChunk(int candidates, int expired, long lastId) { }
+
+    private ExpiredChunk expireChunk(long afterId, LocalDateTime bookedBefore, LocalDate today) {
+        List<PrenotazioneFlatDTO> candidates = prenotazioneRepository.findExpiredPendingPrenotazioni(afterId, bookedBefore,
+                today, PageRequest.of(0, chunkSize));
+        if(candidates.isEmpty()) {
+            return new ExpiredChunk(0, 0, afterId);
+        }
+        // le prenotazioni ancora PENDING vengono bloccate fino al commit e ricontrollate con i dati letti sotto lock
+        // (una prenotazione confermata o spostata nel frattempo non scade): la UPDATE modifica esattamente queste,
+        // e capacità, agenda, lista di attesa e outbox vengono aggiornati solo per le prenotazioni scadute
+        List<PrenotazioneFlatDTO> expiring = prenotazioneRepository.lockFlatPrenotazioniByIdsAndStati(
+                        candidates.stream().map(PrenotazioneFlatDTO::getId).toList(), List.of(PrenotazioneStatusEnum.PENDING))
+                .stream()
+                .filter(prenotazione -> prenotazione.getBookedAt().isBefore(bookedBefore) || prenotazione.getDataPrenotazione().isBefore(today))
+                .toList();
+        long lastId = candidates.get(candidates.size() - 1).getId();
+        if(expiring.isEmpty()) {
+            return new ExpiredChunk(candidates.size(), 0, lastId);
+        }
+        List<Long> ids = expiring.stream().map(PrenotazioneFlatDTO::getId).toList();
+        int expired = prenotazioneRepository.expirePendingByIds(targetStatus, ids);
+        applicationEventPublisher.publishEvent(new EntityBatchChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.UPDATE, ids));
+        // un solo evento per agenda (medico e giorno) coinvolta: il client ricarica l'agenda
+        Set<List<Object>> agende = new HashSet<>();
+        for(PrenotazioneFlatDTO prenotazione : expiring) {
+            prenotazioneCapacityService.release(prenotazione.getMedicoId(), prenotazione.getDataPrenotazione());
+            prenotazioneOverlapService.release(prenotazione.getId(), prenotazione.getMedicoId(), prenotazione.getDataPrenotazione());
+            applicationEventPublisher.publishEvent(new PrenotazioneSlotFreedEvent(prenotazione.getId(), prenotazione.getMedicoId(),
+                    prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione()));
+            if(agende.add(List.of(prenotazione.getMedicoId(), prenotazione.getDataPrenotazione()))) {
+                applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.UPDATE, prenotazione.getId(),
+                        prenotazione.getMedicoId(), prenotazione.getDataPrenotazione(), null, null));
+            }
+        }
+        return new ExpiredChunk(candidates.size(), expired, lastId);
+    }
+
+}
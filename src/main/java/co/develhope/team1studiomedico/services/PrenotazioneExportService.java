@@ -0,0 +1,252 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * La classe PrenotazioneExportService realizza l'export massivo delle prenotazioni di un medico in un periodo,
+ * in formato CSV piatto oppure in un formato binario compatto con dizionario degli id di medici e pazienti.
+ * Le righe vengono lette da un cursore JDBC e scritte una alla volta su uno stream compresso gzip al volo;
+ * al termine di ogni export viene registrato nel log il throughput in MB/s
+ */
+@Service
+public class PrenotazioneExportService {
+
+    /**
+     * Formati di export disponibili
+     */
+    public enum FormatoExport {
+        /**
+         * CSV piatto, una prenotazione per riga.
+         */
+        CSV,
+        /**
+         * Formato binario compatto con dizionario degli id.
+         */
+        BINARY
+    }
+
+    /**
+     * Intestazione del formato binario: magic number "PRNB" seguito dalla versione del formato
+     */
+    private static final byte[] BINARY_MAGIC = {'P', 'R', 'N', 'B'};
+    private static final byte BINARY_VERSION = 2;
+
+    /**
+     * Tipi dei record del formato binario
+     */
+    private static final byte TAG_MEDICO = 1;
+    private static final byte TAG_PAZIENTE = 2;
+    private static final byte TAG_PRENOTAZIONE = 3;
+
+    private static final String CSV_HEADER = "id,booked_at,data_prenotazione,ora_prenotazione,durata_minuti,stato_prenotazione,paziente_id,medico_id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private PrenotazioneRepository prenotazioneRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneExportService.class);
+
+    /**
+     * Esporta le prenotazioni ACTIVE del medico nell'intervallo di due date considerate,
+     * scrivendole compresse gzip sull'output stream nel formato richiesto.
+     *
+     * @param medicoId id del medico
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param formato formato di export
+     * @param outputStream l'output stream della response
+     * @throws IOException in caso di errore di scrittura
+     */
+    @Transactional(readOnly = true)
+    public void exportPrenotazioniByMedicoId(Long medicoId, LocalDate startDate, LocalDate endDate,
+                                             @NotNull FormatoExport formato, OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream compressed = new CountingOutputStream(outputStream);
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE);
+        CountingOutputStream uncompressed = new CountingOutputStream(gzip);
+        long righe;
+        try (Stream<PrenotazioneFlatDTO> prenotazioni = prenotazioneRepository
+                .streamFlatPrenotazioniBetweenDatePrenotazioneAndMedicoId(medicoId, startDate, endDate)) {
+            righe = formato == FormatoExport.CSV
+                    ? writeCsv(prenotazioni.iterator(), uncompressed)
+                    : writeBinary(prenotazioni.iterator(), uncompressed);
+        }
+        gzip.finish();
+        compressed.flush();
+        logThroughput(formato, medicoId, righe, uncompressed.getCount(), compressed.getCount(), System.nanoTime() - start);
+    }
+
+    /**
+     * Scrive le prenotazioni in formato CSV, una per riga, preceduta dalla riga di intestazione
+     *
+     * @param prenotazioni iteratore delle prenotazioni
+     * @param outputStream output stream di destinazione
+     * @return il numero di prenotazioni scritte
+     * @throws IOException in caso di errore di scrittura
+     */
+    private long writeCsv(Iterator<PrenotazioneFlatDTO> prenotazioni, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long righe = 0;
+        while(prenotazioni.hasNext()) {
+            PrenotazioneFlatDTO prenotazione = prenotazioni.next();
+            writer.write(String.valueOf(prenotazione.getId()));
+            writer.write(',');
+            writer.write(DtoFormatters.BOOKED_AT_FORMATTER.format(prenotazione.getBookedAt()));
+            writer.write(',');
+            writer.write(prenotazione.getDataPrenotazione().toString());
+            writer.write(',');
+            writer.write(DtoFormatters.ORA_FORMATTER.format(prenotazione.getOraPrenotazione()));
+            writer.write(',');
+            writer.write(String.valueOf(prenotazione.getDurataMinuti()));
+            writer.write(',');
+            writer.write(prenotazione.getStatoPrenotazione().name());
+            writer.write(',');
+            if(prenotazione.getPazienteId() != null) {
+                writer.write(String.valueOf(prenotazione.getPazienteId()));
+            }
+            writer.write(',');
+            if(prenotazione.getMedicoId() != null) {
+                writer.write(String.valueOf(prenotazione.getMedicoId()));
+            }
+            writer.write('\n');
+            righe++;
+        }
+        writer.flush();
+        return righe;
+    }
+
+    /**
+     * Scrive le prenotazioni nel formato binario compatto. Dopo l'intestazione, ogni record inizia con un byte di tipo:
+     * <ul>
+     *     <li>{@code TAG_MEDICO} / {@code TAG_PAZIENTE}: id (varlong), aggiunge la voce al relativo dizionario
+     *     la prima volta che l'id compare nell'export;</li>
+     *     <li>{@code TAG_PRENOTAZIONE}: id (varlong), data come epoch day (varint), minuto del giorno (varint),
+     *     durata in minuti (varint), ordinale dello stato (byte), indice nel dizionario dei medici e dei pazienti
+     *     (varint, 0 se assente, altrimenti indice + 1), booked at come epoch millis (varlong).</li>
+     * </ul>
+     * Booked at è un'ora locale (LocalDateTime) registrata con il fuso del server: viene convertita in epoch millis
+     * con il fuso di sistema, così l'istante esportato coincide con quello della prenotazione.
+     *
+     * @param prenotazioni iteratore delle prenotazioni
+     * @param outputStream output stream di destinazione
+     * @return il numero di prenotazioni scritte
+     * @throws IOException in caso di errore di scrittura
+     */
+    private long writeBinary(Iterator<PrenotazioneFlatDTO> prenotazioni, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        out.write(BINARY_MAGIC);
+        out.writeByte(BINARY_VERSION);
+        Map<Long, Integer> medici = new HashMap<>();
+        Map<Long, Integer> pazienti = new HashMap<>();
+        ZoneId zoneId = ZoneId.systemDefault();
+        long righe = 0;
+        while(prenotazioni.hasNext()) {
+            PrenotazioneFlatDTO prenotazione = prenotazioni.next();
+            int medicoIndex = dictionaryIndex(out, medici, TAG_MEDICO, prenotazione.getMedicoId());
+            int pazienteIndex = dictionaryIndex(out, pazienti, TAG_PAZIENTE, prenotazione.getPazienteId());
+            out.writeByte(TAG_PRENOTAZIONE);
+            writeVarLong(out, prenotazione.getId());
+            writeVarLong(out, prenotazione.getDataPrenotazione().toEpochDay());
+            writeVarLong(out, prenotazione.getOraPrenotazione().toSecondOfDay() / 60);
+            writeVarLong(out, prenotazione.getDurataMinuti());
+            out.writeByte(prenotazione.getStatoPrenotazione().ordinal());
+            writeVarLong(out, medicoIndex);
+            writeVarLong(out, pazienteIndex);
+            writeVarLong(out, prenotazione.getBookedAt().atZone(zoneId).toInstant().toEpochMilli());
+            righe++;
+        }
+        out.flush();
+        return righe;
+    }
+
+    /**
+     * Restituisce l'indice (+1) dell'id nel dizionario, scrivendo la nuova voce la prima volta che l'id compare
+     */
+    private static int dictionaryIndex(DataOutputStream out, Map<Long, Integer> dizionario, byte tag, Long id) throws IOException {
+        if(id == null) {
+            return 0;
+        }
+        Integer index = dizionario.get(id);
+        if(index == null) {
+            index = dizionario.size() + 1;
+            dizionario.put(id, index);
+            out.writeByte(tag);
+            writeVarLong(out, id);
+        }
+        return index;
+    }
+
+    /**
+     * Scrive un intero non negativo in formato varint (7 bit per byte, bit più significativo di continuazione)
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private void logThroughput(FormatoExport formato, Long medicoId, long righe, long bytes, long bytesGzip, long nanos) {
+        double secondi = Math.max(nanos, 1) / 1_000_000_000d;
+        logger.info("Export {} prenotazioni medico {}: {} righe, {} byte ({} gzip) in {} ms, {} MB/s",
+                formato, medicoId, righe, bytes, bytesGzip, nanos / 1_000_000,
+                String.format("%.2f", bytes / secondi / (1024 * 1024)));
+    }
+
+    /**
+     * Output stream che conta i byte scritti, per la misura del throughput dell'export
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.agenda.DailyCache;
+import co.develhope.team1studiomedico.agenda.DailyKey;
+import co.develhope.team1studiomedico.agenda.IntervalTree;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneIntervalDTO;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.afterCommit;
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.afterCompletion;
+import static co.develhope.team1studiomedico.services.TransactionCallbacks.inReadWriteTransaction;
+
+/**
+ * La classe PrenotazioneOverlapService impedisce la sovrapposizione delle prenotazioni PENDING o CONFIRMED di un medico:
+ * ogni prenotazione occupa l'intervallo [ora, ora + durata) e per ogni giornata (medico e data) viene mantenuto in memoria
+ * un interval tree (IntervalTree) degli intervalli occupati, caricato dal database (primario) al primo utilizzo e poi aggiornato
+ * in modo incrementale, così il controllo costa O(log n) senza interrogare il database a ogni prenotazione.
+ * Il controllo e l'inserimento dell'intervallo (occupy) avvengono sotto il lock della giornata, quindi due richieste
+ * concorrenti non possono occupare intervalli sovrapposti; l'intervallo viene rimosso se la transazione non va a buon fine.
+ * Gli intervalli liberati (release) vengono rimossi dopo il commit. Dopo le operazioni massive e periodicamente
+ * (app.prenotazioni.overlap.refresh-interval) le giornate senza transazioni in corso vengono scartate e ricaricate al primo utilizzo
+ */
+@Service
+public class PrenotazioneOverlapService {
+
+    @Autowired
+    private PrenotazioneRepository prenotazioneRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.prenotazioni.default-duration:30m}")
+    private Duration defaultDuration;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final DailyCache<DailyAgenda> agende = new DailyCache<>(this::load);
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneOverlapService.class);
+
+    /**
+     * Intervalli occupati di una giornata, acceduti sotto il lock dell'istanza: inflight conta le transazioni in corso
+     * che hanno occupato un intervallo, stale indica che la giornata va ricaricata dal database appena non ce ne sono più
+     */
+    private static final class DailyAgenda {
+
+        private final IntervalTree tree = new IntervalTree();
+        private int inflight;
+        private boolean stale;
+        private boolean evicted;
+
+    }
+
+    /**
+     * Metodo che restituisce la durata di default delle prenotazioni in minuti.
+     *
+     * @return la durata di default in minuti
+     */
+    public int getDefaultDurataMinuti() {
+        return (int) defaultDuration.toMinutes();
+    }
+
+    /**
+     * Occupa l'intervallo della prenotazione nella giornata del medico, se non si sovrappone ad altre prenotazioni,
+     * sostituendo l'eventuale intervallo occupato in precedenza dalla stessa prenotazione nella giornata;
+     * l'intervallo precedente viene ripristinato se la transazione corrente non va a buon fine
+     *
+     * @param id               id della prenotazione
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
+     * @throws IllegalArgumentException se la prenotazione termina dopo la mezzanotte o si sovrappone a un'altra prenotazione
+     */
+    public void occupy(Long id, Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, int durataMinuti) {
+        int start = minuteOf(oraPrenotazione, durataMinuti);
+        int end = start + durataMinuti;
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        while(true) {
+            DailyAgenda agenda = agende.get(key);
+            synchronized(agenda) {
+                if(agenda.evicted) {
+                    continue;
+                }
+                IntervalTree.Interval previous = agenda.tree.remove(id);
+                IntervalTree.Interval overlap = agenda.tree.findOverlap(start, end);
+                if(overlap != null) {
+                    restore(agenda, previous);
+                    throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.overlap.exception",
+                            new Object[]{oraPrenotazione, oraPrenotazione.plusMinutes(durataMinuti), overlap.key(),
+                                    LocalTime.ofSecondOfDay(overlap.start() * 60L), timeOf(overlap.end())},
+                            LocaleContextHolder.getLocale()));
+                }
+                agenda.tree.insert(id, start, end);
+                agenda.inflight++;
+                afterCompletion(committed -> {
+                    synchronized(agenda) {
+                        agenda.inflight--;
+                        if(!committed) {
+                            agenda.tree.remove(id);
+                            restore(agenda, previous);
+                        }
+                        evictIfIdle(key, agenda);
+                    }
+                });
+                return;
+            }
+        }
+    }
+
+    /**
+     * Libera, dopo il commit della transazione corrente, l'intervallo della prenotazione nella giornata del medico
+     *
+     * @param id               id della prenotazione
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     */
+    public void release(Long id, Long medicoId, LocalDate dataPrenotazione) {
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        afterCommit(() -> {
+            DailyAgenda agenda = agende.getIfPresent(key);
+            if(agenda != null) {
+                synchronized(agenda) {
+                    agenda.tree.remove(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Occupa, dopo il commit della transazione corrente, l'intervallo della prenotazione nella giornata del medico
+     * senza controllarne la sovrapposizione (ripristino di una prenotazione cancellata)
+     *
+     * @param id               id della prenotazione
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
+     */
+    public void acquire(Long id, Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, int durataMinuti) {
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        int start = oraPrenotazione.toSecondOfDay() / 60;
+        int end = Math.min(start + durataMinuti, MINUTES_PER_DAY);
+        afterCommit(() -> {
+            DailyAgenda agenda = agende.getIfPresent(key);
+            if(agenda != null) {
+                synchronized(agenda) {
+                    agenda.tree.insert(id, start, end);
+                }
+            }
+        });
+    }
+
+    /**
+     * Scarta, dopo il commit della transazione corrente, gli intervalli in memoria di tutte le giornate (operazioni massive)
+     */
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::refresh);
+    }
+
+    /**
+     * Restituisce la prenotazione che si sovrappone all'intervallo indicato nella giornata del medico, se esiste
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @param oraPrenotazione  ora prenotazione
+     * @param durataMinuti     durata prenotazione in minuti
+     * @return l'id della prenotazione sovrapposta, null se l'intervallo è libero
+     * @throws IllegalArgumentException se l'intervallo termina dopo la mezzanotte
+     */
+    public Long findOverlappingPrenotazioneId(Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, int durataMinuti) {
+        int start = minuteOf(oraPrenotazione, durataMinuti);
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        while(true) {
+            DailyAgenda agenda = agende.get(key);
+            synchronized(agenda) {
+                if(agenda.evicted) {
+                    continue;
+                }
+                IntervalTree.Interval overlap = agenda.tree.findOverlap(start, start + durataMinuti);
+                return overlap == null ? null : overlap.key();
+            }
+        }
+    }
+
+    /**
+     * Restituisce i minuti della giornata del medico occupati dalle prenotazioni PENDING o CONFIRMED
+     *
+     * @param medicoId         id del medico
+     * @param dataPrenotazione data prenotazione
+     * @return il bitset dei minuti occupati (bit i impostato se il minuto [i, i + 1) è occupato)
+     */
+    public BitSet getOccupiedMinutes(Long medicoId, LocalDate dataPrenotazione) {
+        DailyKey key = new DailyKey(medicoId, dataPrenotazione);
+        BitSet occupied = new BitSet(MINUTES_PER_DAY);
+        while(true) {
+            DailyAgenda agenda = agende.get(key);
+            synchronized(agenda) {
+                if(agenda.evicted) {
+                    continue;
+                }
+                agenda.tree.forEach(interval -> occupied.set(interval.start(), interval.end()));
+                return occupied;
+            }
+        }
+    }
+
+    /**
+     * Task schedulato che scarta le giornate in memoria senza transazioni in corso, che verranno ricaricate
+     * dal database al primo utilizzo (recependo anche le modifiche eseguite da altre istanze dell'applicazione)
+     */
+    @Scheduled(initialDelayString = "${app.prenotazioni.overlap.refresh-interval:PT5M}",
+            fixedDelayString = "${app.prenotazioni.overlap.refresh-interval:PT5M}")
+    public void refresh() {
+        int size = agende.size();
+        agende.forEach(this::invalidate);
+        logger.debug("Sovrapposizioni prenotazioni: {} giornate in memoria scartate, {} in attesa di transazioni in corso",
+                size - agende.size(), agende.size());
+    }
+
+    private DailyAgenda load(DailyKey key) {
+        DailyAgenda agenda = new DailyAgenda();
+        for(PrenotazioneIntervalDTO interval : inReadWriteTransaction(transactionManager,
+                () -> prenotazioneRepository.findOccupyingIntervalsByMedicoIdAndDataPrenotazione(key.medicoId(), key.dataPrenotazione()))) {
+            int start = interval.getOraPrenotazione().toSecondOfDay() / 60;
+            agenda.tree.insert(interval.getId(), start, Math.min(start + interval.getDurataMinuti(), MINUTES_PER_DAY));
+        }
+        return agenda;
+    }
+
+    private void invalidate(DailyKey key, DailyAgenda agenda) {
+        synchronized(agenda) {
+            agenda.stale = true;
+            evictIfIdle(key, agenda);
+        }
+    }
+
+    private void evictIfIdle(DailyKey key, DailyAgenda agenda) {
+        if(agenda.stale && agenda.inflight == 0 && !agenda.evicted) {
+            agenda.evicted = true;
+            agende.remove(key, agenda);
+        }
+    }
+
+    private int minuteOf(LocalTime oraPrenotazione, int durataMinuti) {
+        int start = oraPrenotazione.toSecondOfDay() / 60;
+        if(durataMinuti <= 0 || start + durataMinuti > MINUTES_PER_DAY) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.durata.exception",
+                    new Object[]{oraPrenotazione, durataMinuti}, LocaleContextHolder.getLocale()));
+        }
+        return start;
+    }
+
+    private static LocalTime timeOf(int minute) {
+        return minute >= MINUTES_PER_DAY ? LocalTime.MAX.withNano(0) : LocalTime.ofSecondOfDay(minute * 60L);
+    }
+
+    private static void restore(DailyAgenda agenda, IntervalTree.Interval interval) {
+        if(interval != null) {
+            agenda.tree.insert(interval.key(), interval.start(), interval.end());
+        }
+    }
+
+}
@@ -0,0 +1,304 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneReminderDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneReminderStatsDTO;
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import co.develhope.team1studiomedico.events.EntityBatchChangedEvent;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.reminders.HierarchicalTimingWheel;
+import co.develhope.team1studiomedico.reminders.ReminderSender;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * La classe PrenotazioneReminderService realizza l'invio dei promemoria delle prenotazioni CONFIRMED,
+ * app.reminders.lead-time prima di data e ora della prenotazione, tramite il ReminderSender configurato.
+ * I promemoria sono pianificati in un HierarchicalTimingWheel in memoria (inserimento e cancellazione O(1)):
+ * le prenotazioni vengono caricate a finestre scorrevoli (sono in memoria solo i promemoria con invio entro app.reminders.window)
+ * e il wheel viene aggiornato in modo incrementale, dopo il commit, alla creazione, modifica, cancellazione e ripristino delle prenotazioni.
+ * Caricamento delle finestre, aggiornamenti e avanzamento del wheel sono eseguiti da un unico thread, quindi il wheel non richiede lock.
+ * Prima dell'invio lo stato della prenotazione viene riletto: il promemoria viene scartato se la prenotazione non è più CONFIRMED
+ * o è stata spostata. Ogni istanza dell'applicazione pianifica tutti i promemoria, ma l'invio viene aggiudicato con una UPDATE
+ * condizionale (PrenotazioneRepository.claimReminder) che registra l'istante di invio sulla prenotazione: con più istanze
+ * ogni promemoria viene inviato da una sola. I promemoria sono inviati al più una volta (un invio non riuscito dopo
+ * l'aggiudicazione non viene ripetuto): quelli previsti mentre l'applicazione è ferma non vengono recuperati
+ */
+@Service
+public class PrenotazioneReminderService {
+
+    @Autowired
+    private PrenotazioneRepository prenotazioneRepository;
+
+    @Autowired
+    private ReminderSender reminderSender;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.lead-time:24h}")
+    private Duration leadTime;
+
+    @Value("${app.reminders.tick:1s}")
+    private Duration tick;
+
+    @Value("${app.reminders.window:6h}")
+    private Duration window;
+
+    @Value("${app.reminders.chunk-size:1000}")
+    private int chunkSize;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    private ScheduledExecutorService executor;
+
+    private HierarchicalTimingWheel wheel;
+
+    /**
+     * Istante di invio fino al quale (escluso) i promemoria sono stati caricati nel wheel
+     */
+    private volatile LocalDateTime loadedUntil;
+
+    private volatile int scheduled;
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneReminderService.class);
+
+    /**
+     * All'avvio dell'applicazione crea il wheel e avvia il thread che ne gestisce avanzamento, finestre e aggiornamenti
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if(!enabled) {
+            return;
+        }
+        wheel = new HierarchicalTimingWheel(tick.toMillis(), System.currentTimeMillis());
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prenotazione-reminder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // la finestra viene estesa ogni metà finestra, così il wheel contiene sempre almeno mezza finestra di promemoria
+        long windowMillis = window.toMillis();
+        executor.scheduleWithFixedDelay(() -> run("caricamento della finestra", this::loadWindow), 0, windowMillis / 2, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(() -> run("avanzamento del wheel", this::advance), tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Aggiorna, dopo il commit, il promemoria della prenotazione modificata
+     *
+     * @param event l'evento di modifica
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if(executor == null || event.getScope() != EntityScopeEnum.PRENOTAZIONE) {
+            return;
+        }
+        if(event.isBulk()) {
+            submit("ricaricamento dei promemoria", this::reload);
+        } else {
+            submit("aggiornamento del promemoria", () -> refresh(List.of(event.getId())));
+        }
+    }
+
+    /**
+     * Aggiorna, dopo il commit, i promemoria delle prenotazioni modificate a blocchi
+     *
+     * @param event l'evento di modifica a blocchi
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityBatchChanged(EntityBatchChangedEvent event) {
+        if(executor == null || event.getScope() != EntityScopeEnum.PRENOTAZIONE) {
+            return;
+        }
+        List<Long> ids = List.copyOf(event.getIds());
+        submit("aggiornamento dei promemoria", () -> refresh(ids));
+    }
+
+    /**
+     * Metodo che restituisce le metriche dei promemoria.
+     *
+     * @return le metriche dei promemoria
+     */
+    public PrenotazioneReminderStatsDTO getStats() {
+        return new PrenotazioneReminderStatsDTO(scheduled, loadedUntil, sent.get(), skipped.get(), failed.get());
+    }
+
+    /**
+     * Carica nel wheel i promemoria con invio compreso tra la fine della finestra già caricata e now + window
+     */
+    private void loadWindow() {
+        LocalDateTime now = LocalDateTime.now(zoneId);
+        LocalDateTime from = loadedUntil == null || loadedUntil.isBefore(now) ? now : loadedUntil;
+        LocalDateTime to = now.plus(window);
+        if(!to.isAfter(from)) {
+            return;
+        }
+        LocalDateTime fromAppointment = from.plus(leadTime);
+        LocalDateTime toAppointment = to.plus(leadTime);
+        long start = System.nanoTime();
+        int loaded = 0;
+        long afterId = 0;
+        while(true) {
+            List<PrenotazioneFlatDTO> prenotazioni = prenotazioneRepository.findConfirmedPrenotazioniBetween(afterId,
+                    fromAppointment.toLocalDate(), fromAppointment.toLocalTime(), toAppointment.toLocalDate(),
+                    toAppointment.toLocalTime(), PageRequest.of(0, chunkSize));
+            for(PrenotazioneFlatDTO prenotazione : prenotazioni) {
+                wheel.schedule(prenotazione.getId(), toEpochMillis(dueAt(prenotazione)));
+            }
+            loaded += prenotazioni.size();
+            if(prenotazioni.size() < chunkSize) {
+                break;
+            }
+            afterId = prenotazioni.get(prenotazioni.size() - 1).getId();
+        }
+        loadedUntil = to;
+        scheduled = wheel.size();
+        logger.info("Promemoria: caricati {} promemoria con invio fino a {} ({} ms, {} in attesa)", loaded, to,
+                (System.nanoTime() - start) / 1_000_000, scheduled);
+    }
+
+    /**
+     * Svuota il wheel e ricarica la finestra corrente (modifiche massive delle prenotazioni)
+     */
+    private void reload() {
+        wheel.clear();
+        loadedUntil = null;
+        loadWindow();
+    }
+
+    /**
+     * Ripianifica i promemoria delle prenotazioni indicate a partire dal loro stato corrente
+     */
+    private void refresh(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now(zoneId);
+        for(List<Long> chunk : chunks(ids)) {
+            chunk.forEach(wheel::cancel);
+            for(PrenotazioneFlatDTO prenotazione : prenotazioneRepository.findFlatPrenotazioniByIds(chunk)) {
+                if(prenotazione.getStatoPrenotazione() != PrenotazioneStatusEnum.CONFIRMED) {
+                    continue;
+                }
+                LocalDateTime dueAt = dueAt(prenotazione);
+                // i promemoria oltre la finestra verranno caricati dalla finestra successiva; una prenotazione confermata
+                // a meno di lead-time dall'appuntamento riceve subito il promemoria
+                if(loadedUntil != null && dueAt.isBefore(loadedUntil) && dueAt.plus(leadTime).isAfter(now)) {
+                    wheel.schedule(prenotazione.getId(), toEpochMillis(dueAt));
+                }
+            }
+        }
+        scheduled = wheel.size();
+    }
+
+    /**
+     * Avanza il wheel all'istante corrente e invia i promemoria scaduti
+     */
+    private void advance() {
+        Map<Long, Long> expired = new LinkedHashMap<>();
+        wheel.advance(System.currentTimeMillis(), expired::put);
+        scheduled = wheel.size();
+        if(expired.isEmpty()) {
+            return;
+        }
+        for(List<Long> chunk : chunks(expired.keySet())) {
+            Map<Long, PrenotazioneFlatDTO> prenotazioni = prenotazioneRepository.findFlatPrenotazioniByIds(chunk).stream()
+                    .collect(Collectors.toMap(PrenotazioneFlatDTO::getId, Function.identity()));
+            for(Long id : chunk) {
+                PrenotazioneFlatDTO prenotazione = prenotazioni.get(id);
+                LocalDateTime dueAt = prenotazione != null ? dueAt(prenotazione) : null;
+                // il promemoria è valido solo se la prenotazione è ancora CONFIRMED e non è stata spostata dopo la pianificazione
+                if(prenotazione == null || prenotazione.getStatoPrenotazione() != PrenotazioneStatusEnum.CONFIRMED
+                        || Math.abs(toEpochMillis(dueAt) - expired.get(id)) >= tick.toMillis()) {
+                    skipped.incrementAndGet();
+                    continue;
+                }
+                if(prenotazioneRepository.claimReminder(id, prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione(), dueAt) == 0) {
+                    // spostata, annullata o già inviata da un'altra istanza
+                    skipped.incrementAndGet();
+                    continue;
+                }
+                try {
+                    reminderSender.send(new PrenotazioneReminderDTO(prenotazione.getId(), prenotazione.getPazienteId(),
+                            prenotazione.getMedicoId(), prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione(), dueAt));
+                    sent.incrementAndGet();
+                } catch(RuntimeException e) {
+                    failed.incrementAndGet();
+                    logger.error("Invio del promemoria della prenotazione {} non riuscito", id, e);
+                }
+            }
+        }
+    }
+
+    private LocalDateTime dueAt(PrenotazioneFlatDTO prenotazione) {
+        return LocalDateTime.of(prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione()).minus(leadTime);
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for(int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    private void submit(String operation, Runnable task) {
+        try {
+            executor.execute(() -> run(operation, task));
+        } catch(RuntimeException e) {
+            logger.warn("Promemoria: {} non pianificato, executor arrestato", operation);
+        }
+    }
+
+    /**
+     * Esegue il task sul thread del wheel: un'eccezione non deve interrompere i task periodici dell'executor
+     */
+    private void run(String operation, Runnable task) {
+        try {
+            task.run();
+        } catch(RuntimeException e) {
+            logger.error("Promemoria: {} non riuscito", operation, e);
+        }
+    }
+
+}
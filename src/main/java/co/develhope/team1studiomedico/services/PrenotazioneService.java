@@ -1,30 +1,70 @@
 package co.develhope.team1studiomedico.services;
 
+import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
 import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneCreateDTO;
 import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFilterDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneStatusTransitionDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneStatusTransitionResultDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneTransitionOutcomeDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioniPageDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.TransitionOutcomeEnum;
+import co.develhope.team1studiomedico.dto.sync.DeltaSyncDTO;
 import co.develhope.team1studiomedico.entities.EntityStatusEnum;
 import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
 import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityBatchChangedEvent;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.events.PrenotazioneAgendaEvent;
+import co.develhope.team1studiomedico.events.PrenotazioneSlotFreedEvent;
 import co.develhope.team1studiomedico.exceptions.EntityStatusException;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
+import co.develhope.team1studiomedico.repositories.PrenotazioneFilterRepository;
 import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import co.develhope.team1studiomedico.repositories.PrenotazioneStatelessRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.validation.constraints.NotNull;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * La classe PrenotazioneService realizza la logica di business relativamente le operazioni di CRUD dei dati di PrenotazioneEntity.
@@ -37,6 +77,12 @@ public class PrenotazioneService {
     @Autowired
     private PrenotazioneRepository prenotazioneRepository;
 
+    @Autowired
+    private PrenotazioneStatelessRepository prenotazioneStatelessRepository;
+
+    @Value("${app.prenotazioni.stateless-read:false}")
+    private boolean statelessRead;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -46,6 +92,27 @@ public class PrenotazioneService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @Autowired
+    private PrenotazioneCapacityService prenotazioneCapacityService;
+
+    @Autowired
+    private PrenotazioneOverlapService prenotazioneOverlapService;
+
+    @Autowired
+    private MedicoCalendarioService medicoCalendarioService;
+
+    private static final int FILTER_DEFAULT_LIMIT = 50;
+    private static final int FILTER_MAX_LIMIT = 500;
+
     private static final Logger logger = LoggerFactory.getLogger(PrenotazioneService.class);
 
     /**
@@ -62,9 +129,21 @@ public class PrenotazioneService {
             prenotazione.setId(null);
             prenotazione.setRecordStatus(EntityStatusEnum.ACTIVE);
             prenotazione.setStatoPrenotazione(PrenotazioneStatusEnum.PENDING);
+            if(prenotazione.getDurataMinuti() == null) {
+                prenotazione.setDurataMinuti(prenotazioneOverlapService.getDefaultDurataMinuti());
+            }
+            medicoCalendarioService.checkDisponibile(prenotazioneCreateDTO.getMedicoId(), prenotazione.getDataPrenotazione(),
+                    prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti());
+            prenotazioneCapacityService.reserve(prenotazioneCreateDTO.getMedicoId(), prenotazione.getDataPrenotazione());
             prenotazione = prenotazioneRepository.saveAndFlush(prenotazione);
+            prenotazioneOverlapService.occupy(prenotazione.getId(), prenotazioneCreateDTO.getMedicoId(), prenotazione.getDataPrenotazione(),
+                    prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti());
             entityManager.refresh(prenotazione);
-            return convertToDTO(prenotazione);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.CREATE, prenotazione.getId()));
+            PrenotazioneDTO prenotazioneDTO = convertToDTO(prenotazione);
+            applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.CREATE, prenotazione.getId(),
+                    medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(), null, prenotazioneDTO));
+            return prenotazioneDTO;
         } finally {
             logger.info("Fine processo createPrenotazione in PrenotazioneService");
         }
@@ -75,10 +154,11 @@ public class PrenotazioneService {
      *
      * @return le prenotazioni con record status ACTIVE
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioni() {
-        return prenotazioneRepository.findByRecordStatus(EntityStatusEnum.ACTIVE, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
+        return findByRecordStatus(EntityStatusEnum.ACTIVE)
                 .stream()
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -87,23 +167,87 @@ public class PrenotazioneService {
      *
      * @return le prenotazioni cancellate logicamente con record status DELETED.
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllDeletedPrenotazioni() {
-        return prenotazioneRepository.findByRecordStatus(EntityStatusEnum.DELETED, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
+        return findByRecordStatus(EntityStatusEnum.DELETED)
                 .stream()
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ricerca componibile delle prenotazioni ACTIVE: tutti i criteri valorizzati del filtro vengono messi in AND
+     * ed eseguiti in un'unica query. Anno e mese vengono tradotti in un intervallo di date (intersecato con
+     * data, data inizio e data fine se presenti). La paginazione è keyset: il cursore restituito codifica
+     * data, ora e id dell'ultima prenotazione della pagina.
+     *
+     * @param filter i criteri di ricerca, ordinamento e paginazione
+     * @return la pagina delle prenotazioni con il cursore della pagina successiva
+     * @throws IllegalArgumentException se il mese è indicato senza l'anno o se il cursore non è valido
+     */
+    @Transactional(readOnly = true)
+    public PrenotazioniPageDTO searchPrenotazioni(@NotNull PrenotazioneFilterDTO filter) {
+        LocalDate fromDate = max(filter.getStartDate(), filter.getDataPrenotazione());
+        LocalDate toDate = min(filter.getEndDate(), filter.getDataPrenotazione());
+        if(filter.getMonth() != null) {
+            if(filter.getYear() == null) {
+                throw new IllegalArgumentException(messageSource.getMessage("error.filter.month.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+            YearMonth yearMonth = YearMonth.of(filter.getYear(), filter.getMonth());
+            fromDate = max(fromDate, yearMonth.atDay(1));
+            toDate = min(toDate, yearMonth.atEndOfMonth());
+        } else if(filter.getYear() != null) {
+            Year year = Year.of(filter.getYear());
+            fromDate = max(fromDate, year.atDay(1));
+            toDate = min(toDate, year.atMonth(12).atEndOfMonth());
+        }
+
+        int limit = filter.getLimit() == null ? FILTER_DEFAULT_LIMIT : Math.max(1, Math.min(filter.getLimit(), FILTER_MAX_LIMIT));
+        List<PrenotazioneEntity> prenotazioni = prenotazioneRepository.findPrenotazioniByFilter(filter, fromDate, toDate,
+                decodeCursor(filter.getCursor()), limit + 1);
+
+        String nextCursor = null;
+        if(prenotazioni.size() > limit) {
+            prenotazioni = prenotazioni.subList(0, limit);
+            nextCursor = encodeCursor(prenotazioni.get(limit - 1));
+        }
+        return new PrenotazioniPageDTO(prenotazioni.stream().map(listConverter()).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Sincronizzazione incrementale (delta sync) delle prenotazioni: restituisce le prenotazioni create, modificate,
+     * cancellate logicamente o ripristinate dopo il token della sincronizzazione precedente (tutte, se il token è assente).
+     * La lettura avviene in una transazione di lettura e scrittura, quindi sul datasource primario (vedi DeltaSyncService)
+     *
+     * @param medicoId id del medico dell'agenda da sincronizzare, null per tutte le prenotazioni
+     * @param token token restituito dalla sincronizzazione precedente
+     * @param limit numero massimo di prenotazioni restituite
+     * @return il DTO del delta sync delle prenotazioni
+     */
+    @Transactional
+    public DeltaSyncDTO<PrenotazioneDTO> getPrenotazioniDelta(Long medicoId, String token, Integer limit) {
+        long startedAt = System.currentTimeMillis();
+        DeltaSyncService.Watermark since = deltaSyncService.decodeToken(token);
+        Pageable page = deltaSyncService.page(limit);
+        List<PrenotazioneEntity> prenotazioni = medicoId == null
+                ? prenotazioneRepository.findPrenotazioniModifiedAfter(since.lastModifiedDate(), since.id(), page)
+                : prenotazioneRepository.findPrenotazioniByMedicoIdModifiedAfter(medicoId, since.lastModifiedDate(), since.id(), page);
+        return deltaSyncService.toDelta(prenotazioni, page, since, startedAt,
+                PrenotazioneEntity::getId, PrenotazioneEntity::getRecordStatus, listConverter());
+    }
+
     /**
      * Metodo che restituisce la prenotazione tramite id.
      *
      * @param id l' id
      * @return il DTO della prenotazione tramite id
      */
+    @Transactional(readOnly = true)
     public PrenotazioneDTO getPrenotazioneById(Long id) {
         PrenotazioneEntity prenotazione = prenotazioneRepository.findById(id)
                 .filter(prenotazioneEntity -> prenotazioneEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(prenotazione);
 
@@ -116,11 +260,16 @@ public class PrenotazioneService {
      * @param id         l'id
      * @return il DTO della prenotazione
      */
+    @Transactional
     public PrenotazioneDTO updatePrenotazioneById(@NotNull PrenotazioneDTO prenotazioneEdit, Long id) {
         PrenotazioneEntity prenotazione = prenotazioneRepository.findById(id)
                 .filter(prenotazioneEntity -> prenotazioneEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
+        LocalDate previousDataPrenotazione = prenotazione.getDataPrenotazione();
+        LocalTime previousOraPrenotazione = prenotazione.getOraPrenotazione();
+        Integer previousDurataMinuti = prenotazione.getDurataMinuti();
+        PrenotazioneStatusEnum previousStato = prenotazione.getStatoPrenotazione();
 
         if(prenotazioneEdit.getDataPrenotazione() != null) {
             prenotazione.setDataPrenotazione(prenotazioneEdit.getDataPrenotazione());
@@ -128,11 +277,45 @@ public class PrenotazioneService {
         if(prenotazioneEdit.getOraPrenotazione() != null) {
             prenotazione.setOraPrenotazione(prenotazioneEdit.getOraPrenotazione());
         }
-        if(prenotazioneEdit.getStatoPrenotazione() != null) {
+        if(prenotazioneEdit.getDurataMinuti() != null) {
+            prenotazione.setDurataMinuti(prenotazioneEdit.getDurataMinuti());
+        }
+        if(prenotazioneEdit.getStatoPrenotazione() != null && prenotazioneEdit.getStatoPrenotazione() != previousStato) {
+            if(!previousStato.canTransitionTo(prenotazioneEdit.getStatoPrenotazione())) {
+                throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.transition.invalid.exception",
+                        new Object[]{previousStato, prenotazioneEdit.getStatoPrenotazione()}, LocaleContextHolder.getLocale()));
+            }
             prenotazione.setStatoPrenotazione(prenotazioneEdit.getStatoPrenotazione());
         }
+        // la capacità giornaliera si applica solo se la prenotazione inizia a occupare una giornata del medico
+        boolean dayChanged = !previousDataPrenotazione.equals(prenotazione.getDataPrenotazione());
+        boolean occupies = prenotazione.getStatoPrenotazione().occupiesSlot();
+        if(occupies && (!previousStato.occupiesSlot() || dayChanged)) {
+            prenotazioneCapacityService.reserve(medicoIdOf(prenotazione), prenotazione.getDataPrenotazione());
+        }
+        if(previousStato.occupiesSlot() && (!occupies || dayChanged)) {
+            prenotazioneCapacityService.release(medicoIdOf(prenotazione), previousDataPrenotazione);
+            prenotazioneOverlapService.release(prenotazione.getId(), medicoIdOf(prenotazione), previousDataPrenotazione);
+        }
+        // orario del medico e sovrapposizione vengono controllati se la prenotazione inizia a occupare un intervallo o se l'intervallo cambia
+        boolean slotChanged = dayChanged || !previousOraPrenotazione.equals(prenotazione.getOraPrenotazione());
+        if(occupies && (!previousStato.occupiesSlot() || slotChanged || !previousDurataMinuti.equals(prenotazione.getDurataMinuti()))) {
+            medicoCalendarioService.checkDisponibile(medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(),
+                    prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti());
+            prenotazioneOverlapService.occupy(prenotazione.getId(), medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(),
+                    prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti());
+        }
 
-        return convertToDTO(prenotazioneRepository.saveAndFlush(prenotazione));
+        prenotazione = prenotazioneRepository.saveAndFlush(prenotazione);
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.UPDATE, prenotazione.getId()));
+        PrenotazioneDTO prenotazioneDTO = convertToDTO(prenotazione);
+        applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.UPDATE, prenotazione.getId(),
+                medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(), previousDataPrenotazione, prenotazioneDTO));
+        if(previousStato.occupiesSlot() && (!occupies || slotChanged)) {
+            applicationEventPublisher.publishEvent(new PrenotazioneSlotFreedEvent(prenotazione.getId(), medicoIdOf(prenotazione),
+                    previousDataPrenotazione, previousOraPrenotazione));
+        }
+        return prenotazioneDTO;
     }
 
     /**
@@ -140,11 +323,12 @@ public class PrenotazioneService {
      *
      * @param id l'id
      */
+    @Transactional
     public void deletePrenotazioneById(Long id) {
         try {
             logger.info("Inizio processo deletePrenotazioneById in PrenotazioneService");
             PrenotazioneEntity prenotazione = prenotazioneRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(prenotazione.getRecordStatus().equals(EntityStatusEnum.DELETED)) {
@@ -152,6 +336,15 @@ public class PrenotazioneService {
                         null, LocaleContextHolder.getLocale()));
             }
             prenotazioneRepository.softDeleteById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.DELETE, id));
+            applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.DELETE, id,
+                    medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(), null, null));
+            if(prenotazione.getStatoPrenotazione().occupiesSlot()) {
+                prenotazioneCapacityService.release(medicoIdOf(prenotazione), prenotazione.getDataPrenotazione());
+                prenotazioneOverlapService.release(id, medicoIdOf(prenotazione), prenotazione.getDataPrenotazione());
+                applicationEventPublisher.publishEvent(new PrenotazioneSlotFreedEvent(id, medicoIdOf(prenotazione),
+                        prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione()));
+            }
         } finally {
             logger.info("Fine processo deletePrenotazioneById in PrenotazioneService");
         }
@@ -160,10 +353,15 @@ public class PrenotazioneService {
     /**
      * Metodo che cancella tutte le prenotazioni (soft delete)
      */
+    @Transactional
     public void deleteAllPrenotazioni() {
         try {
             logger.info("Inizio processo deleteAllPrenotazioni in PrenotazioneService");
             prenotazioneRepository.softDelete();
+            prenotazioneCapacityService.reconcileAfterCommit();
+            prenotazioneOverlapService.invalidateAllAfterCommit();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.DELETE, null));
+            applicationEventPublisher.publishEvent(PrenotazioneAgendaEvent.bulk(ChangeTypeEnum.DELETE));
         } finally {
             logger.info("Fine processo deleteAllPrenotazioni in PrenotazioneService");
         }
@@ -174,11 +372,12 @@ public class PrenotazioneService {
      *
      * @param id l'id
      */
+    @Transactional
     public void restorePrenotazioneById(Long id) {
         try {
             logger.info("Inizio processo restorePrenotazioneById in PrenotazioneService");
             PrenotazioneEntity prenotazione = prenotazioneRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.prenotazione.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE)) {
@@ -186,6 +385,14 @@ public class PrenotazioneService {
                         null, LocaleContextHolder.getLocale()));
             }
             prenotazioneRepository.restoreById(id);
+            if(prenotazione.getStatoPrenotazione().occupiesSlot()) {
+                prenotazioneCapacityService.acquire(medicoIdOf(prenotazione), prenotazione.getDataPrenotazione());
+                prenotazioneOverlapService.acquire(id, medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(),
+                        prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti());
+            }
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.RESTORE, id));
+            applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.RESTORE, id,
+                    medicoIdOf(prenotazione), prenotazione.getDataPrenotazione(), null, convertToDTO(prenotazione)));
         } finally {
             logger.info("Fine processo restorePrenotazioneById in PrenotazioneService");
         }
@@ -194,15 +401,228 @@ public class PrenotazioneService {
     /**
      * Metodo che ripristina tutti le prenotazioni.
      */
+    @Transactional
     public void restoreAllPrenotazioni() {
         try {
             logger.info("Inizio processo restoreAllPrenotazioni in PrenotazioneService");
             prenotazioneRepository.restore();
+            prenotazioneCapacityService.reconcileAfterCommit();
+            prenotazioneOverlapService.invalidateAllAfterCommit();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.RESTORE, null));
+            applicationEventPublisher.publishEvent(PrenotazioneAgendaEvent.bulk(ChangeTypeEnum.RESTORE));
         } finally {
             logger.info("Fine processo restoreAllPrenotazioni in PrenotazioneService");
         }
     }
 
+    /**
+     * Metodo che esegue la transizione di stato massiva delle prenotazioni indicate tramite id o tramite filtro
+     * (medico, data e stato corrente). Le transizioni vengono validate per ogni prenotazione e applicate con un'unica UPDATE
+     * alle sole prenotazioni ancora in uno stato di partenza consentito, bloccate fino al commit: le prenotazioni modificate
+     * nel frattempo da un'altra richiesta non vengono aggiornate e risultano in conflitto.
+     *
+     * @param transition la richiesta di transizione di stato
+     * @return il numero di prenotazioni aggiornate e l'esito per ogni prenotazione considerata
+     */
+    @Transactional
+    public PrenotazioneStatusTransitionResultDTO transitionStatoPrenotazioni(@NotNull PrenotazioneStatusTransitionDTO transition) {
+        try {
+            logger.info("Inizio processo transitionStatoPrenotazioni in PrenotazioneService");
+            PrenotazioneStatusEnum toStato = transition.getToStato();
+            List<Long> ids;
+            List<PrenotazioneFlatDTO> prenotazioni;
+            if(transition.getIds() != null && !transition.getIds().isEmpty()) {
+                ids = transition.getIds().stream().filter(Objects::nonNull).distinct().toList();
+                prenotazioni = prenotazioneRepository.findFlatPrenotazioniByIds(ids);
+            } else if(transition.getMedicoId() != null && transition.getDataPrenotazione() != null && transition.getFromStato() != null) {
+                if(!transition.getFromStato().canTransitionTo(toStato)) {
+                    throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.transition.invalid.exception",
+                            new Object[]{transition.getFromStato(), toStato}, LocaleContextHolder.getLocale()));
+                }
+                prenotazioni = prenotazioneRepository.findFlatPrenotazioniByMedicoIdAndDataPrenotazioneAndStato(
+                        transition.getMedicoId(), transition.getDataPrenotazione(), transition.getFromStato());
+                ids = prenotazioni.stream().map(PrenotazioneFlatDTO::getId).toList();
+            } else {
+                throw new IllegalArgumentException(messageSource.getMessage("error.prenotazione.transition.request.exception",
+                        null, LocaleContextHolder.getLocale()));
+            }
+
+            Map<Long, PrenotazioneFlatDTO> prenotazioniById = prenotazioni.stream()
+                    .collect(Collectors.toMap(PrenotazioneFlatDTO::getId, Function.identity()));
+            List<Long> eligibleIds = ids.stream()
+                    .filter(id -> prenotazioniById.containsKey(id) && prenotazioniById.get(id).getStatoPrenotazione().canTransitionTo(toStato))
+                    .toList();
+            // le prenotazioni ancora in uno stato di partenza vengono bloccate fino al commit, così la UPDATE modifica esattamente
+            // queste: capacità, agenda e lista di attesa vengono aggiornate solo per le prenotazioni modificate da questa richiesta,
+            // con i dati letti sotto lock
+            Map<Long, PrenotazioneFlatDTO> updatedById = new HashMap<>();
+            if(!eligibleIds.isEmpty()) {
+                List<PrenotazioneFlatDTO> locked = prenotazioneRepository.lockFlatPrenotazioniByIdsAndStati(eligibleIds,
+                        PrenotazioneStatusEnum.sourcesOf(toStato));
+                if(!locked.isEmpty()) {
+                    locked.forEach(prenotazione -> updatedById.put(prenotazione.getId(), prenotazione));
+                    prenotazioneRepository.transitionStatoByIds(toStato, updatedById.keySet(), PrenotazioneStatusEnum.sourcesOf(toStato));
+                }
+            }
+            Set<Long> updatedIds = updatedById.keySet();
+
+            List<PrenotazioneTransitionOutcomeDTO> outcomes = new ArrayList<>(ids.size());
+            Set<List<Object>> agende = new HashSet<>();
+            for(Long id : ids) {
+                PrenotazioneFlatDTO prenotazione = prenotazioniById.get(id);
+                if(prenotazione == null) {
+                    outcomes.add(new PrenotazioneTransitionOutcomeDTO(id, null, TransitionOutcomeEnum.NOT_FOUND));
+                } else if(!prenotazione.getStatoPrenotazione().canTransitionTo(toStato)) {
+                    outcomes.add(new PrenotazioneTransitionOutcomeDTO(id, prenotazione.getStatoPrenotazione(), TransitionOutcomeEnum.INVALID_TRANSITION));
+                } else if(!updatedIds.contains(id)) {
+                    outcomes.add(new PrenotazioneTransitionOutcomeDTO(id, prenotazione.getStatoPrenotazione(), TransitionOutcomeEnum.CONFLICT));
+                } else {
+                    prenotazione = updatedById.get(id);
+                    outcomes.add(new PrenotazioneTransitionOutcomeDTO(id, prenotazione.getStatoPrenotazione(), TransitionOutcomeEnum.UPDATED));
+                    if(!toStato.occupiesSlot()) {
+                        prenotazioneCapacityService.release(prenotazione.getMedicoId(), prenotazione.getDataPrenotazione());
+                        prenotazioneOverlapService.release(id, prenotazione.getMedicoId(), prenotazione.getDataPrenotazione());
+                        applicationEventPublisher.publishEvent(new PrenotazioneSlotFreedEvent(id, prenotazione.getMedicoId(),
+                                prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione()));
+                    }
+                    // un solo evento per agenda (medico e giorno) coinvolta: il client ricarica l'agenda
+                    if(agende.add(List.of(prenotazione.getMedicoId(), prenotazione.getDataPrenotazione()))) {
+                        applicationEventPublisher.publishEvent(new PrenotazioneAgendaEvent(ChangeTypeEnum.UPDATE, id,
+                                prenotazione.getMedicoId(), prenotazione.getDataPrenotazione(), null, null));
+                    }
+                }
+            }
+            if(!updatedIds.isEmpty()) {
+                applicationEventPublisher.publishEvent(new EntityBatchChangedEvent(EntityScopeEnum.PRENOTAZIONE, ChangeTypeEnum.UPDATE,
+                        List.copyOf(updatedIds)));
+            }
+            return new PrenotazioneStatusTransitionResultDTO(toStato, updatedIds.size(), outcomes);
+        } finally {
+            logger.info("Fine processo transitionStatoPrenotazioni in PrenotazioneService");
+        }
+    }
+
+    /**
+     * Scrive in streaming sull'output stream le prenotazioni con record status ACTIVE in formato NDJSON
+     * (un DTO JSON per riga), senza materializzare in memoria l'intera lista dei risultati.
+     *
+     * @param outputStream l'output stream della response
+     * @throws IOException in caso di errore di scrittura
+     */
+    @Transactional(readOnly = true)
+    public void streamAllPrenotazioni(OutputStream outputStream) throws IOException {
+        try (Stream<PrenotazioneEntity> prenotazioni = prenotazioneRepository.streamByRecordStatus(EntityStatusEnum.ACTIVE)) {
+            writeNdjson(prenotazioni, outputStream);
+        }
+    }
+
+    /**
+     * Scrive in streaming sull'output stream le prenotazioni con record status ACTIVE
+     * nell'intervallo di due date considerate, in formato NDJSON.
+     *
+     * @param startDate data inizio
+     * @param endDate data fine
+     * @param outputStream l'output stream della response
+     * @throws IOException in caso di errore di scrittura
+     */
+    @Transactional(readOnly = true)
+    public void streamPrenotazioniBetweenDatePrenotazione(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException {
+        try (Stream<PrenotazioneEntity> prenotazioni = prenotazioneRepository
+                .streamPrenotazioniBetweenDatePrenotazione(startDate, endDate, EntityStatusEnum.ACTIVE)) {
+            writeNdjson(prenotazioni, outputStream);
+        }
+    }
+
+    /**
+     * Scrive in streaming sull'output stream le prenotazioni con record status ACTIVE dell'anno (year) considerato,
+     * in formato NDJSON.
+     *
+     * @param year anno (year) di ricerca
+     * @param outputStream l'output stream della response
+     * @throws IOException in caso di errore di scrittura
+     */
+    @Transactional(readOnly = true)
+    public void streamPrenotazioniByYear(Integer year, OutputStream outputStream) throws IOException {
+        Year anno = Year.of(year);
+        try (Stream<PrenotazioneEntity> prenotazioni = prenotazioneRepository
+                .streamPrenotazioniBetweenDatePrenotazione(anno.atDay(1), anno.atDay(anno.length()), EntityStatusEnum.ACTIVE)) {
+            writeNdjson(prenotazioni, outputStream);
+        }
+    }
+
+    /**
+     * Converte e scrive una riga alla volta le prenotazioni dello stream. Ad ogni blocco di righe
+     * pari al fetch size il buffer viene inviato al client e il persistence context svuotato,
+     * così l'occupazione di memoria resta costante a prescindere dalla dimensione dell'export
+     *
+     * @param prenotazioni lo stream delle prenotazioni
+     * @param outputStream l'output stream della response
+     * @throws IOException in caso di errore di scrittura
+     */
+    private void writeNdjson(Stream<PrenotazioneEntity> prenotazioni, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<PrenotazioneEntity> iterator = prenotazioni.iterator();
+            int count = 0;
+            while(iterator.hasNext()) {
+                writer.writeValue(generator, convertToDTO(iterator.next()));
+                generator.writeRaw('\n');
+                if(++count % PrenotazioneRepository.STREAM_FETCH_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Restituisce l'id del medico della prenotazione, null se la prenotazione non ha un medico
+     */
+    private static Long medicoIdOf(PrenotazioneEntity prenotazione) {
+        return prenotazione.getMedico() == null ? null : prenotazione.getMedico().getId();
+    }
+
+    /**
+     * Codifica il cursore opaco (Base64 URL-safe di data|ora|id) a partire dall'ultima prenotazione della pagina
+     */
+    private static String encodeCursor(PrenotazioneEntity prenotazione) {
+        String key = prenotazione.getDataPrenotazione() + "|" + prenotazione.getOraPrenotazione() + "|" + prenotazione.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PrenotazioneFilterRepository.Keyset decodeCursor(String cursor) {
+        if(cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new PrenotazioneFilterRepository.Keyset(LocalDate.parse(key[0]), LocalTime.parse(key[1]), Long.valueOf(key[2]));
+        } catch(RuntimeException e) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.cursor.invalid.exception",
+                    null, LocaleContextHolder.getLocale()));
+        }
+    }
+
+    /**
+     * Restituisce le prenotazioni con il record status considerato ordinate per data e ora,
+     * tramite la StatelessSession se la lettura stateless è abilitata (app.prenotazioni.stateless-read)
+     */
+    private List<PrenotazioneEntity> findByRecordStatus(EntityStatusEnum recordStatus) {
+        if(statelessRead) {
+            return prenotazioneStatelessRepository.findByRecordStatus(recordStatus);
+        }
+        return prenotazioneRepository.findByRecordStatus(recordStatus, Sort.by("dataPrenotazione", "oraPrenotazione").ascending());
+    }
+
     /**
      * Metodo che converte un oggetto PrenotazioneCreateDTO in un oggetto PrenotazioneEntity
      * @param prenotazioneCreateDTO il DTO di creazione della prenotazione
@@ -230,11 +650,30 @@ public class PrenotazioneService {
         return modelMapper.map(prenotazione, PrenotazioneDTO.class);
     }
 
+    /**
+     * Restituisce un convertitore PrenotazioneEntity - PrenotazioneDTO da utilizzare per una singola lista di risultati.
+     * I DTO di paziente e medico vengono mappati una sola volta per id e condivisi tra le prenotazioni della lista,
+     * evitando di ripetere la conversione con ModelMapper dello stesso medico / paziente su ogni riga
+     *
+     * @return il convertitore delle prenotazioni della lista
+     */
+    private Function<PrenotazioneEntity, PrenotazioneDTO> listConverter() {
+        Map<Long, PazienteDTO> pazienti = new HashMap<>();
+        Map<Long, MedicoDTO> medici = new HashMap<>();
+        return prenotazione -> new PrenotazioneDTO(prenotazione.getId(), prenotazione.getBookedAt(),
+                prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione(), prenotazione.getDurataMinuti(),
+                prenotazione.getStatoPrenotazione(), prenotazione.getPaziente() == null ? null : pazienti.computeIfAbsent(prenotazione.getPaziente().getId(),
+                        id -> modelMapper.map(prenotazione.getPaziente(), PazienteDTO.class)),
+                prenotazione.getMedico() == null ? null : medici.computeIfAbsent(prenotazione.getMedico().getId(),
+                        id -> modelMapper.map(prenotazione.getMedico(), MedicoDTO.class)));
+    }
+
     /**
      * Restituisce il numero delle prenotazioni della data considerata
      * @param dataPrenotazione data di prenotazione
      * @return il numero delle prenotazioni della data considerata
      */
+    @Transactional(readOnly = true)
     public Integer countPrenotazioniByDataPrenotazione(LocalDate dataPrenotazione) {
         return prenotazioneRepository.countPrenotazioniByDataPrenotazione(dataPrenotazione);
     }
@@ -245,6 +684,7 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return il numero delle prenotazioni della data considerata collegate all'id del medico
      */
+    @Transactional(readOnly = true)
     public Integer countPrenotazioniByDataPrenotazioneAndMedicoId(LocalDate dataPrenotazione, Long medicoId) {
         return prenotazioneRepository.countPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId);
     }
@@ -255,20 +695,42 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return il numero delle prenotazioni della data considerata collegate all'id del segretario
      */
+    @Transactional(readOnly = true)
     public Integer countPrenotazioniByDataPrenotazioneAndSegretarioId(LocalDate dataPrenotazione, Long segretarioId) {
         return prenotazioneRepository.countPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId);
     }
 
+    /**
+     * Verifica se una prenotazione del medico alla data e ora considerate, della durata indicata (durata di default se assente),
+     * rientra nell'orario di lavoro del medico, fuori dalle sue assenze, e non si sovrappone alle prenotazioni PENDING o CONFIRMED
+     * della giornata; la sovrapposizione viene cercata solo se il medico riceve nell'intervallo
+     * @param medicoId id del medico
+     * @param dataPrenotazione data di prenotazione
+     * @param oraPrenotazione ora di prenotazione
+     * @param durataMinuti durata in minuti, null per la durata di default
+     * @return l'esito della verifica (fits) e, se l'intervallo non è libero, se il medico riceve nell'intervallo (disponibile)
+     * o l'id della prenotazione sovrapposta (overlapId)
+     */
+    public Map<String, Object> fitsPrenotazione(Long medicoId, LocalDate dataPrenotazione, LocalTime oraPrenotazione, Integer durataMinuti) {
+        int durata = durataMinuti == null ? prenotazioneOverlapService.getDefaultDurataMinuti() : durataMinuti;
+        if(!medicoCalendarioService.isDisponibile(medicoId, dataPrenotazione, oraPrenotazione, durata)) {
+            return Map.of("fits", false, "disponibile", false);
+        }
+        Long overlapId = prenotazioneOverlapService.findOverlappingPrenotazioneId(medicoId, dataPrenotazione, oraPrenotazione, durata);
+        return overlapId == null ? Map.of("fits", true) : Map.of("fits", false, "overlapId", overlapId);
+    }
+
     /**
      * Ricerca e restituisce le prenotazioni a partire dall'id del medico (foreign key medicoId in prenotazione)
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per id medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByMedicoId(Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByMedicoId(medicoId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -277,11 +739,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate per id paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByPazienteId(Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniByPazienteId(pazienteId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -291,11 +754,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per id segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBySegretarioId(Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniBySegretarioId(segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -304,11 +768,12 @@ public class PrenotazioneService {
      * @param dataPrenotazione data di prenotazione
      * @return lista delle prenotazioni filtrate per data di prenotazione
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazione(LocalDate dataPrenotazione) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazione(dataPrenotazione, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -318,11 +783,12 @@ public class PrenotazioneService {
      * @param oraPrenotazione ora della prenotazione
      * @return lista delle prenotazioni filtrate per data e ora della prenotazione
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazione(LocalDate dataPrenotazione, LocalTime oraPrenotazione) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndOraPrenotazione(dataPrenotazione, oraPrenotazione, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -332,11 +798,18 @@ public class PrenotazioneService {
      * @param endDate data fine
      * @return lista delle prenotazioni nell'intervallo di due date considerate
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazione(LocalDate startDate, LocalDate endDate) {
+        if(statelessRead) {
+            return prenotazioneStatelessRepository.findPrenotazioniBetweenDatePrenotazione(startDate, endDate, EntityStatusEnum.ACTIVE)
+                    .stream()
+                    .map(listConverter())
+                    .collect(Collectors.toList());
+        }
         return prenotazioneRepository.findPrenotazioniBetweenDatePrenotazione(startDate, endDate)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -345,11 +818,12 @@ public class PrenotazioneService {
      * @param statoPrenotazione stato della prenotazione
      * @return lista delle prenotazioni filtrate per stato prenotazione
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazione(PrenotazioneStatusEnum statoPrenotazione) {
         return prenotazioneRepository.findPrenotazioniByStatoPrenotazione(statoPrenotazione, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -359,11 +833,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per data di prenotazione e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndMedicoId(LocalDate dataPrenotazione, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, medicoId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -373,11 +848,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate per data di prenotazione e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndPazienteId(LocalDate dataPrenotazione, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndPazienteId(dataPrenotazione, pazienteId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -387,11 +863,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per data di prenotazione e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndSegretarioId(LocalDate dataPrenotazione, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndSegretarioId(dataPrenotazione, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -402,11 +879,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(LocalDate dataPrenotazione, LocalTime oraPrenotazione, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndMedicoId(dataPrenotazione, oraPrenotazione, medicoId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -417,11 +895,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per data, ora della prenotazione e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(LocalDate dataPrenotazione, LocalTime oraPrenotazione, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniByDataPrenotazioneAndOraPrenotazioneAndSegretarioId(dataPrenotazione, oraPrenotazione, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -432,11 +911,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni nell'intervallo di due date considerate e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndMedicoId(LocalDate startDate, LocalDate endDate, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniBetweenDatePrenotazioneAndMedicoId(startDate, endDate, medicoId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -447,11 +927,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni nell'intervallo di due date considerate e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndSegretarioId(LocalDate startDate, LocalDate endDate, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniBetweenDatePrenotazioneAndSegretarioId(startDate, endDate, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -462,11 +943,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni nell'intervallo di due date considerate e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenDatePrenotazioneAndPazienteId(LocalDate startDate, LocalDate endDate, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniBetweenDatePrenotazioneAndPazienteId(startDate, endDate, pazienteId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -476,11 +958,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per stato prenotazione e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndMedicoId(PrenotazioneStatusEnum statoPrenotazione, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByStatoPrenotazioneAndMedicoId(statoPrenotazione, medicoId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -490,11 +973,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per stato prenotazione e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndSegretarioId(PrenotazioneStatusEnum statoPrenotazione, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniByStatoPrenotazioneAndSegretarioId(statoPrenotazione, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -504,11 +988,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate per stato prenotazione e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByStatoPrenotazioneAndPazienteId(PrenotazioneStatusEnum statoPrenotazione, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniByStatoPrenotazioneAndPazienteId(statoPrenotazione, pazienteId, Sort.by("dataPrenotazione", "oraPrenotazione").ascending())
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -517,11 +1002,12 @@ public class PrenotazioneService {
      * @param year anno (year) di ricerca
      * @return lista delle prenotazioni filtrate per anno (year)
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByYear(Integer year) {
         return prenotazioneRepository.findPrenotazioniByYear(year)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -531,11 +1017,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per anno (year) e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByYearAndMedicoId(Integer year, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByYearAndMedicoId(year, medicoId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -545,11 +1032,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per anno (year) e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByYearAndSegretarioId(Integer year, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniByYearAndSegretarioId(year, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -559,11 +1047,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate per anno (year) e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByYearAndPazienteId(Integer year, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniByYearAndPazienteId(year, pazienteId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -573,11 +1062,12 @@ public class PrenotazioneService {
      * @param year anno (year) di ricerca
      * @return lista delle prenotazioni filtrate per mese (month) e anno (year)
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYear(Integer month, Integer year) {
         return prenotazioneRepository.findPrenotazioniByMonthAndYear(month, year)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -588,11 +1078,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndMedicoId(Integer month, Integer year, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniByMonthAndYearAndMedicoId(month, year, medicoId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -603,11 +1094,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndSegretarioId(Integer month, Integer year, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniByMonthAndYearAndSegretarioId(month, year, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -618,11 +1110,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate per mese (month), anno (year) e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniByMonthAndYearAndPazienteId(Integer month, Integer year, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniByMonthAndYearAndPazienteId(month, year, pazienteId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -634,11 +1127,12 @@ public class PrenotazioneService {
      * @param toYear anno (year) fine
      * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYears(Integer fromMonth, Integer toMonth, Integer fromYear, Integer toYear) {
         return prenotazioneRepository.findPrenotazioniBetweenMonthsAndYears(fromMonth, toMonth, fromYear, toYear)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -651,11 +1145,12 @@ public class PrenotazioneService {
      * @param medicoId id del medico
      * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del medico
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndMedicoId(Integer fromMonth, Integer toMonth, Integer fromYear, Integer toYear, Long medicoId) {
         return prenotazioneRepository.findPrenotazioniBetweenMonthsAndYearsAndMedicoId(fromMonth, toMonth, fromYear, toYear, medicoId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -668,11 +1163,12 @@ public class PrenotazioneService {
      * @param segretarioId id del segretario
      * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del segretario
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndSegretarioId(Integer fromMonth, Integer toMonth, Integer fromYear, Integer toYear, Long segretarioId) {
         return prenotazioneRepository.findPrenotazioniBetweenMonthsAndYearsAndSegretarioId(fromMonth, toMonth, fromYear, toYear, segretarioId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -685,11 +1181,12 @@ public class PrenotazioneService {
      * @param pazienteId id del paziente
      * @return lista delle prenotazioni filtrate nell'intervallo di due mesi e due anni considerati, e id del paziente
      */
+    @Transactional(readOnly = true)
     public List<PrenotazioneDTO> getAllPrenotazioniBetweenMonthsAndYearsAndPazienteId(Integer fromMonth, Integer toMonth, Integer fromYear, Integer toYear, Long pazienteId) {
         return prenotazioneRepository.findPrenotazioniBetweenMonthsAndYearsAndPazienteId(fromMonth, toMonth, fromYear, toYear, pazienteId)
                 .stream()
                 .filter(prenotazione -> prenotazione.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .map(this::convertToDTO)
+                .map(listConverter())
                 .collect(Collectors.toList());
     }
 
@@ -4,7 +4,11 @@ import co.develhope.team1studiomedico.dto.segretario.SegretarioCreateDTO;
 import co.develhope.team1studiomedico.dto.segretario.SegretarioDTO;
 import co.develhope.team1studiomedico.entities.EntityStatusEnum;
 import co.develhope.team1studiomedico.entities.SegretarioEntity;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityChangedEvent;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
 import co.develhope.team1studiomedico.exceptions.EntityStatusException;
+import co.develhope.team1studiomedico.exceptions.StacklessEntityNotFoundException;
 import co.develhope.team1studiomedico.repositories.SegretarioRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -12,8 +16,8 @@ import jakarta.validation.constraints.NotNull;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
@@ -42,6 +46,9 @@ public class SegretarioService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     private static final Logger logger = LoggerFactory.getLogger(SegretarioService.class);
 
     /**
@@ -59,6 +66,7 @@ public class SegretarioService {
             segretario.setRecordStatus(EntityStatusEnum.ACTIVE);
             segretario = segretarioRepository.saveAndFlush(segretario);
             entityManager.refresh(segretario);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.CREATE, segretario.getId()));
             return convertToDTO(segretario);
         } finally {
             logger.info("Fine processo createSegretario in SegretarioService");
@@ -70,6 +78,7 @@ public class SegretarioService {
      *
      * @return i segretari con record status ACTIVE
      */
+    @Transactional(readOnly = true)
     public List<SegretarioDTO> getAllSegretari() {
         return segretarioRepository.findByRecordStatus(EntityStatusEnum.ACTIVE)
                 .stream()
@@ -82,6 +91,7 @@ public class SegretarioService {
      *
      * @return i segretari cancellati logicamente con record status DELETED.
      */
+    @Transactional(readOnly = true)
     public List<SegretarioDTO> getAllDeletedSegretari() {
         return segretarioRepository.findByRecordStatus(EntityStatusEnum.DELETED)
                 .stream()
@@ -95,10 +105,11 @@ public class SegretarioService {
      * @param id l' id
      * @return il DTO del segretario tramite id
      */
+    @Transactional(readOnly = true)
     public SegretarioDTO getSegretarioById(Long id) {
         SegretarioEntity segretario = segretarioRepository.findById(id)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(segretario);
     }
@@ -110,10 +121,11 @@ public class SegretarioService {
      * @param id             l'id
      * @return il DTO del segretario
      */
+    @Transactional
     public SegretarioDTO updateSegretarioById(@NotNull SegretarioDTO segretarioEdit, Long id) {
         SegretarioEntity segretario = segretarioRepository.findById(id)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
 
         if(segretarioEdit.getNome() != null) {
@@ -129,7 +141,9 @@ public class SegretarioService {
             segretario.setEmail(segretarioEdit.getEmail());
         }
 
-        return convertToDTO(segretarioRepository.saveAndFlush(segretario));
+        segretario = segretarioRepository.saveAndFlush(segretario);
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.UPDATE, segretario.getId()));
+        return convertToDTO(segretario);
     }
 
     /**
@@ -137,11 +151,12 @@ public class SegretarioService {
      *
      * @param id l'id
      */
+    @Transactional
     public void deleteSegretarioById(Long id) {
         try {
             logger.info("Inizio processo deleteSegretarioById in SegretarioService");
             SegretarioEntity segretario = segretarioRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(segretario.getRecordStatus().equals(EntityStatusEnum.DELETED)) {
@@ -149,6 +164,7 @@ public class SegretarioService {
                         null, LocaleContextHolder.getLocale()));
             }
             segretarioRepository.softDeleteById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.DELETE, id));
         } finally {
             logger.info("Fine processo deleteSegretarioById in SegretarioService");
         }
@@ -157,10 +173,12 @@ public class SegretarioService {
     /**
      * Metodo che cancella tutti i segretari (soft delete)
      */
+    @Transactional
     public void deleteAllSegretari() {
         try {
             logger.info("Inizio processo deleteAllSegretari in SegretarioService");
             segretarioRepository.softDelete();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.DELETE, null));
         } finally {
             logger.info("Fine processo deleteAllSegretari in SegretarioService");
         }
@@ -171,11 +189,12 @@ public class SegretarioService {
      *
      * @param id l'id
      */
+    @Transactional
     public void restoreSegretarioById(Long id) {
         try {
             logger.info("Inizio processo restoreSegretarioById in SegretarioService");
             SegretarioEntity segretario = segretarioRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                    .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                             null, LocaleContextHolder.getLocale())));
 
             if(segretario.getRecordStatus().equals(EntityStatusEnum.ACTIVE)) {
@@ -183,6 +202,7 @@ public class SegretarioService {
                         null, LocaleContextHolder.getLocale()));
             }
             segretarioRepository.restoreById(id);
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.RESTORE, id));
         } finally {
             logger.info("Fine processo restoreSegretarioById in SegretarioService");
         }
@@ -191,10 +211,12 @@ public class SegretarioService {
     /**
      * Metodo che ripristina tutti i segretari.
      */
+    @Transactional
     public void restoreAllSegretari() {
         try {
             logger.info("Inizio processo restoreAllSegretari in SegretarioService");
             segretarioRepository.restore();
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(EntityScopeEnum.SEGRETARIO, ChangeTypeEnum.RESTORE, null));
         } finally {
             logger.info("Fine processo restoreAllSegretari in SegretarioService");
         }
@@ -232,10 +254,11 @@ public class SegretarioService {
      * @param medicoId id del medico
      * @return il DTO del segretario
      */
+    @Transactional(readOnly = true)
     public SegretarioDTO getSegretarioByMedicoId(Long medicoId) {
         SegretarioEntity segretario = segretarioRepository.findSegretarioByMedicoId(medicoId)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(segretario);
     }
@@ -246,10 +269,11 @@ public class SegretarioService {
      * @param pazienteId id del paziente
      * @return il DTO del segretario
      */
+    @Transactional(readOnly = true)
     public SegretarioDTO getSegretarioByPazienteId(Long pazienteId) {
         SegretarioEntity segretario = segretarioRepository.findSegretarioByPazienteId(pazienteId)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(segretario);
     }
@@ -260,10 +284,11 @@ public class SegretarioService {
      * @param prenotazioneId id della prenotazione
      * @return il DTO del segretario
      */
+    @Transactional(readOnly = true)
     public SegretarioDTO getSegretarioByPrenotazioneId(Long prenotazioneId) {
         SegretarioEntity segretario = segretarioRepository.findSegretarioByPrenotazioneId(prenotazioneId)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(segretario);
     }
@@ -273,10 +298,11 @@ public class SegretarioService {
      * @param email email di ricerca
      * @return il DTO del segretario
      */
+    @Transactional(readOnly = true)
     public SegretarioDTO getSegretarioByEmail(String email) {
         SegretarioEntity segretario = segretarioRepository.findByEmail(email)
                 .filter(segretarioEntity -> segretarioEntity.getRecordStatus().equals(EntityStatusEnum.ACTIVE))
-                .orElseThrow(() -> new EntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
+                .orElseThrow(() -> new StacklessEntityNotFoundException(messageSource.getMessage("error.segretario.notFound.exception",
                         null, LocaleContextHolder.getLocale())));
         return convertToDTO(segretario);
     }
@@ -287,6 +313,7 @@ public class SegretarioService {
      * @param cognome cognome utente
      * @return lista dei segretari filtrati per nome e cognome
      */
+    @Transactional(readOnly = true)
     public List<SegretarioDTO> getSegretariByNomeAndCognome(String nome, String cognome) {
         return segretarioRepository.searchByNomeAndCognome(nome, cognome)
                 .stream()
@@ -0,0 +1,136 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.entities.EntityStatusEnum;
+import co.develhope.team1studiomedico.entities.MedicoEntity;
+import co.develhope.team1studiomedico.entities.PazienteEntity;
+import co.develhope.team1studiomedico.entities.PrenotazioneEntity;
+import co.develhope.team1studiomedico.entities.SegretarioEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * La classe SparseFieldsetService realizza le letture a campi selezionati (sparse fieldset, parametro fields=)
+ * degli endpoint di lista: i soli campi richiesti vengono proiettati nella select list della query (Criteria API),
+ * per cui colonne e associazioni non richieste non vengono lette, mappate né serializzate.
+ * I campi ammessi corrispondono ai nomi dei campi dei DTO, le associazioni sono esposte tramite id (es. medicoId).
+ * Il parametro fields= è supportato solo dagli endpoint che restituiscono la lista completa dei record ACTIVE
+ * (GET /prenotazioni, /pazienti, /medici, /segretari): gli altri endpoint di lista e di ricerca lo ignorano
+ * e restituiscono sempre il DTO completo
+ */
+@Service
+public class SparseFieldsetService {
+
+    /**
+     * Per ogni entità, i campi ammessi e il relativo path JPA
+     */
+    private static final Map<Class<?>, Map<String, String>> CAMPI = Map.of(
+            PrenotazioneEntity.class, campi("id", "id", "bookedAt", "bookedAt", "dataPrenotazione", "dataPrenotazione",
+                    "oraPrenotazione", "oraPrenotazione", "durataMinuti", "durataMinuti", "statoPrenotazione", "statoPrenotazione",
+                    "pazienteId", "paziente.id", "medicoId", "medico.id"),
+            PazienteEntity.class, campi("id", "id", "nome", "nome", "cognome", "cognome", "telefono", "telefono",
+                    "email", "email", "dataNascita", "dataNascita", "codiceFiscale", "codiceFiscale", "medicoId", "medico.id"),
+            MedicoEntity.class, campi("id", "id", "nome", "nome", "cognome", "cognome", "telefono", "telefono", "email", "email"),
+            SegretarioEntity.class, campi("id", "id", "nome", "nome", "cognome", "cognome", "telefono", "telefono",
+                    "email", "email", "medicoId", "medico.id"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Restituisce i record dell'entità con il record status considerato, limitati ai soli campi richiesti
+     * e ordinati secondo i campi di ordinamento indicati.
+     *
+     * @param entityClass  la classe dell'entità
+     * @param fields       i campi richiesti
+     * @param recordStatus lo stato di attività del record
+     * @param orderBy      i path JPA dei campi di ordinamento (ascendente)
+     * @param <T>          il tipo dell'entità
+     * @return la lista dei record come mappe campo - valore, nell'ordine dei campi richiesti
+     * @throws IllegalArgumentException se un campo richiesto non è ammesso
+     */
+    @Transactional(readOnly = true)
+    public <T> List<Map<String, Object>> findFieldsByRecordStatus(Class<T> entityClass, Set<String> fields,
+                                                                  EntityStatusEnum recordStatus, String... orderBy) {
+        Map<String, String> campiAmmessi = CAMPI.get(entityClass);
+        if(fields.isEmpty() || !campiAmmessi.keySet().containsAll(fields)) {
+            throw new IllegalArgumentException(messageSource.getMessage("error.fields.invalid.exception",
+                    new Object[]{String.join(", ", campiAmmessi.keySet())}, LocaleContextHolder.getLocale()));
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for(String field : fields) {
+            selections.add(path(root, campiAmmessi.get(field)).alias(field));
+        }
+        query.multiselect(selections)
+                .where(cb.equal(root.get("recordStatus"), recordStatus))
+                .orderBy(Arrays.stream(orderBy).map(campo -> cb.asc(path(root, campo))).toList());
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(tuples.size());
+        for(Tuple tuple : tuples) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            for(String field : fields) {
+                record.put(field, format(tuple.get(field)));
+            }
+            result.add(record);
+        }
+        return result;
+    }
+
+    private static Path<?> path(Root<?> root, String jpaPath) {
+        Path<?> path = root;
+        for(String attributo : jpaPath.split("\\.")) {
+            path = path.get(attributo);
+        }
+        return path;
+    }
+
+    /**
+     * Formatta i valori temporali con gli stessi pattern dei DTO, in modo che la response
+     * a campi selezionati sia coerente con quella completa
+     */
+    private static Object format(Object value) {
+        if(value instanceof LocalDateTime dateTime) {
+            return DtoFormatters.BOOKED_AT_FORMATTER.format(dateTime);
+        }
+        if(value instanceof LocalTime time) {
+            return DtoFormatters.ORA_FORMATTER.format(time);
+        }
+        return value;
+    }
+
+    private static Map<String, String> campi(String... campoPath) {
+        Map<String, String> campi = new LinkedHashMap<>();
+        for(int i = 0; i < campoPath.length; i += 2) {
+            campi.put(campoPath[i], campoPath[i + 1]);
+        }
+        return campi;
+    }
+
+}
@@ -0,0 +1,84 @@
+package co.develhope.team1studiomedico.services;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * La classe TransactionCallbacks registra le azioni da eseguire al termine della transazione corrente ed esegue
+ * le letture che devono avvenire sul datasource primario, usate dai service che mantengono in memoria lo stato
+ * delle giornate dei medici (capacità e sovrapposizioni)
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Esegue l'azione al termine della transazione corrente con l'esito del commit, o subito se non c'è una transazione attiva
+     *
+     * @param action l'azione, che riceve true se la transazione è stata confermata
+     */
+    static void afterCompletion(Consumer<Boolean> action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Esegue l'azione dopo il commit della transazione corrente, o subito se non c'è una transazione attiva.
+     * L'azione precede i listener transazionali (es. la lista di attesa), che devono trovare posti e intervalli già liberati
+     *
+     * @param action l'azione
+     */
+    static void afterCommit(Runnable action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Esegue l'azione in una transazione di lettura e scrittura, quindi sul datasource primario (ReadWriteRoutingDataSource):
+     * le query dei repository sono read-only e fuori da una transazione di scrittura verrebbero instradate sulla replica,
+     * il cui ritardo resterebbe nello stato in memoria fino alla riconciliazione successiva.
+     * Se la transazione corrente è read-only l'azione viene eseguita in una nuova transazione
+     *
+     * @param transactionManager il transaction manager
+     * @param action             l'azione
+     * @param <T>                il tipo del risultato
+     * @return il risultato dell'azione
+     */
+    static <T> T inReadWriteTransaction(PlatformTransactionManager transactionManager, Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+}
@@ -0,0 +1,40 @@
+-- Dataset riproducibile del profilo h2 (test di integrazione e benchmark): 20 medici con il relativo segretario,
+-- 2.000 pazienti e 50.000 prenotazioni distribuite sui giorni feriali del 2023, dalle 08:00 ogni 30 minuti, senza sovrapposizioni per medico.
+-- Tutti i valori sono funzione del solo progressivo di riga, per cui il dataset è identico a ogni avvio.
+-- Utilizza SYSTEM_RANGE di H2, viene quindi caricato solo dal profilo h2.
+
+INSERT INTO medico (id, created_by, created_date, last_modified_by, last_modified_date, nome, cognome, telefono, email, record_status)
+SELECT n, 'dataset', TIMESTAMP '2023-01-01 00:00:00', 'dataset', TIMESTAMP '2023-01-01 00:00:00',
+       CONCAT('Medico', n), CONCAT('Cognome', n), CONCAT('333', LPAD(n, 7, '0')), CONCAT('medico', n, '@studiomedico.it'), 'A'
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(1, 20)) r;
+
+INSERT INTO segretario (id, created_by, created_date, last_modified_by, last_modified_date, nome, cognome, telefono, email, record_status, medico_id)
+SELECT n, 'dataset', TIMESTAMP '2023-01-01 00:00:00', 'dataset', TIMESTAMP '2023-01-01 00:00:00',
+       CONCAT('Segretario', n), CONCAT('Cognome', n), CONCAT('334', LPAD(n, 7, '0')), CONCAT('segretario', n, '@studiomedico.it'), 'A', n
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(1, 20)) r;
+
+INSERT INTO paziente (id, created_by, created_date, last_modified_by, last_modified_date, nome, cognome, telefono, email, record_status,
+                      data_nascita, codice_fiscale, medico_id)
+SELECT n, 'dataset', TIMESTAMP '2023-01-01 00:00:00', 'dataset', TIMESTAMP '2023-01-01 00:00:00',
+       CONCAT('Paziente', n), CONCAT('Cognome', n), CONCAT('335', LPAD(n, 7, '0')), CONCAT('paziente', n, '@studiomedico.it'),
+       CASE WHEN MOD(n, 50) = 0 THEN 'D' ELSE 'A' END,
+       DATEADD(DAY, -MOD(n * 7919, 30000), DATE '2005-01-01'), CONCAT('CF', LPAD(n, 14, '0')), MOD(n - 1, 20) + 1
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(1, 2000)) r;
+
+-- ogni paziente prenota presso il proprio medico; giorno feriale e slot derivano dal progressivo della prenotazione,
+-- in modo che ogni medico abbia al massimo una prenotazione per slot
+INSERT INTO prenotazione (id, created_by, created_date, last_modified_by, last_modified_date, booked_at, data_prenotazione, ora_prenotazione,
+                          paziente_id, medico_id, stato_prenotazione, record_status)
+SELECT n, 'dataset', TIMESTAMP '2023-01-01 00:00:00', 'dataset', TIMESTAMP '2023-01-01 00:00:00',
+       TIMESTAMP '2023-01-01 00:00:00',
+       DATEADD(DAY, MOD(n / 20, 260) / 5 * 7 + MOD(MOD(n / 20, 260), 5), DATE '2023-01-02'),
+       DATEADD(MINUTE, n / 5200 * 30, TIME '08:00:00'),
+       MOD(n - 1, 2000) + 1, MOD(MOD(n - 1, 2000), 20) + 1,
+       CASE MOD(n / 3, 10) WHEN 0 THEN 'CANCELLED' WHEN 1 THEN 'PENDING' WHEN 2 THEN 'REJECTED' ELSE 'CONFIRMED' END,
+       CASE WHEN MOD(n / 7, 100) = 0 THEN 'D' ELSE 'A' END
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(1, 50000)) r;
+
+ALTER TABLE medico ALTER COLUMN id RESTART WITH 21;
+ALTER TABLE segretario ALTER COLUMN id RESTART WITH 21;
+ALTER TABLE paziente ALTER COLUMN id RESTART WITH 2001;
+ALTER TABLE prenotazione ALTER COLUMN id RESTART WITH 50001;
@@ -0,0 +1,5 @@
+-- Promemoria delle prenotazioni
+
+-- istante di invio dell'ultimo promemoria inviato: l'istanza dell'applicazione che lo valorizza con una UPDATE condizionale
+-- si aggiudica l'invio, così con più istanze ogni promemoria viene inviato una sola volta
+ALTER TABLE prenotazione ADD COLUMN reminder_due_at DATETIME(6);
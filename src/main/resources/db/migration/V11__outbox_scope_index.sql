@@ -0,0 +1,2 @@
+-- ETag delle conditional GET: massimo numero di sequenza outbox delle entità da cui dipende la response
+CREATE INDEX idx_outbox_event_scope_seq ON outbox_event (scope, seq);
@@ -0,0 +1,72 @@
+-- Schema iniziale del sistema informatico studio medico (MySQL, compatibile con H2 in MODE=MySQL)
+
+CREATE TABLE medico (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    nome               VARCHAR(255) NOT NULL,
+    cognome            VARCHAR(255) NOT NULL,
+    telefono           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    record_status      CHAR(1)      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_medico_email UNIQUE (email)
+);
+
+CREATE TABLE segretario (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    nome               VARCHAR(255) NOT NULL,
+    cognome            VARCHAR(255) NOT NULL,
+    telefono           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    record_status      CHAR(1)      NOT NULL,
+    medico_id          BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_segretario_email UNIQUE (email),
+    CONSTRAINT uk_segretario_medico UNIQUE (medico_id),
+    CONSTRAINT fk_segretario_medico FOREIGN KEY (medico_id) REFERENCES medico (id)
+);
+
+CREATE TABLE paziente (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    nome               VARCHAR(255) NOT NULL,
+    cognome            VARCHAR(255) NOT NULL,
+    telefono           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    record_status      CHAR(1)      NOT NULL,
+    data_nascita       DATE         NOT NULL,
+    codice_fiscale     VARCHAR(255) NOT NULL,
+    medico_id          BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_paziente_email UNIQUE (email),
+    CONSTRAINT uk_paziente_codice_fiscale UNIQUE (codice_fiscale),
+    CONSTRAINT fk_paziente_medico FOREIGN KEY (medico_id) REFERENCES medico (id)
+);
+
+CREATE TABLE prenotazione (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    booked_at          DATETIME(6)  NOT NULL,
+    data_prenotazione  DATE         NOT NULL,
+    ora_prenotazione   TIME         NOT NULL,
+    paziente_id        BIGINT,
+    medico_id          BIGINT,
+    stato_prenotazione VARCHAR(255) NOT NULL,
+    record_status      CHAR(1)      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_prenotazione_paziente FOREIGN KEY (paziente_id) REFERENCES paziente (id),
+    CONSTRAINT fk_prenotazione_medico FOREIGN KEY (medico_id) REFERENCES medico (id)
+);
@@ -0,0 +1,21 @@
+-- Indici delle query di lettura delle prenotazioni. Tutte le liste sono ordinate per data e ora:
+-- gli indici terminano con (data_prenotazione, ora_prenotazione) così da servire sia il filtro sia l'ordinamento
+-- (e la paginazione keyset) senza sort. Gli indici con medico_id e paziente_id in testa coprono anche le foreign key.
+
+-- agenda e ricerche per medico (e per segretario, tramite il medico associato)
+CREATE INDEX idx_prenotazione_medico_data ON prenotazione (medico_id, data_prenotazione, ora_prenotazione);
+
+-- storico prenotazioni del paziente
+CREATE INDEX idx_prenotazione_paziente_data ON prenotazione (paziente_id, data_prenotazione, ora_prenotazione);
+
+-- liste per record status e intervalli di date / anni / mesi
+CREATE INDEX idx_prenotazione_status_data ON prenotazione (record_status, data_prenotazione, ora_prenotazione);
+
+-- ricerche per stato della prenotazione (es. prenotazioni PENDING da confermare o scadute)
+CREATE INDEX idx_prenotazione_stato_data ON prenotazione (stato_prenotazione, data_prenotazione);
+
+-- letture incrementali per data di ultima modifica
+CREATE INDEX idx_prenotazione_last_modified ON prenotazione (last_modified_date);
+CREATE INDEX idx_paziente_last_modified ON paziente (last_modified_date);
+CREATE INDEX idx_medico_last_modified ON medico (last_modified_date);
+CREATE INDEX idx_segretario_last_modified ON segretario (last_modified_date);
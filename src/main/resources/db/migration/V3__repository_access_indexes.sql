@@ -0,0 +1,13 @@
+-- Indici per i restanti pattern di accesso di PrenotazioneRepository e PazienteRepository
+
+-- ricerche per data / intervallo di date senza filtro su medico, paziente o record status
+-- (findPrenotazioniByDataPrenotazione, findPrenotazioniBetweenDatePrenotazione, count per data)
+CREATE INDEX idx_prenotazione_data_ora ON prenotazione (data_prenotazione, ora_prenotazione);
+
+-- ricerche per stato ordinate per data e ora: sostituisce idx_prenotazione_stato_data estendendolo all'ora
+CREATE INDEX idx_prenotazione_stato_data_ora ON prenotazione (stato_prenotazione, data_prenotazione, ora_prenotazione);
+DROP INDEX idx_prenotazione_stato_data ON prenotazione;
+
+-- pazienti del medico (findPazientiByMedicoId, ricerche per segretario tramite il medico associato),
+-- copre anche la foreign key fk_paziente_medico
+CREATE INDEX idx_paziente_medico_status ON paziente (medico_id, record_status);
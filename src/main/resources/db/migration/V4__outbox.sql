@@ -0,0 +1,20 @@
+-- Tabella outbox del change feed: un record per ogni modifica, registrato nella stessa transazione della modifica
+
+CREATE TABLE outbox_event (
+    seq         BIGINT      NOT NULL,
+    scope       VARCHAR(20) NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    entity_id   BIGINT,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+-- contatore dei numeri di sequenza: il lock sulla singola riga, mantenuto fino al commit,
+-- garantisce che i numeri di sequenza siano assegnati in ordine di commit
+CREATE TABLE outbox_sequence (
+    id       INT    NOT NULL,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO outbox_sequence (id, last_seq) VALUES (1, 0);
@@ -0,0 +1,11 @@
+-- Sincronizzazione incrementale (delta sync) per data di ultima modifica
+
+-- i record senza data di ultima modifica (antecedenti all'auditing) non verrebbero mai restituiti dal delta sync
+UPDATE medico SET last_modified_date = COALESCE(created_date, CURRENT_TIMESTAMP(6)) WHERE last_modified_date IS NULL;
+UPDATE segretario SET last_modified_date = COALESCE(created_date, CURRENT_TIMESTAMP(6)) WHERE last_modified_date IS NULL;
+UPDATE paziente SET last_modified_date = COALESCE(created_date, CURRENT_TIMESTAMP(6)) WHERE last_modified_date IS NULL;
+UPDATE prenotazione SET last_modified_date = COALESCE(created_date, CURRENT_TIMESTAMP(6)) WHERE last_modified_date IS NULL;
+
+-- delta sync dell'agenda del singolo medico: la chiave primaria in coda all'indice completa l'ordinamento (data, id)
+CREATE INDEX idx_prenotazione_medico_last_modified ON prenotazione (medico_id, last_modified_date);
+CREATE INDEX idx_paziente_medico_last_modified ON paziente (medico_id, last_modified_date);
@@ -0,0 +1,4 @@
+-- Scadenza automatica delle prenotazioni PENDING
+
+-- lettura a blocchi delle prenotazioni PENDING ACTIVE ordinate per id (keyset sull'id)
+CREATE INDEX idx_prenotazione_stato_record_id ON prenotazione (stato_prenotazione, record_status, id);
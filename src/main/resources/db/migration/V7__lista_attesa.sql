@@ -0,0 +1,24 @@
+-- Lista di attesa: richieste dei pazienti per medico, con intervallo di date preferite e priorità
+
+CREATE TABLE lista_attesa (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    paziente_id        BIGINT      NOT NULL,
+    medico_id          BIGINT      NOT NULL,
+    data_inizio        DATE        NOT NULL,
+    data_fine          DATE        NOT NULL,
+    priorita           INT         NOT NULL,
+    requested_at       DATETIME(6) NOT NULL,
+    stato              VARCHAR(20) NOT NULL,
+    prenotazione_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lista_attesa_paziente FOREIGN KEY (paziente_id) REFERENCES paziente (id),
+    CONSTRAINT fk_lista_attesa_medico FOREIGN KEY (medico_id) REFERENCES medico (id),
+    CONSTRAINT fk_lista_attesa_prenotazione FOREIGN KEY (prenotazione_id) REFERENCES prenotazione (id)
+);
+
+-- caricamento all'avvio delle richieste ancora in attesa
+CREATE INDEX idx_lista_attesa_stato_medico ON lista_attesa (stato, medico_id);
@@ -0,0 +1,4 @@
+-- Durata delle prenotazioni
+
+-- durata della visita in minuti: le prenotazioni esistenti assumono la durata di default di 30 minuti
+ALTER TABLE prenotazione ADD COLUMN durata_minuti INT NOT NULL DEFAULT 30;
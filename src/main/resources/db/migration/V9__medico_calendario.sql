@@ -0,0 +1,33 @@
+-- Calendario dei medici: orari di lavoro settimanali (più fasce per giorno) e assenze (ferie, festività, permessi)
+
+CREATE TABLE medico_orario (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    medico_id          BIGINT      NOT NULL,
+    giorno_settimana   VARCHAR(9)  NOT NULL,
+    ora_inizio         TIME        NOT NULL,
+    ora_fine           TIME        NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_medico_orario_medico FOREIGN KEY (medico_id) REFERENCES medico (id)
+);
+
+CREATE TABLE medico_assenza (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    created_by         VARCHAR(255),
+    created_date       DATETIME(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date DATETIME(6),
+    medico_id          BIGINT      NOT NULL,
+    inizio             DATETIME(6) NOT NULL,
+    fine               DATETIME(6) NOT NULL,
+    motivo             VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_medico_assenza_medico FOREIGN KEY (medico_id) REFERENCES medico (id)
+);
+
+-- caricamento del calendario di un medico
+CREATE INDEX idx_medico_orario_medico ON medico_orario (medico_id);
+CREATE INDEX idx_medico_assenza_medico ON medico_assenza (medico_id);
@@ -0,0 +1,95 @@
+package co.develhope.team1studiomedico;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del tempo di avvio: l'applicazione viene avviata in una nuova JVM con il profilo h2 e con i profili prod,h2,
+ * ciascuna su un proprio database H2 vuoto, e per ogni avvio viene registrato nel log il tempo trascorso dal lancio
+ * della JVM alla prima response 200 (time-to-first-request). Con l'inizializzazione lazy del profilo prod
+ * la misura comprende anche la creazione dei bean necessari alla prima richiesta
+ */
+class StartupTimeBenchmarkTest {
+
+    private static final String FIRST_REQUEST = "/medici/1";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeBenchmarkTest.class);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        long h2 = timeToFirstRequest("h2");
+        long prod = timeToFirstRequest("prod,h2");
+
+        logger.info("Time-to-first-request: h2 {} ms, prod,h2 {} ms", h2, prod);
+    }
+
+    /**
+     * Avvia l'applicazione in una nuova JVM con i profili indicati e restituisce i millisecondi trascorsi
+     * fino alla prima response 200
+     */
+    private long timeToFirstRequest(String profiles) throws IOException, InterruptedException {
+        int port = freePort();
+        URI uri = URI.create("http://localhost:" + port + FIRST_REQUEST);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dspring.devtools.restart.enabled=false",
+                Team1StudioMedicoApplication.class.getName(),
+                "--spring.profiles.active=" + profiles,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--app.prenotazioni.expiry.enabled=false"))
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "startup-" + profiles.replace(',', '-') + ".log"))
+                .start();
+        try {
+            while(System.nanoTime() - start < TIMEOUT.toNanos()) {
+                assertThat(process.isAlive()).isTrue();
+                if(statusCode(uri) == 200) {
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    logger.info("Profili {}: prima response 200 dopo {} ms dal lancio della JVM", profiles, millis);
+                    return millis;
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new AssertionError("Nessuna response 200 entro " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private int statusCode(URI uri) throws InterruptedException {
+        try {
+            return httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch(IOException e) {
+            return -1;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
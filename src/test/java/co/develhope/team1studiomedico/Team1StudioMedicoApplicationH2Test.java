@@ -0,0 +1,79 @@
+package co.develhope.team1studiomedico;
+
+import co.develhope.team1studiomedico.services.PrenotazioneService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test di integrazione del profilo h2: l'avvio del contesto applica tutte le migrazioni versionate e il dataset
+ * su un database vuoto e valida il mapping delle entità sullo schema risultante (ddl-auto validate).
+ * Il dataset deve essere caricato per intero, coerente (ogni paziente prenota presso il proprio medico,
+ * nessun medico ha due prenotazioni nello stesso slot) e leggibile attraverso i service
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.prenotazioni.expiry.enabled=false")
+@ActiveProfiles("h2")
+class Team1StudioMedicoApplicationH2Test {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PrenotazioneService prenotazioneService;
+
+    @Test
+    void migrazioniEDatasetApplicati() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied).isNotEmpty().allMatch(migration -> migration.getState() == MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("1000");
+    }
+
+    @Test
+    void datasetCaricatoPerIntero() {
+        assertThat(count("SELECT COUNT(*) FROM medico WHERE id <= 20")).isEqualTo(20);
+        assertThat(count("SELECT COUNT(*) FROM segretario WHERE id <= 20")).isEqualTo(20);
+        assertThat(count("SELECT COUNT(*) FROM paziente WHERE id <= 2000")).isEqualTo(2_000);
+        assertThat(count("SELECT COUNT(*) FROM prenotazione WHERE id <= 50000")).isEqualTo(50_000);
+    }
+
+    @Test
+    void datasetCoerente() {
+        assertThat(count("SELECT COUNT(*) FROM prenotazione p JOIN paziente pz ON pz.id = p.paziente_id "
+                + "WHERE p.id <= 50000 AND pz.medico_id <> p.medico_id")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM (SELECT medico_id FROM prenotazione WHERE id <= 50000 "
+                + "GROUP BY medico_id, data_prenotazione, ora_prenotazione HAVING COUNT(*) > 1) d")).isZero();
+    }
+
+    @Test
+    void datasetLeggibileDaiService() {
+        LocalDate dataPrenotazione = jdbcTemplate.queryForObject("SELECT data_prenotazione FROM prenotazione WHERE id = 1",
+                LocalDate.class);
+
+        assertThat(prenotazioneService.getAllPrenotazioniByDataPrenotazioneAndMedicoId(dataPrenotazione, 1L))
+                .isNotEmpty()
+                .allSatisfy(prenotazione -> {
+                    assertThat(prenotazione.getDataPrenotazione()).isEqualTo(dataPrenotazione);
+                    assertThat(prenotazione.getMedico().getId()).isEqualTo("1");
+                    assertThat(prenotazione.getPaziente()).isNotNull();
+                });
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+}
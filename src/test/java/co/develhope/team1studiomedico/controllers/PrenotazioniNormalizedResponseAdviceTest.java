@@ -0,0 +1,91 @@
+package co.develhope.team1studiomedico.controllers;
+
+import co.develhope.team1studiomedico.dto.medico.MedicoDTO;
+import co.develhope.team1studiomedico.dto.paziente.PazienteDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioniNormalizedDTO;
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test della rappresentazione normalizzata delle liste di prenotazioni: sull'agenda di un medico, in cui le prenotazioni
+ * ripetono lo stesso medico e pochi pazienti, la forma normalizzata deve almeno dimezzare la dimensione del payload JSON
+ */
+class PrenotazioniNormalizedResponseAdviceTest {
+
+    private static final int PRENOTAZIONI = 300;
+    private static final int PAZIENTI = 30;
+
+    private final PrenotazioniNormalizedResponseAdvice advice = new PrenotazioniNormalizedResponseAdvice();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void formaNormalizzataDimezzaIlPayload() throws Exception {
+        List<PrenotazioneDTO> prenotazioni = agendaMedico();
+
+        Object normalized = beforeBodyWrite(prenotazioni, "normalized");
+
+        assertThat(normalized).isInstanceOf(PrenotazioniNormalizedDTO.class);
+        PrenotazioniNormalizedDTO normalizedDTO = (PrenotazioniNormalizedDTO) normalized;
+        assertThat(normalizedDTO.getPrenotazioni()).hasSize(PRENOTAZIONI);
+        assertThat(normalizedDTO.getPazienti()).hasSize(PAZIENTI);
+        assertThat(normalizedDTO.getMedici()).hasSize(1);
+
+        int fullSize = objectMapper.writeValueAsBytes(prenotazioni).length;
+        int normalizedSize = objectMapper.writeValueAsBytes(normalized).length;
+        assertThat(normalizedSize).isLessThan(fullSize / 2);
+    }
+
+    @Test
+    void senzaRichiestaRestituisceLaListaCompleta() {
+        List<PrenotazioneDTO> prenotazioni = agendaMedico();
+
+        assertThat(beforeBodyWrite(prenotazioni, null)).isSameAs(prenotazioni);
+    }
+
+    private Object beforeBodyWrite(List<PrenotazioneDTO> body, String view) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/prenotazioni/medico/1");
+        if(view != null) {
+            request.setParameter("view", view);
+        }
+        return advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    /**
+     * Agenda di un medico: PRENOTAZIONI prenotazioni da 30 minuti, 16 al giorno, distribuite tra PAZIENTI pazienti
+     */
+    private static List<PrenotazioneDTO> agendaMedico() {
+        MedicoDTO medico = new MedicoDTO("1", "Mario", "Rossi", "3331234567", "mario.rossi@studiomedico.it");
+        List<PazienteDTO> pazienti = new ArrayList<>(PAZIENTI);
+        for(long i = 1; i <= PAZIENTI; i++) {
+            pazienti.add(new PazienteDTO(i, "Paziente" + i, "Cognome" + i, "335" + String.format("%07d", i),
+                    "paziente" + i + "@studiomedico.it", LocalDate.of(1980, 1, 1).plusDays(i), "RSSMRA80A01H501" + (char) ('A' + i % 26), 1L));
+        }
+        List<PrenotazioneDTO> prenotazioni = new ArrayList<>(PRENOTAZIONI);
+        for(int i = 0; i < PRENOTAZIONI; i++) {
+            LocalDate data = LocalDate.of(2027, 3, 1).plusDays(i / 16);
+            LocalTime ora = LocalTime.of(9, 0).plusMinutes(30L * (i % 16));
+            prenotazioni.add(new PrenotazioneDTO((long) i + 1, LocalDateTime.of(2027, 2, 1, 10, 0), data, ora, 30,
+                    PrenotazioneStatusEnum.CONFIRMED, pazienti.get(i % PAZIENTI), medico));
+        }
+        return prenotazioni;
+    }
+
+}
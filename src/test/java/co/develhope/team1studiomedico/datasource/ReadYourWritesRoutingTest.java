@@ -0,0 +1,232 @@
+package co.develhope.team1studiomedico.datasource;
+
+import co.develhope.team1studiomedico.entities.OutboxEventEntity;
+import co.develhope.team1studiomedico.events.ChangeTypeEnum;
+import co.develhope.team1studiomedico.events.EntityScopeEnum;
+import co.develhope.team1studiomedico.interceptors.ReadYourWritesInterceptor;
+import co.develhope.team1studiomedico.repositories.OutboxEventRepository;
+import co.develhope.team1studiomedico.services.ChangeVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test del routing read/write con due database H2 embedded, uno per il primario e uno per la replica, attraverso
+ * lo stesso percorso dell'applicazione: JpaTransactionManager su LazyConnectionDataSourceProxy e ReadWriteRoutingDataSource.
+ * Ogni database contiene il proprio nome nella tabella nodo, così ogni lettura indica il datasource che l'ha servita,
+ * e un numero di sequenza outbox diverso, così ogni ETag indica il datasource da cui è stato calcolato
+ */
+class ReadYourWritesRoutingTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private ChangeVersionService changeVersionService;
+
+    private final ReadYourWritesInterceptor readYourWritesInterceptor = new ReadYourWritesInterceptor(WINDOW);
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary", 7);
+        replica = embeddedDatabase("replica", 3);
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(DataSourceTypeEnum.PRIMARY, primary, DataSourceTypeEnum.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(OutboxEventEntity.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        changeVersionService = new ChangeVersionService();
+        ReflectionTestUtils.setField(changeVersionService, "outboxEventRepository",
+                new JpaRepositoryFactory(entityManager).getRepository(OutboxEventRepository.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContextHolder.clear();
+        entityManagerFactory.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void transazioniReadOnlyServiteDallaReplicaEAltreDalPrimario() {
+        String readOnly = readOnlyTransaction.execute(status -> nodo());
+        String readWrite = readWriteTransaction.execute(status -> nodo());
+        assertThat(readOnly).isEqualTo("replica");
+        assertThat(readWrite).isEqualTo("primary");
+    }
+
+    @Test
+    void clientCheScriveLeggeDalPrimarioEntroLaFinestra() {
+        MockHttpServletResponse writeResponse = handle(new MockHttpServletRequest("POST", "/prenotazioni/create"));
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/prenotazioni");
+        read.setCookies(cookie);
+        assertThat(readDuring(read)).isEqualTo("primary");
+    }
+
+    @Test
+    void altriClientContinuanoALeggereDallaReplica() {
+        handle(new MockHttpServletRequest("POST", "/prenotazioni/create"));
+
+        assertThat(readDuring(new MockHttpServletRequest("GET", "/prenotazioni"))).isEqualTo("replica");
+    }
+
+    @Test
+    void cookieScadutoLeggeDallaReplica() {
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/prenotazioni");
+        read.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1)));
+
+        assertThat(readDuring(read)).isEqualTo("replica");
+    }
+
+    @Test
+    void etagCalcolatoSulDatasourceDellaLettura() {
+        MockHttpServletResponse writeResponse = handle(new MockHttpServletRequest("POST", "/prenotazioni/create"));
+        MockHttpServletRequest primaryRead = new MockHttpServletRequest("GET", "/prenotazioni");
+        primaryRead.setCookies(writeResponse.getCookie(ReadYourWritesInterceptor.COOKIE_NAME));
+
+        assertThat(during(new MockHttpServletRequest("GET", "/prenotazioni"), this::etag)).isEqualTo("W/\"3\"");
+        assertThat(during(primaryRead, this::etag)).isEqualTo("W/\"7\"");
+    }
+
+    @Test
+    void responseAsincronaLeggeDalPrimarioEntroLaFinestra() throws Exception {
+        MockHttpServletResponse writeResponse = handle(new MockHttpServletRequest("POST", "/prenotazioni/create"));
+        MockHttpServletRequest primaryRead = new MockHttpServletRequest("GET", "/prenotazioni/stream");
+        primaryRead.setCookies(writeResponse.getCookie(ReadYourWritesInterceptor.COOKIE_NAME));
+
+        assertThat(readAsync(primaryRead)).isEqualTo("primary");
+        assertThat(readAsync(new MockHttpServletRequest("GET", "/prenotazioni/stream"))).isEqualTo("replica");
+    }
+
+    /**
+     * Esegue la richiesta attraverso il ReadYourWritesInterceptor
+     */
+    private MockHttpServletResponse handle(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesInterceptor.preHandle(request, response, null);
+        readYourWritesInterceptor.afterCompletion(request, response, null, null);
+        return response;
+    }
+
+    /**
+     * Esegue una lettura read-only durante la richiesta e restituisce il nome del database che l'ha servita
+     */
+    private String readDuring(MockHttpServletRequest request) {
+        return during(request, () -> readOnlyTransaction.execute(status -> nodo()));
+    }
+
+    private <T> T during(MockHttpServletRequest request, Callable<T> read) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesInterceptor.preHandle(request, response, null);
+        try {
+            return read.call();
+        } catch(Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            readYourWritesInterceptor.afterCompletion(request, response, null, null);
+        }
+    }
+
+    /**
+     * Avvia la gestione asincrona della richiesta, come per una StreamingResponseBody, ed esegue la lettura read-only
+     * su un altro thread attraverso i callback di CallableProcessingInterceptor
+     */
+    private String readAsync(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        Callable<String> task = () -> readOnlyTransaction.execute(status -> nodo());
+        readYourWritesInterceptor.preHandle(request, response, null);
+        readYourWritesInterceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertThat(ReadYourWritesContextHolder.isPrimaryRequired()).isFalse();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                readYourWritesInterceptor.preProcess(webRequest, task);
+                try {
+                    return task.call();
+                } finally {
+                    readYourWritesInterceptor.postProcess(webRequest, task, null);
+                }
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String nodo() {
+        return (String) entityManager.createNativeQuery("SELECT nome FROM nodo").getSingleResult();
+    }
+
+    private String etag() {
+        return readOnlyTransaction.execute(status -> changeVersionService.getETag(null, EntityScopeEnum.PRENOTAZIONE));
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String nome, long seq) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE nodo (nome VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO nodo (nome) VALUES (?)", nome);
+        jdbcTemplate.execute("CREATE TABLE outbox_event (seq BIGINT NOT NULL, scope VARCHAR(20) NOT NULL, "
+                + "change_type VARCHAR(10) NOT NULL, entity_id BIGINT, created_at TIMESTAMP(6) NOT NULL, PRIMARY KEY (seq))");
+        jdbcTemplate.update("INSERT INTO outbox_event (seq, scope, change_type, entity_id, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                seq, EntityScopeEnum.PRENOTAZIONE.name(), ChangeTypeEnum.CREATE.name(), 1L);
+        return database;
+    }
+
+}
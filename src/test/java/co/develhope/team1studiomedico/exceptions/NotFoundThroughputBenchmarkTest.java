@@ -0,0 +1,160 @@
+package co.develhope.team1studiomedico.exceptions;
+
+import ch.qos.logback.classic.Level;
+import co.develhope.team1studiomedico.dto.error.ResponseErrorDTO;
+import co.develhope.team1studiomedico.i18n.PrecompiledMessageSource;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del throughput delle risposte 404, sul modello di JMH (iterazioni di riscaldamento e di misura a durata fissa,
+ * risultato in operazioni al secondo): ogni operazione esegue la ricerca di una risorsa inesistente a una profondità
+ * di stack paragonabile a quella di una richiesta servita da Spring MVC e costruisce la response 404.
+ * Il percorso precedente crea una EntityNotFoundException con stack trace, risolve il messaggio tramite
+ * ReloadableResourceBundleMessageSource e lo stampa con System.out.println (qui su uno stream che scarta l'output,
+ * per cui il divario misurato è un limite inferiore); il percorso attuale crea una StacklessEntityNotFoundException,
+ * risolve il messaggio dal catalogo precompilato e la gestisce con GlobalExceptionHandler (log DEBUG disabilitato)
+ */
+class NotFoundThroughputBenchmarkTest {
+
+    private static final int STACK_DEPTH = 100;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final Duration ITERATION_TIME = Duration.ofMillis(500);
+    private static final String MESSAGE_KEY = "error.paziente.notFound.exception";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotFoundThroughputBenchmarkTest.class);
+
+    private final ch.qos.logback.classic.Logger handlerLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+    private final MessageSource precompiledMessageSource = new PrecompiledMessageSource("classpath:i18n/messages", Locale.ITALIAN);
+    private final ReloadableResourceBundleMessageSource resourceBundleMessageSource = new ReloadableResourceBundleMessageSource();
+    private final PrintStream stdout = new PrintStream(OutputStream.nullOutputStream());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pazienti/999999");
+
+    private Level handlerLevel;
+
+    @BeforeEach
+    void setUp() {
+        resourceBundleMessageSource.setBasename("classpath:i18n/messages");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        resourceBundleMessageSource.setDefaultLocale(Locale.ITALIAN);
+        // come in produzione (root INFO) il log DEBUG dei 404 è disabilitato
+        handlerLevel = handlerLogger.getLevel();
+        handlerLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handlerLogger.setLevel(handlerLevel);
+    }
+
+    @Test
+    void throughput404() {
+        assertThat(before().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(after().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(((ResponseErrorDTO) after().getBody()).getMessage())
+                .isEqualTo(((ResponseErrorDTO) before().getBody()).getMessage());
+
+        Risultato before = benchmark("prima", this::before);
+        Risultato after = benchmark("dopo", this::after);
+
+        logger.info("Throughput 404: {} ops/s prima, {} ops/s dopo (x{})", Math.round(before.opsPerSecond()),
+                Math.round(after.opsPerSecond()), String.format("%.1f", after.opsPerSecond() / before.opsPerSecond()));
+        assertThat(after.opsPerSecond()).isGreaterThan(before.opsPerSecond());
+        assertThat(after.bytesPerOp()).isLessThan(before.bytesPerOp());
+    }
+
+    private ResponseEntity<?> before() {
+        try {
+            return find(STACK_DEPTH, () -> new EntityNotFoundException(resourceBundleMessageSource.getMessage(MESSAGE_KEY,
+                    null, Locale.ITALIAN)));
+        } catch(EntityNotFoundException e) {
+            stdout.println(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseErrorDTO(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(),
+                            HttpStatus.NOT_FOUND.getReasonPhrase(), e.getMessage(), request.getRequestURI()));
+        }
+    }
+
+    private ResponseEntity<?> after() {
+        try {
+            return find(STACK_DEPTH, () -> new StacklessEntityNotFoundException(precompiledMessageSource.getMessage(MESSAGE_KEY,
+                    null, Locale.ITALIAN)));
+        } catch(EntityNotFoundException e) {
+            return globalExceptionHandler.handleEntityNotFoundException(e, request);
+        }
+    }
+
+    /**
+     * Lancia l'eccezione di risorsa non trovata alla profondità di stack indicata
+     */
+    private static ResponseEntity<?> find(int depth, Supplier<EntityNotFoundException> notFound) {
+        if(depth == 0) {
+            throw notFound.get();
+        }
+        return find(depth - 1, notFound);
+    }
+
+    /**
+     * Esegue le iterazioni di riscaldamento e quelle di misura, registrando nel log il throughput
+     * e la memoria allocata per operazione
+     */
+    private static Risultato benchmark(String percorso, Supplier<ResponseEntity<?>> operation) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for(int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(operation);
+        }
+        long ops = 0;
+        long nanos = 0;
+        long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        for(int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            long iterationOps = iteration(operation);
+            nanos += System.nanoTime() - start;
+            ops += iterationOps;
+            logger.info("404 {}, iterazione {}: {} ops/s", percorso, i + 1,
+                    Math.round(iterationOps / (ITERATION_TIME.toNanos() / 1_000_000_000d)));
+        }
+        Risultato risultato = new Risultato(ops / (nanos / 1_000_000_000d),
+                (threadMXBean.getCurrentThreadAllocatedBytes() - bytes) / ops);
+        logger.info("404 {}: {} ops/s, {} byte allocati per operazione", percorso, Math.round(risultato.opsPerSecond()),
+                risultato.bytesPerOp());
+        return risultato;
+    }
+
+    private static long iteration(Supplier<ResponseEntity<?>> operation) {
+        long end = System.nanoTime() + ITERATION_TIME.toNanos();
+        long ops = 0;
+        while(System.nanoTime() < end) {
+            if(operation.get().getBody() == null) {
+                throw new IllegalStateException();
+            }
+            ops++;
+        }
+        return ops;
+    }
+
+    private record Risultato(double opsPerSecond, long bytesPerOp) { }
+
+}
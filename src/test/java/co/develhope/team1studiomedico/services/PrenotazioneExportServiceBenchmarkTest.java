@@ -0,0 +1,124 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneFlatDTO;
+import co.develhope.team1studiomedico.entities.PrenotazioneStatusEnum;
+import co.develhope.team1studiomedico.repositories.PrenotazioneRepository;
+import co.develhope.team1studiomedico.services.PrenotazioneExportService.FormatoExport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark del throughput dell'export delle prenotazioni: le righe vengono generate in memoria al posto del cursore JDBC,
+ * così la misura comprende solo serializzazione e compressione gzip. Per ogni formato vengono eseguiti alcuni export
+ * di riscaldamento e poi quelli misurati, di cui viene registrato nel log il throughput medio in MB/s
+ * sui byte non compressi
+ */
+class PrenotazioneExportServiceBenchmarkTest {
+
+    private static final int RIGHE = 200_000;
+    private static final int WARMUP = 3;
+    private static final int MISURE = 5;
+    private static final LocalDate START_DATE = LocalDate.of(2027, 1, 1);
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneExportServiceBenchmarkTest.class);
+
+    private final PrenotazioneExportService exportService = new PrenotazioneExportService();
+
+    @BeforeEach
+    void setUp() {
+        PrenotazioneRepository prenotazioneRepository = mock(PrenotazioneRepository.class);
+        when(prenotazioneRepository.streamFlatPrenotazioniBetweenDatePrenotazioneAndMedicoId(anyLong(), any(), any()))
+                .thenAnswer(invocation -> prenotazioni());
+        ReflectionTestUtils.setField(exportService, "prenotazioneRepository", prenotazioneRepository);
+    }
+
+    @Test
+    void throughputCsv() throws IOException {
+        byte[] gzip = benchmark(FormatoExport.CSV);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(gzip)), StandardCharsets.UTF_8))) {
+            assertThat(reader.readLine())
+                    .isEqualTo("id,booked_at,data_prenotazione,ora_prenotazione,durata_minuti,stato_prenotazione,paziente_id,medico_id");
+            assertThat(reader.readLine()).isEqualTo("1,2026-12-01T08:00:00.000,2027-01-01,09:00,30,CONFIRMED,1,1");
+            assertThat(reader.lines().count()).isEqualTo(RIGHE - 1);
+        }
+    }
+
+    @Test
+    void throughputBinary() throws IOException {
+        byte[] gzip = benchmark(FormatoExport.BINARY);
+
+        byte[] raw = gunzip(gzip);
+        assertThat(raw).startsWith('P', 'R', 'N', 'B', 2);
+        assertThat(raw.length).isLessThan(gunzip(export(FormatoExport.CSV)).length / 2);
+    }
+
+    /**
+     * Esegue gli export di riscaldamento e quelli misurati, registrando nel log il throughput medio,
+     * e restituisce l'output compresso dell'ultimo export
+     */
+    private byte[] benchmark(FormatoExport formato) throws IOException {
+        for(int i = 0; i < WARMUP; i++) {
+            export(formato);
+        }
+        byte[] gzip = null;
+        long nanos = 0;
+        for(int i = 0; i < MISURE; i++) {
+            long start = System.nanoTime();
+            gzip = export(formato);
+            nanos += System.nanoTime() - start;
+        }
+        long bytes = gunzip(gzip).length;
+        double megabytesPerSecond = (double) bytes * MISURE / (1024 * 1024) / (nanos / 1_000_000_000d);
+        logger.info("Export {}: {} righe, {} byte ({} gzip), {} ms per export, {} MB/s", formato, RIGHE, bytes, gzip.length,
+                nanos / MISURE / 1_000_000, String.format("%.2f", megabytesPerSecond));
+        assertThat(megabytesPerSecond).isPositive();
+        return gzip;
+    }
+
+    private byte[] export(FormatoExport formato) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.exportPrenotazioniByMedicoId(1L, START_DATE, START_DATE.plusYears(1), formato, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Agenda annuale di un medico: RIGHE prenotazioni da 30 minuti, 16 al giorno, distribuite tra 2.000 pazienti
+     */
+    private static Stream<PrenotazioneFlatDTO> prenotazioni() {
+        PrenotazioneStatusEnum[] stati = PrenotazioneStatusEnum.values();
+        return Stream.iterate(0, i -> i < RIGHE, i -> i + 1)
+                .map(i -> new PrenotazioneFlatDTO((long) i + 1, LocalDateTime.of(2026, 12, 1, 8, 0).plusMinutes(i),
+                        START_DATE.plusDays(i / 16), LocalTime.of(9, 0).plusMinutes(30L * (i % 16)), 30,
+                        i == 0 ? PrenotazioneStatusEnum.CONFIRMED : stati[i % stati.length], (long) (i % 2000) + 1, 1L));
+    }
+
+}
@@ -0,0 +1,80 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark della memoria allocata e del tempo CPU per richiesta dei metodi di lettura dei service, eseguito sul profilo h2
+ * (migrazioni e dataset riproducibile): la stessa lettura viene eseguita nella transazione read-only del service
+ * e all'interno di una transazione read-write, a cui la transazione del service partecipa. Nella transazione read-write
+ * la sessione mantiene lo snapshot di ogni entità caricata ed esegue il dirty checking al flush del commit.
+ * Memoria e CPU sono misurate sul thread che esegue la lettura (com.sun.management.ThreadMXBean)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.prenotazioni.expiry.enabled=false")
+@ActiveProfiles("h2")
+class PrenotazioneServiceReadOnlyBenchmarkTest {
+
+    private static final int WARMUP = 5;
+    private static final int MISURE = 20;
+    private static final int ANNO = 2023;
+    private static final long MEDICO_ID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(PrenotazioneServiceReadOnlyBenchmarkTest.class);
+
+    @Autowired
+    private PrenotazioneService prenotazioneService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void letturaReadOnlyAllocaMenoMemoriaPerRichiesta() {
+        TransactionTemplate readWriteTransaction = new TransactionTemplate(transactionManager);
+        Supplier<List<PrenotazioneDTO>> readOnly = () -> prenotazioneService.getAllPrenotazioniByYearAndMedicoId(ANNO, MEDICO_ID);
+        Supplier<List<PrenotazioneDTO>> readWrite = () -> readWriteTransaction.execute(status -> readOnly.get());
+
+        assertThat(readOnly.get()).isNotEmpty().hasSameSizeAs(readWrite.get());
+
+        Misura readWriteMisura = benchmark("read-write", readWrite);
+        Misura readOnlyMisura = benchmark("read-only", readOnly);
+
+        assertThat(readOnlyMisura.bytes()).isLessThan(readWriteMisura.bytes());
+    }
+
+    /**
+     * Esegue le letture di riscaldamento e quelle misurate, registrando nel log la memoria allocata
+     * e il tempo CPU medi per richiesta
+     */
+    private static Misura benchmark(String transazione, Supplier<List<PrenotazioneDTO>> lettura) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for(int i = 0; i < WARMUP; i++) {
+            lettura.get();
+        }
+        long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        long cpuNanos = threadMXBean.getCurrentThreadCpuTime();
+        for(int i = 0; i < MISURE; i++) {
+            lettura.get();
+        }
+        Misura misura = new Misura((threadMXBean.getCurrentThreadAllocatedBytes() - bytes) / MISURE,
+                (threadMXBean.getCurrentThreadCpuTime() - cpuNanos) / MISURE);
+        logger.info("Lettura prenotazioni {} medico {} in transazione {}: {} KB allocati, {} ms CPU per richiesta",
+                ANNO, MEDICO_ID, transazione, misura.bytes() / 1024, String.format("%.2f", misura.cpuNanos() / 1_000_000d));
+        return misura;
+    }
+
+    private record Misura(long bytes, long cpuNanos) { }
+
+}
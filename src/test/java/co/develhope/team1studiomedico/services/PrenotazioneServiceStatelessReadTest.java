@@ -0,0 +1,83 @@
+package co.develhope.team1studiomedico.services;
+
+import co.develhope.team1studiomedico.dto.prenotazione.PrenotazioneDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Test di equivalenza della lettura stateless delle prenotazioni (app.prenotazioni.stateless-read), eseguito sul profilo h2
+ * (migrazioni e dataset riproducibile): con la lettura stateless abilitata e disabilitata, i metodi di PrenotazioneService
+ * devono restituire le stesse prenotazioni, nello stesso ordine e con la stessa rappresentazione JSON,
+ * compresi i DTO di paziente e medico
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.prenotazioni.expiry.enabled=false")
+@ActiveProfiles("h2")
+class PrenotazioneServiceStatelessReadTest {
+
+    @Autowired
+    private PrenotazioneService prenotazioneService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getAllPrenotazioniEquivalenteConLetturaStateless() {
+        assertEquivalent(() -> prenotazioneService.getAllPrenotazioni());
+    }
+
+    @Test
+    void getAllDeletedPrenotazioniEquivalenteConLetturaStateless() {
+        assertEquivalent(() -> prenotazioneService.getAllDeletedPrenotazioni());
+    }
+
+    @Test
+    void getAllPrenotazioniBetweenDatePrenotazioneEquivalenteConLetturaStateless() {
+        assertEquivalent(() -> prenotazioneService.getAllPrenotazioniBetweenDatePrenotazione(LocalDate.of(2023, 3, 1),
+                LocalDate.of(2023, 3, 31)));
+    }
+
+    /**
+     * Le prenotazioni con la stessa data e ora possono essere restituite in ordine diverso: il confronto avviene
+     * sull'ordine per data e ora e sull'insieme delle rappresentazioni JSON
+     */
+    private void assertEquivalent(Supplier<List<PrenotazioneDTO>> lettura) {
+        List<PrenotazioneDTO> managed = read(lettura, false);
+        List<PrenotazioneDTO> stateless = read(lettura, true);
+
+        assertThat(stateless).isNotEmpty();
+        assertThat(stateless).extracting(PrenotazioneDTO::getDataPrenotazione, PrenotazioneDTO::getOraPrenotazione)
+                .containsExactlyElementsOf(managed.stream()
+                        .map(prenotazione -> tuple(prenotazione.getDataPrenotazione(), prenotazione.getOraPrenotazione()))
+                        .toList());
+        assertThat(toJson(stateless)).containsExactlyInAnyOrderElementsOf(toJson(managed));
+    }
+
+    private List<PrenotazioneDTO> read(Supplier<List<PrenotazioneDTO>> lettura, boolean statelessRead) {
+        Object target = AopTestUtils.getUltimateTargetObject(prenotazioneService);
+        Object previous = ReflectionTestUtils.getField(target, "statelessRead");
+        ReflectionTestUtils.setField(target, "statelessRead", statelessRead);
+        try {
+            return lettura.get();
+        } finally {
+            ReflectionTestUtils.setField(target, "statelessRead", previous);
+        }
+    }
+
+    private List<JsonNode> toJson(List<PrenotazioneDTO> prenotazioni) {
+        return prenotazioni.stream().map(prenotazione -> (JsonNode) objectMapper.valueToTree(prenotazione)).toList();
+    }
+
+}